@@ -23,14 +23,48 @@ public enum ConfigKeys {
     SERVER_HOSTNAME,
     SERVER_PORT_MIN,
     SERVER_PORT_MAX,
+    SERVER_DRAIN_TIMEOUT,
+    SERVER_WEIGHT,
+    SERVER_ZONE,
+    SERVER_METADATA_INTERVAL,
+    SERVER_METADATA_LOAD_INTERVAL,
+    SERVER_MODULES,
 
     ZOOKEEPER_HOSTS,
     ZOOKEEPER_AUTH_ENABLED,
     ZOOKEEPER_AUTH_USER,
     ZOOKEEPER_AUTH_PASSWORD,
 
+    DISCOVERY_PAYLOAD_COMPACT,
+
     EXECUTOR_THREADS,
 
+    CLIENT_POOL_IDLE_MAX,
+    CLIENT_POOL_KEEP_ALIVE,
+    CLIENT_REQUESTS_MAX,
+    CLIENT_REQUESTS_HOST_MAX,
+    CLIENT_TIMEOUT_CONNECT,
+    CLIENT_TIMEOUT_READ,
+    CLIENT_TIMEOUT_WRITE,
+    CLIENT_PROTOCOLS,
+    CLIENT_FANOUT_MAX,
+
+    CLIENT_EJECTION_FAILURES,
+    CLIENT_EJECTION_LATENCY,
+    CLIENT_EJECTION_TIME_BASE,
+    CLIENT_EJECTION_TIME_MAX,
+
+    CLIENT_HEDGE_ENABLED,
+    CLIENT_HEDGE_PERCENTILE,
+    CLIENT_HEDGE_DELAY_MIN,
+
+    CONFIG_LEADER_ENABLED,
+    CONFIG_CLIENT_SELECTOR,
+    CONFIG_CLIENT_CACHE_ENABLED,
+    CONFIG_WATCH_MAX,
+
+    SECURITY_CLIENT_SELECTOR,
+
     SHELL_HISTORY_FILE,
 
     SHARED_SECRET_VARIABLE;
@@ -0,0 +1,18 @@
+package monolithic.common.index;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a base type whose concrete sub-types should be recorded in an index at compile time by the
+ * {@link SubTypeIndexProcessor}, so that they can be found at runtime using {@link SubTypeIndex} without scanning the
+ * classpath.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface IndexSubTypes {
+}
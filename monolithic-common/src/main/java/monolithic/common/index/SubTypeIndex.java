@@ -0,0 +1,47 @@
+package monolithic.common.index;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Provides access to the sub-type index files generated at compile time by the {@link SubTypeIndexProcessor}.
+ */
+public class SubTypeIndex {
+    /**
+     * The location of the index files in the compiled output, followed by the name of the indexed base type.
+     */
+    public final static String INDEX_PATH = "META-INF/index/";
+
+    /**
+     * @param baseType the base type annotated with {@link IndexSubTypes}
+     * @param classLoader the {@link ClassLoader} used to find the index files
+     * @return the names of all the concrete sub-types of the base type found in the index files on the classpath
+     * @throws IOException if there is a problem reading the index files
+     */
+    @Nonnull
+    public static SortedSet<String> getSubTypeNames(
+            @Nonnull final Class<?> baseType, @Nonnull final ClassLoader classLoader) throws IOException {
+        final String resource = INDEX_PATH + Objects.requireNonNull(baseType).getName();
+        final SortedSet<String> names = new TreeSet<>();
+        final Enumeration<URL> urls = Objects.requireNonNull(classLoader).getResources(resource);
+        for (final URL url : Collections.list(urls)) {
+            try (final BufferedReader reader =
+                         new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                reader.lines().map(StringUtils::trimToEmpty).filter(StringUtils::isNotEmpty).forEach(names::add);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,106 @@
+package monolithic.common.index;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * An annotation processor that finds the concrete classes extending (directly or indirectly) a type annotated with
+ * {@link IndexSubTypes}, and writes their names to an index file in the compiled output. The index files are read at
+ * runtime by {@link SubTypeIndex}.
+ */
+@SupportedAnnotationTypes("*")
+public class SubTypeIndexProcessor extends AbstractProcessor {
+    @Nonnull
+    private final SortedMap<String, SortedSet<String>> index = new TreeMap<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean process(
+            @Nonnull final Set<? extends TypeElement> annotations, @Nonnull final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        } else {
+            roundEnv.getRootElements().forEach(this::visit);
+        }
+
+        // Never claim any annotations, other processors may be interested in them.
+        return false;
+    }
+
+    protected void visit(@Nonnull final Element element) {
+        if (element instanceof TypeElement) {
+            final TypeElement type = (TypeElement) element;
+            if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                final String name = processingEnv.getElementUtils().getBinaryName(type).toString();
+                addIndexed(type.asType(), name);
+            }
+            type.getEnclosedElements().forEach(this::visit);
+        }
+    }
+
+    protected void addIndexed(@Nonnull final TypeMirror typeMirror, @Nonnull final String name) {
+        for (final TypeMirror superType : processingEnv.getTypeUtils().directSupertypes(typeMirror)) {
+            if (superType instanceof DeclaredType) {
+                final Element superElement = ((DeclaredType) superType).asElement();
+                if (superElement.getAnnotation(IndexSubTypes.class) != null) {
+                    final String baseName =
+                            processingEnv.getElementUtils().getBinaryName((TypeElement) superElement).toString();
+                    this.index.computeIfAbsent(baseName, key -> new TreeSet<>()).add(Objects.requireNonNull(name));
+                }
+                addIndexed(superType, name);
+            }
+        }
+    }
+
+    protected void writeIndex() {
+        for (final Map.Entry<String, SortedSet<String>> entry : this.index.entrySet()) {
+            final String resource = SubTypeIndex.INDEX_PATH + entry.getKey();
+            try {
+                final FileObject file =
+                        processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource);
+                try (final Writer writer = file.openWriter()) {
+                    for (final String name : entry.getValue()) {
+                        writer.write(name);
+                        writer.write('\n');
+                    }
+                }
+            } catch (final IOException writeFailed) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Failed to write sub-type index " + resource + ": " + writeFailed.getMessage());
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package monolithic.common.model.service;
 
 import com.google.common.base.Converter;
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import org.apache.commons.lang3.builder.CompareToBuilder;
@@ -11,28 +12,47 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 
 import monolithic.common.model.Model;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
- * An immutable class representing summary information about a service.
+ * An immutable class representing summary information about a service. The startup phase timings are informational
+ * only, and are not considered when comparing service info objects.
  */
 public class ServiceInfo implements Model, Comparable<ServiceInfo> {
     @Nonnull
     private final String systemName;
     @Nonnull
     private final String systemVersion;
+    @Nonnull
+    private final SortedMap<String, Long> startupTimings;
 
     /**
      * @param systemName the name of the system in which this service is running
      * @param systemVersion the version of the service
      */
     public ServiceInfo(@Nonnull final String systemName, @Nonnull final String systemVersion) {
+        this(systemName, systemVersion, Collections.emptySortedMap());
+    }
+
+    /**
+     * @param systemName the name of the system in which this service is running
+     * @param systemVersion the version of the service
+     * @param startupTimings the number of milliseconds spent in each of the service startup phases
+     */
+    public ServiceInfo(
+            @Nonnull final String systemName, @Nonnull final String systemVersion,
+            @Nonnull final Map<String, Long> startupTimings) {
         this.systemName = Objects.requireNonNull(systemName);
         this.systemVersion = Objects.requireNonNull(systemVersion);
+        this.startupTimings = Collections.unmodifiableSortedMap(new TreeMap<>(Objects.requireNonNull(startupTimings)));
     }
 
     /**
@@ -44,9 +64,21 @@ public class ServiceInfo implements Model, Comparable<ServiceInfo> {
         Preconditions.checkArgument(json.get("systemName").isJsonPrimitive(), "System Name field must be a primitive");
         Preconditions.checkArgument(json.has("systemVersion"), "System Version field required");
         Preconditions.checkArgument(json.get("systemVersion").isJsonPrimitive(), "System Version field must be a primitive");
+        Preconditions.checkArgument(!json.has("startupTimings") || json.get("startupTimings").isJsonObject(),
+                "Startup Timings field must be an object");
 
         this.systemName = json.get("systemName").getAsString();
         this.systemVersion = json.get("systemVersion").getAsString();
+
+        final SortedMap<String, Long> timings = new TreeMap<>();
+        if (json.has("startupTimings")) {
+            for (final Map.Entry<String, JsonElement> entry : json.getAsJsonObject("startupTimings").entrySet()) {
+                Preconditions.checkArgument(
+                        entry.getValue().isJsonPrimitive(), "Startup Timing values must be primitives");
+                timings.put(entry.getKey(), entry.getValue().getAsLong());
+            }
+        }
+        this.startupTimings = Collections.unmodifiableSortedMap(timings);
     }
 
     /**
@@ -65,6 +97,14 @@ public class ServiceInfo implements Model, Comparable<ServiceInfo> {
         return this.systemVersion;
     }
 
+    /**
+     * @return the number of milliseconds spent in each of the service startup phases, possibly empty
+     */
+    @Nonnull
+    public SortedMap<String, Long> getStartupTimings() {
+        return this.startupTimings;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -108,6 +148,9 @@ public class ServiceInfo implements Model, Comparable<ServiceInfo> {
         final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
         str.append("systemName", getSystemName());
         str.append("systemVersion", getSystemVersion());
+        if (!getStartupTimings().isEmpty()) {
+            str.append("startupTimings", getStartupTimings());
+        }
         return str.build();
     }
 
@@ -120,6 +163,11 @@ public class ServiceInfo implements Model, Comparable<ServiceInfo> {
         final JsonObject json = new JsonObject();
         json.addProperty("systemName", getSystemName());
         json.addProperty("systemVersion", getSystemVersion());
+        if (!getStartupTimings().isEmpty()) {
+            final JsonObject timings = new JsonObject();
+            getStartupTimings().entrySet().forEach(e -> timings.addProperty(e.getKey(), e.getValue()));
+            json.add("startupTimings", timings);
+        }
         return json;
     }
 
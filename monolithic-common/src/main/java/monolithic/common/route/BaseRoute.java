@@ -2,6 +2,7 @@ package monolithic.common.route;
 
 import com.typesafe.config.Config;
 
+import spark.Request;
 import spark.Route;
 
 import java.util.Objects;
@@ -32,6 +33,15 @@ public abstract class BaseRoute implements Route {
         return this.config;
     }
 
+    /**
+     * @param request the {@link Request} being processed
+     * @return the {@link Deadline} by which the request must be answered, based on the timeout provided by the caller
+     */
+    @Nonnull
+    protected Deadline getDeadline(@Nonnull final Request request) {
+        return Deadline.from(request);
+    }
+
     /**
      * @return the object to be returned when no content is to be sent back to the client
      */
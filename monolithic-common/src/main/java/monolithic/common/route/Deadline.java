@@ -0,0 +1,141 @@
+package monolithic.common.route;
+
+import org.apache.commons.lang3.StringUtils;
+
+import spark.Request;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The point in time by which a request must be answered. Clients send the time remaining in their budget with the
+ * {@link #HEADER} request header, and routes wait on their asynchronous processing only for the remaining time, so
+ * work is not continued on behalf of a caller that has already given up. Requests without the header are given the
+ * {@link #DEFAULT_TIMEOUT_MILLIS default timeout}, and a caller can only shorten the time a route waits, never extend
+ * it. Routes doing more work than usual, like importing a configuration archive, can allow a larger limit.
+ */
+public final class Deadline {
+    /**
+     * The request header holding the number of milliseconds remaining before the caller gives up on the request.
+     */
+    public final static String HEADER = "X-Request-Timeout";
+
+    /**
+     * The number of milliseconds a request is given when the caller does not provide a deadline.
+     */
+    public final static long DEFAULT_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final static String ATTRIBUTE = Deadline.class.getName();
+
+    private final long expiration;
+
+    private Deadline(final long expiration) {
+        this.expiration = expiration;
+    }
+
+    /**
+     * @param timeout the amount of time remaining before the deadline expires
+     * @param unit the {@link TimeUnit} of the timeout value
+     * @return a new {@link Deadline} expiring after the provided amount of time
+     */
+    @Nonnull
+    public static Deadline after(final long timeout, @Nonnull final TimeUnit unit) {
+        return new Deadline(System.nanoTime() + Objects.requireNonNull(unit).toNanos(Math.max(0, timeout)));
+    }
+
+    /**
+     * @param header the value of the {@link #HEADER} request header, possibly {@code null} if not provided
+     * @return a new {@link Deadline} expiring after the number of milliseconds in the header, limited by the
+     * {@link #DEFAULT_TIMEOUT_MILLIS default timeout}, which is also used when the header is missing or invalid
+     */
+    @Nonnull
+    public static Deadline fromHeader(@Nullable final String header) {
+        return fromHeader(header, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param header the value of the {@link #HEADER} request header, possibly {@code null} if not provided
+     * @param limitMillis the maximum number of milliseconds allowed, also used when the header is missing or invalid
+     * @return a new {@link Deadline} expiring after the number of milliseconds in the header, limited by the provided
+     * maximum
+     */
+    @Nonnull
+    public static Deadline fromHeader(@Nullable final String header, final long limitMillis) {
+        final String value = StringUtils.trimToNull(header);
+        if (value == null || !StringUtils.isNumeric(value) || value.length() > 18) {
+            return after(limitMillis, TimeUnit.MILLISECONDS);
+        }
+        return after(Math.min(Long.parseLong(value, 10), limitMillis), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param request the {@link Request} being processed
+     * @return the {@link Deadline} of the request, which is created from the {@link #HEADER} request header the first
+     * time it is retrieved and shared by all of the routes processing the same request
+     */
+    @Nonnull
+    public static Deadline from(@Nonnull final Request request) {
+        return from(request, DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param request the {@link Request} being processed
+     * @param limitMillis the maximum number of milliseconds allowed for the request, also used when the caller does
+     *     not provide a deadline
+     * @return the {@link Deadline} of the request, which is created from the {@link #HEADER} request header the first
+     * time it is retrieved and shared by all of the routes processing the same request
+     */
+    @Nonnull
+    public static Deadline from(@Nonnull final Request request, final long limitMillis) {
+        final Object existing = Objects.requireNonNull(request).attribute(ATTRIBUTE);
+        if (existing instanceof Deadline) {
+            return (Deadline) existing;
+        }
+        final Deadline deadline = fromHeader(request.headers(HEADER), limitMillis);
+        request.attribute(ATTRIBUTE, deadline);
+        return deadline;
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the returned value
+     * @return the amount of time remaining before this deadline expires, or zero if it has already expired
+     */
+    public long getRemaining(@Nonnull final TimeUnit unit) {
+        final long remaining = Math.max(0, this.expiration - System.nanoTime());
+        return Objects.requireNonNull(unit).convert(remaining, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return whether this deadline has expired
+     */
+    public boolean isExpired() {
+        return this.expiration - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return the value of the {@link #HEADER} request header used to pass the remaining time to a downstream service
+     */
+    @Nonnull
+    public String toHeader() {
+        return String.valueOf(getRemaining(TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * @param future the {@link Future} on which to wait
+     * @param <T> the type of value returned by the future
+     * @return the value returned by the future, when it completes before this deadline expires
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException if the future completed with an exception
+     * @throws TimeoutException if this deadline expires before the future completes
+     */
+    public <T> T get(@Nonnull final Future<T> future)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return Objects.requireNonNull(future).get(getRemaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,62 @@
+package monolithic.common.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+/**
+ * Perform testing on the {@link SubTypeIndexProcessor} class.
+ */
+public class SubTypeIndexProcessorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected File write(final File dir, final String name, final String source) throws IOException {
+        final File file = new File(dir, name);
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testProcess() throws IOException {
+        final File src = folder.newFolder("src");
+        final File out = folder.newFolder("out");
+
+        final List<File> sources = Arrays.asList(
+                write(src, "Base.java", "@monolithic.common.index.IndexSubTypes public abstract class Base {}"),
+                write(src, "Middle.java", "public abstract class Middle extends Base {}"),
+                write(src, "First.java",
+                        "public class First extends Middle { public static class Inner extends Base {} }"),
+                write(src, "Second.java", "public class Second extends Base {}"),
+                write(src, "Unrelated.java", "public class Unrelated {}"));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final List<String> options = Arrays.asList("-d", out.getAbsolutePath(), "-classpath",
+                System.getProperty("java.class.path"), "-processor", SubTypeIndexProcessor.class.getName());
+        final boolean success = compiler.getTask(null, null, null, options, null,
+                compiler.getStandardFileManager(null, null, null).getJavaFileObjectsFromFiles(sources)).call();
+        assertTrue(success);
+
+        final File index = new File(out, SubTypeIndex.INDEX_PATH + "Base");
+        assertTrue(index.exists());
+        assertEquals(Arrays.asList("First", "First$Inner", "Second"),
+                Files.readAllLines(index.toPath(), StandardCharsets.UTF_8));
+
+        final File missing = new File(out, SubTypeIndex.INDEX_PATH + "Middle");
+        assertFalse(missing.exists());
+    }
+}
@@ -0,0 +1,52 @@
+package monolithic.common.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Perform testing on the {@link SubTypeIndex} class.
+ */
+public class SubTypeIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    protected URL writeIndex(final String dirName, final String content) throws IOException {
+        final File dir = folder.newFolder(dirName);
+        final File index = new File(dir, SubTypeIndex.INDEX_PATH + Runnable.class.getName());
+        assertTrue(index.getParentFile().mkdirs());
+        Files.write(index.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return dir.toURI().toURL();
+    }
+
+    @Test
+    public void testGetSubTypeNames() throws IOException {
+        final URL a = writeIndex("a", "b.Second\na.First\n\n");
+        final URL b = writeIndex("b", "  c.Third  \n");
+
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[] {a, b}, null)) {
+            final SortedSet<String> names = SubTypeIndex.getSubTypeNames(Runnable.class, classLoader);
+            assertEquals(new TreeSet<>(Arrays.asList("a.First", "b.Second", "c.Third")), names);
+        }
+    }
+
+    @Test
+    public void testGetSubTypeNamesNoIndex() throws IOException {
+        try (final URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+            assertTrue(SubTypeIndex.getSubTypeNames(Runnable.class, classLoader).isEmpty());
+        }
+    }
+}
@@ -8,6 +8,9 @@ import com.google.gson.JsonParser;
 
 import org.junit.Test;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 /**
  * Perform testing on the {@link ServiceInfo} class.
  */
@@ -78,6 +81,31 @@ public class ServiceInfoTest {
         assertEquals(original, copy);
     }
 
+    @Test
+    public void testStartupTimings() {
+        final Map<String, Long> timings = new TreeMap<>();
+        timings.put("zookeeper", 25L);
+        timings.put("total", 40L);
+        final ServiceInfo res = new ServiceInfo("name", "1.2.3", timings);
+
+        assertEquals(2, res.getStartupTimings().size());
+        assertEquals("ServiceInfo[systemName=name,systemVersion=1.2.3,startupTimings={total=40, zookeeper=25}]",
+                res.toString());
+        assertEquals("{\"systemName\":\"name\",\"systemVersion\":\"1.2.3\",\"startupTimings\":"
+                + "{\"total\":40,\"zookeeper\":25}}", res.toJson().toString());
+        assertEquals(new ServiceInfo("name", "1.2.3"), res);
+
+        final ServiceInfo copy = new ServiceInfo(res.toJson());
+        assertEquals(res.getStartupTimings(), copy.getStartupTimings());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJsonConstructorStartupTimingsWrongType() {
+        final String jsonStr = "{\"systemName\":\"systemName\",\"systemVersion\":\"1.2.3\",\"startupTimings\":5}";
+        final JsonObject json = new JsonParser().parse(jsonStr).getAsJsonObject();
+        new ServiceInfo(json);
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testJsonConstructorNoName() {
         final String jsonStr = "{\"systemVersion\":\"1.2.3\"}";
@@ -0,0 +1,78 @@
+package monolithic.common.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Perform testing on the {@link Deadline} class.
+ */
+public class DeadlineTest {
+    @Test
+    public void testAfter() {
+        final Deadline deadline = Deadline.after(5, TimeUnit.SECONDS);
+        assertFalse(deadline.isExpired());
+        assertTrue(deadline.getRemaining(TimeUnit.MILLISECONDS) > 4000);
+        assertTrue(deadline.getRemaining(TimeUnit.MILLISECONDS) <= 5000);
+        assertTrue(Long.parseLong(deadline.toHeader()) <= 5000);
+    }
+
+    @Test
+    public void testExpired() {
+        final Deadline deadline = Deadline.after(-1, TimeUnit.SECONDS);
+        assertTrue(deadline.isExpired());
+        assertEquals(0, deadline.getRemaining(TimeUnit.NANOSECONDS));
+        assertEquals("0", deadline.toHeader());
+    }
+
+    @Test
+    public void testFromHeaderMissing() {
+        final long remaining = Deadline.fromHeader(null).getRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > Deadline.DEFAULT_TIMEOUT_MILLIS - 1000);
+        assertTrue(remaining <= Deadline.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    public void testFromHeaderInvalid() {
+        assertTrue(Deadline.fromHeader("abc").getRemaining(TimeUnit.MILLISECONDS) > 1000);
+        assertTrue(Deadline.fromHeader("-5").getRemaining(TimeUnit.MILLISECONDS) > 1000);
+        assertTrue(Deadline.fromHeader("99999999999999999999").getRemaining(TimeUnit.MILLISECONDS) > 1000);
+    }
+
+    @Test
+    public void testFromHeaderShorter() {
+        final long remaining = Deadline.fromHeader(" 500 ").getRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining <= 500);
+        assertTrue(remaining > 0);
+        assertTrue(Deadline.fromHeader("0").isExpired());
+    }
+
+    @Test
+    public void testFromHeaderWithLimit() {
+        assertTrue(Deadline.fromHeader("60000", 120000).getRemaining(TimeUnit.MILLISECONDS) > 59000);
+        assertTrue(Deadline.fromHeader("600000", 120000).getRemaining(TimeUnit.MILLISECONDS) <= 120000);
+        assertTrue(Deadline.fromHeader(null, 120000).getRemaining(TimeUnit.MILLISECONDS) > 119000);
+    }
+
+    @Test
+    public void testFromHeaderLongerLimited() {
+        final long remaining = Deadline.fromHeader("3600000").getRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining <= Deadline.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        assertEquals("value", Deadline.after(1, TimeUnit.SECONDS).get(CompletableFuture.completedFuture("value")));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetExpired() throws Exception {
+        Deadline.after(10, TimeUnit.MILLISECONDS).get(new CompletableFuture<String>());
+    }
+}
@@ -0,0 +1,178 @@
+package monolithic.config.client;
+
+import static monolithic.config.service.CuratorConfigService.getPath;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.cache.ChildData;
+import org.apache.curator.framework.recipes.cache.TreeCache;
+import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
+import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.apache.zookeeper.data.Stat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.ConfigServiceException;
+import monolithic.config.service.CuratorConfigService;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A local cache of dynamic configuration values used by the {@link ConfigClient}. Cached values are invalidated by a
+ * zookeeper watch on the dynamic configuration path, and every invalidation increments the cache version. A value
+ * retrieved from the configuration service is only added to the cache when the version has not changed since the
+ * retrieval began, so a slow response can never overwrite a newer change.
+ *
+ * The configuration service answering the retrieval may not have received a change yet, even though the watch of this
+ * cache already has. A retrieved value is therefore only cached when it matches the zookeeper node version seen by the
+ * watch (or when both agree that the key has no value), so a stale value is returned once but never cached. While the
+ * watch is not connected (before it initializes, or after the zookeeper connection has been suspended or lost) the
+ * cache is empty and bypassed.
+ */
+public class ConfigCache implements TreeCacheListener, Closeable {
+    private final static Logger LOG = LoggerFactory.getLogger(ConfigCache.class);
+
+    @Nonnull
+    private final TreeCache treeCache;
+    @Nonnull
+    private final ConcurrentMap<String, Optional<ConfigKeyValue>> values = new ConcurrentHashMap<>();
+    @Nonnull
+    private final AtomicLong version = new AtomicLong(0);
+    private volatile boolean watching = false;
+
+    /**
+     * @param curator the {@link CuratorFramework} used to watch for configuration changes in zookeeper
+     * @throws ConfigServiceException if there is a problem starting the configuration watch
+     */
+    public ConfigCache(@Nonnull final CuratorFramework curator) throws ConfigServiceException {
+        // Only the change notifications and node versions are needed, the configuration data is retrieved from the
+        // config service.
+        this.treeCache = TreeCache.newBuilder(Objects.requireNonNull(curator), CuratorConfigService.PATH)
+                .setCacheData(false).build();
+        this.treeCache.getListenable().addListener(this);
+        try {
+            this.treeCache.start();
+        } catch (final Exception exception) {
+            throw new ConfigServiceException("Failed to start configuration watch", exception);
+        }
+    }
+
+    /**
+     * @return whether the configuration watch is connected, meaning cached values can be trusted
+     */
+    public boolean isWatching() {
+        return this.watching;
+    }
+
+    /**
+     * @return the current cache version, which changes every time cached values are invalidated
+     */
+    public long getVersion() {
+        return this.version.get();
+    }
+
+    /**
+     * @param key the configuration key for which the cached value should be retrieved
+     * @return the cached configuration value (which itself may be empty when the key is known to have no value), or
+     * empty when the value is not cached
+     */
+    @Nonnull
+    public Optional<Optional<ConfigKeyValue>> get(@Nonnull final String key) {
+        if (!this.watching) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(this.values.get(Objects.requireNonNull(key)));
+    }
+
+    /**
+     * @param key the configuration key for which the value should be cached
+     * @param value the configuration value retrieved from the configuration service
+     * @param version the cache version retrieved (using {@link #getVersion()}) before the configuration value was
+     *     requested from the configuration service
+     */
+    public void put(@Nonnull final String key, @Nonnull final Optional<ConfigKeyValue> value, final long version) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        if (this.watching && this.version.get() == version && isCurrent(key, value)) {
+            this.values.put(key, value);
+
+            // An invalidation may have happened concurrently, in which case the value may already be stale.
+            if (this.version.get() != version) {
+                this.values.remove(key, value);
+            }
+        }
+    }
+
+    /**
+     * @param key the configuration key
+     * @param value the configuration value retrieved from the configuration service
+     * @return whether the value has the zookeeper node version seen by the watch, or whether both the value and the
+     * watch agree that the key has no value
+     */
+    protected boolean isCurrent(@Nonnull final String key, @Nonnull final Optional<ConfigKeyValue> value) {
+        final Optional<Integer> watched = Optional.ofNullable(this.treeCache.getCurrentData(getPath(key)))
+                .map(ChildData::getStat).filter(stat -> stat.getDataLength() > 0).map(Stat::getVersion);
+        return watched.equals(value.flatMap(ConfigKeyValue::getVersion));
+    }
+
+    /**
+     * @param key the configuration key for which the cached value should be removed
+     */
+    public void invalidate(@Nonnull final String key) {
+        this.version.incrementAndGet();
+        this.values.remove(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Remove all of the cached configuration values.
+     */
+    public void invalidateAll() {
+        this.version.incrementAndGet();
+        this.values.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void childEvent(@Nonnull final CuratorFramework client, @Nonnull final TreeCacheEvent event) {
+        switch (event.getType()) {
+            case NODE_ADDED:
+            case NODE_UPDATED:
+            case NODE_REMOVED:
+                CuratorConfigService.getKey(event.getData().getPath()).ifPresent(this::invalidate);
+                break;
+            case INITIALIZED:
+            case CONNECTION_RECONNECTED:
+                // Changes may have been missed while disconnected.
+                invalidateAll();
+                this.watching = true;
+                break;
+            case CONNECTION_SUSPENDED:
+            case CONNECTION_LOST:
+                LOG.warn("Configuration watch disconnected, bypassing the configuration cache");
+                this.watching = false;
+                invalidateAll();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Stop watching for configuration changes.
+     */
+    @Override
+    public void close() {
+        this.watching = false;
+        this.treeCache.close();
+        invalidateAll();
+    }
+}
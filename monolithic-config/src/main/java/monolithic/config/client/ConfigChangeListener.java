@@ -0,0 +1,25 @@
+package monolithic.config.client;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives dynamic system configuration updates from a {@link ConfigClient} watch, or directly from the tree cache of a
+ * {@link monolithic.config.service.CuratorConfigService}.
+ */
+public interface ConfigChangeListener {
+    /**
+     * Invoked when the watch starts, and again whenever configuration changes may have been missed, with the full set
+     * of configuration values, which replaces everything previously received.
+     *
+     * @param all all of the current dynamic system configuration values
+     */
+    void onReset(@Nonnull ConfigKeyValueCollection all);
+
+    /**
+     * @param change a change made to the dynamic system configuration, delivered in version order
+     */
+    void onChange(@Nonnull ConfigChange change);
+}
@@ -1,19 +1,39 @@
 package monolithic.config.client;
 
+import com.google.common.net.HttpHeaders;
 import com.google.gson.JsonParser;
 import com.typesafe.config.Config;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.curator.framework.CuratorFramework;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import monolithic.common.config.ConfigKeys;
 import monolithic.common.model.service.ServiceException;
+import monolithic.common.route.Deadline;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.model.ConfigKeyCollection;
 import monolithic.config.model.ConfigKeyValue;
 import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigConflictException;
 import monolithic.config.service.ConfigService;
 import monolithic.config.service.ConfigServiceException;
+import monolithic.config.service.ConfigSnapshot;
 import monolithic.crypto.CryptoFactory;
 import monolithic.crypto.model.ServiceRequest;
 import monolithic.crypto.model.ServiceResponse;
 import monolithic.discovery.DiscoveryException;
 import monolithic.discovery.DiscoveryManager;
 import monolithic.discovery.model.Service;
+import monolithic.discovery.select.HedgedRequests;
+import monolithic.discovery.select.HealthySelector;
+import monolithic.discovery.select.ServiceHealth;
+import monolithic.discovery.select.ServiceLoad;
+import monolithic.discovery.select.ServiceSelector;
+import monolithic.discovery.select.ServiceSelectorType;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -21,18 +41,41 @@ import okhttp3.RequestBody;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * Provides remote access over REST to the configuration service.
+ * Provides remote access over REST to the configuration service. When created with a {@link ConfigCache}, retrieved
+ * configuration values are cached locally and served without a remote request until they are changed. The most recent
+ * snapshot of all the configuration values is remembered, so retrieving all the values again only transfers them when
+ * they have changed.
+ *
+ * Reads are spread across all the configuration services by the {@link ServiceSelector} named in the
+ * {@code config.client.selector} configuration, using the load observed on the requests sent by this client, and
+ * leaving out the services ejected by the {@link ServiceHealth} circuit breaker after repeated failures. Writes
+ * are sent to the configuration service leader, which is learned from the redirects sent by the other configuration
+ * services, and each write returns a version token that is included with later reads, so this client always reads its
+ * own writes. When {@code client.hedge.enabled} is set, a read that is slow to answer is also sent to a second
+ * configuration service, and whichever answers first is used.
  */
-public class ConfigClient implements ConfigService {
+public class ConfigClient implements ConfigService, AutoCloseable {
+    private final static Logger LOG = LoggerFactory.getLogger(ConfigClient.class);
+
+    private final static long WATCH_READ_TIMEOUT_SECONDS = 30;
+    private final static long WATCH_RETRY_DELAY_MILLIS = 1000;
+    private final static long IMPORT_READ_TIMEOUT_SECONDS = 90;
+    private final static int MAX_WRITE_REDIRECTS = 3;
+
     @Nonnull
     private final Config config;
     @Nonnull
@@ -40,9 +83,25 @@ public class ConfigClient implements ConfigService {
     @Nonnull
     private final DiscoveryManager discoveryManager;
     @Nonnull
+    private final ServiceLoad load = new ServiceLoad();
+    @Nonnull
+    private final ServiceHealth health;
+    @Nonnull
+    private final ServiceSelector selector;
+    @Nonnull
+    private final HedgedRequests hedging;
+    @Nonnull
     private final OkHttpClient httpClient;
     @Nonnull
     private final CryptoFactory cryptoFactory;
+    @Nonnull
+    private final Optional<ConfigCache> cache;
+    @Nonnull
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    @Nonnull
+    private final AtomicReference<Optional<String>> leader = new AtomicReference<>(Optional.empty());
+    @Nonnull
+    private final AtomicLong writeVersion = new AtomicLong();
 
     /**
      * @param config the static system configuration information
@@ -55,11 +114,51 @@ public class ConfigClient implements ConfigService {
             @Nonnull final Config config, @Nonnull final ExecutorService executor,
             @Nonnull final DiscoveryManager discoveryManager, @Nonnull final OkHttpClient httpClient,
             @Nonnull final CryptoFactory cryptoFactory) {
+        this(config, executor, discoveryManager, httpClient, cryptoFactory, Optional.empty());
+    }
+
+    /**
+     * @param config the static system configuration information
+     * @param executor used to execute asynchronous processing of the configuration client
+     * @param discoveryManager the service discovery manager used to find configuration service end-points
+     * @param httpClient the HTTP client used to perform REST communication
+     * @param cryptoFactory the {@link CryptoFactory} used to verify response signatures
+     * @param cache the {@link ConfigCache} used to cache retrieved configuration values locally, if caching is enabled
+     */
+    public ConfigClient(
+            @Nonnull final Config config, @Nonnull final ExecutorService executor,
+            @Nonnull final DiscoveryManager discoveryManager, @Nonnull final OkHttpClient httpClient,
+            @Nonnull final CryptoFactory cryptoFactory, @Nonnull final Optional<ConfigCache> cache) {
         this.config = Objects.requireNonNull(config);
         this.executor = Objects.requireNonNull(executor);
         this.discoveryManager = Objects.requireNonNull(discoveryManager);
-        this.httpClient = Objects.requireNonNull(httpClient);
+        final OkHttpClient.Builder builder = Objects.requireNonNull(httpClient).newBuilder();
+        this.health = ServiceHealth.install(this.config, builder);
+        this.selector = new HealthySelector(this.health, createSelector(this.config, this.load));
+        this.hedging = new HedgedRequests(this.config);
+        this.httpClient = builder.addInterceptor(this.load).build();
         this.cryptoFactory = Objects.requireNonNull(cryptoFactory);
+        this.cache = Objects.requireNonNull(cache);
+    }
+
+    /**
+     * @param config the static system configuration information
+     * @param curator the {@link CuratorFramework} used to watch for configuration changes
+     * @return a new {@link ConfigCache} when {@code config.client.cache.enabled} is set, or empty when caching is
+     * disabled or the cache fails to start, in which case every read is sent to the configuration service
+     */
+    @Nonnull
+    public static Optional<ConfigCache> createCache(
+            @Nonnull final Config config, @Nonnull final CuratorFramework curator) {
+        if (!config.getBoolean(ConfigKeys.CONFIG_CLIENT_CACHE_ENABLED.getKey())) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new ConfigCache(Objects.requireNonNull(curator)));
+        } catch (final ConfigServiceException cacheFailed) {
+            LOG.warn("Failed to start the configuration cache, reading without it", cacheFailed);
+            return Optional.empty();
+        }
     }
 
     /**
@@ -87,7 +186,50 @@ public class ConfigClient implements ConfigService {
     }
 
     /**
-     * @return the service discovery manager used to find configuration service end-points
+     * @param config the static system configuration information
+     * @param load the {@link ServiceLoad} tracking the requests sent by this client
+     * @return the {@link ServiceSelector} used to choose the configuration service receiving each request
+     */
+    @Nonnull
+    protected static ServiceSelector createSelector(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+        return ServiceSelectorType.parse(config.getString(ConfigKeys.CONFIG_CLIENT_SELECTOR.getKey()))
+                .create(config, load);
+    }
+
+    /**
+     * @return the {@link ServiceLoad} tracking the latency and requests in flight for each configuration service
+     */
+    @Nonnull
+    protected ServiceLoad getLoad() {
+        return this.load;
+    }
+
+    /**
+     * @return the {@link ServiceHealth} circuit breaker tracking which configuration services are ejected
+     */
+    @Nonnull
+    protected ServiceHealth getHealth() {
+        return this.health;
+    }
+
+    /**
+     * @return the {@link ServiceSelector} used to choose the configuration service receiving each request
+     */
+    @Nonnull
+    protected ServiceSelector getSelector() {
+        return this.selector;
+    }
+
+    /**
+     * @return the {@link HedgedRequests} used to send reads to a second configuration service when the first is slow
+     */
+    @Nonnull
+    protected HedgedRequests getHedging() {
+        return this.hedging;
+    }
+
+    /**
+     * @return the HTTP client used to perform REST communication, which records the load on each configuration service
      */
     @Nonnull
     protected OkHttpClient getHttpClient() {
@@ -103,18 +245,126 @@ public class ConfigClient implements ConfigService {
     }
 
     /**
-     * @return a randomly chosen {@link Service} object from service discovery to use when connecting to the
-     * configuration service
-     * @throws DiscoveryException if there is a problem retrieving a random {@link Service}
-     * @throws ConfigServiceException if there no random configuration {@link Service} objects are available
+     * @return the {@link ConfigCache} used to cache retrieved configuration values locally, if caching is enabled
+     */
+    @Nonnull
+    protected Optional<ConfigCache> getCache() {
+        return this.cache;
+    }
+
+    /**
+     * @return the {@link Service} object from service discovery chosen by the {@link ServiceSelector} to use when
+     * connecting to the configuration service
+     * @throws DiscoveryException if there is a problem retrieving the available {@link Service} objects
+     * @throws ConfigServiceException if there no configuration {@link Service} objects are available
      */
     @Nonnull
-    protected Service getRandom() throws DiscoveryException, ConfigServiceException {
-        final Optional<Service> random = getDiscoveryManager().getRandom();
-        if (!random.isPresent()) {
+    protected Service select() throws DiscoveryException, ConfigServiceException {
+        final Optional<Service> selected = getDiscoveryManager().select(getSelector());
+        if (!selected.isPresent()) {
             throw new ConfigServiceException("Unable to find a running configuration service");
         }
-        return random.get();
+        return selected.get();
+    }
+
+    /**
+     * Send an idempotent read request to the configuration service chosen by the {@link ServiceSelector}, hedging the
+     * request with a second configuration service when the first one is slow to answer.
+     *
+     * @param call the read request to send
+     * @param <T> the type of value returned by the request
+     * @return the value returned by the configuration service answering first
+     * @throws Exception if the read request fails
+     */
+    @Nonnull
+    protected <T> T read(@Nonnull final HedgedRequests.ServiceCall<T> call) throws Exception {
+        final Service primary = select();
+        return getHedging().call(primary, () -> getDiscoveryManager().selectExcluding(getSelector(), primary), call);
+    }
+
+    /**
+     * @return the base URL of the configuration service to which writes are sent, which is the leader when known
+     * @throws DiscoveryException if there is a problem retrieving the available {@link Service} objects
+     * @throws ConfigServiceException if there no configuration {@link Service} objects are available
+     */
+    @Nonnull
+    protected String getWriteUrl() throws DiscoveryException, ConfigServiceException {
+        final Optional<String> known = this.leader.get();
+        return known.isPresent() ? known.get() : select().asUrl();
+    }
+
+    /**
+     * @param serviceRequest the {@link ServiceRequest} identifying the request
+     * @return a request builder including the service request header, the {@link Deadline} of the request based on
+     * the read timeout of the client, and the write version token of the most recent write, so the configuration
+     * service includes that write in the response
+     */
+    @Nonnull
+    protected Request.Builder newRequest(@Nonnull final ServiceRequest serviceRequest) {
+        return newRequest(serviceRequest, getHttpClient());
+    }
+
+    /**
+     * @param serviceRequest the {@link ServiceRequest} identifying the request
+     * @param httpClient the HTTP client that will send the request, whose read timeout is sent as the {@link Deadline}
+     *     of the request
+     * @return a request builder including the service request header, the {@link Deadline} of the request, and the
+     * write version token of the most recent write
+     */
+    @Nonnull
+    protected Request.Builder newRequest(
+            @Nonnull final ServiceRequest serviceRequest, @Nonnull final OkHttpClient httpClient) {
+        final String header = Objects.requireNonNull(serviceRequest).toJson().toString();
+        final Request.Builder builder = new Request.Builder().header(ServiceRequest.SERVICE_REQUEST_HEADER, header);
+        final int timeout = Objects.requireNonNull(httpClient).readTimeoutMillis();
+        if (timeout > 0) {
+            builder.header(Deadline.HEADER, Deadline.after(timeout, TimeUnit.MILLISECONDS).toHeader());
+        }
+        final long version = getWriteVersion();
+        if (version > 0) {
+            builder.header(VERSION_HEADER, String.valueOf(version));
+        }
+        return builder;
+    }
+
+    /**
+     * Send a write request, following the redirects from configuration services that are not the leader and
+     * remembering the leader for later writes, and record the write version token from the response.
+     *
+     * @param httpClient the HTTP client used to send the request
+     * @param request the write request to send
+     * @return the response from the configuration service that processed the write
+     * @throws IOException if there is a problem communicating with the configuration service
+     */
+    @Nonnull
+    protected Response executeWrite(@Nonnull final OkHttpClient httpClient, @Nonnull final Request request)
+            throws IOException {
+        Request current = Objects.requireNonNull(request);
+        for (int redirects = 0; ; redirects++) {
+            final Response response;
+            try {
+                response = httpClient.newCall(current).execute();
+            } catch (final IOException failed) {
+                // The leader may have gone away, so find it again on the next write.
+                this.leader.set(Optional.empty());
+                throw failed;
+            }
+
+            final String location = response.header(HttpHeaders.LOCATION);
+            if (response.code() != HttpServletResponse.SC_TEMPORARY_REDIRECT || location == null
+                    || redirects >= MAX_WRITE_REDIRECTS) {
+                final String version = response.header(VERSION_HEADER);
+                if (version != null) {
+                    awaitVersion(Long.parseLong(version, 10));
+                }
+                return response;
+            }
+
+            response.body().close();
+            final HttpUrl url = current.url().resolve(location);
+            this.leader.set(Optional.of(url.newBuilder().encodedPath("/").query(null).build().toString()));
+            current = current.newBuilder().url(url).build();
+        }
     }
 
     /**
@@ -137,31 +387,127 @@ public class ConfigClient implements ConfigService {
             case HttpServletResponse.SC_NO_CONTENT:
             case HttpServletResponse.SC_NOT_FOUND:
                 return Optional.empty();
+            case HttpServletResponse.SC_CONFLICT:
+                throw new ConfigConflictException(response.body().string());
             default:
                 throw new ConfigServiceException(response.body().string());
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteVersion() {
+        return this.writeVersion.get();
+    }
+
+    /**
+     * Record a write version token, so the configuration services include the writes it covers in the responses to
+     * all later reads from this client.
+     *
+     * @param version a write version token
+     * @return a future that is already complete, since the configuration services wait for the version before
+     * responding to the later reads
+     */
+    @Override
+    @Nonnull
+    public Future<Boolean> awaitVersion(final long version) {
+        this.writeVersion.accumulateAndGet(version, Math::max);
+        return CompletableFuture.completedFuture(true);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Nonnull
     public Future<ConfigKeyValueCollection> getAll() {
-        return getExecutor().submit(() -> {
-            final ServiceRequest serviceRequest = new ServiceRequest();
-            final Request request = new Request.Builder().url(getRandom().asUrl())
-                    .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString()).get().build();
-            final Response response = getHttpClient().newCall(request).execute();
-            switch (response.code()) {
-                case HttpServletResponse.SC_OK:
-                    ServiceResponse.verify(getConfig(), getCryptoFactory(), serviceRequest, response);
-                    return new ConfigKeyValueCollection(
-                            new JsonParser().parse(response.body().string()).getAsJsonObject());
-                default:
-                    throw new ConfigServiceException(response.body().string());
-            }
-        });
+        return getExecutor().submit(this::retrieveAll);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigSnapshot> getSnapshot() {
+        return getExecutor().submit(() -> read(this::retrieveSnapshot));
+    }
+
+    /**
+     * @return all the available configuration values, retrieved from a configuration service
+     * @throws Exception if there is a problem retrieving the configuration values from a configuration service
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection retrieveAll() throws Exception {
+        return read(this::retrieveSnapshot).getValues();
+    }
+
+    /**
+     * @param service the configuration {@link Service} from which the snapshot is retrieved
+     * @return a snapshot of all the available configuration values, retrieved from the configuration service, or
+     * the previously retrieved snapshot when the configuration service reports that it has not changed
+     * @throws IOException if there is a problem communicating with the configuration service
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected ConfigSnapshot retrieveSnapshot(@Nonnull final Service service)
+            throws IOException, ServiceException, ConfigServiceException {
+        final Optional<ConfigSnapshot> previous = Optional.ofNullable(this.snapshot.get());
+        final ServiceRequest serviceRequest = new ServiceRequest();
+        final Request.Builder builder = newRequest(serviceRequest).url(service.asUrl()).get();
+        previous.ifPresent(p -> builder.header(HttpHeaders.IF_NONE_MATCH, p.getETag()));
+
+        final Response response = getHttpClient().newCall(builder.build()).execute();
+        if (previous.isPresent() && response.code() == HttpServletResponse.SC_NOT_MODIFIED) {
+            response.body().close();
+            return previous.get();
+        }
+
+        final ConfigSnapshot retrieved = new ConfigSnapshot(handleCollectionResponse(serviceRequest, response));
+        this.snapshot.set(retrieved);
+        return retrieved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getByPrefix(@Nonnull final String prefix) {
+        Objects.requireNonNull(prefix);
+        return getExecutor().submit(() -> read(service -> retrieve(
+                HttpUrl.parse(service.asUrl()).newBuilder().addPathSegment("config").addPathSegment("prefix")
+                        .addPathSegment(prefix).build())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getMatching(@Nonnull final String text) {
+        Objects.requireNonNull(text);
+        return getExecutor().submit(() -> read(service -> retrieve(
+                HttpUrl.parse(service.asUrl() + "config/filter").newBuilder().addQueryParameter("text", text)
+                        .build())));
+    }
+
+    /**
+     * @param url the configuration service URL from which a collection of configuration values is retrieved
+     * @return the configuration values retrieved from the configuration service
+     * @throws IOException if there is a problem communicating with the configuration service
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection retrieve(@Nonnull final HttpUrl url)
+            throws IOException, ServiceException, ConfigServiceException {
+        final ServiceRequest serviceRequest = new ServiceRequest();
+        final Request request = newRequest(serviceRequest).url(Objects.requireNonNull(url)).get().build();
+        return handleCollectionResponse(serviceRequest, getHttpClient().newCall(request).execute());
     }
 
     /**
@@ -171,11 +517,23 @@ public class ConfigClient implements ConfigService {
     @Nonnull
     public Future<Optional<ConfigKeyValue>> get(@Nonnull final String key) {
         Objects.requireNonNull(key);
+        if (getCache().isPresent()) {
+            final Optional<Optional<ConfigKeyValue>> cached = getCache().get().get(key);
+            if (cached.isPresent()) {
+                return CompletableFuture.completedFuture(cached.get());
+            }
+        }
+
+        // Capture the cache version before the request so a value changed during the request is not cached.
+        final long version = getCache().map(ConfigCache::getVersion).orElse(0L);
         return getExecutor().submit(() -> {
-            final ServiceRequest serviceRequest = new ServiceRequest();
-            final Request request = new Request.Builder().url(getRandom().asUrl() + key)
-                    .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString()).get().build();
-            return handleResponse(serviceRequest, getHttpClient().newCall(request).execute());
+            final Optional<ConfigKeyValue> value = read(service -> {
+                final ServiceRequest serviceRequest = new ServiceRequest();
+                final Request request = newRequest(serviceRequest).url(service.asUrl() + key).get().build();
+                return handleResponse(serviceRequest, getHttpClient().newCall(request).execute());
+            });
+            getCache().ifPresent(cache -> cache.put(key, value, version));
+            return value;
         });
     }
 
@@ -185,15 +543,40 @@ public class ConfigClient implements ConfigService {
     @Override
     @Nonnull
     public Future<Optional<ConfigKeyValue>> set(@Nonnull final ConfigKeyValue kv) {
+        return set(kv, Optional.empty());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Optional<ConfigKeyValue>> setIfVersion(@Nonnull final ConfigKeyValue kv, final int version) {
+        return set(kv, Optional.of(version));
+    }
+
+    /**
+     * @param kv the configuration key and value to add (or update) to the dynamic system configuration
+     * @param version the expected version of the current configuration value, if this is a compare-and-set update
+     * @return the old value for the specified configuration key, possibly empty if the configuration key had no
+     * previous value
+     */
+    @Nonnull
+    protected Future<Optional<ConfigKeyValue>> set(
+            @Nonnull final ConfigKeyValue kv, @Nonnull final Optional<Integer> version) {
         Objects.requireNonNull(kv);
+        Objects.requireNonNull(version);
         return getExecutor().submit(() -> {
             final RequestBody body =
                     RequestBody.create(MediaType.parse("application/json; charset=utf-8"), kv.toJson().toString());
             final ServiceRequest serviceRequest = new ServiceRequest();
-            final Request request = new Request.Builder().url(getRandom().asUrl())
-                    .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString()).post(body)
-                    .build();
-            return handleResponse(serviceRequest, getHttpClient().newCall(request).execute());
+            final Request request = newRequest(serviceRequest).url(getUrl(getWriteUrl(), version)).post(body).build();
+            try {
+                return handleResponse(serviceRequest, executeWrite(getHttpClient(), request));
+            } finally {
+                // Don't wait for the zookeeper notification to stop serving the old value locally.
+                getCache().ifPresent(cache -> cache.invalidate(kv.getKey()));
+            }
         });
     }
 
@@ -203,12 +586,370 @@ public class ConfigClient implements ConfigService {
     @Override
     @Nonnull
     public Future<Optional<ConfigKeyValue>> unset(@Nonnull final String key) {
+        return unset(key, Optional.empty());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Optional<ConfigKeyValue>> unsetIfVersion(@Nonnull final String key, final int version) {
+        return unset(key, Optional.of(version));
+    }
+
+    /**
+     * @param key the configuration key to delete from the dynamic system configuration
+     * @param version the expected version of the current configuration value, if this is a compare-and-set update
+     * @return the old value for the specified configuration key, possibly empty if the configuration key had no
+     * previous value
+     */
+    @Nonnull
+    protected Future<Optional<ConfigKeyValue>> unset(
+            @Nonnull final String key, @Nonnull final Optional<Integer> version) {
         Objects.requireNonNull(key);
+        Objects.requireNonNull(version);
         return getExecutor().submit(() -> {
             final ServiceRequest serviceRequest = new ServiceRequest();
-            final Request request = new Request.Builder().url(getRandom().asUrl() + key)
-                    .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString()).delete().build();
-            return handleResponse(serviceRequest, getHttpClient().newCall(request).execute());
+            final Request request =
+                    newRequest(serviceRequest).url(getUrl(getWriteUrl() + key, version)).delete().build();
+            try {
+                return handleResponse(serviceRequest, executeWrite(getHttpClient(), request));
+            } finally {
+                // Don't wait for the zookeeper notification to stop serving the old value locally.
+                getCache().ifPresent(cache -> cache.invalidate(key));
+            }
         });
     }
+
+    /**
+     * @param url the configuration service URL
+     * @param version the expected version of the current configuration value, if this is a compare-and-set update
+     * @return the URL including the expected version as a query parameter, when provided
+     */
+    @Nonnull
+    protected HttpUrl getUrl(@Nonnull final String url, @Nonnull final Optional<Integer> version) {
+        final HttpUrl.Builder builder = HttpUrl.parse(Objects.requireNonNull(url)).newBuilder();
+        version.ifPresent(v -> builder.addQueryParameter("version", String.valueOf(v)));
+        return builder.build();
+    }
+
+    /**
+     * @param serviceRequest the {@link ServiceRequest} sent to the configuration service
+     * @param response the {@link Response} to be processed
+     * @return the {@link ConfigKeyValueCollection} object parsed from the response data
+     * @throws IOException if there is a problem processing the response data
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection handleCollectionResponse(
+            @Nonnull final ServiceRequest serviceRequest, @Nonnull final Response response)
+            throws IOException, ServiceException, ConfigServiceException {
+        Objects.requireNonNull(response);
+        switch (response.code()) {
+            case HttpServletResponse.SC_OK:
+                ServiceResponse.verify(getConfig(), getCryptoFactory(), serviceRequest, response);
+                return new ConfigKeyValueCollection(new JsonParser().parse(response.body().string()).getAsJsonObject());
+            default:
+                throw new ConfigServiceException(response.body().string());
+        }
+    }
+
+    /**
+     * @param service the configuration {@link Service} to which the read request is posted
+     * @param path the configuration service path to which the request is posted
+     * @param body the JSON request body to post
+     * @return the {@link ConfigKeyValueCollection} object parsed from the response data
+     * @throws IOException if there is a problem communicating with the configuration service
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection post(
+            @Nonnull final Service service, @Nonnull final String path, @Nonnull final String body)
+            throws IOException, ServiceException, ConfigServiceException {
+        final RequestBody requestBody = RequestBody.create(MediaType.parse("application/json; charset=utf-8"), body);
+        final ServiceRequest serviceRequest = new ServiceRequest();
+        final Request request = newRequest(serviceRequest).url(service.asUrl() + path).post(requestBody).build();
+        return handleCollectionResponse(serviceRequest, getHttpClient().newCall(request).execute());
+    }
+
+    /**
+     * @param path the configuration service path to which the write request is posted
+     * @param body the JSON request body to post
+     * @return the {@link ConfigKeyValueCollection} object parsed from the response data
+     * @throws IOException if there is a problem communicating with the configuration service
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws DiscoveryException if there is a problem finding a configuration service
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection postWrite(@Nonnull final String path, @Nonnull final String body)
+            throws IOException, ServiceException, DiscoveryException, ConfigServiceException {
+        final RequestBody requestBody = RequestBody.create(MediaType.parse("application/json; charset=utf-8"), body);
+        final ServiceRequest serviceRequest = new ServiceRequest();
+        final Request request = newRequest(serviceRequest).url(getWriteUrl() + path).post(requestBody).build();
+        return handleCollectionResponse(serviceRequest, executeWrite(getHttpClient(), request));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getMany(@Nonnull final ConfigKeyCollection keys) {
+        Objects.requireNonNull(keys);
+        final long version = getCache().map(ConfigCache::getVersion).orElse(0L);
+        return getExecutor().submit(() -> {
+            final String body = keys.toJson().toString();
+            final ConfigKeyValueCollection values = read(service -> post(service, "config/get", body));
+            getCache().ifPresent(cache -> keys.getKeys().forEach(key -> cache.put(key, values.get(key), version)));
+            return values;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> setMany(@Nonnull final ConfigKeyValueCollection kvs) {
+        Objects.requireNonNull(kvs);
+        return getExecutor().submit(() -> {
+            try {
+                return postWrite("config/set", kvs.toJson().toString());
+            } finally {
+                getCache().ifPresent(cache -> kvs.asMap().keySet().forEach(cache::invalidate));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Integer> importAll(@Nonnull final ConfigKeyValueCollection kvs) {
+        Objects.requireNonNull(kvs);
+        return getExecutor().submit(() -> {
+            try {
+                final RequestBody requestBody = RequestBody.create(MediaType.parse(ConfigArchive.CONTENT_TYPE),
+                        ConfigArchive.toBytes(kvs.asSet(), Optional.empty()));
+                // The import takes longer than other requests, and the configuration service waits for it as long as
+                // the read timeout of the import client allows.
+                final OkHttpClient importClient = getImportHttpClient();
+                final ServiceRequest serviceRequest = new ServiceRequest();
+                final Request request = newRequest(serviceRequest, importClient).url(getWriteUrl() + "config/import")
+                        .post(requestBody).build();
+                final Response response = executeWrite(importClient, request);
+                switch (response.code()) {
+                    case HttpServletResponse.SC_OK:
+                        ServiceResponse.verify(getConfig(), getCryptoFactory(), serviceRequest, response);
+                        return new JsonParser().parse(response.body().string()).getAsJsonObject().get("imported")
+                                .getAsInt();
+                    default:
+                        throw new ConfigServiceException(response.body().string());
+                }
+            } finally {
+                getCache().ifPresent(ConfigCache::invalidateAll);
+            }
+        });
+    }
+
+    /**
+     * @return all the available configuration values, transferred from a configuration service as a compressed
+     * {@link ConfigArchive}, which is more efficient than {@link #getAll()} for large configurations
+     */
+    @Nonnull
+    public Future<ConfigKeyValueCollection> exportAll() {
+        return getExecutor().submit(() -> {
+            final OkHttpClient exportClient = getImportHttpClient();
+            final ServiceRequest serviceRequest = new ServiceRequest();
+            final Request request =
+                    newRequest(serviceRequest, exportClient).url(select().asUrl() + "config/export").get().build();
+            final Response response = exportClient.newCall(request).execute();
+            switch (response.code()) {
+                case HttpServletResponse.SC_OK:
+                    ServiceResponse.verify(getConfig(), getCryptoFactory(), serviceRequest, response);
+                    return ConfigArchive.fromBytes(response.body().bytes(), Optional.empty());
+                default:
+                    throw new ConfigServiceException(response.body().string());
+            }
+        });
+    }
+
+    /**
+     * @return the HTTP client used for configuration export and import requests, which allows for the time needed to
+     * process large configuration archives
+     */
+    @Nonnull
+    protected OkHttpClient getImportHttpClient() {
+        return getHttpClient().newBuilder().readTimeout(IMPORT_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> unsetMany(@Nonnull final ConfigKeyCollection keys) {
+        Objects.requireNonNull(keys);
+        return getExecutor().submit(() -> {
+            try {
+                return postWrite("config/unset", keys.toJson().toString());
+            } finally {
+                getCache().ifPresent(cache -> keys.getKeys().forEach(cache::invalidate));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigChangeCollection> watch(@Nonnull final Optional<String> epoch, final long sinceVersion) {
+        Objects.requireNonNull(epoch);
+        return getExecutor().submit(() -> {
+            // Stay on the same configuration service since the versions are specific to it.
+            final Service service = select();
+            final OkHttpClient watchClient = getWatchHttpClient();
+            Optional<ConfigChangeCollection> changes = Optional.empty();
+            while (!changes.isPresent()) {
+                changes = poll(watchClient, service, epoch, sinceVersion);
+            }
+            return changes.get();
+        });
+    }
+
+    /**
+     * Watch for dynamic system configuration changes, delivering them to the provided listener until the returned
+     * future is cancelled. The listener first receives all the current configuration values, followed by each change
+     * as it happens. The watch stays on one configuration service, since the change log versions are specific to each
+     * service, and only selects another one when a request fails. When the watch fails over to a different
+     * configuration service, or changes may have been missed, the listener receives all the configuration values
+     * again, retrieved from the service being watched. The watch occupies one of the executor threads while it is
+     * active.
+     *
+     * @param listener the {@link ConfigChangeListener} to receive the configuration updates
+     * @return a future representing the watch, cancel it to stop watching
+     */
+    @Nonnull
+    public Future<?> watch(@Nonnull final ConfigChangeListener listener) {
+        Objects.requireNonNull(listener);
+        return getExecutor().submit(() -> {
+            final OkHttpClient watchClient = getWatchHttpClient();
+            Optional<Service> pinned = Optional.empty();
+            Optional<String> epoch = Optional.empty();
+            long version = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (!pinned.isPresent()) {
+                        pinned = Optional.of(select());
+                    }
+                    final Service service = pinned.get();
+                    final Optional<ConfigChangeCollection> changes = poll(watchClient, service, epoch, version);
+                    if (changes.isPresent()) {
+                        if (changes.get().isReset()) {
+                            listener.onReset(retrieveSnapshot(service).getValues());
+                        } else {
+                            changes.get().getChanges().forEach(listener::onChange);
+                        }
+                        epoch = Optional.of(changes.get().getEpoch());
+                        version = changes.get().getVersion();
+                    }
+                } catch (final IOException | ServiceException | DiscoveryException | ConfigServiceException failed) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    // The epoch and version of the change log are local to each configuration service, so the watch
+                    // starts over with a reset from the next service selected.
+                    pinned = Optional.empty();
+                    epoch = Optional.empty();
+                    version = 0;
+                    LOG.warn("Configuration watch failed, retrying: {}", ExceptionUtils.getMessage(failed));
+                    try {
+                        delayBeforeRetry();
+                    } catch (final InterruptedException interrupted) {
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the HTTP client used for configuration watch requests, which allows for the long-poll wait time
+     */
+    @Nonnull
+    protected OkHttpClient getWatchHttpClient() {
+        final OkHttpClient.Builder builder = getHttpClient().newBuilder();
+        // The long-poll requests would distort the latency and requests in flight observed for each service, and would
+        // count as slow responses.
+        builder.interceptors().removeIf(interceptor -> interceptor == getLoad() || interceptor == getHealth());
+        return builder.readTimeout(WATCH_READ_TIMEOUT_SECONDS, TimeUnit.SECONDS).build();
+    }
+
+    /**
+     * Wait a little before retrying a failed configuration watch request.
+     *
+     * @throws InterruptedException if the sleep operation is interrupted
+     */
+    protected void delayBeforeRetry() throws InterruptedException {
+        Thread.sleep(WATCH_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * @param httpClient the HTTP client used to send the long-poll request
+     * @param service the configuration service to which the long-poll request is sent
+     * @param epoch the epoch in which the provided version was assigned, if known
+     * @param sinceVersion the last dynamic system configuration version seen
+     * @return the configuration changes made after the provided version, or empty if no changes arrived before the
+     * configuration service ended the long-poll request
+     * @throws IOException if there is a problem communicating with the configuration service
+     * @throws ServiceException if there was a problem verifying the response signature
+     * @throws ConfigServiceException if there was a problem with the remote configuration service
+     */
+    @Nonnull
+    protected Optional<ConfigChangeCollection> poll(
+            @Nonnull final OkHttpClient httpClient, @Nonnull final Service service,
+            @Nonnull final Optional<String> epoch, final long sinceVersion)
+            throws IOException, ServiceException, ConfigServiceException {
+        final HttpUrl.Builder url = HttpUrl.parse(service.asUrl() + "config/watch").newBuilder()
+                .addQueryParameter("sinceVersion", String.valueOf(sinceVersion));
+        epoch.ifPresent(e -> url.addQueryParameter("epoch", e));
+
+        final ServiceRequest serviceRequest = new ServiceRequest();
+        final Request request = newRequest(serviceRequest).url(url.build()).get().build();
+        final Response response = httpClient.newCall(request).execute();
+        switch (response.code()) {
+            case HttpServletResponse.SC_OK:
+                ServiceResponse.verify(getConfig(), getCryptoFactory(), serviceRequest, response);
+                return Optional.of(new ConfigChangeCollection(
+                        new JsonParser().parse(response.body().string()).getAsJsonObject()));
+            case HttpServletResponse.SC_NO_CONTENT:
+                response.body().close();
+                if (response.header(HttpHeaders.RETRY_AFTER) != null) {
+                    // The configuration service is busy with other watches, so avoid polling again right away.
+                    try {
+                        delayBeforeRetry();
+                    } catch (final InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting to poll again");
+                    }
+                }
+                return Optional.empty();
+            default:
+                throw new ConfigServiceException(response.body().string());
+        }
+    }
+
+    /**
+     * Stop the {@link ConfigCache}, if caching is enabled.
+     */
+    @Override
+    public void close() {
+        getCache().ifPresent(ConfigCache::close);
+    }
 }
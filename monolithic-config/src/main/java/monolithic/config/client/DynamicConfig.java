@@ -0,0 +1,210 @@
+package monolithic.config.client;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A typed view of the dynamic system configuration. Register this as a {@link ConfigChangeListener} (with a
+ * {@link ConfigClient} watch or a {@link monolithic.config.service.CuratorConfigService}) and retrieve
+ * {@link DynamicValue} objects for the configuration keys of interest. The values are parsed once as configuration
+ * changes arrive, so reading them is as cheap as reading a volatile field.
+ *
+ * Retrieving the same key with the same type and default value again returns the same {@link DynamicValue} while it
+ * is still in use, and values that are no longer referenced are released, so retrieving values repeatedly does not
+ * grow the set of values kept up-to-date.
+ *
+ * Durations, sizes and booleans are parsed the same way as the static system configuration, so values like
+ * {@code 10 seconds}, {@code 512k} and {@code yes} are supported. Lists are comma-separated.
+ */
+public class DynamicConfig implements ConfigChangeListener {
+    private final static String VALUE = "value";
+
+    @Nonnull
+    private final Map<String, String> raw = new HashMap<>();
+    @Nonnull
+    private final Map<String, List<WeakReference<DynamicValue<?>>>> values = new HashMap<>();
+
+    // The parsers are shared by all the values of the same type, so those values can be reused.
+    @Nonnull
+    private final Function<String, Integer> intParser = value -> asConfig(value).getInt(VALUE);
+    @Nonnull
+    private final Function<String, Long> longParser = value -> asConfig(value).getLong(VALUE);
+    @Nonnull
+    private final Function<String, Boolean> booleanParser = value -> asConfig(value).getBoolean(VALUE);
+    @Nonnull
+    private final Function<String, Duration> durationParser = value -> asConfig(value).getDuration(VALUE);
+    @Nonnull
+    private final Function<String, Long> sizeParser = value -> asConfig(value).getMemorySize(VALUE).toBytes();
+    @Nonnull
+    private final Function<String, List<String>> listParser = value -> Collections.unmodifiableList(
+            Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty())
+                    .collect(Collectors.toList()));
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @param parser used to convert the raw configuration value into the typed value
+     * @param <T> the type of the configuration value
+     * @return the typed dynamic configuration value, kept up-to-date as the configuration changes while it is
+     * referenced, which is shared with earlier callers that provided the same parser and an equal default value
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public synchronized <T> DynamicValue<T> getValue(
+            @Nonnull final String key, @Nonnull final T defaultValue, @Nonnull final Function<String, T> parser) {
+        final List<WeakReference<DynamicValue<?>>> existing = this.values.computeIfAbsent(key, k -> new ArrayList<>());
+        existing.removeIf(reference -> reference.get() == null);
+        for (final WeakReference<DynamicValue<?>> reference : existing) {
+            final DynamicValue<?> value = reference.get();
+            if (value != null && value.getParser() == parser && value.getDefaultValue().equals(defaultValue)) {
+                return (DynamicValue<T>) value;
+            }
+        }
+
+        final DynamicValue<T> value = new DynamicValue<>(key, defaultValue, parser);
+        value.update(Optional.ofNullable(this.raw.get(key)));
+        existing.add(new WeakReference<>(value));
+        return value;
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as a String
+     */
+    @Nonnull
+    public DynamicValue<String> getString(@Nonnull final String key, @Nonnull final String defaultValue) {
+        return getValue(key, defaultValue, Function.identity());
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as an integer
+     */
+    @Nonnull
+    public DynamicValue<Integer> getInt(@Nonnull final String key, final int defaultValue) {
+        return getValue(key, defaultValue, this.intParser);
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as a long
+     */
+    @Nonnull
+    public DynamicValue<Long> getLong(@Nonnull final String key, final long defaultValue) {
+        return getValue(key, defaultValue, this.longParser);
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as a boolean
+     */
+    @Nonnull
+    public DynamicValue<Boolean> getBoolean(@Nonnull final String key, final boolean defaultValue) {
+        return getValue(key, defaultValue, this.booleanParser);
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as a duration, like {@code 10 seconds} or {@code 500ms}
+     */
+    @Nonnull
+    public DynamicValue<Duration> getDuration(@Nonnull final String key, @Nonnull final Duration defaultValue) {
+        return getValue(key, defaultValue, this.durationParser);
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the number of bytes to use when the configuration key has no valid value
+     * @return the dynamic configuration value as a number of bytes, like {@code 512k} or {@code 10 MiB}
+     */
+    @Nonnull
+    public DynamicValue<Long> getSize(@Nonnull final String key, final long defaultValue) {
+        return getValue(key, defaultValue, this.sizeParser);
+    }
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to use when the configuration key has no valid value
+     * @return the dynamic configuration value as an unmodifiable list of the trimmed, non-empty, comma-separated items
+     */
+    @Nonnull
+    public DynamicValue<List<String>> getList(@Nonnull final String key, @Nonnull final List<String> defaultValue) {
+        return getValue(key, Collections.unmodifiableList(defaultValue), this.listParser);
+    }
+
+    /**
+     * @param value the raw configuration value
+     * @return a {@link Config} holding the raw value, so it can be parsed like the static system configuration
+     */
+    @Nonnull
+    protected Config asConfig(@Nonnull final String value) {
+        return ConfigFactory.empty().withValue(VALUE, ConfigValueFactory.fromAnyRef(value.trim()));
+    }
+
+    /**
+     * @param key the configuration key that changed
+     * @param value the new raw configuration value, or empty if the configuration key no longer has a value
+     */
+    protected void update(@Nonnull final String key, @Nonnull final Optional<String> value) {
+        if (value.isPresent()) {
+            this.raw.put(key, value.get());
+        } else {
+            this.raw.remove(key);
+        }
+        final List<WeakReference<DynamicValue<?>>> existing = this.values.get(key);
+        if (existing != null) {
+            existing.removeIf(reference -> reference.get() == null);
+            existing.stream().map(WeakReference::get).filter(Objects::nonNull)
+                    .forEach(dynamicValue -> dynamicValue.update(value));
+            if (existing.isEmpty()) {
+                this.values.remove(key);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void onReset(@Nonnull final ConfigKeyValueCollection all) {
+        final Map<String, ConfigKeyValue> map = Objects.requireNonNull(all).asMap();
+        // Values no longer present revert to their defaults.
+        new HashMap<>(this.raw).keySet().stream().filter(key -> !map.containsKey(key))
+                .forEach(key -> update(key, Optional.empty()));
+        map.values().stream().filter(kv -> !kv.getValue().equals(this.raw.get(kv.getKey())))
+                .forEach(kv -> update(kv.getKey(), Optional.of(kv.getValue())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void onChange(@Nonnull final ConfigChange change) {
+        update(Objects.requireNonNull(change).getKey(), change.getValue());
+    }
+}
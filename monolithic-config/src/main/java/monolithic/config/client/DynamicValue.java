@@ -0,0 +1,110 @@
+package monolithic.config.client;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A typed dynamic system configuration value. The raw configuration value is parsed once when it changes, so
+ * {@link #get()} is a single volatile read that is cheap enough for hot code paths. When the configuration key has no
+ * value, or the value cannot be parsed, the default value is provided.
+ *
+ * @param <T> the type of the configuration value
+ */
+public class DynamicValue<T> implements Supplier<T> {
+    private final static Logger LOG = LoggerFactory.getLogger(DynamicValue.class);
+
+    @Nonnull
+    private final String key;
+    @Nonnull
+    private final T defaultValue;
+    @Nonnull
+    private final Function<String, T> parser;
+
+    @Nonnull
+    private volatile T value;
+
+    /**
+     * @param key the configuration key holding the value
+     * @param defaultValue the value to provide when the configuration key has no valid value
+     * @param parser used to convert the raw configuration value into the typed value, throwing a runtime exception
+     *     when the raw value is invalid
+     */
+    public DynamicValue(
+            @Nonnull final String key, @Nonnull final T defaultValue, @Nonnull final Function<String, T> parser) {
+        this.key = Objects.requireNonNull(key);
+        this.defaultValue = Objects.requireNonNull(defaultValue);
+        this.parser = Objects.requireNonNull(parser);
+        this.value = defaultValue;
+    }
+
+    /**
+     * @return the configuration key holding the value
+     */
+    @Nonnull
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * @return the value provided when the configuration key has no valid value
+     */
+    @Nonnull
+    public T getDefaultValue() {
+        return this.defaultValue;
+    }
+
+    /**
+     * @return the parser used to convert the raw configuration value into the typed value
+     */
+    @Nonnull
+    public Function<String, T> getParser() {
+        return this.parser;
+    }
+
+    /**
+     * @return the current typed configuration value
+     */
+    @Override
+    @Nonnull
+    public T get() {
+        return this.value;
+    }
+
+    /**
+     * @param raw the new raw configuration value, or empty if the configuration key no longer has a value
+     */
+    protected void update(@Nonnull final Optional<String> raw) {
+        if (!Objects.requireNonNull(raw).isPresent()) {
+            this.value = getDefaultValue();
+            return;
+        }
+        try {
+            this.value = Objects.requireNonNull(this.parser.apply(raw.get()));
+        } catch (final RuntimeException invalid) {
+            LOG.warn("Invalid value for configuration key {}, using default {}: {}", getKey(), getDefaultValue(),
+                    raw.get());
+            this.value = getDefaultValue();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("key", getKey());
+        str.append("value", get());
+        return str.build();
+    }
+}
@@ -0,0 +1,166 @@
+package monolithic.config.model;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
+
+import org.apache.commons.lang3.builder.CompareToBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import monolithic.common.model.Model;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a single change to the dynamic system configuration, either a new value for a configuration key or the
+ * removal of the configuration key.
+ */
+public class ConfigChange implements Model, Comparable<ConfigChange> {
+    private final long version;
+    @Nonnull
+    private final String key;
+    @Nonnull
+    private final Optional<String> value;
+
+    /**
+     * @param version the version of the dynamic system configuration produced by this change
+     * @param key the configuration key that changed
+     * @param value the new configuration value, or empty if the configuration key was removed
+     */
+    public ConfigChange(final long version, @Nonnull final String key, @Nonnull final Optional<String> value) {
+        Preconditions.checkArgument(isNotEmpty(key), "Invalid empty key");
+        Preconditions.checkArgument(!Objects.requireNonNull(value).isPresent() || isNotEmpty(value.get()),
+                "Invalid empty value");
+
+        this.version = version;
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * @param json a {@link JsonObject} from which a {@link ConfigChange} will be parsed
+     */
+    public ConfigChange(@Nonnull final JsonObject json) {
+        // Validate the json object
+        Objects.requireNonNull(json);
+        Preconditions.checkArgument(json.has("version"), "Version field required");
+        Preconditions.checkArgument(json.get("version").isJsonPrimitive(), "Version field must be a primitive");
+        Preconditions.checkArgument(json.has("key"), "Key field required");
+        Preconditions.checkArgument(json.get("key").isJsonPrimitive(), "Key field must be a primitive");
+        Preconditions.checkArgument(isNotEmpty(json.get("key").getAsString()), "Key field must not be empty");
+        if (json.has("value")) {
+            Preconditions.checkArgument(json.get("value").isJsonPrimitive(), "Value field must be a primitive");
+            Preconditions
+                    .checkArgument(isNotEmpty(json.get("value").getAsString()), "Value field must not be empty");
+        }
+
+        this.version = json.get("version").getAsLong();
+        this.key = json.get("key").getAsString();
+        this.value = json.has("value") ? Optional.of(json.get("value").getAsString()) : Optional.empty();
+    }
+
+    /**
+     * @return the version of the dynamic system configuration produced by this change
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return the configuration key that changed
+     */
+    @Nonnull
+    public String getKey() {
+        return this.key;
+    }
+
+    /**
+     * @return the new configuration value, or empty if the configuration key was removed
+     */
+    @Nonnull
+    public Optional<String> getValue() {
+        return this.value;
+    }
+
+    /**
+     * @return the new configuration key and value, or empty if the configuration key was removed
+     */
+    @Nonnull
+    public Optional<ConfigKeyValue> getKeyValue() {
+        return getValue().map(v -> new ConfigKeyValue(getKey(), v));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(@Nullable final ConfigChange other) {
+        if (other == null) {
+            return 1;
+        }
+
+        final CompareToBuilder cmp = new CompareToBuilder();
+        cmp.append(getVersion(), other.getVersion());
+        cmp.append(getKey(), other.getKey());
+        cmp.append(getValue().orElse(null), other.getValue().orElse(null));
+        return cmp.toComparison();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@CheckForNull final Object other) {
+        return (other instanceof ConfigChange) && compareTo((ConfigChange) other) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder hash = new HashCodeBuilder();
+        hash.append(getVersion());
+        hash.append(getKey());
+        hash.append(getValue().orElse(null));
+        return hash.toHashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("version", getVersion());
+        str.append("key", getKey());
+        if (getValue().isPresent()) {
+            str.append("value", getValue().get());
+        }
+        return str.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public JsonObject toJson() {
+        final JsonObject json = new JsonObject();
+        json.addProperty("version", getVersion());
+        json.addProperty("key", getKey());
+        if (getValue().isPresent()) {
+            json.addProperty("value", getValue().get());
+        }
+        return json;
+    }
+}
@@ -0,0 +1,180 @@
+package monolithic.config.model;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import org.apache.commons.lang3.builder.CompareToBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import monolithic.common.model.Model;
+import monolithic.common.util.CollectionComparator;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents the changes made to the dynamic system configuration after a specific version. Versions are only
+ * meaningful within a single epoch, which identifies the configuration service instance that assigned them. When the
+ * requested version is from a different epoch, or is too old for the changes to still be available, the collection is
+ * marked as a reset, and the full configuration needs to be retrieved again.
+ */
+public class ConfigChangeCollection implements Model, Comparable<ConfigChangeCollection> {
+    @Nonnull
+    private final String epoch;
+    private final long version;
+    private final boolean reset;
+    @Nonnull
+    private final SortedSet<ConfigChange> changes = new TreeSet<>();
+
+    /**
+     * @param epoch the identifier of the configuration service instance that assigned the change versions
+     * @param version the latest version of the dynamic system configuration
+     * @param reset whether the changes are not available and the full configuration needs to be retrieved again
+     * @param changes the configuration changes made after the requested version
+     */
+    public ConfigChangeCollection(
+            @Nonnull final String epoch, final long version, final boolean reset,
+            @Nonnull final Collection<ConfigChange> changes) {
+        Preconditions.checkArgument(isNotEmpty(epoch), "Invalid empty epoch");
+
+        this.epoch = epoch;
+        this.version = version;
+        this.reset = reset;
+        this.changes.addAll(Objects.requireNonNull(changes));
+    }
+
+    /**
+     * @param json a {@link JsonObject} from which a {@link ConfigChangeCollection} will be parsed
+     */
+    public ConfigChangeCollection(@Nonnull final JsonObject json) {
+        // Validate the json object
+        Objects.requireNonNull(json);
+        Preconditions.checkArgument(json.has("epoch"), "Epoch field required");
+        Preconditions.checkArgument(json.get("epoch").isJsonPrimitive(), "Epoch field must be a primitive");
+        Preconditions.checkArgument(isNotEmpty(json.get("epoch").getAsString()), "Epoch field must not be empty");
+        Preconditions.checkArgument(json.has("version"), "Version field required");
+        Preconditions.checkArgument(json.get("version").isJsonPrimitive(), "Version field must be a primitive");
+        Preconditions.checkArgument(json.has("reset"), "Reset field required");
+        Preconditions.checkArgument(json.get("reset").isJsonPrimitive(), "Reset field must be a primitive");
+        Preconditions.checkArgument(json.has("changes"), "Changes field required");
+        Preconditions.checkArgument(json.get("changes").isJsonArray(), "Changes field must be an array");
+
+        this.epoch = json.get("epoch").getAsString();
+        this.version = json.get("version").getAsLong();
+        this.reset = json.get("reset").getAsBoolean();
+        json.getAsJsonArray("changes").forEach(element -> {
+            Preconditions.checkArgument(element.isJsonObject(), "Change element must be an object");
+            this.changes.add(new ConfigChange(element.getAsJsonObject()));
+        });
+    }
+
+    /**
+     * @return the identifier of the configuration service instance that assigned the change versions
+     */
+    @Nonnull
+    public String getEpoch() {
+        return this.epoch;
+    }
+
+    /**
+     * @return the latest version of the dynamic system configuration
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return whether the changes are not available and the full configuration needs to be retrieved again
+     */
+    public boolean isReset() {
+        return this.reset;
+    }
+
+    /**
+     * @return the configuration changes made after the requested version, ordered by version
+     */
+    @Nonnull
+    public SortedSet<ConfigChange> getChanges() {
+        return Collections.unmodifiableSortedSet(this.changes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(@Nullable final ConfigChangeCollection other) {
+        if (other == null) {
+            return 1;
+        }
+
+        final CompareToBuilder cmp = new CompareToBuilder();
+        cmp.append(getEpoch(), other.getEpoch());
+        cmp.append(getVersion(), other.getVersion());
+        cmp.append(isReset(), other.isReset());
+        cmp.append(getChanges(), other.getChanges(), new CollectionComparator<ConfigChange>());
+        return cmp.toComparison();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@CheckForNull final Object other) {
+        return (other instanceof ConfigChangeCollection) && compareTo((ConfigChangeCollection) other) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder hash = new HashCodeBuilder();
+        hash.append(getEpoch());
+        hash.append(getVersion());
+        hash.append(isReset());
+        hash.append(getChanges());
+        return hash.toHashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("epoch", getEpoch());
+        str.append("version", getVersion());
+        str.append("reset", isReset());
+        str.append("changes", getChanges());
+        return str.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public JsonObject toJson() {
+        final JsonArray arr = new JsonArray();
+        getChanges().stream().map(ConfigChange::toJson).forEach(arr::add);
+        final JsonObject json = new JsonObject();
+        json.addProperty("epoch", getEpoch());
+        json.addProperty("version", getVersion());
+        json.addProperty("reset", isReset());
+        json.add("changes", arr);
+        return json;
+    }
+}
@@ -0,0 +1,139 @@
+package monolithic.config.model;
+
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import org.apache.commons.lang3.builder.CompareToBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import monolithic.common.model.Model;
+import monolithic.common.util.CollectionComparator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Represents a collection of dynamic configuration keys, used when operating on multiple configuration values at once.
+ */
+public class ConfigKeyCollection implements Model, Comparable<ConfigKeyCollection> {
+    @Nonnull
+    private final SortedSet<String> keys = new TreeSet<>();
+
+    /**
+     * @param keys the configuration keys
+     */
+    public ConfigKeyCollection(@Nonnull final Collection<String> keys) {
+        Objects.requireNonNull(keys).forEach(key -> {
+            Preconditions.checkArgument(isNotEmpty(key), "Invalid empty key");
+            this.keys.add(key);
+        });
+    }
+
+    /**
+     * @param keys the configuration keys
+     */
+    public ConfigKeyCollection(@Nonnull final String... keys) {
+        this(Arrays.asList(Objects.requireNonNull(keys)));
+    }
+
+    /**
+     * @param json a {@link JsonObject} from which a {@link ConfigKeyCollection} will be parsed
+     */
+    public ConfigKeyCollection(@Nonnull final JsonObject json) {
+        // Validate the json object
+        Objects.requireNonNull(json);
+        Preconditions.checkArgument(json.has("keys"), "Keys field required");
+        Preconditions.checkArgument(json.get("keys").isJsonArray(), "Keys field must be an array");
+
+        json.getAsJsonArray("keys").forEach(element -> {
+            Preconditions.checkArgument(element.isJsonPrimitive(), "Key element must be a primitive");
+            Preconditions.checkArgument(isNotEmpty(element.getAsString()), "Key element must not be empty");
+            this.keys.add(element.getAsString());
+        });
+    }
+
+    /**
+     * @return the configuration keys in this collection
+     */
+    @Nonnull
+    public SortedSet<String> getKeys() {
+        return Collections.unmodifiableSortedSet(this.keys);
+    }
+
+    /**
+     * @return the number of configuration keys in this collection
+     */
+    public int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo(@Nullable final ConfigKeyCollection other) {
+        if (other == null) {
+            return 1;
+        }
+
+        final CompareToBuilder cmp = new CompareToBuilder();
+        cmp.append(getKeys(), other.getKeys(), new CollectionComparator<String>());
+        return cmp.toComparison();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(@CheckForNull final Object other) {
+        return (other instanceof ConfigKeyCollection) && compareTo((ConfigKeyCollection) other) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder hash = new HashCodeBuilder();
+        hash.append(getKeys());
+        return hash.toHashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        str.append("keys", getKeys());
+        return str.build();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public JsonObject toJson() {
+        final JsonArray arr = new JsonArray();
+        getKeys().stream().map(JsonPrimitive::new).forEach(arr::add);
+        final JsonObject json = new JsonObject();
+        json.add("keys", arr);
+        return json;
+    }
+}
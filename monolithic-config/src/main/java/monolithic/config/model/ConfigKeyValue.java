@@ -13,30 +13,48 @@ import org.apache.commons.lang3.builder.ToStringStyle;
 import monolithic.common.model.Model;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
- * Represents a dynamic configuration key and value pair.
+ * Represents a dynamic configuration key and value pair. Values retrieved from the configuration service also carry
+ * the zookeeper node version of the value, which can be used to perform compare-and-set updates. The version is not
+ * considered when comparing values.
  */
 public class ConfigKeyValue implements Model, Comparable<ConfigKeyValue> {
     @Nonnull
     private final String key;
     @Nonnull
     private final String value;
+    @Nonnull
+    private final Optional<Integer> version;
 
     /**
      * @param key the configuration key
      * @param value the configuration value
      */
     public ConfigKeyValue(@Nonnull final String key, @Nonnull final String value) {
+        this(key, value, Optional.empty());
+    }
+
+    /**
+     * @param key the configuration key
+     * @param value the configuration value
+     * @param version the version of the configuration value, if known
+     */
+    public ConfigKeyValue(
+            @Nonnull final String key, @Nonnull final String value, @Nonnull final Optional<Integer> version) {
         Preconditions.checkArgument(isNotEmpty(key), "Invalid empty key");
         Preconditions.checkArgument(isNotEmpty(value), "Invalid empty value");
+        Preconditions.checkArgument(!Objects.requireNonNull(version).isPresent() || version.get() >= 0,
+                "Invalid negative version");
 
         this.key = key;
         this.value = value;
+        this.version = version;
     }
 
     /**
@@ -51,9 +69,14 @@ public class ConfigKeyValue implements Model, Comparable<ConfigKeyValue> {
         Preconditions.checkArgument(json.has("value"), "Value field required");
         Preconditions.checkArgument(json.get("value").isJsonPrimitive(), "Value field must be a primitive");
         Preconditions.checkArgument(isNotEmpty(json.get("value").getAsString()), "Value field must not be empty");
+        if (json.has("version")) {
+            Preconditions.checkArgument(json.get("version").isJsonPrimitive(), "Version field must be a primitive");
+            Preconditions.checkArgument(json.get("version").getAsInt() >= 0, "Version field must not be negative");
+        }
 
         this.key = json.get("key").getAsString();
         this.value = json.get("value").getAsString();
+        this.version = json.has("version") ? Optional.of(json.get("version").getAsInt()) : Optional.empty();
     }
 
     /**
@@ -72,6 +95,14 @@ public class ConfigKeyValue implements Model, Comparable<ConfigKeyValue> {
         return this.value;
     }
 
+    /**
+     * @return the zookeeper node version of the configuration value, if known
+     */
+    @Nonnull
+    public Optional<Integer> getVersion() {
+        return this.version;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -115,6 +146,9 @@ public class ConfigKeyValue implements Model, Comparable<ConfigKeyValue> {
         final ToStringBuilder str = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
         str.append("key", getKey());
         str.append("value", getValue());
+        if (getVersion().isPresent()) {
+            str.append("version", getVersion().get());
+        }
         return str.build();
     }
 
@@ -127,6 +161,9 @@ public class ConfigKeyValue implements Model, Comparable<ConfigKeyValue> {
         final JsonObject json = new JsonObject();
         json.addProperty("key", getKey());
         json.addProperty("value", getValue());
+        if (getVersion().isPresent()) {
+            json.addProperty("version", getVersion().get());
+        }
         return json;
     }
 }
@@ -0,0 +1,151 @@
+package monolithic.config.module;
+
+import com.typesafe.config.Config;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.config.route.ConsistentRead;
+import monolithic.config.route.Export;
+import monolithic.config.route.Get;
+import monolithic.config.route.GetAll;
+import monolithic.config.route.GetByPrefix;
+import monolithic.config.route.GetMany;
+import monolithic.config.route.GetMatching;
+import monolithic.config.route.Import;
+import monolithic.config.route.LeaderWrite;
+import monolithic.config.route.Set;
+import monolithic.config.route.SetMany;
+import monolithic.config.route.Unset;
+import monolithic.config.route.UnsetMany;
+import monolithic.config.route.Watch;
+import monolithic.config.service.ConfigLeader;
+import monolithic.config.service.ConfigServiceException;
+import monolithic.config.service.CuratorConfigService;
+import monolithic.server.Server;
+import monolithic.server.module.RouteModule;
+import monolithic.server.module.RouteRegistry;
+import spark.Route;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Mounts the dynamic system configuration end-points, backed by a single {@link CuratorConfigService} shared by all
+ * of the routes, at the paths used by the {@link monolithic.config.client.ConfigClient}. Every node answers reads from
+ * its own tree cache. When {@code config.leader.enabled} is set, the nodes elect a {@link ConfigLeader} and writes
+ * received by the other nodes are redirected to it, so all writes are ordered by a single node.
+ */
+public class ConfigRouteModule implements RouteModule {
+    /**
+     * The name of this module, as used in the {@code server.modules} configuration.
+     */
+    public final static String NAME = "config";
+
+    @Nonnull
+    private Optional<CuratorConfigService> configService = Optional.empty();
+    @Nonnull
+    private Optional<ConfigLeader> leader = Optional.empty();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * @return the {@link CuratorConfigService} used by the routes in this module, if the module has been started
+     */
+    @Nonnull
+    public synchronized Optional<CuratorConfigService> getConfigService() {
+        return this.configService;
+    }
+
+    /**
+     * @return the {@link ConfigLeader} used to route writes, if the module has been started with leader election
+     */
+    @Nonnull
+    public synchronized Optional<ConfigLeader> getLeader() {
+        return this.leader;
+    }
+
+    @Nonnull
+    protected Optional<ConfigLeader> createLeader(@Nonnull final Server server) throws ConfigServiceException {
+        if (!server.getConfig().getBoolean(ConfigKeys.CONFIG_LEADER_ENABLED.getKey())) {
+            return Optional.empty();
+        }
+        if (!server.getService().isPresent()) {
+            throw new ConfigServiceException("The service address is required to take part in leader election");
+        }
+        return Optional.of(new ConfigLeader(server.getCurator(), server.getService().get().asUrl()));
+    }
+
+    @Nonnull
+    protected CuratorConfigService createConfigService(@Nonnull final Server server) throws ConfigServiceException {
+        return new CuratorConfigService(server.getExecutor(), server.getCurator());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start(@Nonnull final Server server, @Nonnull final RouteRegistry routes)
+            throws ConfigServiceException {
+        Objects.requireNonNull(routes);
+        final CuratorConfigService service = createConfigService(Objects.requireNonNull(server));
+        this.configService = Optional.of(service);
+
+        final Optional<ConfigLeader> leader = createLeader(server);
+        this.leader = leader;
+
+        final Config config = server.getConfig();
+        // The fixed paths are mounted before the single-segment key paths so they are matched first.
+        routes.get("/config/prefix/:prefix", read(config, service, new GetByPrefix(config, service)));
+        routes.get("/config/filter", read(config, service, new GetMatching(config, service)));
+        routes.get("/config/watch", new Watch(config, service));
+        routes.get("/config/export", read(config, service, new Export(config, service)));
+        routes.post("/config/import", write(config, service, leader, new Import(config, service)));
+        routes.post("/config/get", read(config, service, new GetMany(config, service)));
+        routes.post("/config/set", write(config, service, leader, new SetMany(config, service)));
+        routes.post("/config/unset", write(config, service, leader, new UnsetMany(config, service)));
+        routes.get("/", read(config, service, new GetAll(config, service)));
+        routes.post("/", write(config, service, leader, new Set(config, service)));
+        routes.get("/:key", read(config, service, new Get(config, service)));
+        routes.delete("/:key", write(config, service, leader, new Unset(config, service)));
+    }
+
+    @Nonnull
+    protected Route read(
+            @Nonnull final Config config, @Nonnull final CuratorConfigService service, @Nonnull final Route read) {
+        return new ConsistentRead(config, service, read);
+    }
+
+    @Nonnull
+    protected Route write(
+            @Nonnull final Config config, @Nonnull final CuratorConfigService service,
+            @Nonnull final Optional<ConfigLeader> leader, @Nonnull final Route write) {
+        return new LeaderWrite(config, service, leader, write);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void drain() {
+        this.configService.ifPresent(CuratorConfigService::drain);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() {
+        this.leader.ifPresent(ConfigLeader::close);
+        this.leader = Optional.empty();
+        this.configService.ifPresent(CuratorConfigService::close);
+        this.configService = Optional.empty();
+    }
+}
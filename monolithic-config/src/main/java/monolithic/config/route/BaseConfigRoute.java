@@ -1,11 +1,16 @@
 package monolithic.config.route;
 
+import com.google.common.base.Preconditions;
 import com.typesafe.config.Config;
 
+import org.apache.commons.lang3.StringUtils;
+
 import monolithic.common.route.BaseRoute;
 import monolithic.config.service.ConfigService;
+import spark.Request;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import javax.annotation.Nonnull;
 
@@ -32,4 +37,21 @@ public abstract class BaseConfigRoute extends BaseRoute {
     protected ConfigService getConfigService() {
         return this.configService;
     }
+
+    /**
+     * @param request the request from which the expected configuration value version should be retrieved
+     * @return the expected version of the current configuration value provided in the {@code version} query
+     * parameter, used to perform a compare-and-set update, or empty if not provided
+     * @throws IllegalArgumentException if the provided version is not a valid number
+     */
+    @Nonnull
+    protected Optional<Integer> getVersion(@Nonnull final Request request) {
+        final String version = StringUtils.trimToNull(Objects.requireNonNull(request).queryParams("version"));
+        if (version == null) {
+            return Optional.empty();
+        }
+        Preconditions.checkArgument(StringUtils.isNumeric(StringUtils.removeStart(version, "-")),
+                "Invalid configuration version");
+        return Optional.of(Integer.parseInt(version, 10));
+    }
 }
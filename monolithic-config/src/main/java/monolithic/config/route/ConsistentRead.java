@@ -0,0 +1,65 @@
+package monolithic.config.route;
+
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Wraps a configuration read route, so that a request with a {@link ConfigService#VERSION_HEADER write version token}
+ * is only processed once this configuration service has caught up with the writes covered by the token. This provides
+ * read-your-writes consistency while every configuration service answers reads from its own tree cache.
+ */
+public class ConsistentRead extends BaseConfigRoute {
+    @Nonnull
+    private final Route read;
+
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     * @param read the {@link Route} processing the configuration read
+     */
+    public ConsistentRead(
+            @Nonnull final Config config, @Nonnull final ConfigService configService, @Nonnull final Route read) {
+        super(config, configService);
+        this.read = Objects.requireNonNull(read);
+    }
+
+    /**
+     * @return the {@link Route} processing the configuration read
+     */
+    @Nonnull
+    public Route getRead() {
+        return this.read;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response) throws Exception {
+        final String token = StringUtils.trimToNull(request.headers(ConfigService.VERSION_HEADER));
+        if (token != null) {
+            if (!StringUtils.isNumeric(token)) {
+                response.status(HttpServletResponse.SC_BAD_REQUEST);
+                return "Invalid configuration version token";
+            }
+            final long version = Long.parseLong(token, 10);
+            if (!getDeadline(request).get(getConfigService().awaitVersion(version))) {
+                response.status(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return String.format("Configuration version %d is not available yet", version);
+            }
+        }
+        return getRead().handle(request, response);
+    }
+}
@@ -0,0 +1,47 @@
+package monolithic.config.route;
+
+import com.typesafe.config.Config;
+
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigService;
+import monolithic.crypto.EncryptionException;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Retrieve all of the dynamic system configuration properties as a compressed {@link ConfigArchive}, which can be
+ * restored using the {@link Import} route.
+ */
+public class Export extends BaseConfigRoute {
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public Export(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException, IOException, EncryptionException {
+        final ConfigKeyValueCollection all = getDeadline(request).get(getConfigService().getAll());
+
+        response.status(HttpServletResponse.SC_OK);
+        response.type(ConfigArchive.CONTENT_TYPE);
+        // The archive is sent unencrypted, the transport is protected by SSL when enabled.
+        return ConfigArchive.toBytes(all.asSet(), Optional.empty());
+    }
+}
@@ -1,21 +1,24 @@
 package monolithic.config.route;
 
+import com.google.common.net.HttpHeaders;
 import com.google.common.net.MediaType;
 import com.typesafe.config.Config;
 
 import monolithic.config.service.ConfigService;
+import monolithic.config.service.ConfigSnapshot;
 import spark.Request;
 import spark.Response;
 
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * Retrieve all of the dynamic system configuration properties managed in this system.
+ * Retrieve all of the dynamic system configuration properties managed in this system. The response includes an
+ * {@code ETag} header, and a request with a matching {@code If-None-Match} header receives a {@code 304 Not Modified}
+ * response without a body.
  */
 public class GetAll extends BaseConfigRoute {
     /**
@@ -33,9 +36,16 @@ public class GetAll extends BaseConfigRoute {
     @Nonnull
     public Object handle(@Nonnull final Request request, @Nonnull final Response response)
             throws ExecutionException, InterruptedException, TimeoutException {
+        final ConfigSnapshot snapshot = getDeadline(request).get(getConfigService().getSnapshot());
+        response.header(HttpHeaders.ETAG, snapshot.getETag());
+
+        if (snapshot.matches(request.headers(HttpHeaders.IF_NONE_MATCH))) {
+            response.status(HttpServletResponse.SC_NOT_MODIFIED);
+            return "";
+        }
+
         response.status(HttpServletResponse.SC_OK);
         response.type(MediaType.JSON_UTF_8.type());
-
-        return getConfigService().getAll().get(10, TimeUnit.SECONDS).toJson();
+        return snapshot.getJson();
     }
 }
@@ -0,0 +1,49 @@
+package monolithic.config.route;
+
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Retrieves the configuration values with keys starting with the provided prefix, like all of the nested keys
+ * below {@code a.b} when given the prefix {@code a.b.}.
+ */
+public class GetByPrefix extends BaseConfigRoute {
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public GetByPrefix(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final String prefix = request.params("prefix");
+
+        if (StringUtils.isEmpty(prefix)) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return "Invalid configuration key prefix";
+        } else {
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return getDeadline(request).get(getConfigService().getByPrefix(prefix)).toJson();
+        }
+    }
+}
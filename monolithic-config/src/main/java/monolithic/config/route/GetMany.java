@@ -0,0 +1,55 @@
+package monolithic.config.route;
+
+import com.google.common.base.Preconditions;
+import com.google.common.net.MediaType;
+import com.google.gson.JsonParser;
+import com.typesafe.config.Config;
+
+import monolithic.config.model.ConfigKeyCollection;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Retrieves the configuration values for all of the provided keys with a single request.
+ */
+public class GetMany extends BaseConfigRoute {
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public GetMany(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            final String body = request.body();
+            Preconditions.checkArgument(body != null, "Configuration keys must be provided");
+
+            final ConfigKeyCollection keys = new ConfigKeyCollection(new JsonParser().parse(body).getAsJsonObject());
+            final ConfigKeyValueCollection values =
+                    getDeadline(request).get(getConfigService().getMany(keys));
+
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return values.toJson();
+        } catch (final IllegalArgumentException badInput) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return badInput.getMessage();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package monolithic.config.route;
+
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Retrieves the configuration values with a key or value containing the text (ignoring case) provided in the
+ * {@code text} query parameter, so filtering happens in the configuration service instead of in every client.
+ */
+public class GetMatching extends BaseConfigRoute {
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public GetMatching(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        final String text = request.queryParams("text");
+
+        if (StringUtils.isEmpty(text)) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return "Invalid configuration filter text";
+        } else {
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return getDeadline(request).get(getConfigService().getMatching(text)).toJson();
+        }
+    }
+}
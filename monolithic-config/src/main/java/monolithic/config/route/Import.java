@@ -0,0 +1,90 @@
+package monolithic.config.route;
+
+import com.google.common.base.Preconditions;
+import com.google.common.net.MediaType;
+import com.google.gson.JsonObject;
+import com.typesafe.config.Config;
+
+import monolithic.common.route.Deadline;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigService;
+import monolithic.crypto.EncryptionException;
+import spark.Request;
+import spark.Response;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Restore dynamic system configuration properties from an unencrypted {@link ConfigArchive} provided in the request
+ * body, responding with the number of configuration values imported. Configuration keys not in the archive are left
+ * unchanged. Large archives are imported in multiple chunks, so the request deadline sent by the caller may exceed
+ * the usual default timeout, up to {@link #MAX_TIMEOUT_MILLIS}. An import that exceeds its deadline is cancelled, so
+ * the chunks already written remain but no more are written.
+ */
+public class Import extends BaseConfigRoute {
+    /**
+     * The maximum number of milliseconds an import request is allowed, which is also used when the caller does not
+     * provide a deadline.
+     */
+    public final static long MAX_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public Import(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    protected Deadline getDeadline(@Nonnull final Request request) {
+        return Deadline.from(request, MAX_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            final byte[] body = request.bodyAsBytes();
+            Preconditions.checkArgument(body != null && body.length > 0, "Configuration archive must be provided");
+
+            final ConfigKeyValueCollection kvs = ConfigArchive.fromBytes(body, Optional.empty());
+            final Future<Integer> future = getConfigService().importAll(kvs);
+            final int imported;
+            try {
+                imported = getDeadline(request).get(future);
+            } catch (final TimeoutException | InterruptedException notImported) {
+                // Stop writing the remaining chunks, since the caller is told the import failed.
+                future.cancel(true);
+                throw notImported;
+            }
+
+            final JsonObject json = new JsonObject();
+            json.addProperty("imported", imported);
+
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return json;
+        } catch (final IllegalArgumentException | IOException | EncryptionException badInput) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return badInput.getMessage();
+        }
+    }
+}
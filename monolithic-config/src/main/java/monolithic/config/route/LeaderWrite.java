@@ -0,0 +1,97 @@
+package monolithic.config.route;
+
+import com.google.common.net.HttpHeaders;
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.service.ConfigLeader;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Wraps a configuration write route. When a {@link ConfigLeader} is in use and this configuration service is not the
+ * leader, the request is redirected to the leader with a {@code 307 Temporary Redirect}, which preserves the request
+ * method and body. Otherwise the write is processed here, and the response includes the
+ * {@link ConfigService#VERSION_HEADER write version token} clients use to read their own writes from any node.
+ */
+public class LeaderWrite extends BaseConfigRoute {
+    @Nonnull
+    private final Optional<ConfigLeader> leader;
+    @Nonnull
+    private final Route write;
+
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     * @param leader the {@link ConfigLeader} deciding which configuration service processes writes, if writes are
+     *     routed to a leader
+     * @param write the {@link Route} processing the configuration write
+     */
+    public LeaderWrite(
+            @Nonnull final Config config, @Nonnull final ConfigService configService,
+            @Nonnull final Optional<ConfigLeader> leader, @Nonnull final Route write) {
+        super(config, configService);
+        this.leader = Objects.requireNonNull(leader);
+        this.write = Objects.requireNonNull(write);
+    }
+
+    /**
+     * @return the {@link ConfigLeader} deciding which configuration service processes writes, if writes are routed to
+     * a leader
+     */
+    @Nonnull
+    public Optional<ConfigLeader> getLeader() {
+        return this.leader;
+    }
+
+    /**
+     * @return the {@link Route} processing the configuration write
+     */
+    @Nonnull
+    public Route getWrite() {
+        return this.write;
+    }
+
+    /**
+     * @param leaderUrl the base URL of the leader configuration service
+     * @param request the request to redirect
+     * @return the URL of the same request on the leader configuration service
+     */
+    @Nonnull
+    protected String getLocation(@Nonnull final String leaderUrl, @Nonnull final Request request) {
+        final String path = StringUtils.removeStart(StringUtils.defaultString(request.pathInfo()), "/");
+        final String query = StringUtils.isEmpty(request.queryString()) ? "" : "?" + request.queryString();
+        return StringUtils.appendIfMissing(leaderUrl, "/") + path + query;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response) throws Exception {
+        if (getLeader().isPresent() && !getLeader().get().isLeader()) {
+            final Optional<String> leaderUrl = getLeader().get().getLeaderUrl();
+            if (!leaderUrl.isPresent()) {
+                response.status(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return "No configuration service leader is available";
+            }
+            response.status(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.header(HttpHeaders.LOCATION, getLocation(leaderUrl.get(), request));
+            return getNoContent();
+        }
+
+        final Object result = getWrite().handle(request, response);
+        response.header(ConfigService.VERSION_HEADER, String.valueOf(getConfigService().getWriteVersion()));
+        return result;
+    }
+}
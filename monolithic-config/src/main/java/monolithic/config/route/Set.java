@@ -6,6 +6,7 @@ import com.google.gson.JsonParser;
 import com.typesafe.config.Config;
 
 import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.ConfigConflictException;
 import monolithic.config.service.ConfigService;
 import spark.Request;
 import spark.Response;
@@ -13,7 +14,6 @@ import spark.Response;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
@@ -43,8 +43,20 @@ public class Set extends BaseConfigRoute {
             Preconditions.checkArgument(body != null, "Configuration key and value must be provided");
 
             final ConfigKeyValue kv = new ConfigKeyValue(new JsonParser().parse(body).getAsJsonObject());
-            final Future<Optional<ConfigKeyValue>> future = getConfigService().set(kv);
-            final Optional<ConfigKeyValue> oldValue = future.get(10, TimeUnit.SECONDS);
+            final Optional<Integer> version = getVersion(request);
+            final Future<Optional<ConfigKeyValue>> future = version.isPresent()
+                    ? getConfigService().setIfVersion(kv, version.get())
+                    : getConfigService().set(kv);
+            final Optional<ConfigKeyValue> oldValue;
+            try {
+                oldValue = getDeadline(request).get(future);
+            } catch (final ExecutionException failed) {
+                if (failed.getCause() instanceof ConfigConflictException) {
+                    response.status(HttpServletResponse.SC_CONFLICT);
+                    return failed.getCause().getMessage();
+                }
+                throw failed;
+            }
 
             if (oldValue.isPresent()) {
                 response.status(HttpServletResponse.SC_OK);
@@ -0,0 +1,56 @@
+package monolithic.config.route;
+
+import com.google.common.base.Preconditions;
+import com.google.common.net.MediaType;
+import com.google.gson.JsonParser;
+import com.typesafe.config.Config;
+
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Atomically update (or create) multiple configuration values based on the user-provided data, responding with
+ * the previous values of the configuration keys that had them.
+ */
+public class SetMany extends BaseConfigRoute {
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public SetMany(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        try {
+            final String body = request.body();
+            Preconditions.checkArgument(body != null, "Configuration keys and values must be provided");
+
+            final ConfigKeyValueCollection kvs =
+                    new ConfigKeyValueCollection(new JsonParser().parse(body).getAsJsonObject());
+            final ConfigKeyValueCollection oldValues =
+                    getDeadline(request).get(getConfigService().setMany(kvs));
+
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return oldValues.toJson();
+        } catch (final IllegalArgumentException badInput) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return badInput.getMessage();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.typesafe.config.Config;
 import org.apache.commons.lang3.StringUtils;
 
 import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.ConfigConflictException;
 import monolithic.config.service.ConfigService;
 import spark.Request;
 import spark.Response;
@@ -13,7 +14,6 @@ import spark.Response;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
@@ -44,8 +44,27 @@ public class Unset extends BaseConfigRoute {
             response.status(HttpServletResponse.SC_BAD_REQUEST);
             return "Invalid configuration key";
         } else {
-            final Future<Optional<ConfigKeyValue>> future = getConfigService().unset(key);
-            final Optional<ConfigKeyValue> oldValue = future.get(10, TimeUnit.SECONDS);
+            final Optional<Integer> version;
+            try {
+                version = getVersion(request);
+            } catch (final IllegalArgumentException badVersion) {
+                response.status(HttpServletResponse.SC_BAD_REQUEST);
+                return badVersion.getMessage();
+            }
+
+            final Future<Optional<ConfigKeyValue>> future = version.isPresent()
+                    ? getConfigService().unsetIfVersion(key, version.get())
+                    : getConfigService().unset(key);
+            final Optional<ConfigKeyValue> oldValue;
+            try {
+                oldValue = getDeadline(request).get(future);
+            } catch (final ExecutionException failed) {
+                if (failed.getCause() instanceof ConfigConflictException) {
+                    response.status(HttpServletResponse.SC_CONFLICT);
+                    return failed.getCause().getMessage();
+                }
+                throw failed;
+            }
 
             if (oldValue.isPresent()) {
                 response.status(HttpServletResponse.SC_OK);
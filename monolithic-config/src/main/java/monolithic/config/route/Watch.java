@@ -0,0 +1,115 @@
+package monolithic.config.route;
+
+import com.google.common.net.HttpHeaders;
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Long-polls for dynamic system configuration changes made after the version provided in the {@code sinceVersion}
+ * query parameter (within the epoch provided in the {@code epoch} query parameter). The response is sent as soon as
+ * changes are available. When no changes arrive within the wait time, a no-content response is sent and the client is
+ * expected to poll again with the same version.
+ *
+ * Each waiting request holds a web server thread, so at most {@code config.watch.max} requests wait at a time, and the
+ * requests beyond that limit get a no-content response right away, with a {@code Retry-After} header asking the client
+ * to wait before polling again. Waiting requests are also answered right away when the server starts draining.
+ */
+public class Watch extends BaseConfigRoute {
+    /**
+     * The maximum number of seconds to wait for configuration changes, kept below the server idle timeout.
+     */
+    public final static long WAIT_SECONDS = 20;
+
+    /**
+     * The number of seconds a client should wait before polling again when too many requests are already waiting.
+     */
+    public final static long RETRY_AFTER_SECONDS = 1;
+
+    private final int maxWatches;
+    @Nonnull
+    private final AtomicInteger watches = new AtomicInteger();
+
+    /**
+     * @param config the system configuration properties
+     * @param configService the {@link ConfigService} used to manage the dynamic system configuration properties
+     */
+    public Watch(@Nonnull final Config config, @Nonnull final ConfigService configService) {
+        super(config, configService);
+        this.maxWatches = config.getInt(ConfigKeys.CONFIG_WATCH_MAX.getKey());
+    }
+
+    /**
+     * @return the maximum number of requests allowed to wait for configuration changes at the same time
+     */
+    protected int getMaxWatches() {
+        return this.maxWatches;
+    }
+
+    /**
+     * @return the number of seconds to wait for configuration changes before sending a no-content response
+     */
+    protected long getWaitSeconds() {
+        return WAIT_SECONDS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Object handle(@Nonnull final Request request, @Nonnull final Response response)
+            throws ExecutionException, InterruptedException {
+        final Optional<String> epoch = Optional.ofNullable(StringUtils.trimToNull(request.queryParams("epoch")));
+        final long sinceVersion;
+        try {
+            sinceVersion = Long.parseLong(StringUtils.defaultIfBlank(request.queryParams("sinceVersion"), "0"), 10);
+        } catch (final NumberFormatException badVersion) {
+            response.status(HttpServletResponse.SC_BAD_REQUEST);
+            return "Invalid configuration version";
+        }
+
+        if (this.watches.incrementAndGet() > getMaxWatches()) {
+            this.watches.decrementAndGet();
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+            response.status(HttpServletResponse.SC_NO_CONTENT);
+            return getNoContent();
+        }
+
+        final Future<ConfigChangeCollection> future = getConfigService().watch(epoch, sinceVersion);
+        try {
+            final ConfigChangeCollection changes = future.get(getWaitSeconds(), TimeUnit.SECONDS);
+            if (!changes.isReset() && changes.getChanges().isEmpty()) {
+                // The server is draining.
+                response.status(HttpServletResponse.SC_NO_CONTENT);
+                return getNoContent();
+            }
+            response.status(HttpServletResponse.SC_OK);
+            response.type(MediaType.JSON_UTF_8.type());
+            return changes.toJson();
+        } catch (final TimeoutException noChanges) {
+            future.cancel(true);
+            response.status(HttpServletResponse.SC_NO_CONTENT);
+            return getNoContent();
+        } finally {
+            this.watches.decrementAndGet();
+        }
+    }
+}
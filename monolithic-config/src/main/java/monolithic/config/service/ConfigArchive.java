@@ -0,0 +1,248 @@
+package monolithic.config.service;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.crypto.EncryptionException;
+import monolithic.crypto.SymmetricKeyEncryption;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Reads and writes dynamic system configuration archives, used to back up, restore and clone the dynamic system
+ * configuration. An archive starts with a fixed header: the {@link #MAGIC} number, the archive format version, and a
+ * flags byte indicating whether the payload is encrypted. The payload holds gzip-compressed newline-delimited JSON,
+ * with one configuration key and value per line, optionally encrypted using {@link SymmetricKeyEncryption}.
+ */
+public class ConfigArchive {
+    /**
+     * The magic number at the start of every configuration archive, the ASCII characters {@code MCFG}.
+     */
+    public final static int MAGIC = 0x4d434647;
+
+    /**
+     * The configuration archive format version written by this class.
+     */
+    public final static int FORMAT_VERSION = 1;
+
+    /**
+     * The content type used when transferring configuration archives.
+     */
+    public final static String CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * The maximum number of bytes in the decompressed archive payload. Archives are usually highly compressed, so
+     * this protects against a small archive that decompresses into more data than can be held in memory.
+     */
+    public final static long MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    private final static int FLAG_ENCRYPTED = 1;
+
+    /**
+     * @param kvs the configuration keys and values to write to the archive
+     * @param output the stream to which the archive is written, which remains open
+     * @param encryption used to encrypt the archive payload, if the archive should be encrypted
+     * @throws IOException if there is a problem writing the archive
+     * @throws EncryptionException if there is a problem encrypting the archive payload
+     */
+    public static void write(
+            @Nonnull final Collection<ConfigKeyValue> kvs, @Nonnull final OutputStream output,
+            @Nonnull final Optional<SymmetricKeyEncryption> encryption) throws IOException, EncryptionException {
+        Objects.requireNonNull(kvs);
+        final DataOutputStream data = new DataOutputStream(Objects.requireNonNull(output));
+        data.writeInt(MAGIC);
+        data.writeByte(FORMAT_VERSION);
+        data.writeByte(encryption.isPresent() ? FLAG_ENCRYPTED : 0);
+
+        if (encryption.isPresent()) {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            writePayload(kvs, compressed);
+            encryption.get().encrypt(new ByteArrayInputStream(compressed.toByteArray()), data);
+        } else {
+            writePayload(kvs, data);
+        }
+        data.flush();
+    }
+
+    /**
+     * @param kvs the configuration keys and values to write to the archive
+     * @param encryption used to encrypt the archive payload, if the archive should be encrypted
+     * @return the bytes of the archive
+     * @throws IOException if there is a problem writing the archive
+     * @throws EncryptionException if there is a problem encrypting the archive payload
+     */
+    @Nonnull
+    public static byte[] toBytes(
+            @Nonnull final Collection<ConfigKeyValue> kvs, @Nonnull final Optional<SymmetricKeyEncryption> encryption)
+            throws IOException, EncryptionException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        write(kvs, output, encryption);
+        return output.toByteArray();
+    }
+
+    /**
+     * @param kvs the configuration keys and values to write
+     * @param output the stream to which the compressed payload is written, which remains open
+     * @throws IOException if there is a problem writing the payload
+     */
+    protected static void writePayload(
+            @Nonnull final Collection<ConfigKeyValue> kvs, @Nonnull final OutputStream output) throws IOException {
+        final GZIPOutputStream gzip = new GZIPOutputStream(output);
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+        for (final ConfigKeyValue kv : kvs) {
+            // The zookeeper node versions are specific to the source environment, so they are not included.
+            writer.write(new ConfigKeyValue(kv.getKey(), kv.getValue()).toJson().toString());
+            writer.write('\n');
+        }
+        writer.flush();
+        // Finish rather than close, so the underlying stream remains open.
+        gzip.finish();
+    }
+
+    /**
+     * @param input the stream from which the archive is read, which remains open
+     * @param encryption used to decrypt the archive payload, required when the archive is encrypted
+     * @return the configuration keys and values read from the archive
+     * @throws IOException if there is a problem reading the archive, it is not a valid configuration archive, or the
+     *     decompressed payload exceeds {@link #MAX_PAYLOAD_BYTES}
+     * @throws EncryptionException if there is a problem decrypting the archive payload
+     */
+    @Nonnull
+    public static ConfigKeyValueCollection read(
+            @Nonnull final InputStream input, @Nonnull final Optional<SymmetricKeyEncryption> encryption)
+            throws IOException, EncryptionException {
+        final DataInputStream data = new DataInputStream(Objects.requireNonNull(input));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a configuration archive");
+        }
+        final int version = data.readUnsignedByte();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported configuration archive version: " + version);
+        }
+        final int flags = data.readUnsignedByte();
+
+        InputStream payload = data;
+        if ((flags & FLAG_ENCRYPTED) != 0) {
+            if (!Objects.requireNonNull(encryption).isPresent()) {
+                throw new EncryptionException("Encryption is required to read an encrypted configuration archive");
+            }
+            final ByteArrayOutputStream decrypted = new ByteArrayOutputStream();
+            encryption.get().decrypt(data, decrypted);
+            payload = new ByteArrayInputStream(decrypted.toByteArray());
+        }
+
+        final List<ConfigKeyValue> kvs = new LinkedList<>();
+        final InputStream decompressed = new LimitedInputStream(new GZIPInputStream(payload), MAX_PAYLOAD_BYTES);
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(decompressed, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.trim().isEmpty()) {
+                try {
+                    kvs.add(new ConfigKeyValue(new JsonParser().parse(line).getAsJsonObject()));
+                } catch (final JsonParseException | IllegalArgumentException | IllegalStateException invalid) {
+                    throw new IOException("Invalid configuration archive entry on line " + lineNumber, invalid);
+                }
+            }
+        }
+        return new ConfigKeyValueCollection(kvs);
+    }
+
+    /**
+     * @param bytes the bytes of the archive
+     * @param encryption used to decrypt the archive payload, required when the archive is encrypted
+     * @return the configuration keys and values read from the archive
+     * @throws IOException if there is a problem reading the archive, it is not a valid configuration archive, or the
+     *     decompressed payload exceeds {@link #MAX_PAYLOAD_BYTES}
+     * @throws EncryptionException if there is a problem decrypting the archive payload
+     */
+    @Nonnull
+    public static ConfigKeyValueCollection fromBytes(
+            @Nonnull final byte[] bytes, @Nonnull final Optional<SymmetricKeyEncryption> encryption)
+            throws IOException, EncryptionException {
+        return read(new ByteArrayInputStream(Objects.requireNonNull(bytes)), encryption);
+    }
+
+    /**
+     * Fails the read once more than a maximum number of bytes have been read from the wrapped stream.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long remaining;
+
+        /**
+         * @param input the stream from which bytes are read
+         * @param maxBytes the maximum number of bytes allowed to be read
+         */
+        LimitedInputStream(@Nonnull final InputStream input, final long maxBytes) {
+            super(Objects.requireNonNull(input));
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        /**
+         * @param count the number of bytes just read, or a negative value at the end of the stream
+         * @throws IOException if the maximum number of bytes has been exceeded
+         */
+        private void consumed(final long count) throws IOException {
+            if (count > 0) {
+                this.remaining -= count;
+                if (this.remaining < 0) {
+                    throw new IOException(
+                            "Configuration archive payload exceeds the maximum size of " + this.maxBytes + " bytes");
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            consumed(b < 0 ? 0 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(@Nonnull final byte[] buffer, final int offset, final int length) throws IOException {
+            final int count = super.read(buffer, offset, length);
+            consumed(count);
+            return count;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            final long skipped = super.skip(count);
+            consumed(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
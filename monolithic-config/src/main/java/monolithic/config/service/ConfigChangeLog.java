@@ -0,0 +1,181 @@
+package monolithic.config.service;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps a bounded history of the most recent dynamic configuration changes, each assigned a monotonically increasing
+ * version, and notifies waiting watchers as new changes arrive.
+ */
+public class ConfigChangeLog {
+    /**
+     * The default number of configuration changes retained in the history.
+     */
+    public final static int DEFAULT_CAPACITY = 1000;
+
+    @Nonnull
+    private final String epoch = UUID.randomUUID().toString();
+    private final int capacity;
+    @Nonnull
+    private final Deque<ConfigChange> changes = new ArrayDeque<>();
+    @Nonnull
+    private final Map<CompletableFuture<ConfigChangeCollection>, Long> watchers = new HashMap<>();
+
+    private long version = 0;
+    private long oldest = 0;
+    private boolean draining = false;
+
+    /**
+     * Create a change log retaining the {@link #DEFAULT_CAPACITY default} number of configuration changes.
+     */
+    public ConfigChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the maximum number of configuration changes to retain in the history
+     */
+    public ConfigChangeLog(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the unique identifier of this change log, within which the change versions are meaningful
+     */
+    @Nonnull
+    public String getEpoch() {
+        return this.epoch;
+    }
+
+    /**
+     * @return the version of the most recent configuration change
+     */
+    public synchronized long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @param key the configuration key that changed
+     * @param value the new configuration value, or empty if the configuration key was removed
+     * @return the recorded configuration change, including the version assigned to it
+     */
+    @Nonnull
+    public ConfigChange append(@Nonnull final String key, @Nonnull final Optional<String> value) {
+        final ConfigChange change;
+        final Map<CompletableFuture<ConfigChangeCollection>, ConfigChangeCollection> notify;
+        synchronized (this) {
+            change = new ConfigChange(++this.version, key, value);
+            this.changes.addLast(change);
+            while (this.changes.size() > this.capacity) {
+                this.oldest = this.changes.removeFirst().getVersion();
+            }
+            notify = collectWatchers();
+        }
+        notify.forEach(CompletableFuture::complete);
+        return change;
+    }
+
+    /**
+     * Discard the change history, forcing all watchers to retrieve the full configuration again. This is needed when
+     * configuration changes may have been missed.
+     */
+    public void reset() {
+        final Map<CompletableFuture<ConfigChangeCollection>, ConfigChangeCollection> notify;
+        synchronized (this) {
+            this.changes.clear();
+            this.oldest = ++this.version;
+            notify = collectWatchers();
+        }
+        notify.forEach(CompletableFuture::complete);
+    }
+
+    /**
+     * Complete all of the waiting watchers with the changes they have not yet seen, possibly none, and answer later
+     * watchers right away. This is used when the server starts draining, so waiting watchers do not delay it.
+     */
+    public void drain() {
+        final Map<CompletableFuture<ConfigChangeCollection>, ConfigChangeCollection> notify;
+        synchronized (this) {
+            this.draining = true;
+            notify = collectWatchers();
+        }
+        notify.forEach(CompletableFuture::complete);
+    }
+
+    /**
+     * @param epoch the epoch of the provided version, or empty when the watcher has not seen any version yet
+     * @param sinceVersion the last configuration version seen by the watcher
+     * @return the configuration changes made after the provided version, possibly empty
+     */
+    @Nonnull
+    public synchronized ConfigChangeCollection getChanges(
+            @Nonnull final Optional<String> epoch, final long sinceVersion) {
+        if (!Objects.requireNonNull(epoch).isPresent() || !getEpoch().equals(epoch.get())
+                || sinceVersion < this.oldest || sinceVersion > this.version) {
+            return new ConfigChangeCollection(getEpoch(), this.version, true, Collections.emptyList());
+        }
+        return new ConfigChangeCollection(getEpoch(), this.version, false,
+                this.changes.stream().filter(c -> c.getVersion() > sinceVersion).collect(Collectors.toList()));
+    }
+
+    /**
+     * @param epoch the epoch of the provided version, or empty when the watcher has not seen any version yet
+     * @param sinceVersion the last configuration version seen by the watcher
+     * @return a future that completes once there are configuration changes after the provided version (or the watcher
+     * needs to reset), or right away once draining, cancel the future to stop waiting
+     */
+    @Nonnull
+    public synchronized CompletableFuture<ConfigChangeCollection> await(
+            @Nonnull final Optional<String> epoch, final long sinceVersion) {
+        final ConfigChangeCollection available = getChanges(epoch, sinceVersion);
+        if (this.draining || available.isReset() || !available.getChanges().isEmpty()) {
+            return CompletableFuture.completedFuture(available);
+        }
+
+        final CompletableFuture<ConfigChangeCollection> future = new CompletableFuture<>();
+        this.watchers.put(future, sinceVersion);
+        future.whenComplete((changes, cancelled) -> removeWatcher(future));
+        return future;
+    }
+
+    /**
+     * @return the number of watchers currently waiting for configuration changes
+     */
+    public synchronized int getWatcherCount() {
+        return this.watchers.size();
+    }
+
+    /**
+     * @param future the watcher future that is no longer waiting for configuration changes
+     */
+    protected synchronized void removeWatcher(@Nonnull final CompletableFuture<ConfigChangeCollection> future) {
+        this.watchers.remove(future);
+    }
+
+    /**
+     * Remove all of the waiting watchers, pairing each with the configuration changes it has not yet seen. The watcher
+     * futures are completed by the caller after releasing the lock so watcher callbacks never run while it is held.
+     *
+     * @return the removed watcher futures and the configuration changes with which each should be completed
+     */
+    @Nonnull
+    protected Map<CompletableFuture<ConfigChangeCollection>, ConfigChangeCollection> collectWatchers() {
+        final Map<CompletableFuture<ConfigChangeCollection>, ConfigChangeCollection> notify = new HashMap<>();
+        this.watchers.forEach((future, since) -> notify.put(future, getChanges(Optional.of(getEpoch()), since)));
+        this.watchers.clear();
+        return notify;
+    }
+}
@@ -0,0 +1,33 @@
+package monolithic.config.service;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An exception thrown by the {@link ConfigService} when a compare-and-set update of the dynamic system configuration
+ * fails because the configuration value has been changed since the expected version.
+ */
+public class ConfigConflictException extends ConfigServiceException {
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param message the error message associated with the exception
+     */
+    public ConfigConflictException(@Nonnull final String message) {
+        super(message);
+    }
+
+    /**
+     * @param cause the cause of the exception
+     */
+    public ConfigConflictException(@Nonnull final Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * @param message the error message associated with the exception
+     * @param cause the cause of the exception
+     */
+    public ConfigConflictException(@Nonnull final String message, @Nonnull final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,135 @@
+package monolithic.config.service;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An in-memory index of the dynamic system configuration values, sorted by configuration key, so that prefix queries
+ * (such as all of the keys below {@code a.b}) only visit the matching range of keys. A {@link ConfigSnapshot} of all
+ * the values is built at most once per change to the index, no matter how many times it is requested.
+ */
+public class ConfigIndex {
+    @Nonnull
+    private final ConcurrentNavigableMap<String, ConfigKeyValue> values = new ConcurrentSkipListMap<>();
+    @Nonnull
+    private final AtomicLong generation = new AtomicLong();
+    @Nonnull
+    private final AtomicReference<GenerationSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * A snapshot along with the index generation from which it was built.
+     */
+    protected static class GenerationSnapshot {
+        private final long generation;
+        @Nonnull
+        private final ConfigSnapshot snapshot;
+
+        /**
+         * @param generation the index generation from which the snapshot was built
+         * @param snapshot the snapshot of the index values
+         */
+        protected GenerationSnapshot(final long generation, @Nonnull final ConfigSnapshot snapshot) {
+            this.generation = generation;
+            this.snapshot = Objects.requireNonNull(snapshot);
+        }
+    }
+
+    /**
+     * @param kv the configuration key and value to add to (or update in) the index
+     */
+    public void put(@Nonnull final ConfigKeyValue kv) {
+        this.values.put(Objects.requireNonNull(kv).getKey(), kv);
+        // The generation changes after the values so a snapshot never claims a generation newer than its content.
+        this.generation.incrementAndGet();
+    }
+
+    /**
+     * @param key the configuration key to remove from the index
+     * @return whether the index held a configuration value for the key
+     */
+    public boolean remove(@Nonnull final String key) {
+        final boolean removed = this.values.remove(Objects.requireNonNull(key)) != null;
+        if (removed) {
+            this.generation.incrementAndGet();
+        }
+        return removed;
+    }
+
+    /**
+     * @return a counter that changes every time the values in the index change
+     */
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    /**
+     * @return a snapshot of all the configuration values in the index, reused until the index changes
+     */
+    @Nonnull
+    public ConfigSnapshot getSnapshot() {
+        final long current = this.generation.get();
+        final GenerationSnapshot cached = this.snapshot.get();
+        if (cached != null && cached.generation == current) {
+            return cached.snapshot;
+        }
+
+        final GenerationSnapshot built =
+                new GenerationSnapshot(current, new ConfigSnapshot(new ConfigKeyValueCollection(getAll())));
+        // Concurrent builders may race here, keep whichever snapshot was built from the newest generation.
+        this.snapshot.accumulateAndGet(built, (a, b) -> a == null || b.generation > a.generation ? b : a);
+        return built.snapshot;
+    }
+
+    /**
+     * @return the number of configuration values in the index
+     */
+    public int size() {
+        return this.values.size();
+    }
+
+    /**
+     * @return all of the configuration values in the index, sorted by key
+     */
+    @Nonnull
+    public Collection<ConfigKeyValue> getAll() {
+        return Collections.unmodifiableCollection(this.values.values());
+    }
+
+    /**
+     * @param prefix the prefix the configuration keys need to start with
+     * @return the configuration values with keys starting with the provided prefix, sorted by key
+     */
+    @Nonnull
+    public Collection<ConfigKeyValue> getByPrefix(@Nonnull final String prefix) {
+        if (Objects.requireNonNull(prefix).isEmpty()) {
+            return getAll();
+        }
+        // Every key starting with the prefix sorts between the prefix and the prefix followed by the largest char.
+        return Collections.unmodifiableCollection(
+                this.values.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values());
+    }
+
+    /**
+     * @param text the text to find (ignoring case) in the configuration keys or values
+     * @return the configuration values with a key or value containing the provided text, sorted by key
+     */
+    @Nonnull
+    public Collection<ConfigKeyValue> getMatching(@Nonnull final String text) {
+        Objects.requireNonNull(text);
+        return this.values.values().stream().filter(kv -> StringUtils.containsIgnoreCase(kv.getKey(), text)
+                || StringUtils.containsIgnoreCase(kv.getValue(), text)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package monolithic.config.service;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.leader.LeaderLatch;
+import org.apache.curator.framework.recipes.leader.Participant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Elects a single configuration service as the leader to which all configuration writes are sent, so the writes are
+ * ordered by one node, while every configuration service continues to serve reads from its own tree cache. Each
+ * participant is identified by the base URL of its configuration service, so followers can direct writes to the leader.
+ */
+public class ConfigLeader implements AutoCloseable {
+    private final static Logger LOG = LoggerFactory.getLogger(ConfigLeader.class);
+
+    /**
+     * The zookeeper path used to elect the configuration service leader.
+     */
+    public final static String PATH = "/dynamic-config-leader";
+
+    @Nonnull
+    private final LeaderLatch leaderLatch;
+
+    /**
+     * @param curator the {@link CuratorFramework} used to communicate with zookeeper
+     * @param url the base URL of this configuration service
+     * @throws ConfigServiceException if there is a problem joining the leader election
+     */
+    public ConfigLeader(@Nonnull final CuratorFramework curator, @Nonnull final String url)
+            throws ConfigServiceException {
+        this.leaderLatch = new LeaderLatch(Objects.requireNonNull(curator), PATH, Objects.requireNonNull(url));
+        try {
+            this.leaderLatch.start();
+        } catch (final Exception exception) {
+            throw new ConfigServiceException("Failed to start leader election", exception);
+        }
+    }
+
+    /**
+     * @return the {@link LeaderLatch} used to participate in the leader election
+     */
+    @Nonnull
+    protected LeaderLatch getLeaderLatch() {
+        return this.leaderLatch;
+    }
+
+    /**
+     * @return the base URL of this configuration service
+     */
+    @Nonnull
+    public String getUrl() {
+        return getLeaderLatch().getId();
+    }
+
+    /**
+     * @return whether this configuration service is currently the leader
+     */
+    public boolean isLeader() {
+        return getLeaderLatch().hasLeadership();
+    }
+
+    /**
+     * @return the base URL of the current leader, if a leader has been elected
+     */
+    @Nonnull
+    public Optional<String> getLeaderUrl() {
+        if (isLeader()) {
+            return Optional.of(getUrl());
+        }
+        try {
+            final Participant leader = getLeaderLatch().getLeader();
+            return leader.isLeader() ? Optional.of(leader.getId()) : Optional.empty();
+        } catch (final Exception exception) {
+            LOG.warn("Failed to find the configuration service leader", exception);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Leave the leader election, allowing another configuration service to take over.
+     */
+    @Override
+    public void close() {
+        try {
+            getLeaderLatch().close();
+        } catch (final IOException | IllegalStateException closeFailed) {
+            LOG.warn("Failed to leave the leader election", closeFailed);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package monolithic.config.service;
 
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.model.ConfigKeyCollection;
 import monolithic.config.model.ConfigKeyValue;
 import monolithic.config.model.ConfigKeyValueCollection;
 
@@ -10,11 +12,40 @@ import java.util.concurrent.Future;
  * Defines the interface required for managing the dynamic system configuration.
  */
 public interface ConfigService {
+    /**
+     * The version to provide to the compare-and-set operations when the configuration key is expected to have no value.
+     */
+    int NO_VERSION = -1;
+
+    /**
+     * The header used to pass a write version token with configuration requests and responses.
+     */
+    String VERSION_HEADER = "CONFIG_VERSION";
+
     /**
      * @return all the available configuration values
      */
     Future<ConfigKeyValueCollection> getAll();
 
+    /**
+     * @return a snapshot of all the available configuration values, including the pre-serialized JSON representation
+     * and an entity tag, reused until the configuration changes
+     */
+    Future<ConfigSnapshot> getSnapshot();
+
+    /**
+     * @param prefix the prefix the configuration keys need to start with, like {@code a.b.} for all the keys nested
+     *     below {@code a.b}
+     * @return the configuration values with keys starting with the provided prefix
+     */
+    Future<ConfigKeyValueCollection> getByPrefix(String prefix);
+
+    /**
+     * @param text the text to find (ignoring case) in the configuration keys or values
+     * @return the configuration values with a key or value containing the provided text
+     */
+    Future<ConfigKeyValueCollection> getMatching(String text);
+
     /**
      * @param key the configuration key for which a configuration value will be retrieved
      * @return the requested configuration value, possibly empty if the specified configuration key is not recognized
@@ -34,4 +65,73 @@ public interface ConfigService {
      * previous value
      */
     Future<Optional<ConfigKeyValue>> unset(String key);
+
+    /**
+     * @param kv the configuration key and value to add (or update) to the dynamic system configuration
+     * @param version the version of the current configuration value, or {@link #NO_VERSION} if the configuration key
+     *     is expected to have no value
+     * @return the old value for the specified configuration key, possibly empty if the configuration key had no
+     * previous value, or a failed future with a {@link ConfigConflictException} cause when the current value does not
+     * match the provided version
+     */
+    Future<Optional<ConfigKeyValue>> setIfVersion(ConfigKeyValue kv, int version);
+
+    /**
+     * @param key the configuration key to delete from the dynamic system configuration
+     * @param version the version of the current configuration value, or {@link #NO_VERSION} if the configuration key
+     *     is expected to have no value
+     * @return the old value for the specified configuration key, possibly empty if the configuration key had no
+     * previous value, or a failed future with a {@link ConfigConflictException} cause when the current value does not
+     * match the provided version
+     */
+    Future<Optional<ConfigKeyValue>> unsetIfVersion(String key, int version);
+
+    /**
+     * @param keys the configuration keys for which configuration values will be retrieved
+     * @return the requested configuration values, only including the configuration keys that have values
+     */
+    Future<ConfigKeyValueCollection> getMany(ConfigKeyCollection keys);
+
+    /**
+     * @param kvs the configuration keys and values to add (or update) atomically in the dynamic system configuration
+     * @return the old values for the specified configuration keys, only including the keys that had previous values
+     */
+    Future<ConfigKeyValueCollection> setMany(ConfigKeyValueCollection kvs);
+
+    /**
+     * Store a potentially large number of configuration values, as when restoring an exported configuration archive.
+     * Unlike {@link #setMany(ConfigKeyValueCollection)}, the values may be applied in multiple atomic chunks, and the
+     * previous values are not returned. Configuration keys not included are left unchanged.
+     *
+     * @param kvs the configuration keys and values to add (or update) in the dynamic system configuration
+     * @return the number of configuration values stored
+     */
+    Future<Integer> importAll(ConfigKeyValueCollection kvs);
+
+    /**
+     * @param keys the configuration keys to delete atomically from the dynamic system configuration
+     * @return the old values for the specified configuration keys, only including the keys that had previous values
+     */
+    Future<ConfigKeyValueCollection> unsetMany(ConfigKeyCollection keys);
+
+    /**
+     * @param epoch the epoch in which the provided version was assigned, or empty when no version has been seen yet
+     * @param sinceVersion the last dynamic system configuration version seen by the caller
+     * @return the configuration changes made after the provided version, only completing once changes are available
+     * (or the caller needs to reset by retrieving all configuration values again), cancel to stop waiting
+     */
+    Future<ConfigChangeCollection> watch(Optional<String> epoch, long sinceVersion);
+
+    /**
+     * @return a write version token covering every write completed through this service, or 0 if there have been no
+     * writes, which can be passed to {@link #awaitVersion(long)} to read those writes from any configuration service
+     */
+    long getWriteVersion();
+
+    /**
+     * @param version a write version token, as returned from {@link #getWriteVersion()}
+     * @return whether the values read through this service include all of the writes covered by the version token,
+     * completing once they do, or with false if they do not within a reasonable time
+     */
+    Future<Boolean> awaitVersion(long version);
 }
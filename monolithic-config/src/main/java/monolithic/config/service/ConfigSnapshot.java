@@ -0,0 +1,75 @@
+package monolithic.config.service;
+
+import com.google.common.hash.Hashing;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable point-in-time view of all the dynamic system configuration values, along with the pre-serialized JSON
+ * representation and an entity tag derived from it. Since the entity tag is based on the content, services sharing
+ * the same configuration produce the same entity tag.
+ */
+public class ConfigSnapshot {
+    @Nonnull
+    private final ConfigKeyValueCollection values;
+    @Nonnull
+    private final byte[] json;
+    @Nonnull
+    private final String etag;
+
+    /**
+     * @param values all of the dynamic system configuration values
+     */
+    public ConfigSnapshot(@Nonnull final ConfigKeyValueCollection values) {
+        this.values = Objects.requireNonNull(values);
+        this.json = values.toJson().toString().getBytes(StandardCharsets.UTF_8);
+        this.etag = String.format("\"%s\"", Hashing.sha1().hashBytes(this.json).toString());
+    }
+
+    /**
+     * @return all of the dynamic system configuration values in this snapshot
+     */
+    @Nonnull
+    public ConfigKeyValueCollection getValues() {
+        return this.values;
+    }
+
+    /**
+     * @return the UTF-8 encoded JSON representation of the configuration values, shared by every caller so it must
+     * not be modified
+     */
+    @Nonnull
+    public byte[] getJson() {
+        return this.json;
+    }
+
+    /**
+     * @return the quoted entity tag identifying the content of this snapshot
+     */
+    @Nonnull
+    public String getETag() {
+        return this.etag;
+    }
+
+    /**
+     * @param ifNoneMatch the value of an {@code If-None-Match} request header, possibly null if not provided
+     * @return whether the header matches this snapshot, meaning the client already has the current content
+     */
+    public boolean matches(@Nullable final String ifNoneMatch) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        // Weak comparison is sufficient for a GET request, so any weak indicator is ignored.
+        return Arrays.stream(ifNoneMatch.split(",")).map(String::trim).map(tag -> StringUtils.removeStart(tag, "W/"))
+                .anyMatch(tag -> "*".equals(tag) || this.etag.equals(tag));
+    }
+}
@@ -0,0 +1,89 @@
+package monolithic.config.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps track of the zookeeper transaction ids (zxids) seen by a configuration service, which are used as the write
+ * version tokens. The applied version is the highest zxid observed in the tree cache, and the verified version is the
+ * highest version for which all earlier changes are known to have reached the tree cache.
+ */
+public class ConfigVersionTracker {
+    private long written = 0;
+    private long applied = 0;
+    private long verified = 0;
+    private long added = 0;
+
+    /**
+     * @return the highest write version token produced by this configuration service
+     */
+    public synchronized long getWritten() {
+        return this.written;
+    }
+
+    /**
+     * @param version a write version token produced by this configuration service
+     */
+    public synchronized void written(final long version) {
+        this.written = Math.max(this.written, version);
+    }
+
+    /**
+     * @return the highest zookeeper transaction id observed in the tree cache
+     */
+    public synchronized long getApplied() {
+        return this.applied;
+    }
+
+    /**
+     * @param version a zookeeper transaction id observed in the tree cache
+     */
+    public synchronized void applied(final long version) {
+        if (version > this.applied) {
+            this.applied = version;
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return the highest version for which all earlier changes are known to have reached the tree cache
+     */
+    public synchronized long getVerified() {
+        return this.verified;
+    }
+
+    /**
+     * @param version a version for which all earlier changes are known to have reached the tree cache
+     */
+    public synchronized void verified(final long version) {
+        this.verified = Math.max(this.verified, version);
+    }
+
+    /**
+     * @return the number of nodes added to the tree cache, used to detect when the tree cache is still loading nodes
+     */
+    public synchronized long getAdded() {
+        return this.added;
+    }
+
+    /**
+     * Record that a node was added to the tree cache.
+     */
+    public synchronized void added() {
+        this.added++;
+    }
+
+    /**
+     * @param version the zookeeper transaction id to wait for
+     * @param deadline the {@link System#nanoTime()} value after which to stop waiting
+     * @return whether the tree cache has observed the version before the deadline
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitApplied(final long version, final long deadline) throws InterruptedException {
+        long remaining = deadline - System.nanoTime();
+        while (this.applied < version && remaining > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return this.applied >= version;
+    }
+}
@@ -1,42 +1,94 @@
 package monolithic.config.service;
 
+import com.google.common.base.Preconditions;
+
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.api.transaction.CuratorTransaction;
+import org.apache.curator.framework.api.transaction.CuratorTransactionResult;
+import org.apache.curator.framework.api.transaction.OperationType;
 import org.apache.curator.framework.recipes.cache.ChildData;
 import org.apache.curator.framework.recipes.cache.TreeCache;
 import org.apache.curator.framework.recipes.cache.TreeCacheEvent;
 import org.apache.curator.framework.recipes.cache.TreeCacheListener;
+import org.apache.zookeeper.KeeperException;
+import org.apache.zookeeper.data.Stat;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import monolithic.config.client.ConfigChangeListener;
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.model.ConfigKeyCollection;
 import monolithic.config.model.ConfigKeyValue;
 import monolithic.config.model.ConfigKeyValueCollection;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
 import javax.annotation.Nonnull;
 
 /**
  * A {@link ConfigService} implementation that makes use of a {@link CuratorFramework} to
- * store dynamic system configuration information in zookeeper.
+ * store dynamic system configuration information in zookeeper. Configuration keys are hierarchical, with each
+ * dot-separated part of a key (like {@code a.b.c}) stored as a nested zookeeper node, and nodes without data holding no
+ * configuration value. A sorted {@link ConfigIndex} of all the configuration values is kept in sync with the tree cache
+ * to serve full, prefix and filtered queries. Earlier versions stored each configuration key in a single node named
+ * with the dotted key (like {@code /dynamic-config/a.b.c}), and these legacy nodes are moved to their nested location
+ * when the service starts, before the tree cache is populated.
+ *
+ * Every write updates the {@link #PATH root node} in the same transaction, and the zookeeper transaction id of that
+ * update serves as a write version token. Any configuration service can wait until its tree cache includes all the
+ * writes covered by a token, so reads from any node can observe earlier writes made through a different node.
  */
-public class CuratorConfigService implements ConfigService, TreeCacheListener {
+public class CuratorConfigService implements ConfigService, TreeCacheListener, AutoCloseable {
     private final static Logger LOG = LoggerFactory.getLogger(CuratorConfigService.class);
 
-    private final static String PATH = "/dynamic-config";
+    /**
+     * The zookeeper path below which the dynamic system configuration values are stored.
+     */
+    public final static String PATH = "/dynamic-config";
+
+    private final static Pattern KEY_PATTERN = Pattern.compile("[^./]+(\\.[^./]+)*");
+    private final static byte[] NO_VALUE = new byte[0];
+    private final static long VERSION_TIMEOUT_MILLIS = 5000;
+    private final static int IMPORT_CHUNK_SIZE = 500;
+    // Kept well below the default zookeeper jute.maxbuffer limit of 1 MB per request.
+    private final static int IMPORT_CHUNK_BYTES = 512 * 1024;
 
     @Nonnull
     private final ExecutorService executor;
     @Nonnull
     private final CuratorFramework curator;
     @Nonnull
+    private final ExecutorService eventExecutor = Executors.newSingleThreadExecutor();
+    @Nonnull
     private final TreeCache treeCache;
+    @Nonnull
+    private final ConfigChangeLog changeLog = new ConfigChangeLog();
+    @Nonnull
+    private final ConfigIndex index = new ConfigIndex();
+    @Nonnull
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    @Nonnull
+    private final ConfigVersionTracker versions = new ConfigVersionTracker();
 
     /**
      * @param executor used to execute asynchronous processing of the configuration service
@@ -57,14 +109,21 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
         }
 
         try {
-            this.treeCache = new TreeCache(this.curator, PATH);
-            this.treeCache.start();
+            migrate();
         } catch (final Exception exception) {
-            throw new ConfigServiceException("Failed to start tree cache", exception);
+            throw new ConfigServiceException("Failed to migrate legacy configuration nodes", exception);
         }
 
-        // Add this class as a listener.
+        // The tree cache events are delivered on a known executor, so waiting for a version can wait for them too.
+        this.treeCache = TreeCache.newBuilder(this.curator, PATH).setExecutor(this.eventExecutor).build();
+
+        // Add this class as a listener before starting, so no change events are missed.
         this.treeCache.getListenable().addListener(this);
+        try {
+            this.treeCache.start();
+        } catch (final Exception exception) {
+            throw new ConfigServiceException("Failed to start tree cache", exception);
+        }
     }
 
     /**
@@ -91,13 +150,128 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
         return this.treeCache;
     }
 
+    /**
+     * @return the {@link ExecutorService} on which the tree cache delivers events to this service
+     */
+    @Nonnull
+    protected ExecutorService getEventExecutor() {
+        return this.eventExecutor;
+    }
+
+    /**
+     * @return the {@link ConfigVersionTracker} keeping track of the write versions seen by this service
+     */
+    @Nonnull
+    protected ConfigVersionTracker getVersions() {
+        return this.versions;
+    }
+
+    /**
+     * @return the {@link ConfigChangeLog} holding the recent dynamic system configuration changes
+     */
+    @Nonnull
+    protected ConfigChangeLog getChangeLog() {
+        return this.changeLog;
+    }
+
+    /**
+     * @return the {@link ConfigIndex} holding all of the dynamic system configuration values
+     */
+    @Nonnull
+    protected ConfigIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * @return the listeners to be notified of configuration changes
+     */
+    @Nonnull
+    protected List<ConfigChangeListener> getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * @param path a zookeeper path below the {@link #PATH dynamic configuration path}
+     * @return the configuration key represented by the path, with nested nodes separated by dots, or empty if the path
+     * is not below the dynamic configuration path
+     */
+    @Nonnull
+    public static Optional<String> getKey(@Nonnull final String path) {
+        if (!Objects.requireNonNull(path).startsWith(PATH + "/")) {
+            return Optional.empty();
+        }
+        return Optional.of(path.substring(PATH.length() + 1).replace('/', '.'));
+    }
+
     /**
      * @param key the configuration key for which a zookeeper path should be created
-     * @return the zookeeper path representation of the provided key
+     * @return the zookeeper path representation of the provided key, with each dot-separated part of the key as a
+     * nested node
+     * @throws IllegalArgumentException if the key contains empty parts or slashes
      */
     @Nonnull
-    protected String getPath(@Nonnull final String key) {
-        return String.format("%s/%s", PATH, Objects.requireNonNull(key));
+    public static String getPath(@Nonnull final String key) {
+        Preconditions.checkArgument(KEY_PATTERN.matcher(Objects.requireNonNull(key)).matches(),
+                "Invalid configuration key: %s", key);
+        return String.format("%s/%s", PATH, key.replace('.', '/'));
+    }
+
+    /**
+     * Move the configuration values stored by earlier versions in single nodes named with the dotted key to their
+     * nested location. Each node is moved in its own transaction, so a concurrent migration by another configuration
+     * service only causes that transaction to fail. When the nested node already holds a value, it was written more
+     * recently than the legacy node, so the legacy value is dropped.
+     *
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected void migrate() throws Exception {
+        for (final String child : getCurator().getChildren().forPath(PATH)) {
+            if (child.indexOf('.') < 0) {
+                continue;
+            }
+            final String legacy = String.format("%s/%s", PATH, child);
+            if (!KEY_PATTERN.matcher(child).matches()) {
+                LOG.warn("Unable to migrate legacy configuration node with invalid key: {}", legacy);
+                continue;
+            }
+            try {
+                migrate(legacy, getPath(child));
+                LOG.info("Migrated legacy configuration node {} to {}", legacy, getPath(child));
+            } catch (final KeeperException.NoNodeException | KeeperException.NodeExistsException
+                    | KeeperException.BadVersionException concurrent) {
+                LOG.info("Legacy configuration node {} was migrated concurrently", legacy);
+            } catch (final KeeperException.NotEmptyException notEmpty) {
+                LOG.warn("Unable to migrate legacy configuration node with children: {}", legacy);
+            }
+        }
+    }
+
+    /**
+     * @param legacy the zookeeper path of the legacy node named with the dotted key
+     * @param path the nested zookeeper path of the configuration key
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected void migrate(@Nonnull final String legacy, @Nonnull final String path) throws Exception {
+        final byte[] value = getCurator().getData().forPath(legacy);
+        CuratorTransaction transaction = getCurator().inTransaction();
+        final Stat stat = getCurator().checkExists().forPath(path);
+        if (stat == null) {
+            // Transactions cannot create parent nodes automatically, so the missing parents are created first.
+            final LinkedList<String> parents = new LinkedList<>();
+            String parent = path.substring(0, path.lastIndexOf('/'));
+            while (!PATH.equals(parent) && getCurator().checkExists().forPath(parent) == null) {
+                parents.addFirst(parent);
+                parent = parent.substring(0, parent.lastIndexOf('/'));
+            }
+            for (final String missing : parents) {
+                transaction = transaction.create().forPath(missing, NO_VALUE).and();
+            }
+            transaction = transaction.create().forPath(path, value).and();
+        } else if (stat.getDataLength() == 0) {
+            // The nested node is only a parent of other nested keys, so it can take the legacy value.
+            transaction = transaction.setData().withVersion(stat.getVersion()).forPath(path, value).and();
+        }
+        transaction.delete().forPath(legacy).and().commit();
     }
 
     /**
@@ -109,20 +283,236 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
         return new String(Objects.requireNonNull(bytes), StandardCharsets.UTF_8);
     }
 
+    /**
+     * @param key the configuration key
+     * @param data the zookeeper node data for the configuration key
+     * @return the configuration key and value, including the zookeeper node version, or empty if the node holds no
+     * configuration value (as is the case for the parent nodes of nested configuration keys)
+     */
+    @Nonnull
+    protected Optional<ConfigKeyValue> getKeyValue(@Nonnull final String key, @Nonnull final ChildData data) {
+        if (data.getData() == null || data.getData().length == 0) {
+            return Optional.empty();
+        }
+        final Optional<Integer> version = Optional.ofNullable(data.getStat()).map(Stat::getVersion);
+        return Optional.of(new ConfigKeyValue(key, getValue(data.getData()), version));
+    }
+
+    /**
+     * Retrieve the current zookeeper node for a configuration key directly from zookeeper, bypassing the tree cache, so
+     * the value and version are current.
+     *
+     * @param key the configuration key for which the zookeeper node should be retrieved
+     * @return the current zookeeper node for the configuration key, or empty if the node does not exist
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    @Nonnull
+    protected Optional<ChildData> read(@Nonnull final String key) throws Exception {
+        final String path = getPath(key);
+        final Stat stat = new Stat();
+        try {
+            final byte[] data = getCurator().getData().storingStatIn(stat).forPath(path);
+            return Optional.of(new ChildData(path, stat, data));
+        } catch (final KeeperException.NoNodeException noNode) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Remove the configuration value stored in a zookeeper node. The node is deleted, along with the parents left
+     * without values or children, unless it is the parent of nested configuration keys, in which case only its data is
+     * cleared.
+     *
+     * @param path the zookeeper path of the configuration value to remove
+     * @param version the expected zookeeper node version, or -1 to match any version
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected void remove(@Nonnull final String path, final int version) throws Exception {
+        try {
+            final Collection<String> deleted = new HashSet<>(Collections.singleton(path));
+            commit(deleteEmptyParents(
+                    getCurator().inTransaction().delete().withVersion(version).forPath(path).and(), path, deleted));
+        } catch (final KeeperException.NotEmptyException parent) {
+            commit(getCurator().inTransaction().setData().withVersion(version).forPath(path, NO_VALUE).and());
+        }
+    }
+
+    /**
+     * @param transaction the transaction deleting the zookeeper node
+     * @param path the zookeeper path of the deleted node
+     * @param deleted the paths deleted by the transaction, updated with the parents it deletes
+     * @return the transaction, also deleting the parents of the node that are left without values or children
+     * according to the tree cache
+     * @throws Exception if there is a problem building the transaction
+     */
+    @Nonnull
+    protected CuratorTransaction deleteEmptyParents(
+            @Nonnull final CuratorTransaction transaction, @Nonnull final String path,
+            @Nonnull final Collection<String> deleted) throws Exception {
+        CuratorTransaction result = transaction;
+        String parent = path.substring(0, path.lastIndexOf('/'));
+        while (!PATH.equals(parent) && isLeftEmpty(parent, deleted)) {
+            result = result.delete().forPath(parent).and();
+            deleted.add(parent);
+            parent = parent.substring(0, parent.lastIndexOf('/'));
+        }
+        return result;
+    }
+
+    /**
+     * @param path the zookeeper path of a parent node
+     * @param deleted the paths being deleted
+     * @return whether the node holds no value and all of its children are being deleted, according to the tree cache
+     */
+    protected boolean isLeftEmpty(@Nonnull final String path, @Nonnull final Collection<String> deleted) {
+        final ChildData data = getTreeCache().getCurrentData(path);
+        final Map<String, ChildData> children = getTreeCache().getCurrentChildren(path);
+        return data != null && !getKeyValue(path, data).isPresent() && children != null
+                && children.keySet().stream().allMatch(child -> deleted.contains(path + "/" + child));
+    }
+
+    /**
+     * Commit a transaction holding configuration writes, along with an update of the {@link #PATH root node}, and
+     * record the zookeeper transaction id of the root node update as the write version token. The token is only
+     * recorded when the writes are applied, and always covers them.
+     *
+     * @param transaction the transaction holding the configuration writes
+     * @throws Exception if there is a problem communicating with zookeeper, in which case none of the writes are
+     *     applied
+     */
+    protected void commit(@Nonnull final CuratorTransaction transaction) throws Exception {
+        final Collection<CuratorTransactionResult> results =
+                transaction.setData().forPath(PATH, NO_VALUE).and().commit();
+        results.stream().filter(result -> result.getType() == OperationType.SET_DATA)
+                .filter(result -> PATH.equals(result.getForPath())).map(CuratorTransactionResult::getResultStat)
+                .filter(Objects::nonNull).findFirst().ifPresent(stat -> getVersions().written(stat.getMzxid()));
+    }
+
+    /**
+     * @param transaction the transaction to which the node creations are added
+     * @param creates the zookeeper paths to create and the data of each, sorted so each parent is before its children
+     * @return the transaction including the node creations
+     * @throws Exception if there is a problem building the transaction
+     */
+    @Nonnull
+    protected CuratorTransaction create(
+            @Nonnull final CuratorTransaction transaction, @Nonnull final SortedMap<String, byte[]> creates)
+            throws Exception {
+        CuratorTransaction result = transaction;
+        for (final Map.Entry<String, byte[]> create : creates.entrySet()) {
+            result = result.create().forPath(create.getKey(), create.getValue()).and();
+        }
+        return result;
+    }
+
+    /**
+     * Add a zookeeper node to be created, along with its missing parents, since transactions cannot create parent
+     * nodes automatically.
+     *
+     * @param creates the zookeeper paths to create, updated with the node and its missing parents
+     * @param path the zookeeper path of the node to create
+     * @param value the data of the node to create
+     * @param created the paths already created by previous transactions that may not be in the tree cache yet
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected void addCreate(
+            @Nonnull final SortedMap<String, byte[]> creates, @Nonnull final String path, @Nonnull final byte[] value,
+            @Nonnull final Collection<String> created) throws Exception {
+        creates.put(path, value);
+        String parent = path.substring(0, path.lastIndexOf('/'));
+        while (!PATH.equals(parent) && !exists(parent, created)) {
+            creates.putIfAbsent(parent, NO_VALUE);
+            parent = parent.substring(0, parent.lastIndexOf('/'));
+        }
+    }
+
+    /**
+     * @param key the configuration key being updated
+     * @param existing the current configuration value
+     * @param version the expected version of the current configuration value
+     * @throws ConfigConflictException if the current configuration value does not have the expected version
+     */
+    protected void checkVersion(
+            @Nonnull final String key, @Nonnull final Optional<ConfigKeyValue> existing, final int version)
+            throws ConfigConflictException {
+        final int current = existing.flatMap(ConfigKeyValue::getVersion).orElse(NO_VERSION);
+        if (current != version) {
+            throw new ConfigConflictException(String.format(
+                    "Configuration key %s has version %d, expected version %d", key, current, version));
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     @Nonnull
     public Future<ConfigKeyValueCollection> getAll() {
+        return CompletableFuture.completedFuture(getIndex().getSnapshot().getValues());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigSnapshot> getSnapshot() {
+        // The snapshot is only rebuilt after the index changes, so this is cheap enough to run on the calling thread.
+        return CompletableFuture.completedFuture(getIndex().getSnapshot());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getByPrefix(@Nonnull final String prefix) {
+        Objects.requireNonNull(prefix);
+        return getExecutor().submit(() -> new ConfigKeyValueCollection(getIndex().getByPrefix(prefix)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getMatching(@Nonnull final String text) {
+        Objects.requireNonNull(text);
+        return getExecutor().submit(() -> new ConfigKeyValueCollection(getIndex().getMatching(text)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Optional<ConfigKeyValue>> get(@Nonnull final String key) {
+        Objects.requireNonNull(key);
+        return getExecutor().submit(() -> {
+            final Optional<ChildData> existing = Optional.ofNullable(getTreeCache().getCurrentData(getPath(key)));
+            return existing.flatMap(data -> getKeyValue(key, data));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Optional<ConfigKeyValue>> set(@Nonnull final ConfigKeyValue kv) {
+        Objects.requireNonNull(kv);
         return getExecutor().submit(() -> {
-            final Collection<ConfigKeyValue> coll = new LinkedList<>();
-            final Map<String, ChildData> data = getTreeCache().getCurrentChildren(PATH);
-            if (data != null) {
-                data.entrySet().stream()
-                        .forEach(e -> coll.add(new ConfigKeyValue(e.getKey(), getValue(e.getValue().getData()))));
+            final Optional<ChildData> existing;
+            try {
+                existing = Optional.ofNullable(getTreeCache().getCurrentData(getPath(kv.getKey())));
+                write(Collections.singletonList(kv), new HashSet<>());
+            } catch (final Exception setException) {
+                LOG.error("Failed to set configuration value for key: {}", kv.getKey());
+                throw new ConfigServiceException(
+                        "Failed to set configuration value for key: " + kv.getKey(), setException);
             }
-            return new ConfigKeyValueCollection(coll);
+
+            return existing.flatMap(data -> getKeyValue(kv.getKey(), data));
         });
     }
 
@@ -131,14 +521,24 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
      */
     @Override
     @Nonnull
-    public Future<Optional<ConfigKeyValue>> get(@Nonnull final String key) {
+    public Future<Optional<ConfigKeyValue>> unset(@Nonnull final String key) {
         Objects.requireNonNull(key);
         return getExecutor().submit(() -> {
-            final Optional<ChildData> existing = Optional.ofNullable(getTreeCache().getCurrentData(getPath(key)));
-            if (existing.isPresent()) {
-                return Optional.of(new ConfigKeyValue(key, getValue(existing.get().getData())));
+            final Optional<ConfigKeyValue> existing;
+            try {
+                final String path = getPath(key);
+                existing = Optional.ofNullable(getTreeCache().getCurrentData(path))
+                        .flatMap(data -> getKeyValue(key, data));
+                if (existing.isPresent()) {
+                    remove(path, -1);
+                }
+            } catch (final Exception unsetException) {
+                LOG.error("Failed to remove configuration value with key: {}", key);
+                throw new ConfigServiceException(
+                        "Failed to remove configuration value with key: " + key, unsetException);
             }
-            return Optional.empty();
+
+            return existing;
         });
     }
 
@@ -147,29 +547,38 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
      */
     @Override
     @Nonnull
-    public Future<Optional<ConfigKeyValue>> set(@Nonnull final ConfigKeyValue kv) {
+    public Future<Optional<ConfigKeyValue>> setIfVersion(@Nonnull final ConfigKeyValue kv, final int version) {
         Objects.requireNonNull(kv);
         return getExecutor().submit(() -> {
-            final Optional<ChildData> existing =
-                    Optional.ofNullable(getTreeCache().getCurrentData(getPath(kv.getKey())));
+            final Optional<ConfigKeyValue> existing;
             try {
                 final String path = getPath(kv.getKey());
+                final Optional<ChildData> node = read(kv.getKey());
+                existing = node.flatMap(data -> getKeyValue(kv.getKey(), data));
+                checkVersion(kv.getKey(), existing, version);
+
+                // The write only succeeds when the node is unchanged since it was read, so the returned previous
+                // value is exact.
                 final byte[] value = kv.getValue().getBytes(StandardCharsets.UTF_8);
-                if (existing.isPresent()) {
-                    getCurator().setData().forPath(path, value);
+                if (node.isPresent()) {
+                    commit(getCurator().inTransaction().setData().withVersion(node.get().getStat().getVersion())
+                            .forPath(path, value).and());
                 } else {
-                    getCurator().create().creatingParentsIfNeeded().forPath(path, value);
+                    final SortedMap<String, byte[]> creates = new TreeMap<>();
+                    addCreate(creates, path, value, new HashSet<>());
+                    commit(create(getCurator().inTransaction(), creates));
                 }
+            } catch (final KeeperException.BadVersionException | KeeperException.NodeExistsException conflict) {
+                throw new ConfigConflictException(
+                        "Configuration key changed concurrently: " + kv.getKey(), conflict);
+            } catch (final ConfigConflictException conflict) {
+                throw conflict;
             } catch (final Exception setException) {
                 LOG.error("Failed to set configuration value for key: {}", kv.getKey());
                 throw new ConfigServiceException(
                         "Failed to set configuration value for key: " + kv.getKey(), setException);
             }
-
-            if (existing.isPresent()) {
-                return Optional.of(new ConfigKeyValue(kv.getKey(), getValue(existing.get().getData())));
-            }
-            return Optional.empty();
+            return existing;
         });
     }
 
@@ -178,27 +587,300 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
      */
     @Override
     @Nonnull
-    public Future<Optional<ConfigKeyValue>> unset(@Nonnull final String key) {
+    public Future<Optional<ConfigKeyValue>> unsetIfVersion(@Nonnull final String key, final int version) {
         Objects.requireNonNull(key);
         return getExecutor().submit(() -> {
-            final Optional<ChildData> existing = Optional.ofNullable(getTreeCache().getCurrentData(getPath(key)));
+            final Optional<ConfigKeyValue> existing;
             try {
+                existing = read(key).flatMap(data -> getKeyValue(key, data));
+                checkVersion(key, existing, version);
                 if (existing.isPresent()) {
-                    getCurator().delete().forPath(getPath(key));
+                    remove(getPath(key), version);
                 }
+            } catch (final KeeperException.BadVersionException | KeeperException.NoNodeException conflict) {
+                throw new ConfigConflictException("Configuration key changed concurrently: " + key, conflict);
+            } catch (final ConfigConflictException conflict) {
+                throw conflict;
             } catch (final Exception unsetException) {
                 LOG.error("Failed to remove configuration value with key: {}", key);
                 throw new ConfigServiceException(
                         "Failed to remove configuration value with key: " + key, unsetException);
             }
+            return existing;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> getMany(@Nonnull final ConfigKeyCollection keys) {
+        Objects.requireNonNull(keys);
+        return getExecutor().submit(() -> getExisting(keys.getKeys()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> setMany(@Nonnull final ConfigKeyValueCollection kvs) {
+        Objects.requireNonNull(kvs);
+        return getExecutor().submit(() -> {
+            final ConfigKeyValueCollection existing = getExisting(kvs.asMap().keySet());
+            if (kvs.size() > 0) {
+                try {
+                    write(kvs.asSet(), new HashSet<>());
+                } catch (final Exception setException) {
+                    LOG.error("Failed to set configuration values for keys: {}", kvs.asMap().keySet());
+                    throw new ConfigServiceException(
+                            "Failed to set configuration values for keys: " + kvs.asMap().keySet(), setException);
+                }
+            }
+            return existing;
+        });
+    }
 
-            if (existing.isPresent()) {
-                return Optional.of(new ConfigKeyValue(key, getValue(existing.get().getData())));
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Integer> importAll(@Nonnull final ConfigKeyValueCollection kvs) {
+        Objects.requireNonNull(kvs);
+        return getExecutor().submit(() -> {
+            // A single transaction is limited by the zookeeper maximum request size, so large imports are split into
+            // chunks, each applied atomically. The paths created by earlier chunks may not have reached the tree
+            // cache yet, so they are tracked here.
+            final Collection<String> created = new HashSet<>();
+            final List<ConfigKeyValue> chunk = new LinkedList<>();
+            int chunkBytes = 0;
+            int imported = 0;
+            try {
+                for (final ConfigKeyValue kv : kvs.asSet()) {
+                    final int bytes = kv.getKey().length() + kv.getValue().getBytes(StandardCharsets.UTF_8).length;
+                    if (!chunk.isEmpty() && (chunk.size() >= IMPORT_CHUNK_SIZE
+                            || chunkBytes + bytes > IMPORT_CHUNK_BYTES)) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedException("Import cancelled");
+                        }
+                        write(chunk, created);
+                        imported += chunk.size();
+                        chunk.clear();
+                        chunkBytes = 0;
+                    }
+                    chunk.add(kv);
+                    chunkBytes += bytes;
+                }
+                if (!chunk.isEmpty()) {
+                    write(chunk, created);
+                    imported += chunk.size();
+                }
+            } catch (final Exception importException) {
+                LOG.error("Failed to import configuration values after {} of {}", imported, kvs.size());
+                throw new ConfigServiceException(String.format(
+                        "Failed to import configuration values after %d of %d", imported, kvs.size()),
+                        importException);
             }
-            return Optional.empty();
+            return imported;
         });
     }
 
+    /**
+     * Store the provided configuration values in a single multi-op transaction, so they are applied atomically.
+     *
+     * @param kvs the configuration keys and values to add (or update)
+     * @param created the paths already created by previous transactions that may not be in the tree cache yet, updated
+     *     with the paths created by this transaction
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected void write(@Nonnull final Collection<ConfigKeyValue> kvs, @Nonnull final Collection<String> created)
+            throws Exception {
+        // Transactions cannot create parent nodes automatically, so missing parents of nested keys are created
+        // explicitly. Sorting by path puts each parent before its children.
+        final SortedMap<String, byte[]> creates = new TreeMap<>();
+        final Map<String, byte[]> updates = new TreeMap<>();
+        for (final ConfigKeyValue kv : kvs) {
+            final String path = getPath(kv.getKey());
+            final byte[] value = kv.getValue().getBytes(StandardCharsets.UTF_8);
+            if (exists(path, created)) {
+                updates.put(path, value);
+            } else {
+                addCreate(creates, path, value, created);
+            }
+        }
+
+        CuratorTransaction transaction = create(getCurator().inTransaction(), creates);
+        for (final Map.Entry<String, byte[]> update : updates.entrySet()) {
+            transaction = transaction.setData().forPath(update.getKey(), update.getValue()).and();
+        }
+        commit(transaction);
+        created.addAll(creates.keySet());
+    }
+
+    /**
+     * @param path the zookeeper path to check
+     * @param created the paths created by previous transactions that may not be in the tree cache yet
+     * @return whether the zookeeper node exists
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected boolean exists(@Nonnull final String path, @Nonnull final Collection<String> created) throws Exception {
+        if (created.contains(path) || getTreeCache().getCurrentData(path) != null) {
+            return true;
+        }
+        // The tree cache may not have caught up with recent writes yet, so confirm that the node is really missing
+        // before trying to create it.
+        if (getCurator().checkExists().forPath(path) != null) {
+            created.add(path);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigKeyValueCollection> unsetMany(@Nonnull final ConfigKeyCollection keys) {
+        Objects.requireNonNull(keys);
+        return getExecutor().submit(() -> {
+            final ConfigKeyValueCollection existing = getExisting(keys.getKeys());
+            if (existing.size() > 0) {
+                try {
+                    // All of the removals are sent to zookeeper in a single multi-op transaction, so they are applied
+                    // atomically.
+                    // Children are removed before their parents, parents that keep other children only have their
+                    // value cleared, and parents left without values or children are removed too.
+                    final SortedMap<String, String> paths = new TreeMap<>(Collections.reverseOrder());
+                    existing.asMap().keySet().forEach(key -> paths.put(getPath(key), key));
+                    final Collection<String> deleted = new HashSet<>();
+                    CuratorTransaction transaction = getCurator().inTransaction();
+                    for (final String path : paths.keySet()) {
+                        final Map<String, ChildData> children = getTreeCache().getCurrentChildren(path);
+                        final boolean parent = children != null && children.keySet().stream()
+                                .anyMatch(child -> !deleted.contains(path + "/" + child));
+                        if (parent) {
+                            transaction = transaction.setData().forPath(path, NO_VALUE).and();
+                        } else {
+                            transaction = transaction.delete().forPath(path).and();
+                            deleted.add(path);
+                            transaction = deleteEmptyParents(transaction, path, deleted);
+                        }
+                    }
+                    commit(transaction);
+                } catch (final Exception unsetException) {
+                    LOG.error("Failed to remove configuration values with keys: {}", keys.getKeys());
+                    throw new ConfigServiceException(
+                            "Failed to remove configuration values with keys: " + keys.getKeys(), unsetException);
+                }
+            }
+            return existing;
+        });
+    }
+
+    /**
+     * @param keys the configuration keys for which the current configuration values should be retrieved
+     * @return the current configuration values from the tree cache, only including the keys that have values
+     */
+    @Nonnull
+    protected ConfigKeyValueCollection getExisting(@Nonnull final Collection<String> keys) {
+        final Collection<ConfigKeyValue> coll = new LinkedList<>();
+        for (final String key : Objects.requireNonNull(keys)) {
+            final Optional<ChildData> existing = Optional.ofNullable(getTreeCache().getCurrentData(getPath(key)));
+            existing.flatMap(data -> getKeyValue(key, data)).ifPresent(coll::add);
+        }
+        return new ConfigKeyValueCollection(coll);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<ConfigChangeCollection> watch(@Nonnull final Optional<String> epoch, final long sinceVersion) {
+        return getChangeLog().await(epoch, sinceVersion);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getWriteVersion() {
+        return getVersions().getWritten();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Future<Boolean> awaitVersion(final long version) {
+        if (getVersions().getVerified() >= version) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return getExecutor().submit(() -> awaitVersion(version, VERSION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * @param version the write version token to wait for
+     * @param timeout the maximum amount of time to wait
+     * @param unit the unit of the timeout value
+     * @return whether the tree cache includes all of the writes covered by the version token within the timeout
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected boolean awaitVersion(final long version, final long timeout, @Nonnull final TimeUnit unit)
+            throws Exception {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!getVersions().awaitApplied(version, deadline)) {
+            return false;
+        }
+
+        // New nodes reach the tree cache through a chain of requests (the parent's children, then the node itself),
+        // so a later change can be applied before an earlier node has been added. Each barrier waits for the requests
+        // the tree cache has already sent, so once two barriers in a row add no nodes, every change up to the version
+        // applied before them has reached the tree cache.
+        long verified = 0;
+        int quiet = 0;
+        while (quiet < 2) {
+            final long applied = getVersions().getApplied();
+            final long added = getVersions().getAdded();
+            if (!barrier(deadline)) {
+                return false;
+            }
+            if (added != getVersions().getAdded()) {
+                quiet = 0;
+            } else if (quiet++ == 0) {
+                verified = applied;
+            }
+        }
+        getVersions().verified(verified);
+        return true;
+    }
+
+    /**
+     * @param deadline the {@link System#nanoTime()} value after which to stop waiting
+     * @return whether the responses to the requests already sent by the tree cache, and the events they produced, were
+     * processed before the deadline
+     * @throws Exception if there is a problem communicating with zookeeper
+     */
+    protected boolean barrier(final long deadline) throws Exception {
+        // Background callbacks are delivered in order, so this one runs after those for the tree cache requests.
+        final CountDownLatch responded = new CountDownLatch(1);
+        getCurator().checkExists().inBackground((client, event) -> responded.countDown()).forPath(PATH);
+        if (!responded.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        try {
+            // The tree cache events are processed in order on the event executor.
+            getEventExecutor().submit(() -> { }).get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final TimeoutException timeout) {
+            return false;
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -215,5 +897,90 @@ public class CuratorConfigService implements ConfigService, TreeCacheListener {
         } else {
             LOG.info("Configuration {}", event.getType());
         }
+
+        switch (event.getType()) {
+            case NODE_ADDED:
+            case NODE_UPDATED:
+            case NODE_REMOVED:
+                final Optional<String> key = getKey(event.getData().getPath());
+                if (key.isPresent()) {
+                    final Optional<ConfigKeyValue> kv = event.getType() == TreeCacheEvent.Type.NODE_REMOVED
+                            ? Optional.empty()
+                            : getKeyValue(key.get(), event.getData());
+                    if (kv.isPresent()) {
+                        getIndex().put(kv.get());
+                        notifyChange(getChangeLog().append(key.get(), Optional.of(kv.get().getValue())));
+                    } else if (getIndex().remove(key.get())) {
+                        // Only report removals of actual values, not parent nodes of nested keys.
+                        notifyChange(getChangeLog().append(key.get(), Optional.empty()));
+                    }
+                }
+                break;
+            case INITIALIZED:
+            case CONNECTION_RECONNECTED:
+                // Changes may have been missed, so watchers need to retrieve the full configuration again.
+                getChangeLog().reset();
+                notifyReset();
+                break;
+            default:
+                break;
+        }
+
+        // Recorded after the index is updated, so reads waiting for the version see the change.
+        if (event.getData() != null && event.getData().getStat() != null) {
+            if (event.getType() == TreeCacheEvent.Type.NODE_ADDED) {
+                getVersions().added();
+            }
+            getVersions().applied(event.getData().getStat().getMzxid());
+        }
+    }
+
+    /**
+     * @param listener the {@link ConfigChangeListener} to be notified of configuration changes as the tree cache
+     *     receives them, which immediately receives a reset with the currently known configuration values
+     */
+    public void addListener(@Nonnull final ConfigChangeListener listener) {
+        getListeners().add(Objects.requireNonNull(listener));
+        listener.onReset(getIndex().getSnapshot().getValues());
+    }
+
+    /**
+     * @param listener the {@link ConfigChangeListener} that should no longer be notified of configuration changes
+     */
+    public void removeListener(@Nonnull final ConfigChangeListener listener) {
+        getListeners().remove(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * @param change the configuration change to deliver to the registered listeners
+     */
+    protected void notifyChange(@Nonnull final ConfigChange change) {
+        getListeners().forEach(listener -> listener.onChange(change));
+    }
+
+    /**
+     * Deliver all of the current configuration values to the registered listeners.
+     */
+    protected void notifyReset() {
+        final ConfigKeyValueCollection all = getIndex().getSnapshot().getValues();
+        getListeners().forEach(listener -> listener.onReset(all));
+    }
+
+    /**
+     * Answer the configuration watchers that are waiting for changes, and any later ones, right away. This is used
+     * when the server starts draining.
+     */
+    public void drain() {
+        getChangeLog().drain();
+    }
+
+    /**
+     * Stop the tree cache that is tracking the dynamic system configuration, and remove all registered listeners.
+     */
+    @Override
+    public void close() {
+        getTreeCache().close();
+        getEventExecutor().shutdown();
+        getListeners().clear();
     }
 }
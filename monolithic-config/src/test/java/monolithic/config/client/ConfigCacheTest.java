@@ -0,0 +1,137 @@
+package monolithic.config.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.CuratorConfigService;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ConfigCache} class.
+ */
+public class ConfigCacheTest {
+    private ExecutorService executor;
+    private TestingServer testingServer;
+    private CuratorFramework curator;
+
+    @Before
+    public void before() throws Exception {
+        this.executor = Executors.newSingleThreadExecutor();
+        this.testingServer = new TestingServer();
+        this.curator = CuratorFrameworkFactory.builder().namespace("namespace-test")
+                .connectString(this.testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        this.curator.start();
+        this.curator.blockUntilConnected(10, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void after() throws Exception {
+        this.curator.close();
+        this.testingServer.close();
+        this.executor.shutdown();
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, this.curator);
+        try (final ConfigCache cache = new ConfigCache(this.curator)) {
+            // Wait a little to allow the watch to initialize.
+            TimeUnit.MILLISECONDS.sleep(300);
+            assertTrue(cache.isWatching());
+            assertFalse(cache.get("key").isPresent());
+
+            // Cache the fact that the key has no value.
+            cache.put("key", Optional.empty(), cache.getVersion());
+            assertEquals(Optional.of(Optional.<ConfigKeyValue>empty()), cache.get("key"));
+
+            svc.set(new ConfigKeyValue("key", "value")).get();
+
+            // Wait a little to allow the change notification to arrive.
+            TimeUnit.MILLISECONDS.sleep(300);
+            assertFalse(cache.get("key").isPresent());
+
+            final ConfigKeyValue kv = new ConfigKeyValue("key", "value", Optional.of(0));
+            cache.put("key", Optional.of(kv), cache.getVersion());
+            assertEquals(Optional.of(Optional.of(kv)), cache.get("key"));
+
+            svc.unset("key").get();
+
+            // Wait a little to allow the change notification to arrive.
+            TimeUnit.MILLISECONDS.sleep(300);
+            assertFalse(cache.get("key").isPresent());
+        }
+    }
+
+    @Test
+    public void testStalePutIgnored() throws Exception {
+        try (final ConfigCache cache = new ConfigCache(this.curator)) {
+            // Wait a little to allow the watch to initialize.
+            TimeUnit.MILLISECONDS.sleep(300);
+
+            final long version = cache.getVersion();
+            cache.invalidate("other");
+            cache.put("key", Optional.empty(), version);
+            assertFalse(cache.get("key").isPresent());
+
+            cache.put("key", Optional.empty(), cache.getVersion());
+            assertTrue(cache.get("key").isPresent());
+
+            cache.invalidateAll();
+            assertFalse(cache.get("key").isPresent());
+        }
+    }
+
+    @Test
+    public void testValueBehindWatchIgnored() throws Exception {
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, this.curator);
+        try (final ConfigCache cache = new ConfigCache(this.curator)) {
+            svc.set(new ConfigKeyValue("key", "value")).get();
+
+            // Wait a little to allow the value to be stored.
+            TimeUnit.MILLISECONDS.sleep(300);
+            svc.set(new ConfigKeyValue("key", "new-value")).get();
+
+            // Wait a little to allow the watch to initialize and the change notifications to arrive.
+            TimeUnit.MILLISECONDS.sleep(300);
+
+            // Values retrieved from a configuration service that has not seen the latest change are not cached.
+            cache.put("key", Optional.empty(), cache.getVersion());
+            assertFalse(cache.get("key").isPresent());
+            cache.put("key", Optional.of(new ConfigKeyValue("key", "value", Optional.of(0))), cache.getVersion());
+            assertFalse(cache.get("key").isPresent());
+            cache.put("key", Optional.of(new ConfigKeyValue("key", "new-value")), cache.getVersion());
+            assertFalse(cache.get("key").isPresent());
+
+            final ConfigKeyValue current = new ConfigKeyValue("key", "new-value", Optional.of(1));
+            cache.put("key", Optional.of(current), cache.getVersion());
+            assertEquals(Optional.of(Optional.of(current)), cache.get("key"));
+        }
+    }
+
+    @Test
+    public void testBypassedWhenNotWatching() throws Exception {
+        final ConfigCache cache = new ConfigCache(this.curator);
+        // Wait a little to allow the watch to initialize.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        cache.close();
+        assertFalse(cache.isWatching());
+        cache.put("key", Optional.of(new ConfigKeyValue("key", "value")), cache.getVersion());
+        assertFalse(cache.get("key").isPresent());
+    }
+}
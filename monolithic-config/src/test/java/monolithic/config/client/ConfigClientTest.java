@@ -0,0 +1,120 @@
+package monolithic.config.client;
+
+import static org.junit.Assert.assertEquals;
+
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigSnapshot;
+import monolithic.crypto.CryptoFactory;
+import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.model.Service;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Perform testing on the {@link ConfigClient} class.
+ */
+public class ConfigClientTest {
+    private final Service first = new Service("config", "1.2.3", "host1", 1234, false);
+    private final Service second = new Service("config", "1.2.3", "host2", 1234, false);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testWatchPinnedToService() throws Exception {
+        final Queue<Service> available = new LinkedList<>(Arrays.asList(this.first, this.second));
+        final List<Service> selected = new ArrayList<>();
+        final List<Service> polled = new ArrayList<>();
+        final List<Optional<String>> epochs = new ArrayList<>();
+        final List<Service> snapshots = new ArrayList<>();
+
+        final ConfigClient client = new ConfigClient(ConfigFactory.load(), this.executor,
+                Mockito.mock(DiscoveryManager.class), new OkHttpClient(), Mockito.mock(CryptoFactory.class)) {
+            @Override
+            @Nonnull
+            protected Service select() {
+                final Service service = available.remove();
+                selected.add(service);
+                return service;
+            }
+
+            @Override
+            @Nonnull
+            protected Optional<ConfigChangeCollection> poll(
+                    @Nonnull final OkHttpClient httpClient, @Nonnull final Service service,
+                    @Nonnull final Optional<String> epoch, final long sinceVersion) throws IOException {
+                polled.add(service);
+                epochs.add(epoch);
+                switch (polled.size()) {
+                    case 1:
+                        return Optional.of(new ConfigChangeCollection("a", 5, true, Collections.emptyList()));
+                    case 2:
+                        return Optional.empty();
+                    case 3:
+                        throw new IOException("Failed");
+                    case 4:
+                        return Optional.of(new ConfigChangeCollection("b", 2, true, Collections.emptyList()));
+                    default:
+                        Thread.currentThread().interrupt();
+                        return Optional.empty();
+                }
+            }
+
+            @Override
+            @Nonnull
+            protected ConfigSnapshot retrieveSnapshot(@Nonnull final Service service) {
+                snapshots.add(service);
+                return new ConfigSnapshot(new ConfigKeyValueCollection(new ConfigKeyValue("key", "value")));
+            }
+
+            @Override
+            protected void delayBeforeRetry() {
+            }
+        };
+
+        final List<ConfigKeyValueCollection> resets = new ArrayList<>();
+        client.watch(new ConfigChangeListener() {
+            @Override
+            public void onReset(@Nonnull final ConfigKeyValueCollection values) {
+                resets.add(values);
+            }
+
+            @Override
+            public void onChange(@Nonnull final ConfigChange change) {
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(this.first, this.second), selected);
+        assertEquals(Arrays.asList(this.first, this.first, this.first, this.second, this.second), polled);
+        assertEquals(Arrays.asList(Optional.empty(), Optional.of("a"), Optional.of("a"), Optional.empty(),
+                Optional.of("b")), epochs);
+        assertEquals(Arrays.asList(this.first, this.second), snapshots);
+        assertEquals(2, resets.size());
+    }
+}
@@ -0,0 +1,105 @@
+package monolithic.config.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link DynamicConfig} class.
+ */
+public class DynamicConfigTest {
+    @Test
+    public void testTypes() {
+        final DynamicConfig config = new DynamicConfig();
+        config.onReset(new ConfigKeyValueCollection(new ConfigKeyValue("string", "text"),
+                new ConfigKeyValue("int", "12"), new ConfigKeyValue("long", "12345678901"),
+                new ConfigKeyValue("boolean", "yes"), new ConfigKeyValue("duration", "10 seconds"),
+                new ConfigKeyValue("size", "2k"), new ConfigKeyValue("list", " a, b ,,c ")));
+
+        assertEquals("text", config.getString("string", "default").get());
+        assertEquals(12, (int) config.getInt("int", 1).get());
+        assertEquals(12345678901L, (long) config.getLong("long", 1).get());
+        assertTrue(config.getBoolean("boolean", false).get());
+        assertEquals(Duration.ofSeconds(10), config.getDuration("duration", Duration.ZERO).get());
+        assertEquals(2048L, (long) config.getSize("size", 0).get());
+        assertEquals(Arrays.asList("a", "b", "c"), config.getList("list", Collections.emptyList()).get());
+    }
+
+    @Test
+    public void testDefaults() {
+        final DynamicConfig config = new DynamicConfig();
+        config.onReset(new ConfigKeyValueCollection(new ConfigKeyValue("int", "not a number"),
+                new ConfigKeyValue("duration", "forever")));
+
+        assertEquals(3, (int) config.getInt("int", 3).get());
+        assertEquals(Duration.ofMillis(5), config.getDuration("duration", Duration.ofMillis(5)).get());
+        assertFalse(config.getBoolean("missing", false).get());
+        final List<String> list = config.getList("missing", Arrays.asList("x", "y")).get();
+        assertEquals(Arrays.asList("x", "y"), list);
+    }
+
+    @Test
+    public void testChanges() {
+        final DynamicConfig config = new DynamicConfig();
+        final DynamicValue<Integer> limit = config.getInt("limit", 10);
+        final DynamicValue<String> limitString = config.getString("limit", "none");
+        assertEquals(10, (int) limit.get());
+
+        config.onReset(new ConfigKeyValueCollection(new ConfigKeyValue("limit", "20")));
+        assertEquals(20, (int) limit.get());
+        assertEquals("20", limitString.get());
+
+        config.onChange(new ConfigChange(1, "limit", Optional.of("30")));
+        assertEquals(30, (int) limit.get());
+
+        config.onChange(new ConfigChange(2, "other", Optional.of("40")));
+        assertEquals(30, (int) limit.get());
+
+        config.onChange(new ConfigChange(3, "limit", Optional.empty()));
+        assertEquals(10, (int) limit.get());
+        assertEquals("none", limitString.get());
+
+        // A reset removes values that are no longer present.
+        config.onChange(new ConfigChange(4, "limit", Optional.of("50")));
+        config.onReset(new ConfigKeyValueCollection());
+        assertEquals(10, (int) limit.get());
+    }
+
+    @Test
+    public void testValuesReused() throws InterruptedException {
+        final DynamicConfig config = new DynamicConfig();
+        final DynamicValue<Integer> limit = config.getInt("limit", 10);
+        assertSame(limit, config.getInt("limit", 10));
+        assertNotSame(limit, config.getInt("limit", 20));
+        assertNotSame(limit, config.getLong("limit", 10));
+        assertSame(config.getList("list", Arrays.asList("a", "b")), config.getList("list", Arrays.asList("a", "b")));
+
+        config.onChange(new ConfigChange(1, "limit", Optional.of("30")));
+        assertEquals(30, (int) config.getInt("limit", 10).get());
+
+        // Values that are no longer referenced are released.
+        final WeakReference<DynamicValue<Integer>> released = new WeakReference<>(config.getInt("released", 1));
+        for (int attempt = 0; attempt < 50 && released.get() != null; attempt++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertNull(released.get());
+    }
+}
@@ -0,0 +1,37 @@
+package monolithic.config.client;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link DynamicValue} class.
+ */
+public class DynamicValueTest {
+    @Test
+    public void testUpdate() {
+        final DynamicValue<Integer> value = new DynamicValue<>("key", 5, Integer::parseInt);
+        assertEquals("key", value.getKey());
+        assertEquals(5, (int) value.getDefaultValue());
+        assertEquals(5, (int) value.get());
+
+        value.update(Optional.of("10"));
+        assertEquals(10, (int) value.get());
+
+        // Invalid values fall back to the default.
+        value.update(Optional.of("invalid"));
+        assertEquals(5, (int) value.get());
+
+        value.update(Optional.of("20"));
+        value.update(Optional.empty());
+        assertEquals(5, (int) value.get());
+    }
+
+    @Test
+    public void testToString() {
+        final DynamicValue<String> value = new DynamicValue<>("key", "default", s -> s);
+        assertEquals("DynamicValue[key=key,value=default]", value.toString());
+    }
+}
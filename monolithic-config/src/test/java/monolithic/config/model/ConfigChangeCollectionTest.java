@@ -0,0 +1,95 @@
+package monolithic.config.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link ConfigChangeCollection} class.
+ */
+public class ConfigChangeCollectionTest {
+    private final ConfigChange c1 = new ConfigChange(1, "a", Optional.of("value"));
+    private final ConfigChange c2 = new ConfigChange(2, "b", Optional.empty());
+
+    @Test
+    public void testConstructor() {
+        final ConfigChangeCollection coll = new ConfigChangeCollection("epoch", 2, false, Arrays.asList(c2, c1));
+        assertEquals("epoch", coll.getEpoch());
+        assertEquals(2, coll.getVersion());
+        assertFalse(coll.isReset());
+        assertEquals(Arrays.asList(c1, c2), Arrays.asList(coll.getChanges().toArray()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testChangesUnmodifiable() {
+        new ConfigChangeCollection("epoch", 2, false, Collections.emptyList()).getChanges().add(c1);
+    }
+
+    @Test
+    public void testFromJson() {
+        final ConfigChangeCollection original = new ConfigChangeCollection("epoch", 2, false, Arrays.asList(c1, c2));
+        assertEquals(original, new ConfigChangeCollection(original.toJson()));
+
+        final ConfigChangeCollection reset = new ConfigChangeCollection("epoch", 5, true, Collections.emptyList());
+        assertEquals(reset, new ConfigChangeCollection(reset.toJson()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonNoEpoch() {
+        final JsonObject json = new JsonParser().parse("{ version: 1, reset: false, changes: [] }").getAsJsonObject();
+        new ConfigChangeCollection(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonChangesNotArray() {
+        final JsonObject json =
+                new JsonParser().parse("{ epoch: \"e\", version: 1, reset: false, changes: 1 }").getAsJsonObject();
+        new ConfigChangeCollection(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonChangeNotObject() {
+        final JsonObject json =
+                new JsonParser().parse("{ epoch: \"e\", version: 1, reset: false, changes: [1] }").getAsJsonObject();
+        new ConfigChangeCollection(json);
+    }
+
+    @Test
+    public void testCompareTo() {
+        final ConfigChangeCollection a = new ConfigChangeCollection("epoch", 1, false, Arrays.asList(c1));
+        final ConfigChangeCollection b = new ConfigChangeCollection("epoch", 2, false, Arrays.asList(c1, c2));
+
+        assertEquals(1, a.compareTo(null));
+        assertEquals(0, a.compareTo(a));
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(a) > 0);
+    }
+
+    @Test
+    public void testEquals() {
+        final ConfigChangeCollection a = new ConfigChangeCollection("epoch", 1, false, Arrays.asList(c1));
+        final ConfigChangeCollection b = new ConfigChangeCollection("epoch", 1, true, Arrays.asList(c1));
+
+        assertNotEquals(a, null);
+        assertEquals(a, a);
+        assertNotEquals(a, b);
+        assertEquals(a.hashCode(), new ConfigChangeCollection("epoch", 1, false, Arrays.asList(c1)).hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        final ConfigChangeCollection coll = new ConfigChangeCollection("epoch", 1, false, Arrays.asList(c1));
+        assertEquals("ConfigChangeCollection[epoch=epoch,version=1,reset=false,"
+                + "changes=[ConfigChange[version=1,key=a,value=value]]]", coll.toString());
+    }
+}
@@ -0,0 +1,95 @@
+package monolithic.config.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link ConfigChange} class.
+ */
+public class ConfigChangeTest {
+    @Test
+    public void testConstructor() {
+        final ConfigChange change = new ConfigChange(3, "key", Optional.of("value"));
+        assertEquals(3, change.getVersion());
+        assertEquals("key", change.getKey());
+        assertEquals(Optional.of("value"), change.getValue());
+        assertEquals(Optional.of(new ConfigKeyValue("key", "value")), change.getKeyValue());
+    }
+
+    @Test
+    public void testRemoval() {
+        final ConfigChange change = new ConfigChange(3, "key", Optional.empty());
+        assertFalse(change.getValue().isPresent());
+        assertFalse(change.getKeyValue().isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorEmptyValue() {
+        new ConfigChange(3, "key", Optional.of(""));
+    }
+
+    @Test
+    public void testFromJson() {
+        final ConfigChange original = new ConfigChange(3, "key", Optional.of("value"));
+        assertEquals(original, new ConfigChange(original.toJson()));
+
+        final ConfigChange removal = new ConfigChange(4, "key", Optional.empty());
+        assertEquals(removal, new ConfigChange(removal.toJson()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonNoVersion() {
+        final JsonObject json = new JsonParser().parse("{ key: \"key\" }").getAsJsonObject();
+        new ConfigChange(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonNoKey() {
+        final JsonObject json = new JsonParser().parse("{ version: 1 }").getAsJsonObject();
+        new ConfigChange(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonValueNotPrimitive() {
+        final JsonObject json = new JsonParser().parse("{ version: 1, key: \"key\", value: [ ] }").getAsJsonObject();
+        new ConfigChange(json);
+    }
+
+    @Test
+    public void testCompareTo() {
+        final ConfigChange a = new ConfigChange(1, "key", Optional.of("value"));
+        final ConfigChange b = new ConfigChange(2, "key", Optional.empty());
+
+        assertEquals(1, a.compareTo(null));
+        assertEquals(0, a.compareTo(a));
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(a) > 0);
+    }
+
+    @Test
+    public void testEquals() {
+        final ConfigChange a = new ConfigChange(1, "key", Optional.of("value"));
+        final ConfigChange b = new ConfigChange(1, "key", Optional.empty());
+
+        assertNotEquals(a, null);
+        assertEquals(a, a);
+        assertNotEquals(a, b);
+        assertEquals(a.hashCode(), new ConfigChange(1, "key", Optional.of("value")).hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("ConfigChange[version=1,key=key,value=value]",
+                new ConfigChange(1, "key", Optional.of("value")).toString());
+        assertEquals("ConfigChange[version=2,key=key]", new ConfigChange(2, "key", Optional.empty()).toString());
+    }
+}
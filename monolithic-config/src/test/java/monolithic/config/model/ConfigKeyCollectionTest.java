@@ -0,0 +1,86 @@
+package monolithic.config.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Perform testing on the {@link ConfigKeyCollection} class.
+ */
+public class ConfigKeyCollectionTest {
+    @Test
+    public void testConstructor() {
+        final ConfigKeyCollection keys = new ConfigKeyCollection("b", "a", "b");
+        assertEquals(2, keys.size());
+        assertEquals(Arrays.asList("a", "b"), Arrays.asList(keys.getKeys().toArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorEmptyKey() {
+        new ConfigKeyCollection("a", "");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testKeysUnmodifiable() {
+        new ConfigKeyCollection("a").getKeys().add("b");
+    }
+
+    @Test
+    public void testFromJson() {
+        final ConfigKeyCollection original = new ConfigKeyCollection("a", "b");
+        assertEquals(original, new ConfigKeyCollection(original.toJson()));
+        assertEquals("{\"keys\":[\"a\",\"b\"]}", original.toJson().toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonNoKeys() {
+        final JsonObject json = new JsonParser().parse("{ }").getAsJsonObject();
+        new ConfigKeyCollection(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonKeysNotArray() {
+        final JsonObject json = new JsonParser().parse("{ keys: \"a\" }").getAsJsonObject();
+        new ConfigKeyCollection(json);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromJsonKeyNotPrimitive() {
+        final JsonObject json = new JsonParser().parse("{ keys: [ [ ] ] }").getAsJsonObject();
+        new ConfigKeyCollection(json);
+    }
+
+    @Test
+    public void testCompareTo() {
+        final ConfigKeyCollection a = new ConfigKeyCollection("a");
+        final ConfigKeyCollection b = new ConfigKeyCollection("a", "b");
+
+        assertEquals(1, a.compareTo(null));
+        assertEquals(0, a.compareTo(a));
+        assertTrue(a.compareTo(b) < 0);
+        assertTrue(b.compareTo(a) > 0);
+    }
+
+    @Test
+    public void testEquals() {
+        final ConfigKeyCollection a = new ConfigKeyCollection("a");
+        final ConfigKeyCollection b = new ConfigKeyCollection("b");
+
+        assertNotEquals(a, null);
+        assertEquals(a, a);
+        assertNotEquals(a, b);
+        assertEquals(a.hashCode(), new ConfigKeyCollection("a").hashCode());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("ConfigKeyCollection[keys=[a, b]]", new ConfigKeyCollection("a", "b").toString());
+    }
+}
@@ -8,6 +8,8 @@ import com.google.gson.JsonParser;
 
 import org.junit.Test;
 
+import java.util.Optional;
+
 /**
  * Perform testing on the {@link ConfigKeyValue} class.
  */
@@ -17,6 +19,25 @@ public class ConfigKeyValueTest {
         final ConfigKeyValue kv = new ConfigKeyValue("key", "value");
         assertEquals("key", kv.getKey());
         assertEquals("value", kv.getValue());
+        assertEquals(Optional.empty(), kv.getVersion());
+    }
+
+    @Test
+    public void testVersion() {
+        final ConfigKeyValue kv = new ConfigKeyValue("key", "value", Optional.of(3));
+        assertEquals(Optional.of(3), kv.getVersion());
+        assertEquals(kv, new ConfigKeyValue(kv.toJson()));
+        assertEquals(Optional.of(3), new ConfigKeyValue(kv.toJson()).getVersion());
+
+        // The version is not considered when comparing values.
+        assertEquals(new ConfigKeyValue("key", "value"), kv);
+        assertEquals(new ConfigKeyValue("key", "value").hashCode(), kv.hashCode());
+        assertEquals("ConfigKeyValue[key=key,value=value,version=3]", kv.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeVersion() {
+        new ConfigKeyValue("key", "value", Optional.of(-1));
     }
 
     @Test
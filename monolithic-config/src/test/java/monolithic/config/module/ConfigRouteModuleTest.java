@@ -0,0 +1,74 @@
+package monolithic.config.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.route.ConsistentRead;
+import monolithic.config.route.LeaderWrite;
+import monolithic.config.route.Watch;
+import monolithic.discovery.model.Service;
+import monolithic.server.Server;
+import monolithic.server.module.RouteRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ConfigRouteModule} class.
+ */
+public class ConfigRouteModuleTest {
+    @Test
+    public void test() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (final TestingServer testingServer = new TestingServer();
+             final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-module")
+                     .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                     .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build()) {
+            curator.start();
+            curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+            final Server server = Mockito.mock(Server.class);
+            Mockito.when(server.getConfig()).thenReturn(ConfigFactory.load());
+            Mockito.when(server.getExecutor()).thenReturn(executor);
+            Mockito.when(server.getCurator()).thenReturn(curator);
+            Mockito.when(server.getService())
+                    .thenReturn(Optional.of(new Service("system", "1.0", "host", 1234, false)));
+            final RouteRegistry routes = Mockito.mock(RouteRegistry.class);
+
+            final ConfigRouteModule module = new ConfigRouteModule();
+            assertEquals(ConfigRouteModule.NAME, module.getName());
+            assertFalse(module.getConfigService().isPresent());
+
+            module.start(server, routes);
+            assertTrue(module.getConfigService().isPresent());
+            assertTrue(module.getLeader().isPresent());
+            assertEquals("http://host:1234/", module.getLeader().get().getUrl());
+
+            Mockito.verify(routes).get(Mockito.eq("/"), Mockito.any(ConsistentRead.class));
+            Mockito.verify(routes).post(Mockito.eq("/"), Mockito.any(LeaderWrite.class));
+            Mockito.verify(routes).get(Mockito.eq("/:key"), Mockito.any(ConsistentRead.class));
+            Mockito.verify(routes).delete(Mockito.eq("/:key"), Mockito.any(LeaderWrite.class));
+            Mockito.verify(routes).get(Mockito.eq("/config/watch"), Mockito.any(Watch.class));
+            Mockito.verify(routes, Mockito.times(6)).get(Mockito.anyString(), Mockito.any());
+            Mockito.verify(routes, Mockito.times(5)).post(Mockito.anyString(), Mockito.any());
+
+            module.close();
+            assertFalse(module.getConfigService().isPresent());
+            assertFalse(module.getLeader().isPresent());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
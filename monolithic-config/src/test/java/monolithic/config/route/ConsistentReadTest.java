@@ -0,0 +1,90 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link ConsistentRead} class.
+ */
+public class ConsistentReadTest {
+    @Test
+    public void testNoVersion() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        final Route read = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        Mockito.when(read.handle(request, response)).thenReturn("result");
+
+        final ConsistentRead consistentRead = new ConsistentRead(config, configService, read);
+        assertEquals(read, consistentRead.getRead());
+        assertEquals("result", consistentRead.handle(request, response));
+
+        Mockito.verify(configService, Mockito.never()).awaitVersion(Mockito.anyLong());
+    }
+
+    @Test
+    public void testInvalidVersion() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        final Route read = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(ConfigService.VERSION_HEADER)).thenReturn("invalid");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = new ConsistentRead(config, configService, read).handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Invalid configuration version token", obj);
+        Mockito.verify(read, Mockito.never()).handle(request, response);
+    }
+
+    @Test
+    public void testVersionAvailable() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.awaitVersion(12)).thenReturn(CompletableFuture.completedFuture(true));
+        final Route read = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(ConfigService.VERSION_HEADER)).thenReturn("12");
+        final Response response = Mockito.mock(Response.class);
+        Mockito.when(read.handle(request, response)).thenReturn("result");
+
+        assertEquals("result", new ConsistentRead(config, configService, read).handle(request, response));
+        Mockito.verify(configService).awaitVersion(12);
+    }
+
+    @Test
+    public void testVersionUnavailable() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.awaitVersion(12)).thenReturn(CompletableFuture.completedFuture(false));
+        final Route read = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(ConfigService.VERSION_HEADER)).thenReturn("12");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = new ConsistentRead(config, configService, read).handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertEquals("Configuration version 12 is not available yet", obj);
+        Mockito.verify(read, Mockito.never()).handle(request, response);
+    }
+}
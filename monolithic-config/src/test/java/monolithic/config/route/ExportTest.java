@@ -0,0 +1,48 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link Export} class.
+ */
+public class ExportTest {
+    @Test
+    public void testWithResponse() throws Exception {
+        final ConfigKeyValueCollection values =
+                new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "one"), new ConfigKeyValue("c", "two"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getAll()).thenReturn(CompletableFuture.completedFuture(values));
+
+        final Export route = new Export(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(ConfigArchive.CONTENT_TYPE);
+        assertTrue(obj instanceof byte[]);
+        assertEquals(values, ConfigArchive.fromBytes((byte[]) obj, Optional.empty()));
+    }
+}
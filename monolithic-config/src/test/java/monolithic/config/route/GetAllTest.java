@@ -4,8 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.net.HttpHeaders;
 import com.google.common.net.MediaType;
-import com.google.gson.JsonObject;
 import com.typesafe.config.Config;
 
 import org.junit.Test;
@@ -14,9 +14,11 @@ import org.mockito.Mockito;
 import monolithic.config.model.ConfigKeyValue;
 import monolithic.config.model.ConfigKeyValueCollection;
 import monolithic.config.service.ConfigService;
+import monolithic.config.service.ConfigSnapshot;
 import spark.Request;
 import spark.Response;
 
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 import javax.servlet.http.HttpServletResponse;
@@ -29,11 +31,11 @@ public class GetAllTest {
     public void testWithResponse() throws Exception {
         final ConfigKeyValue kv1 = new ConfigKeyValue("key1", "value1");
         final ConfigKeyValue kv2 = new ConfigKeyValue("key2", "value2");
-        final ConfigKeyValueCollection coll = new ConfigKeyValueCollection(kv1, kv2);
+        final ConfigSnapshot snapshot = new ConfigSnapshot(new ConfigKeyValueCollection(kv1, kv2));
 
         final Config config = Mockito.mock(Config.class);
         final ConfigService configService = Mockito.mock(ConfigService.class);
-        Mockito.when(configService.getAll()).thenReturn(CompletableFuture.completedFuture(coll));
+        Mockito.when(configService.getSnapshot()).thenReturn(CompletableFuture.completedFuture(snapshot));
 
         final GetAll getAll = new GetAll(config, configService);
 
@@ -44,10 +46,33 @@ public class GetAllTest {
 
         Mockito.verify(response).status(HttpServletResponse.SC_OK);
         Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        Mockito.verify(response).header(HttpHeaders.ETAG, snapshot.getETag());
         assertNotNull(obj);
-        assertTrue(obj instanceof JsonObject);
+        assertTrue(obj instanceof byte[]);
         assertEquals(
                 "{\"config\":[{\"key\":\"key1\",\"value\":\"value1\"},{\"key\":\"key2\",\"value\":\"value2\"}]}",
-                obj.toString());
+                new String((byte[]) obj, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        final ConfigSnapshot snapshot = new ConfigSnapshot(new ConfigKeyValueCollection(new ConfigKeyValue("k", "v")));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getSnapshot()).thenReturn(CompletableFuture.completedFuture(snapshot));
+
+        final GetAll getAll = new GetAll(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(HttpHeaders.IF_NONE_MATCH)).thenReturn(snapshot.getETag());
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = getAll.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_NOT_MODIFIED);
+        Mockito.verify(response).header(HttpHeaders.ETAG, snapshot.getETag());
+        Mockito.verify(response, Mockito.never()).type(Mockito.anyString());
+        assertEquals("", obj);
     }
 }
@@ -0,0 +1,62 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link GetByPrefix} class.
+ */
+public class GetByPrefixTest {
+    @Test
+    public void testMissing() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final GetByPrefix route = new GetByPrefix(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Invalid configuration key prefix", obj);
+        Mockito.verifyZeroInteractions(configService);
+    }
+
+    @Test
+    public void testWithResponse() throws Exception {
+        final ConfigKeyValueCollection values = new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "value"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getByPrefix("a.")).thenReturn(CompletableFuture.completedFuture(values));
+
+        final GetByPrefix route = new GetByPrefix(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.params("prefix")).thenReturn("a.");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        assertEquals(values.toJson(), obj);
+    }
+}
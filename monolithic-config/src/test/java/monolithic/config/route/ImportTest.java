@@ -0,0 +1,129 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.common.route.Deadline;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link Import} class.
+ */
+public class ImportTest {
+    @Test
+    public void testNoBody() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final Import route = new Import(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Configuration archive must be provided", obj);
+        Mockito.verifyZeroInteractions(configService);
+    }
+
+    @Test
+    public void testInvalidBody() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final Import route = new Import(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.bodyAsBytes()).thenReturn("not an archive".getBytes(StandardCharsets.UTF_8));
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Not a configuration archive", obj);
+        Mockito.verifyZeroInteractions(configService);
+    }
+
+    @Test
+    public void testWithResponse() throws Exception {
+        final ConfigKeyValueCollection values =
+                new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "one"), new ConfigKeyValue("c", "two"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.importAll(values)).thenReturn(CompletableFuture.completedFuture(2));
+
+        final Import route = new Import(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.bodyAsBytes()).thenReturn(ConfigArchive.toBytes(values.asSet(), Optional.empty()));
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        assertEquals("{\"imported\":2}", obj.toString());
+    }
+
+    @Test
+    public void testTimeoutCancelsImport() throws Exception {
+        final ConfigKeyValueCollection values = new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "one"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+        Mockito.when(configService.importAll(values)).thenReturn(future);
+
+        final Import route = new Import(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(Deadline.HEADER)).thenReturn("10");
+        Mockito.when(request.bodyAsBytes()).thenReturn(ConfigArchive.toBytes(values.asSet(), Optional.empty()));
+        final Response response = Mockito.mock(Response.class);
+
+        try {
+            route.handle(request, response);
+            fail("Expected a timeout");
+        } catch (final TimeoutException expected) {
+            assertTrue(future.isCancelled());
+        }
+    }
+
+    @Test
+    public void testDeadline() {
+        final Import route = new Import(Mockito.mock(Config.class), Mockito.mock(ConfigService.class));
+
+        // The caller may allow an import more time than other requests, up to the maximum.
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.headers(Deadline.HEADER)).thenReturn("60000");
+        final long remaining = route.getDeadline(request).getRemaining(TimeUnit.MILLISECONDS);
+        assertTrue(remaining > Deadline.DEFAULT_TIMEOUT_MILLIS);
+        assertTrue(remaining <= 60000);
+
+        final Request unlimited = Mockito.mock(Request.class);
+        Mockito.when(unlimited.headers(Deadline.HEADER)).thenReturn(String.valueOf(TimeUnit.HOURS.toMillis(1)));
+        assertTrue(route.getDeadline(unlimited).getRemaining(TimeUnit.MILLISECONDS) <= Import.MAX_TIMEOUT_MILLIS);
+    }
+}
@@ -0,0 +1,101 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.net.HttpHeaders;
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.service.ConfigLeader;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link LeaderWrite} class.
+ */
+public class LeaderWriteTest {
+    @Test
+    public void testNoLeaderElection() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getWriteVersion()).thenReturn(15L);
+        final Route write = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        Mockito.when(write.handle(request, response)).thenReturn("result");
+
+        final LeaderWrite leaderWrite = new LeaderWrite(config, configService, Optional.empty(), write);
+        assertEquals(write, leaderWrite.getWrite());
+        assertEquals(Optional.empty(), leaderWrite.getLeader());
+        assertEquals("result", leaderWrite.handle(request, response));
+
+        Mockito.verify(response).header(ConfigService.VERSION_HEADER, "15");
+    }
+
+    @Test
+    public void testLeader() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.getWriteVersion()).thenReturn(15L);
+        final ConfigLeader leader = Mockito.mock(ConfigLeader.class);
+        Mockito.when(leader.isLeader()).thenReturn(true);
+        final Route write = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        Mockito.when(write.handle(request, response)).thenReturn("result");
+
+        assertEquals("result", new LeaderWrite(config, configService, Optional.of(leader), write)
+                .handle(request, response));
+
+        Mockito.verify(response).header(ConfigService.VERSION_HEADER, "15");
+    }
+
+    @Test
+    public void testFollower() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        final ConfigLeader leader = Mockito.mock(ConfigLeader.class);
+        Mockito.when(leader.getLeaderUrl()).thenReturn(Optional.of("http://leader:1234/"));
+        final Route write = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.pathInfo()).thenReturn("/key");
+        Mockito.when(request.queryString()).thenReturn("version=3");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = new LeaderWrite(config, configService, Optional.of(leader), write).handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+        Mockito.verify(response).header(HttpHeaders.LOCATION, "http://leader:1234/key?version=3");
+        assertEquals("", obj);
+        Mockito.verify(write, Mockito.never()).handle(request, response);
+    }
+
+    @Test
+    public void testNoLeader() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        final ConfigLeader leader = Mockito.mock(ConfigLeader.class);
+        Mockito.when(leader.getLeaderUrl()).thenReturn(Optional.empty());
+        final Route write = Mockito.mock(Route.class);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = new LeaderWrite(config, configService, Optional.of(leader), write).handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertEquals("No configuration service leader is available", obj);
+        Mockito.verify(write, Mockito.never()).handle(request, response);
+    }
+}
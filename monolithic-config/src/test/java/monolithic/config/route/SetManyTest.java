@@ -0,0 +1,80 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.net.MediaType;
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link SetMany} class.
+ */
+public class SetManyTest {
+    @Test
+    public void testNoBody() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final SetMany route = new SetMany(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Configuration keys and values must be provided", obj);
+    }
+
+    @Test
+    public void testInvalidBody() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final SetMany route = new SetMany(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.body()).thenReturn("{ }");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Config field required", obj);
+    }
+
+    @Test
+    public void testWithResponse() throws Exception {
+        final ConfigKeyValueCollection values = new ConfigKeyValueCollection(new ConfigKeyValue("a", "old-value"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.setMany(new ConfigKeyValueCollection(new ConfigKeyValue("a", "value"))))
+                .thenReturn(CompletableFuture.completedFuture(values));
+
+        final SetMany route = new SetMany(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.body())
+                .thenReturn(new ConfigKeyValueCollection(new ConfigKeyValue("a", "value")).toJson().toString());
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        assertEquals(values.toJson(), obj);
+    }
+}
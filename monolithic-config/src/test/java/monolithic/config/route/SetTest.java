@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.ConfigConflictException;
 import monolithic.config.service.ConfigService;
 import spark.Request;
 import spark.Response;
@@ -114,4 +115,65 @@ public class SetTest {
         assertTrue(obj instanceof JsonObject);
         assertEquals("{\"key\":\"key\",\"value\":\"old-value\"}", obj.toString());
     }
+
+    @Test
+    public void testWithVersion() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.setIfVersion(Mockito.any(), Mockito.eq(3)))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(new ConfigKeyValue("key", "old-value"))));
+
+        final Set set = new Set(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.body()).thenReturn(new ConfigKeyValue("key", "value").toJson().toString());
+        Mockito.when(request.queryParams("version")).thenReturn("3");
+        final Response response = Mockito.mock(Response.class);
+
+        set.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(configService).setIfVersion(new ConfigKeyValue("key", "value"), 3);
+        Mockito.verify(configService, Mockito.never()).set(Mockito.any());
+    }
+
+    @Test
+    public void testInvalidVersion() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final Set set = new Set(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.body()).thenReturn(new ConfigKeyValue("key", "value").toJson().toString());
+        Mockito.when(request.queryParams("version")).thenReturn("abc");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = set.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Invalid configuration version", obj);
+    }
+
+    @Test
+    public void testVersionConflict() throws Exception {
+        final CompletableFuture<Optional<ConfigKeyValue>> future = new CompletableFuture<>();
+        future.completeExceptionally(new ConfigConflictException("Fake"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.setIfVersion(Mockito.any(), Mockito.anyInt())).thenReturn(future);
+
+        final Set set = new Set(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.body()).thenReturn(new ConfigKeyValue("key", "value").toJson().toString());
+        Mockito.when(request.queryParams("version")).thenReturn("-1");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = set.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_CONFLICT);
+        assertEquals("Fake", obj);
+    }
 }
@@ -12,6 +12,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.service.ConfigConflictException;
 import monolithic.config.service.ConfigService;
 import spark.Request;
 import spark.Response;
@@ -81,4 +82,45 @@ public class UnsetTest {
         assertTrue(obj instanceof JsonObject);
         assertEquals("{\"key\":\"key\",\"value\":\"old-value\"}", obj.toString());
     }
+
+    @Test
+    public void testInvalidVersion() throws Exception {
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final Unset unset = new Unset(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.params("key")).thenReturn("key");
+        Mockito.when(request.queryParams("version")).thenReturn("abc");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = unset.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Invalid configuration version", obj);
+        Mockito.verifyZeroInteractions(configService);
+    }
+
+    @Test
+    public void testVersionConflict() throws Exception {
+        final CompletableFuture<Optional<ConfigKeyValue>> future = new CompletableFuture<>();
+        future.completeExceptionally(new ConfigConflictException("Fake"));
+
+        final Config config = Mockito.mock(Config.class);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.unsetIfVersion("key", 2)).thenReturn(future);
+
+        final Unset unset = new Unset(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.params("key")).thenReturn("key");
+        Mockito.when(request.queryParams("version")).thenReturn("2");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = unset.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_CONFLICT);
+        assertEquals("Fake", obj);
+    }
 }
@@ -0,0 +1,152 @@
+package monolithic.config.route;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.net.HttpHeaders;
+import com.google.common.net.MediaType;
+import com.google.gson.JsonObject;
+import com.typesafe.config.Config;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.service.ConfigService;
+import spark.Request;
+import spark.Response;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Perform testing on the {@link Watch} class.
+ */
+public class WatchTest {
+    protected Config getConfig(final int maxWatches) {
+        final Config config = Mockito.mock(Config.class);
+        Mockito.when(config.getInt(ConfigKeys.CONFIG_WATCH_MAX.getKey())).thenReturn(maxWatches);
+        return config;
+    }
+
+    @Test
+    public void testInvalidVersion() throws Exception {
+        final Config config = getConfig(4);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+
+        final Watch watch = new Watch(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.queryParams("sinceVersion")).thenReturn("abc");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = watch.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_BAD_REQUEST);
+        assertEquals("Invalid configuration version", obj);
+        Mockito.verifyZeroInteractions(configService);
+    }
+
+    @Test
+    public void testWithChanges() throws Exception {
+        final ConfigChangeCollection changes = new ConfigChangeCollection("epoch", 3, false,
+                Collections.singletonList(new ConfigChange(3, "key", Optional.of("value"))));
+
+        final Config config = getConfig(4);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.watch(Optional.of("epoch"), 2L))
+                .thenReturn(CompletableFuture.completedFuture(changes));
+
+        final Watch watch = new Watch(config, configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.queryParams("epoch")).thenReturn("epoch");
+        Mockito.when(request.queryParams("sinceVersion")).thenReturn("2");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = watch.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        assertTrue(obj instanceof JsonObject);
+        assertEquals(changes, new ConfigChangeCollection((JsonObject) obj));
+    }
+
+    @Test
+    public void testNoChanges() throws Exception {
+        final CompletableFuture<ConfigChangeCollection> future = new CompletableFuture<>();
+
+        final Config config = getConfig(4);
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.watch(Optional.empty(), 0L)).thenReturn(future);
+
+        final Watch watch = new Watch(config, configService) {
+            @Override
+            protected long getWaitSeconds() {
+                return 0;
+            }
+        };
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = watch.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_NO_CONTENT);
+        assertEquals(watch.getNoContent(), obj);
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testDraining() throws Exception {
+        final ConfigChangeCollection changes = new ConfigChangeCollection("epoch", 3, false, Collections.emptyList());
+
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.watch(Optional.of("epoch"), 3L))
+                .thenReturn(CompletableFuture.completedFuture(changes));
+
+        final Watch watch = new Watch(getConfig(4), configService);
+
+        final Request request = Mockito.mock(Request.class);
+        Mockito.when(request.queryParams("epoch")).thenReturn("epoch");
+        Mockito.when(request.queryParams("sinceVersion")).thenReturn("3");
+        final Response response = Mockito.mock(Response.class);
+
+        final Object obj = watch.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_NO_CONTENT);
+        assertEquals(watch.getNoContent(), obj);
+    }
+
+    @Test
+    public void testTooManyWatches() throws Exception {
+        final ConfigService configService = Mockito.mock(ConfigService.class);
+        Mockito.when(configService.watch(Optional.empty(), 0L)).thenReturn(new CompletableFuture<>());
+
+        final Watch watch = new Watch(getConfig(1), configService);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // The first request waits for changes, holding the only watch allowed.
+            final Response waiting = Mockito.mock(Response.class);
+            executor.submit(() -> watch.handle(Mockito.mock(Request.class), waiting));
+            Mockito.verify(configService, Mockito.timeout(10000)).watch(Optional.empty(), 0L);
+
+            final Response response = Mockito.mock(Response.class);
+            final Object obj = watch.handle(Mockito.mock(Request.class), response);
+
+            Mockito.verify(response).header(HttpHeaders.RETRY_AFTER, String.valueOf(Watch.RETRY_AFTER_SECONDS));
+            Mockito.verify(response).status(HttpServletResponse.SC_NO_CONTENT);
+            assertEquals(watch.getNoContent(), obj);
+            Mockito.verify(configService).watch(Optional.empty(), 0L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.crypto.EncryptionException;
+import monolithic.crypto.SymmetricKeyEncryption;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Perform testing on the {@link ConfigArchive} class.
+ */
+public class ConfigArchiveTest {
+    private final ConfigKeyValueCollection kvs = new ConfigKeyValueCollection(
+            new ConfigKeyValue("a.b", "one", Optional.of(3)), new ConfigKeyValue("c", "two é\n"));
+
+    /**
+     * @return a fake encryption that inverts every byte, so the payload is not readable without it
+     */
+    protected SymmetricKeyEncryption getEncryption() throws Exception {
+        final SymmetricKeyEncryption encryption = Mockito.mock(SymmetricKeyEncryption.class);
+        Mockito.doAnswer(invocation -> {
+            invert((InputStream) invocation.getArguments()[0], (OutputStream) invocation.getArguments()[1]);
+            return null;
+        }).when(encryption).encrypt(Mockito.any(InputStream.class), Mockito.any(OutputStream.class));
+        Mockito.doAnswer(invocation -> {
+            invert((InputStream) invocation.getArguments()[0], (OutputStream) invocation.getArguments()[1]);
+            return null;
+        }).when(encryption).decrypt(Mockito.any(InputStream.class), Mockito.any(OutputStream.class));
+        return encryption;
+    }
+
+    /**
+     * @param input the stream from which the bytes are read
+     * @param output the stream to which the inverted bytes are written
+     */
+    protected void invert(final InputStream input, final OutputStream output) throws IOException {
+        int b;
+        while ((b = input.read()) >= 0) {
+            output.write(~b);
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final byte[] bytes = ConfigArchive.toBytes(this.kvs.asSet(), Optional.empty());
+        final ConfigKeyValueCollection read = ConfigArchive.fromBytes(bytes, Optional.empty());
+        assertEquals(this.kvs, read);
+        // The zookeeper node versions are not included in the archive.
+        assertFalse(read.get("a.b").get().getVersion().isPresent());
+    }
+
+    @Test
+    public void testRoundTripEncrypted() throws Exception {
+        final SymmetricKeyEncryption encryption = getEncryption();
+        final byte[] bytes = ConfigArchive.toBytes(this.kvs.asSet(), Optional.of(encryption));
+        assertEquals(this.kvs, ConfigArchive.fromBytes(bytes, Optional.of(encryption)));
+
+        try {
+            ConfigArchive.fromBytes(bytes, Optional.empty());
+            fail("Expected an encryption failure");
+        } catch (final EncryptionException expected) {
+            assertTrue(expected.getMessage().contains("encrypted"));
+        }
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final byte[] bytes = ConfigArchive.toBytes(new ConfigKeyValueCollection().asSet(), Optional.empty());
+        assertEquals(0, ConfigArchive.fromBytes(bytes, Optional.empty()).size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAnArchive() throws Exception {
+        ConfigArchive.fromBytes("not an archive".getBytes(StandardCharsets.UTF_8), Optional.empty());
+    }
+
+    @Test
+    public void testUnsupportedVersion() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(ConfigArchive.MAGIC);
+        data.writeByte(ConfigArchive.FORMAT_VERSION + 1);
+        data.writeByte(0);
+        try {
+            ConfigArchive.fromBytes(output.toByteArray(), Optional.empty());
+            fail("Expected an unsupported version failure");
+        } catch (final IOException expected) {
+            assertEquals("Unsupported configuration archive version: 2", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testInvalidEntry() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(ConfigArchive.MAGIC);
+        data.writeByte(ConfigArchive.FORMAT_VERSION);
+        data.writeByte(0);
+        // The configuration value is missing from the entry.
+        final GZIPOutputStream gzip = new GZIPOutputStream(data);
+        gzip.write("{\"key\":\"a\"}\n".getBytes(StandardCharsets.UTF_8));
+        gzip.finish();
+        try {
+            ConfigArchive.fromBytes(output.toByteArray(), Optional.empty());
+            fail("Expected an invalid entry failure");
+        } catch (final IOException expected) {
+            assertEquals("Invalid configuration archive entry on line 1", expected.getMessage());
+        }
+    }
+
+    @Test
+    public void testPayloadTooLarge() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(ConfigArchive.MAGIC);
+        data.writeByte(ConfigArchive.FORMAT_VERSION);
+        data.writeByte(0);
+        // A run of blank lines compresses to a small fraction of the size it decompresses to.
+        final GZIPOutputStream gzip = new GZIPOutputStream(data);
+        final byte[] blankLines = new byte[1024 * 1024];
+        Arrays.fill(blankLines, (byte) '\n');
+        for (long written = 0; written <= ConfigArchive.MAX_PAYLOAD_BYTES; written += blankLines.length) {
+            gzip.write(blankLines);
+        }
+        gzip.finish();
+        try {
+            ConfigArchive.fromBytes(output.toByteArray(), Optional.empty());
+            fail("Expected a payload size failure");
+        } catch (final IOException expected) {
+            assertEquals("Configuration archive payload exceeds the maximum size of 16777216 bytes",
+                    expected.getMessage());
+        }
+    }
+}
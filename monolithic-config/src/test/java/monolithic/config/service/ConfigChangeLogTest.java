@@ -0,0 +1,118 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ConfigChangeLog} class.
+ */
+public class ConfigChangeLogTest {
+    @Test
+    public void testGetChanges() {
+        final ConfigChangeLog log = new ConfigChangeLog();
+        final Optional<String> epoch = Optional.of(log.getEpoch());
+        assertEquals(0, log.getVersion());
+
+        log.append("a", Optional.of("1"));
+        log.append("b", Optional.empty());
+        assertEquals(2, log.getVersion());
+
+        final ConfigChangeCollection all = log.getChanges(epoch, 0);
+        assertFalse(all.isReset());
+        assertEquals(2, all.getVersion());
+        assertEquals(2, all.getChanges().size());
+        assertEquals(new ConfigChange(1, "a", Optional.of("1")), all.getChanges().first());
+
+        final ConfigChangeCollection since = log.getChanges(epoch, 1);
+        assertEquals(1, since.getChanges().size());
+        assertEquals(new ConfigChange(2, "b", Optional.empty()), since.getChanges().first());
+
+        assertTrue(log.getChanges(epoch, 2).getChanges().isEmpty());
+    }
+
+    @Test
+    public void testGetChangesReset() {
+        final ConfigChangeLog log = new ConfigChangeLog(2);
+        final Optional<String> epoch = Optional.of(log.getEpoch());
+        log.append("a", Optional.of("1"));
+        log.append("b", Optional.of("2"));
+        log.append("c", Optional.of("3"));
+
+        // No epoch, a different epoch, a version too old, and a version from the future all require a reset.
+        assertTrue(log.getChanges(Optional.empty(), 3).isReset());
+        assertTrue(log.getChanges(Optional.of("other"), 3).isReset());
+        assertTrue(log.getChanges(epoch, 0).isReset());
+        assertTrue(log.getChanges(epoch, 4).isReset());
+        assertFalse(log.getChanges(epoch, 1).isReset());
+        assertEquals(2, log.getChanges(epoch, 1).getChanges().size());
+
+        log.reset();
+        assertEquals(4, log.getVersion());
+        assertTrue(log.getChanges(epoch, 3).isReset());
+        assertFalse(log.getChanges(epoch, 4).isReset());
+    }
+
+    @Test
+    public void testAwait() throws Exception {
+        final ConfigChangeLog log = new ConfigChangeLog();
+        final Optional<String> epoch = Optional.of(log.getEpoch());
+
+        final CompletableFuture<ConfigChangeCollection> future = log.await(epoch, 0);
+        assertFalse(future.isDone());
+        assertEquals(1, log.getWatcherCount());
+
+        log.append("a", Optional.of("1"));
+        final ConfigChangeCollection changes = future.get(10, TimeUnit.SECONDS);
+        assertEquals(1, changes.getVersion());
+        assertEquals(1, changes.getChanges().size());
+        assertEquals(0, log.getWatcherCount());
+
+        // Changes already available complete immediately.
+        assertTrue(log.await(epoch, 0).isDone());
+        assertTrue(log.await(Optional.empty(), 0).get().isReset());
+    }
+
+    @Test
+    public void testAwaitReset() throws Exception {
+        final ConfigChangeLog log = new ConfigChangeLog();
+        final CompletableFuture<ConfigChangeCollection> future = log.await(Optional.of(log.getEpoch()), 0);
+        log.reset();
+        assertTrue(future.get(10, TimeUnit.SECONDS).isReset());
+    }
+
+    @Test
+    public void testAwaitCancelled() {
+        final ConfigChangeLog log = new ConfigChangeLog();
+        final CompletableFuture<ConfigChangeCollection> future = log.await(Optional.of(log.getEpoch()), 0);
+        assertEquals(1, log.getWatcherCount());
+        future.cancel(true);
+        assertEquals(0, log.getWatcherCount());
+    }
+
+    @Test
+    public void testDrain() throws Exception {
+        final ConfigChangeLog log = new ConfigChangeLog();
+        final Optional<String> epoch = Optional.of(log.getEpoch());
+        final CompletableFuture<ConfigChangeCollection> future = log.await(epoch, 0);
+        log.drain();
+
+        final ConfigChangeCollection changes = future.get(10, TimeUnit.SECONDS);
+        assertFalse(changes.isReset());
+        assertTrue(changes.getChanges().isEmpty());
+        assertEquals(0, log.getWatcherCount());
+
+        // Later watchers are answered right away.
+        assertTrue(log.await(epoch, 0).isDone());
+        assertEquals(0, log.getWatcherCount());
+    }
+}
@@ -0,0 +1,34 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Perform testing of the {@link ConfigConflictException} class.
+ */
+public class ConfigConflictExceptionTest {
+    @Test
+    public void testStringConstructor() {
+        final ConfigConflictException exception = new ConfigConflictException("error");
+        assertEquals("error", exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ConfigConflictException exception = new ConfigConflictException(cause);
+        assertEquals("java.lang.Exception", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    @Test
+    public void testStringThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ConfigConflictException exception = new ConfigConflictException("error", cause);
+        assertEquals("error", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
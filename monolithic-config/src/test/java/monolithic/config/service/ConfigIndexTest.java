@@ -0,0 +1,92 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import monolithic.config.model.ConfigKeyValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Perform testing on the {@link ConfigIndex} class.
+ */
+public class ConfigIndexTest {
+    private final ConfigKeyValue ab = new ConfigKeyValue("a.b", "one");
+    private final ConfigKeyValue abc = new ConfigKeyValue("a.b.c", "two");
+    private final ConfigKeyValue abd = new ConfigKeyValue("a.bd", "three");
+    private final ConfigKeyValue b = new ConfigKeyValue("b", "Four");
+
+    protected ConfigIndex getIndex() {
+        final ConfigIndex index = new ConfigIndex();
+        index.put(this.b);
+        index.put(this.abc);
+        index.put(this.ab);
+        index.put(this.abd);
+        return index;
+    }
+
+    @Test
+    public void testPutAndRemove() {
+        final ConfigIndex index = getIndex();
+        assertEquals(4, index.size());
+        assertEquals(Arrays.asList(this.ab, this.abc, this.abd, this.b), new ArrayList<>(index.getAll()));
+
+        index.put(new ConfigKeyValue("b", "five"));
+        assertEquals(4, index.size());
+        assertEquals("five", new ArrayList<>(index.getAll()).get(3).getValue());
+
+        assertTrue(index.remove("b"));
+        assertFalse(index.remove("b"));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testGetByPrefix() {
+        final ConfigIndex index = getIndex();
+        assertEquals(Arrays.asList(this.ab, this.abc, this.abd), new ArrayList<>(index.getByPrefix("a.b")));
+        assertEquals(Arrays.asList(this.abc), new ArrayList<>(index.getByPrefix("a.b.")));
+        assertEquals(4, index.getByPrefix("").size());
+        assertTrue(index.getByPrefix("c").isEmpty());
+    }
+
+    @Test
+    public void testGetMatching() {
+        final ConfigIndex index = getIndex();
+        // Matches on the key only.
+        assertEquals(Arrays.asList(this.abc), new ArrayList<>(index.getMatching("b.c")));
+        // Matches on the value only, ignoring case.
+        assertEquals(Arrays.asList(this.b), new ArrayList<>(index.getMatching("FOUR")));
+        assertEquals(Arrays.asList(this.ab, this.abc, this.abd), new ArrayList<>(index.getMatching("A.")));
+        assertTrue(index.getMatching("missing").isEmpty());
+    }
+
+    @Test
+    public void testGetSnapshot() {
+        final ConfigIndex index = getIndex();
+        final long generation = index.getGeneration();
+        final ConfigSnapshot snapshot = index.getSnapshot();
+        assertEquals(index.size(), snapshot.getValues().size());
+
+        // The same snapshot is returned until the index changes.
+        assertSame(snapshot, index.getSnapshot());
+        assertFalse(index.remove("missing"));
+        assertSame(snapshot, index.getSnapshot());
+
+        index.put(new ConfigKeyValue("new", "value"));
+        assertTrue(index.getGeneration() > generation);
+        final ConfigSnapshot updated = index.getSnapshot();
+        assertNotSame(snapshot, updated);
+        assertTrue(updated.getValues().get("new").isPresent());
+        assertNotEquals(snapshot.getETag(), updated.getETag());
+
+        assertTrue(index.remove("new"));
+        assertEquals(snapshot.getETag(), index.getSnapshot().getETag());
+    }
+}
@@ -0,0 +1,53 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.CuratorFrameworkFactory;
+import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.apache.curator.test.TestingServer;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ConfigLeader} class.
+ */
+public class ConfigLeaderTest {
+    @Test
+    public void test() throws Exception {
+        try (final TestingServer testingServer = new TestingServer();
+             final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-leader")
+                     .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                     .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build()) {
+            curator.start();
+            curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+            final ConfigLeader first = new ConfigLeader(curator, "http://first:1234/");
+            final ConfigLeader second = new ConfigLeader(curator, "http://second:1234/");
+            assertEquals("http://first:1234/", first.getUrl());
+            assertEquals("http://second:1234/", second.getUrl());
+
+            assertTrue(first.getLeaderLatch().await(10, TimeUnit.SECONDS) || second.isLeader());
+            final ConfigLeader leader = first.isLeader() ? first : second;
+            final ConfigLeader follower = first.isLeader() ? second : first;
+            assertFalse(follower.isLeader());
+            assertEquals(Optional.of(leader.getUrl()), leader.getLeaderUrl());
+            assertEquals(Optional.of(leader.getUrl()), follower.getLeaderUrl());
+
+            // Once the leader leaves, the follower takes over.
+            leader.close();
+            assertTrue(follower.getLeaderLatch().await(10, TimeUnit.SECONDS));
+            assertTrue(follower.isLeader());
+            assertEquals(Optional.of(follower.getUrl()), follower.getLeaderUrl());
+            assertNotEquals(leader.getUrl(), follower.getUrl());
+
+            follower.close();
+            assertFalse(follower.isLeader());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Perform testing on the {@link ConfigSnapshot} class.
+ */
+public class ConfigSnapshotTest {
+    @Test
+    public void testContent() {
+        final ConfigKeyValueCollection values = new ConfigKeyValueCollection(new ConfigKeyValue("key", "value"));
+        final ConfigSnapshot snapshot = new ConfigSnapshot(values);
+
+        assertEquals(values, snapshot.getValues());
+        assertEquals(values.toJson().toString(), new String(snapshot.getJson(), StandardCharsets.UTF_8));
+        assertTrue(snapshot.getETag().startsWith("\""));
+        assertTrue(snapshot.getETag().endsWith("\""));
+    }
+
+    @Test
+    public void testETag() {
+        final ConfigSnapshot a = new ConfigSnapshot(new ConfigKeyValueCollection(new ConfigKeyValue("key", "a")));
+        final ConfigSnapshot a2 = new ConfigSnapshot(new ConfigKeyValueCollection(new ConfigKeyValue("key", "a")));
+        final ConfigSnapshot b = new ConfigSnapshot(new ConfigKeyValueCollection(new ConfigKeyValue("key", "b")));
+
+        assertEquals(a.getETag(), a2.getETag());
+        assertNotEquals(a.getETag(), b.getETag());
+    }
+
+    @Test
+    public void testMatches() {
+        final ConfigSnapshot snapshot = new ConfigSnapshot(new ConfigKeyValueCollection());
+        final String etag = snapshot.getETag();
+
+        assertFalse(snapshot.matches(null));
+        assertFalse(snapshot.matches(""));
+        assertFalse(snapshot.matches("\"other\""));
+        assertTrue(snapshot.matches(etag));
+        assertTrue(snapshot.matches("W/" + etag));
+        assertTrue(snapshot.matches("\"other\", " + etag));
+        assertTrue(snapshot.matches("*"));
+    }
+}
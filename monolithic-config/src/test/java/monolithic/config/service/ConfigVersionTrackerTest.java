@@ -0,0 +1,60 @@
+package monolithic.config.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ConfigVersionTracker} class.
+ */
+public class ConfigVersionTrackerTest {
+    @Test
+    public void test() {
+        final ConfigVersionTracker tracker = new ConfigVersionTracker();
+        assertEquals(0, tracker.getWritten());
+        assertEquals(0, tracker.getApplied());
+        assertEquals(0, tracker.getVerified());
+        assertEquals(0, tracker.getAdded());
+
+        tracker.written(5);
+        tracker.written(3);
+        assertEquals(5, tracker.getWritten());
+
+        tracker.applied(7);
+        tracker.applied(6);
+        assertEquals(7, tracker.getApplied());
+
+        tracker.verified(4);
+        tracker.verified(2);
+        assertEquals(4, tracker.getVerified());
+
+        tracker.added();
+        tracker.added();
+        assertEquals(2, tracker.getAdded());
+    }
+
+    @Test
+    public void testAwaitApplied() throws Exception {
+        final ConfigVersionTracker tracker = new ConfigVersionTracker();
+        tracker.applied(3);
+
+        assertTrue(tracker.awaitApplied(3, System.nanoTime()));
+        assertFalse(tracker.awaitApplied(4, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50)));
+
+        final CompletableFuture<Void> apply = CompletableFuture.runAsync(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (final InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            tracker.applied(4);
+        });
+        assertTrue(tracker.awaitApplied(4, System.nanoTime() + TimeUnit.SECONDS.toNanos(10)));
+        apply.get(10, TimeUnit.SECONDS);
+    }
+}
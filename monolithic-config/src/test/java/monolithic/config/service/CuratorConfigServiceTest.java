@@ -2,7 +2,9 @@ package monolithic.config.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
@@ -14,13 +16,22 @@ import org.junit.Test;
 import org.slf4j.LoggerFactory;
 
 import ch.qos.logback.classic.Level;
+import monolithic.config.client.DynamicConfig;
+import monolithic.config.client.DynamicValue;
+import monolithic.config.model.ConfigChange;
+import monolithic.config.model.ConfigChangeCollection;
+import monolithic.config.model.ConfigKeyCollection;
 import monolithic.config.model.ConfigKeyValue;
 import monolithic.config.model.ConfigKeyValueCollection;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedList;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -108,4 +119,373 @@ public class CuratorConfigServiceTest {
         assertTrue(get.isPresent());
         assertEquals(new ConfigKeyValue("key", "value"), get.get());
     }
+
+    @Test
+    public void testWatch() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-watch")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+
+        // Wait a little to allow the tree cache to initialize.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        // Without an epoch, a reset is needed.
+        final ConfigChangeCollection reset = svc.watch(Optional.empty(), 0).get(10, TimeUnit.SECONDS);
+        assertTrue(reset.isReset());
+
+        final Future<ConfigChangeCollection> future = svc.watch(Optional.of(reset.getEpoch()), reset.getVersion());
+        assertFalse(future.isDone());
+
+        svc.set(new ConfigKeyValue("key", "value")).get();
+        final ConfigChangeCollection set = future.get(10, TimeUnit.SECONDS);
+        assertFalse(set.isReset());
+        assertEquals(1, set.getChanges().size());
+        assertEquals(new ConfigChange(set.getVersion(), "key", Optional.of("value")), set.getChanges().first());
+
+        svc.unset("key").get();
+        final ConfigChangeCollection unset =
+                svc.watch(Optional.of(set.getEpoch()), set.getVersion()).get(10, TimeUnit.SECONDS);
+        assertEquals(new ConfigChange(unset.getVersion(), "key", Optional.empty()), unset.getChanges().first());
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-batch")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+        svc.set(new ConfigKeyValue("a", "old-value")).get();
+
+        // Wait a little to allow the value to be stored.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        final ConfigKeyValueCollection oldValues = svc.setMany(
+                new ConfigKeyValueCollection(new ConfigKeyValue("a", "value-a"), new ConfigKeyValue("b", "value-b")))
+                .get();
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a", "old-value")), oldValues);
+
+        // Wait a little to allow the values to be stored.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        final ConfigKeyValueCollection values = svc.getMany(new ConfigKeyCollection("a", "b", "missing")).get();
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a", "value-a"),
+                new ConfigKeyValue("b", "value-b")), values);
+
+        final ConfigKeyValueCollection removed = svc.unsetMany(new ConfigKeyCollection("a", "missing")).get();
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a", "value-a")), removed);
+
+        // Wait a little to allow the values to be removed.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("b", "value-b")), svc.getAll().get());
+    }
+
+    @Test
+    public void testBatchIsAtomic() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-atomic")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        // Create a node behind the back of the tree cache, so creating it again within the transaction fails.
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator) {
+            @Override
+            protected ConfigKeyValueCollection getExisting(final Collection<String> keys) {
+                return new ConfigKeyValueCollection();
+            }
+
+            @Override
+            protected boolean exists(final String path, final Collection<String> created) {
+                // Report the node as missing, as if the tree cache has not seen it yet, however quickly it catches up.
+                return false;
+            }
+        };
+        curator.create().forPath("/dynamic-config/b", "value".getBytes(StandardCharsets.UTF_8));
+
+        try {
+            svc.setMany(new ConfigKeyValueCollection(new ConfigKeyValue("a", "value-a"),
+                    new ConfigKeyValue("b", "value-b"))).get();
+            fail("Expected the transaction to fail");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ConfigServiceException);
+        }
+
+        // The first operation in the transaction must not have been applied.
+        assertNull(curator.checkExists().forPath("/dynamic-config/a"));
+    }
+
+    @Test
+    public void testCompareAndSet() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-cas")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+
+        // Create only when no value exists.
+        assertFalse(svc.setIfVersion(new ConfigKeyValue("key", "value"), ConfigService.NO_VERSION).get().isPresent());
+        try {
+            svc.setIfVersion(new ConfigKeyValue("key", "other"), ConfigService.NO_VERSION).get();
+            fail("Expected a conflict");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ConfigConflictException);
+        }
+
+        // Wait a little to allow the value to be stored.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        final Optional<ConfigKeyValue> current = svc.get("key").get();
+        assertTrue(current.isPresent());
+        assertEquals(Optional.of(0), current.get().getVersion());
+
+        final Optional<ConfigKeyValue> old = svc.setIfVersion(new ConfigKeyValue("key", "new-value"), 0).get();
+        assertEquals(Optional.of(new ConfigKeyValue("key", "value")), old);
+        assertEquals(Optional.of(0), old.get().getVersion());
+
+        // The version has moved on, so a writer using the stale version fails.
+        try {
+            svc.setIfVersion(new ConfigKeyValue("key", "stale"), 0).get();
+            fail("Expected a conflict");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ConfigConflictException);
+        }
+        try {
+            svc.unsetIfVersion("key", 0).get();
+            fail("Expected a conflict");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ConfigConflictException);
+        }
+
+        final Optional<ConfigKeyValue> removed = svc.unsetIfVersion("key", 1).get();
+        assertEquals(Optional.of(new ConfigKeyValue("key", "new-value")), removed);
+        assertFalse(svc.unsetIfVersion("key", ConfigService.NO_VERSION).get().isPresent());
+    }
+
+    @Test
+    public void testNestedKeys() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-nested")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+        svc.set(new ConfigKeyValue("a.b.c", "abc")).get();
+        svc.setMany(new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "ab"), new ConfigKeyValue("x.y.z", "xyz")))
+                .get();
+
+        // Wait a little to allow the values to be stored.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        // The nested keys are stored as nested zookeeper nodes.
+        assertEquals("abc", new String(curator.getData().forPath("/dynamic-config/a/b/c"), StandardCharsets.UTF_8));
+
+        // Parent nodes without values are not included.
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "ab"), new ConfigKeyValue("a.b.c", "abc"),
+                new ConfigKeyValue("x.y.z", "xyz")), svc.getAll().get());
+        assertFalse(svc.get("a").get().isPresent());
+        assertFalse(svc.get("x.y").get().isPresent());
+
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "ab"), new ConfigKeyValue("a.b.c", "abc")),
+                svc.getByPrefix("a.").get());
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a.b.c", "abc")),
+                svc.getByPrefix("a.b.").get());
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("x.y.z", "xyz")), svc.getMatching("XY").get());
+
+        // Removing a value with nested keys below it keeps the nested keys.
+        assertTrue(svc.unset("a.b").get().isPresent());
+        assertTrue(svc.unsetMany(new ConfigKeyCollection("x.y.z")).get().size() == 1);
+
+        // Wait a little to allow the values to be removed.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a.b.c", "abc")), svc.getAll().get());
+
+        // Parents left without values or children are removed along with the last nested key.
+        assertNull(curator.checkExists().forPath("/dynamic-config/x"));
+        assertTrue(svc.unset("a.b.c").get().isPresent());
+        assertNull(curator.checkExists().forPath("/dynamic-config/a"));
+
+        // Keys with empty parts are rejected.
+        try {
+            svc.set(new ConfigKeyValue("a..b", "value")).get();
+            fail("Expected an invalid key failure");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ConfigServiceException);
+        }
+    }
+
+    @Test
+    public void testLegacyKeysMigrated() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-legacy")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        // Legacy nodes named with the dotted key, one of which conflicts with a newer nested value, and one of which
+        // has a nested parent node without a value.
+        curator.create().forPath("/dynamic-config");
+        curator.create().forPath("/dynamic-config/server.port", "8080".getBytes(StandardCharsets.UTF_8));
+        curator.create().forPath("/dynamic-config/a.b", "legacy".getBytes(StandardCharsets.UTF_8));
+        curator.create().creatingParentsIfNeeded().forPath("/dynamic-config/a/b", "nested".getBytes(
+                StandardCharsets.UTF_8));
+        curator.create().forPath("/dynamic-config/x.y", "xy".getBytes(StandardCharsets.UTF_8));
+        curator.create().creatingParentsIfNeeded().forPath("/dynamic-config/x/y/z", "xyz".getBytes(
+                StandardCharsets.UTF_8));
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+
+        // Wait a little to allow the values to be loaded.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        assertNull(curator.checkExists().forPath("/dynamic-config/server.port"));
+        assertNull(curator.checkExists().forPath("/dynamic-config/a.b"));
+        assertNull(curator.checkExists().forPath("/dynamic-config/x.y"));
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "nested"),
+                new ConfigKeyValue("server.port", "8080"), new ConfigKeyValue("x.y", "xy"),
+                new ConfigKeyValue("x.y.z", "xyz")), svc.getAll().get());
+
+        // The migrated values are removed completely.
+        assertTrue(svc.unset("server.port").get().isPresent());
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertFalse(svc.get("server.port").get().isPresent());
+        assertEquals(3, svc.getAll().get().size());
+    }
+
+    @Test
+    public void testReadYourWrites() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework writer = CuratorFrameworkFactory.builder().namespace("namespace-test-versions")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        final CuratorFramework reader = CuratorFrameworkFactory.builder().namespace("namespace-test-versions")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        writer.start();
+        reader.start();
+        writer.blockUntilConnected(10, TimeUnit.SECONDS);
+        reader.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService writeSvc = new CuratorConfigService(this.executor, writer);
+        final CuratorConfigService readSvc = new CuratorConfigService(this.executor, reader);
+        assertEquals(0, writeSvc.getWriteVersion());
+
+        writeSvc.set(new ConfigKeyValue("a.b.c", "abc")).get();
+        final long first = writeSvc.getWriteVersion();
+        assertTrue(first > 0);
+        // The token comes from the root node update made in the same transaction as the write.
+        assertEquals(writer.checkExists().forPath(CuratorConfigService.PATH).getMzxid(), first);
+
+        // No waiting is needed, the reader catches up with the version before answering.
+        assertTrue(readSvc.awaitVersion(first).get(10, TimeUnit.SECONDS));
+        assertEquals(Optional.of(new ConfigKeyValue("a.b.c", "abc")), readSvc.get("a.b.c").get());
+
+        writeSvc.setMany(new ConfigKeyValueCollection(new ConfigKeyValue("x.y.z", "xyz"))).get();
+        writeSvc.unset("a.b.c").get();
+        final long second = writeSvc.getWriteVersion();
+        assertTrue(second > first);
+
+        assertTrue(readSvc.awaitVersion(second).get(10, TimeUnit.SECONDS));
+        assertEquals(new ConfigKeyValueCollection(new ConfigKeyValue("x.y.z", "xyz")), readSvc.getAll().get());
+
+        // Versions already verified are available immediately.
+        assertTrue(readSvc.awaitVersion(first).isDone());
+
+        readSvc.close();
+        writeSvc.close();
+        reader.close();
+        writer.close();
+        testingServer.close();
+    }
+
+    /**
+     * @param value the dynamic value expected to change
+     * @param expected the value expected once the tree cache has delivered the change, which may take a while when
+     *     the cache has only just started
+     */
+    protected void awaitValue(final DynamicValue<Integer> value, final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.get() != expected && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        assertEquals(expected, (int) value.get());
+    }
+
+    @Test
+    public void testListener() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-listener")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+        final DynamicConfig dynamicConfig = new DynamicConfig();
+        final DynamicValue<Integer> limit = dynamicConfig.getInt("limits.max", 1);
+        svc.addListener(dynamicConfig);
+
+        svc.set(new ConfigKeyValue("limits.max", "25")).get();
+        awaitValue(limit, 25);
+
+        svc.unset("limits.max").get();
+        awaitValue(limit, 1);
+
+        svc.removeListener(dynamicConfig);
+        svc.set(new ConfigKeyValue("limits.max", "50")).get();
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals(1, (int) limit.get());
+    }
+
+    @Test
+    public void testImportAll() throws Exception {
+        final TestingServer testingServer = new TestingServer();
+        final CuratorFramework curator = CuratorFrameworkFactory.builder().namespace("namespace-test-import")
+                .connectString(testingServer.getConnectString()).defaultData(new byte[0])
+                .retryPolicy(new ExponentialBackoffRetry(1000, 3)).build();
+        curator.start();
+        curator.blockUntilConnected(10, TimeUnit.SECONDS);
+
+        final CuratorConfigService svc = new CuratorConfigService(this.executor, curator);
+        svc.set(new ConfigKeyValue("group0.key0", "existing")).get();
+        svc.set(new ConfigKeyValue("untouched", "value")).get();
+
+        // Wait a little to allow the values to be stored.
+        TimeUnit.MILLISECONDS.sleep(300);
+
+        // Enough nested values to require multiple transactions, with parent nodes shared across them.
+        final Collection<ConfigKeyValue> kvs = new LinkedList<>();
+        for (int group = 0; group < 3; group++) {
+            for (int key = 0; key < 400; key++) {
+                kvs.add(new ConfigKeyValue(String.format("group%d.key%d", group, key), "value" + key));
+            }
+        }
+        assertEquals(1200, (int) svc.importAll(new ConfigKeyValueCollection(kvs)).get());
+
+        // Wait a little to allow the tree cache to catch up.
+        TimeUnit.MILLISECONDS.sleep(1000);
+
+        final ConfigKeyValueCollection all = svc.getAll().get();
+        assertEquals(1201, all.size());
+        assertEquals("value0", all.get("group0.key0").get().getValue());
+        assertEquals("value399", all.get("group2.key399").get().getValue());
+        assertEquals("value", all.get("untouched").get().getValue());
+    }
 }
@@ -0,0 +1,128 @@
+package monolithic.crypto;
+
+import com.typesafe.config.Config;
+
+import monolithic.common.config.ConfigKeys;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Creates the {@link OkHttpClient} shared by the REST clients in this system, configured with the system SSL context
+ * along with the tunable connection pool, dispatcher limits, timeouts and protocols. Clients derived from the shared
+ * client using {@link OkHttpClient#newBuilder()} keep the same connection pool and dispatcher, so connections are
+ * reused across all of them. When HTTP/2 is enabled, it is negotiated with ALPN over TLS where both the platform and
+ * the service support it, and HTTP/1.1 is used otherwise.
+ */
+public class HttpClientFactory {
+    @Nonnull
+    private final Config config;
+    @Nonnull
+    private final CryptoFactory cryptoFactory;
+
+    /**
+     * @param config the static system configuration information
+     * @param cryptoFactory the {@link CryptoFactory} providing the SSL context used for secure connections
+     */
+    public HttpClientFactory(@Nonnull final Config config, @Nonnull final CryptoFactory cryptoFactory) {
+        this.config = Objects.requireNonNull(config);
+        this.cryptoFactory = Objects.requireNonNull(cryptoFactory);
+    }
+
+    /**
+     * @return the static system configuration information
+     */
+    @Nonnull
+    protected Config getConfig() {
+        return this.config;
+    }
+
+    /**
+     * @return the {@link CryptoFactory} providing the SSL context used for secure connections
+     */
+    @Nonnull
+    protected CryptoFactory getCryptoFactory() {
+        return this.cryptoFactory;
+    }
+
+    /**
+     * @return the protocols the client is allowed to negotiate, in order of preference
+     * @throws IllegalArgumentException if one of the configured protocols is not recognized
+     */
+    @Nonnull
+    protected List<Protocol> getProtocols() {
+        final List<Protocol> protocols = new ArrayList<>();
+        for (final String protocol : getConfig().getStringList(ConfigKeys.CLIENT_PROTOCOLS.getKey())) {
+            try {
+                protocols.add(Protocol.get(protocol.trim()));
+            } catch (final IOException unrecognized) {
+                throw new IllegalArgumentException("Unrecognized client protocol: " + protocol, unrecognized);
+            }
+        }
+        return protocols;
+    }
+
+    /**
+     * @return a new {@link ConnectionPool} sized using the system configuration
+     */
+    @Nonnull
+    protected ConnectionPool getConnectionPool() {
+        final int maxIdle = getConfig().getInt(ConfigKeys.CLIENT_POOL_IDLE_MAX.getKey());
+        final long keepAlive =
+                getConfig().getDuration(ConfigKeys.CLIENT_POOL_KEEP_ALIVE.getKey(), TimeUnit.MILLISECONDS);
+        return new ConnectionPool(maxIdle, keepAlive, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return a new {@link Dispatcher} limiting the concurrent asynchronous requests using the system configuration
+     */
+    @Nonnull
+    protected Dispatcher getDispatcher() {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(getConfig().getInt(ConfigKeys.CLIENT_REQUESTS_MAX.getKey()));
+        dispatcher.setMaxRequestsPerHost(getConfig().getInt(ConfigKeys.CLIENT_REQUESTS_HOST_MAX.getKey()));
+        return dispatcher;
+    }
+
+    /**
+     * @return a new {@link OkHttpClient.Builder} configured using the system configuration, which allows callers to add
+     *     their own interceptors before building the shared client
+     * @throws EncryptionException if there is a problem creating the SSL context
+     */
+    @Nonnull
+    public OkHttpClient.Builder newBuilder() throws EncryptionException {
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        builder.sslSocketFactory(getCryptoFactory().getSSLContext().getSocketFactory());
+        builder.connectionPool(getConnectionPool());
+        builder.dispatcher(getDispatcher());
+        builder.protocols(getProtocols());
+        builder.connectTimeout(
+                getConfig().getDuration(ConfigKeys.CLIENT_TIMEOUT_CONNECT.getKey(), TimeUnit.MILLISECONDS),
+                TimeUnit.MILLISECONDS);
+        builder.readTimeout(
+                getConfig().getDuration(ConfigKeys.CLIENT_TIMEOUT_READ.getKey(), TimeUnit.MILLISECONDS),
+                TimeUnit.MILLISECONDS);
+        builder.writeTimeout(
+                getConfig().getDuration(ConfigKeys.CLIENT_TIMEOUT_WRITE.getKey(), TimeUnit.MILLISECONDS),
+                TimeUnit.MILLISECONDS);
+        return builder;
+    }
+
+    /**
+     * @return a new {@link OkHttpClient} configured using the system configuration
+     * @throws EncryptionException if there is a problem creating the SSL context
+     */
+    @Nonnull
+    public OkHttpClient create() throws EncryptionException {
+        return newBuilder().build();
+    }
+}
@@ -0,0 +1,65 @@
+package monolithic.crypto;
+
+import static org.junit.Assert.assertEquals;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Test;
+
+import monolithic.common.config.ConfigKeys;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Perform testing on the {@link HttpClientFactory} class.
+ */
+public class HttpClientFactoryTest {
+    @Test
+    public void testDefaults() throws EncryptionException {
+        final Config config = ConfigFactory.load();
+        final OkHttpClient httpClient = new HttpClientFactory(config, new CryptoFactory(config)).create();
+
+        assertEquals(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1), httpClient.protocols());
+        assertEquals(64, httpClient.dispatcher().getMaxRequests());
+        assertEquals(16, httpClient.dispatcher().getMaxRequestsPerHost());
+        assertEquals(10000, httpClient.connectTimeoutMillis());
+        assertEquals(10000, httpClient.readTimeoutMillis());
+        assertEquals(10000, httpClient.writeTimeoutMillis());
+    }
+
+    @Test
+    public void testConfigured() throws EncryptionException {
+        final Map<String, ConfigValue> map = new HashMap<>();
+        map.put(ConfigKeys.CLIENT_PROTOCOLS.getKey(), ConfigValueFactory.fromIterable(Arrays.asList(" http/1.1 ")));
+        map.put(ConfigKeys.CLIENT_REQUESTS_MAX.getKey(), ConfigValueFactory.fromAnyRef(10));
+        map.put(ConfigKeys.CLIENT_REQUESTS_HOST_MAX.getKey(), ConfigValueFactory.fromAnyRef(2));
+        map.put(ConfigKeys.CLIENT_TIMEOUT_READ.getKey(), ConfigValueFactory.fromAnyRef("3 seconds"));
+        final Config config = ConfigFactory.parseMap(map).withFallback(ConfigFactory.load());
+        final OkHttpClient httpClient = new HttpClientFactory(config, new CryptoFactory(config)).create();
+
+        assertEquals(Arrays.asList(Protocol.HTTP_1_1), httpClient.protocols());
+        assertEquals(10, httpClient.dispatcher().getMaxRequests());
+        assertEquals(2, httpClient.dispatcher().getMaxRequestsPerHost());
+        assertEquals(3000, httpClient.readTimeoutMillis());
+
+        // Clients derived from the shared client keep the same connection pool and dispatcher.
+        final OkHttpClient derived = httpClient.newBuilder().build();
+        assertEquals(httpClient.connectionPool(), derived.connectionPool());
+        assertEquals(httpClient.dispatcher(), derived.dispatcher());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnrecognizedProtocol() throws EncryptionException {
+        final Config config = ConfigFactory.parseMap(Collections.singletonMap(ConfigKeys.CLIENT_PROTOCOLS.getKey(),
+                ConfigValueFactory.fromIterable(Arrays.asList("http/9")))).withFallback(ConfigFactory.load());
+        new HttpClientFactory(config, new CryptoFactory(config)).create();
+    }
+}
@@ -1,37 +1,69 @@
 package monolithic.discovery;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Multimaps;
 import com.typesafe.config.Config;
 
 import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.state.ConnectionState;
+import org.apache.curator.x.discovery.ServiceCache;
 import org.apache.curator.x.discovery.ServiceDiscovery;
 import org.apache.curator.x.discovery.ServiceDiscoveryBuilder;
 import org.apache.curator.x.discovery.ServiceInstance;
+import org.apache.curator.x.discovery.details.ServiceCacheListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import monolithic.common.config.ConfigKeys;
 import monolithic.discovery.model.Service;
+import monolithic.discovery.select.ServiceSelector;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Random;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 
 /**
  * The class is used to manage the system service discovery activity and is responsible for registering and
  * unregistering services, and retrieving available services.
+ *
+ * The available services are kept up to date by a curator {@link ServiceCache}, and each change is parsed once into an
+ * immutable snapshot, indexed by version and by host, so retrieving services does not communicate with zookeeper or
+ * scan all of the services. Services registered or unregistered through this manager appear in the snapshot once
+ * zookeeper has notified the cache of the change. Components that keep their own view of the available services can
+ * add a {@link ServiceChangeListener} to follow the changes incrementally.
  */
-public class DiscoveryManager {
+public class DiscoveryManager implements ServiceCacheListener {
+    private final static Logger LOG = LoggerFactory.getLogger(DiscoveryManager.class);
+
     @Nonnull
     private final Config config;
     @Nonnull
     private final ServiceDiscovery<String> discovery;
+    @Nonnull
+    private final ServiceCache<String> serviceCache;
+
+    @Nonnull
+    private final List<ServiceChangeListener> listeners = new CopyOnWriteArrayList<>();
 
-    private boolean isClosed = false;
+    @Nonnull
+    private volatile Snapshot snapshot = new Snapshot(ImmutableSortedSet.of());
+    @Nonnull
+    private ImmutableMap<String, Service> byEndPoint = ImmutableMap.of();
+    private volatile boolean isClosed = false;
 
     /**
      * @param config the static system configuration information
@@ -47,6 +79,18 @@ public class DiscoveryManager {
         } catch (final Exception exception) {
             throw new DiscoveryException("Failed to start service discovery", exception);
         }
+
+        final String systemName = config.getString(ConfigKeys.SYSTEM_NAME.getKey());
+        this.serviceCache = this.discovery.serviceCacheBuilder().name(systemName).build();
+        // Add this class as a listener before starting, so no change events are missed.
+        this.serviceCache.addListener(this);
+        try {
+            // Starting the cache loads the currently registered services before returning.
+            this.serviceCache.start();
+        } catch (final Exception exception) {
+            throw new DiscoveryException("Failed to start service cache", exception);
+        }
+        cacheChanged();
     }
 
     /**
@@ -65,6 +109,106 @@ public class DiscoveryManager {
         return this.discovery;
     }
 
+    /**
+     * @return the internal curator {@link ServiceCache} object that keeps track of the registered services
+     */
+    @Nonnull
+    protected ServiceCache<String> getServiceCache() {
+        return this.serviceCache;
+    }
+
+    /**
+     * @return the {@link ServiceChangeListener} objects notified of changes to the available services
+     */
+    @Nonnull
+    protected List<ServiceChangeListener> getListeners() {
+        return this.listeners;
+    }
+
+    /**
+     * @param service the service for which the end-point will be returned
+     * @return the end-point, made up of the host and port, used to identify the service across changes
+     */
+    @Nonnull
+    protected static String getEndPoint(@Nonnull final Service service) {
+        return service.getHost() + ":" + service.getPort();
+    }
+
+    /**
+     * Rebuild the snapshot of available services from the service cache, and notify the listeners of the differences
+     * from the previous snapshot.
+     */
+    @Override
+    public synchronized void cacheChanged() {
+        final Map<String, Service> current = new HashMap<>();
+        for (final ServiceInstance<String> instance : getServiceCache().getInstances()) {
+            try {
+                final Service service = new Service(instance);
+                current.put(getEndPoint(service), service);
+            } catch (final RuntimeException invalid) {
+                LOG.warn("Ignoring service with invalid payload: {}", instance.getPayload());
+            }
+        }
+        final Map<String, Service> previous = this.byEndPoint;
+        this.byEndPoint = ImmutableMap.copyOf(current);
+        this.snapshot = new Snapshot(ImmutableSortedSet.copyOf(current.values()));
+
+        previous.forEach((endPoint, service) -> {
+            if (!current.containsKey(endPoint)) {
+                notifyListeners(listener -> listener.onRemoved(service));
+            }
+        });
+        current.forEach((endPoint, service) -> {
+            final Service existing = previous.get(endPoint);
+            if (existing == null) {
+                notifyListeners(listener -> listener.onAdded(service));
+            } else if (!existing.equals(service) || !existing.hasSameMetadata(service)) {
+                notifyListeners(listener -> listener.onUpdated(existing, service));
+            }
+        });
+    }
+
+    /**
+     * @param notification the notification to deliver to each of the registered listeners
+     */
+    protected void notifyListeners(@Nonnull final Consumer<ServiceChangeListener> notification) {
+        for (final ServiceChangeListener listener : getListeners()) {
+            try {
+                notification.accept(listener);
+            } catch (final RuntimeException failed) {
+                // A failing listener should not prevent the others from being notified.
+                LOG.warn("Service change listener failed", failed);
+            }
+        }
+    }
+
+    /**
+     * @param listener the {@link ServiceChangeListener} to be notified of changes to the available services, which
+     *     immediately receives an added notification for each of the currently available services
+     */
+    public synchronized void addListener(@Nonnull final ServiceChangeListener listener) {
+        getListeners().add(Objects.requireNonNull(listener));
+        this.snapshot.services.forEach(listener::onAdded);
+    }
+
+    /**
+     * @param listener the {@link ServiceChangeListener} that should no longer be notified of service changes
+     */
+    public void removeListener(@Nonnull final ServiceChangeListener listener) {
+        getListeners().remove(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * The service cache handles reconnecting to zookeeper, so connection state changes need no action here.
+     *
+     * @param client the curator client whose connection state changed
+     * @param newState the new connection state
+     */
+    @Override
+    public void stateChanged(@Nonnull final CuratorFramework client, @Nonnull final ConnectionState newState) {
+        // Nothing to do.
+    }
+
     /**
      * @return whether this manager has been closed or not
      */
@@ -78,6 +222,8 @@ public class DiscoveryManager {
     public void close() {
         try {
             this.isClosed = true;
+            getListeners().clear();
+            getServiceCache().close();
             getDiscovery().close();
         } catch (final IOException ignored) {
             // Ignored.
@@ -85,11 +231,13 @@ public class DiscoveryManager {
     }
 
     /**
-     * @param service the {@link Service} to register
+     * @param service the {@link Service} to register, using the JSON payload unless {@code discovery.payload.compact}
+     *     is enabled, which is only safe once all the running services are able to read compact payloads
      * @throws DiscoveryException if there is a problem registering the service
      */
     public void register(@Nonnull final Service service) throws DiscoveryException {
-        final ServiceInstance<String> serviceInstance = Objects.requireNonNull(service).asServiceInstance();
+        final boolean compact = getConfig().getBoolean(ConfigKeys.DISCOVERY_PAYLOAD_COMPACT.getKey());
+        final ServiceInstance<String> serviceInstance = Objects.requireNonNull(service).asServiceInstance(compact);
         if (!isClosed()) {
             try {
                 getDiscovery().registerService(serviceInstance);
@@ -99,6 +247,22 @@ public class DiscoveryManager {
         }
     }
 
+    /**
+     * @param service the {@link Service} to update, which must already be registered, typically with new metadata
+     * @throws DiscoveryException if there is a problem updating the service
+     */
+    public void update(@Nonnull final Service service) throws DiscoveryException {
+        final boolean compact = getConfig().getBoolean(ConfigKeys.DISCOVERY_PAYLOAD_COMPACT.getKey());
+        final ServiceInstance<String> serviceInstance = Objects.requireNonNull(service).asServiceInstance(compact);
+        if (!isClosed()) {
+            try {
+                getDiscovery().updateService(serviceInstance);
+            } catch (final Exception exception) {
+                throw new DiscoveryException("Failed to update service " + service, exception);
+            }
+        }
+    }
+
     /**
      * @param service the {@link Service} to unregister
      * @throws DiscoveryException if there is a problem unregistering the service
@@ -115,24 +279,33 @@ public class DiscoveryManager {
     }
 
     /**
-     * @return all of the available {@link Service} objects of the specified type that have registered with service
-     * discovery
+     * @return an immutable snapshot of all the available {@link Service} objects of the specified type that have
+     * registered with service discovery
      * @throws DiscoveryException if there is a problem retrieving the discoverable services of the specified type
      */
     @Nonnull
     public SortedSet<Service> getAll() throws DiscoveryException {
-        final SortedSet<Service> services = new TreeSet<>();
-        if (!isClosed()) {
-            try {
-                final String systemName = getConfig().getString(ConfigKeys.SYSTEM_NAME.getKey());
-                final List<ServiceInstance<String>> list =
-                        new ArrayList<>(getDiscovery().queryForInstances(systemName));
-                list.stream().map(Service::new).forEach(services::add);
-            } catch (final Exception exception) {
-                throw new DiscoveryException("Failed to retrieve services", exception);
-            }
-        }
-        return services;
+        return isClosed() ? ImmutableSortedSet.of() : this.snapshot.services;
+    }
+
+    /**
+     * @param version the version of the services to retrieve, compared ignoring case
+     * @return an immutable, sorted list of the available {@link Service} objects running the specified version
+     * @throws DiscoveryException if there is a problem retrieving the discoverable services
+     */
+    @Nonnull
+    public List<Service> getByVersion(@Nonnull final String version) throws DiscoveryException {
+        return isClosed() ? ImmutableList.of() : this.snapshot.byVersion.get(Snapshot.key(version));
+    }
+
+    /**
+     * @param host the host of the services to retrieve, compared ignoring case
+     * @return an immutable, sorted list of the available {@link Service} objects running on the specified host
+     * @throws DiscoveryException if there is a problem retrieving the discoverable services
+     */
+    @Nonnull
+    public List<Service> getByHost(@Nonnull final String host) throws DiscoveryException {
+        return isClosed() ? ImmutableList.of() : this.snapshot.byHost.get(Snapshot.key(host));
     }
 
     /**
@@ -142,19 +315,96 @@ public class DiscoveryManager {
      */
     @Nonnull
     public Optional<Service> getRandom() throws DiscoveryException {
-        if (!isClosed()) {
-            try {
-                final String systemName = getConfig().getString(ConfigKeys.SYSTEM_NAME.getKey());
-                final List<ServiceInstance<String>> services =
-                        new ArrayList<>(getDiscovery().queryForInstances(Objects.requireNonNull(systemName)));
-                if (!services.isEmpty()) {
-                    // Return a random service instance from the list.
-                    return Optional.of(new Service(services.get(new Random().nextInt(services.size()))));
-                }
-            } catch (final Exception exception) {
-                throw new DiscoveryException("Failed to retrieve random service", exception);
-            }
+        return isClosed() ? Optional.empty() : random(this.snapshot.services.asList());
+    }
+
+    /**
+     * @param version the version of the service to retrieve, compared ignoring case
+     * @return a randomly chosen {@link Service} running the specified version, possibly empty if there are no
+     * registered services running that version
+     * @throws DiscoveryException if there is a problem retrieving a random discoverable service
+     */
+    @Nonnull
+    public Optional<Service> getRandom(@Nonnull final String version) throws DiscoveryException {
+        return random(getByVersion(version));
+    }
+
+    @Nonnull
+    private static Optional<Service> random(@Nonnull final List<Service> services) {
+        if (services.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(services.get(ThreadLocalRandom.current().nextInt(services.size())));
+    }
+
+    /**
+     * @param selector the {@link ServiceSelector} strategy used to choose between the available services
+     * @return the {@link Service} of the specified type chosen by the selector from those registered with service
+     * discovery, possibly empty if there are no registered services of the specified type
+     * @throws DiscoveryException if there is a problem retrieving the discoverable services of the specified type
+     */
+    @Nonnull
+    public Optional<Service> select(@Nonnull final ServiceSelector selector) throws DiscoveryException {
+        Objects.requireNonNull(selector);
+        return isClosed() ? Optional.empty() : selector.select(this.snapshot.services.asList());
+    }
+
+    /**
+     * @param selector the {@link ServiceSelector} strategy used to choose between the available services
+     * @param version the version of the service to choose, compared ignoring case
+     * @return the {@link Service} running the specified version chosen by the selector, possibly empty if there are
+     * no registered services running that version
+     * @throws DiscoveryException if there is a problem retrieving the discoverable services
+     */
+    @Nonnull
+    public Optional<Service> select(@Nonnull final ServiceSelector selector, @Nonnull final String version)
+            throws DiscoveryException {
+        Objects.requireNonNull(selector);
+        return selector.select(getByVersion(version));
+    }
+
+    /**
+     * @param selector the {@link ServiceSelector} strategy used to choose between the available services
+     * @param excluded the {@link Service} that must not be chosen, such as a service already sent the same request
+     * @return the {@link Service} chosen by the selector from the services other than the excluded one, possibly empty
+     * if there are no other registered services
+     * @throws DiscoveryException if there is a problem retrieving the discoverable services
+     */
+    @Nonnull
+    public Optional<Service> selectExcluding(@Nonnull final ServiceSelector selector, @Nonnull final Service excluded)
+            throws DiscoveryException {
+        Objects.requireNonNull(selector);
+        Objects.requireNonNull(excluded);
+        if (isClosed()) {
+            return Optional.empty();
+        }
+        final List<Service> others = this.snapshot.services.stream().filter(service -> !service.equals(excluded))
+                .collect(Collectors.toList());
+        return selector.select(others);
+    }
+
+    /**
+     * An immutable snapshot of the available services, along with the indexes built when the snapshot is taken. The
+     * snapshot is replaced as a whole, so the services and the indexes always agree with each other.
+     */
+    private static class Snapshot {
+        @Nonnull
+        private final ImmutableSortedSet<Service> services;
+        @Nonnull
+        private final ImmutableListMultimap<String, Service> byVersion;
+        @Nonnull
+        private final ImmutableListMultimap<String, Service> byHost;
+
+        Snapshot(@Nonnull final ImmutableSortedSet<Service> services) {
+            this.services = services;
+            // Indexing the sorted services keeps each of the indexed lists sorted.
+            this.byVersion = Multimaps.index(services, service -> key(service.getSystemVersion()));
+            this.byHost = Multimaps.index(services, service -> key(service.getHost()));
+        }
+
+        @Nonnull
+        static String key(@Nonnull final String value) {
+            return Objects.requireNonNull(value).toLowerCase(Locale.ENGLISH);
         }
-        return Optional.empty();
     }
 }
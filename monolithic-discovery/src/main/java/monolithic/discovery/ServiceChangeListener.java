@@ -0,0 +1,28 @@
+package monolithic.discovery;
+
+import monolithic.discovery.model.Service;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the changes to the available services from a {@link DiscoveryManager}, as the registrations in zookeeper
+ * change. Services are identified by their host and port, so a service registered again on the same host and port with
+ * different details is reported as an update.
+ */
+public interface ServiceChangeListener {
+    /**
+     * @param service a {@link Service} that has become available
+     */
+    void onAdded(@Nonnull Service service);
+
+    /**
+     * @param service a {@link Service} that is no longer available
+     */
+    void onRemoved(@Nonnull Service service);
+
+    /**
+     * @param previous the previous details of the {@link Service}
+     * @param current the current details of the {@link Service}
+     */
+    void onUpdated(@Nonnull Service previous, @Nonnull Service current);
+}
@@ -1,6 +1,9 @@
 package monolithic.discovery.model;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
@@ -13,7 +16,12 @@ import org.apache.curator.x.discovery.ServiceInstance;
 import monolithic.common.model.Model;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -21,8 +29,46 @@ import javax.annotation.Nullable;
 
 /**
  * An immutable class representing the registration of a service for automatic discovery.
+ *
+ * Services are stored in zookeeper either with a JSON payload, or with a compact payload that only holds the fields
+ * not already available on the {@link ServiceInstance}. The compact payload starts with its format version, followed by
+ * the secure flag and length-prefixed fields, so it is read without a JSON parser. Any metadata in a compact payload is
+ * only decoded when it is first accessed.
  */
 public class Service implements Model, Comparable<Service> {
+    /**
+     * The version of the compact payload format written by {@link #asServiceInstance(boolean)}.
+     */
+    public final static int PAYLOAD_FORMAT = 1;
+
+    /**
+     * The metadata key holding the relative capacity of the service.
+     */
+    public final static String WEIGHT = "weight";
+    /**
+     * The metadata key holding the zone in which the service is running.
+     */
+    public final static String ZONE = "zone";
+    /**
+     * The metadata key holding the time at which the service started, in milliseconds since the epoch.
+     */
+    public final static String START_TIME = "start";
+    /**
+     * The metadata key holding the number of requests the service was processing when it last published its metadata.
+     * The load changes with almost every request, so a change in load alone is not considered a change in metadata:
+     * it is published on a slower schedule than other changes, and not reported to service change listeners.
+     */
+    public final static String LOAD = "load";
+    /**
+     * The metadata key holding whether the service is draining and should not receive new requests.
+     */
+    public final static String DRAINING = "draining";
+
+    /**
+     * The weight of a service that does not publish its capacity.
+     */
+    public final static int DEFAULT_WEIGHT = 100;
+
     @Nonnull
     private final String systemName;
     @Nonnull
@@ -31,6 +77,10 @@ public class Service implements Model, Comparable<Service> {
     private final String host;
     private final int port;
     private final boolean secure;
+    @Nullable
+    private final String encodedMetadata;
+    @Nullable
+    private volatile SortedMap<String, String> metadata;
 
     /**
      * @param systemName the name of the system in which this service is running
@@ -41,18 +91,56 @@ public class Service implements Model, Comparable<Service> {
      */
     public Service(@Nonnull final String systemName, @Nonnull final String systemVersion,
             @Nonnull final String host, final int port, final boolean secure) {
+        this(systemName, systemVersion, host, port, secure, ImmutableSortedMap.of());
+    }
+
+    /**
+     * @param systemName the name of the system in which this service is running
+     * @param systemVersion the version of the service
+     * @param host the host on which the service is running
+     * @param port the port on which the service has bound
+     * @param secure whether the service is operating with SSL enabled on the connection
+     * @param metadata additional information published by the service
+     */
+    public Service(@Nonnull final String systemName, @Nonnull final String systemVersion,
+            @Nonnull final String host, final int port, final boolean secure,
+            @Nonnull final Map<String, String> metadata) {
         this.systemName = systemName;
         this.systemVersion = systemVersion;
         this.host = Objects.requireNonNull(host);
         this.port = port;
         this.secure = secure;
+        this.encodedMetadata = null;
+        this.metadata = ImmutableSortedMap.copyOf(Objects.requireNonNull(metadata));
+    }
+
+    private Service(@Nonnull final String systemName, @Nonnull final String systemVersion,
+            @Nonnull final String host, final int port, final boolean secure, @Nonnull final String encodedMetadata) {
+        this.systemName = systemName;
+        this.systemVersion = systemVersion;
+        this.host = host;
+        this.port = port;
+        this.secure = secure;
+        this.encodedMetadata = encodedMetadata;
+        this.metadata = null;
+    }
+
+    private Service(@Nonnull final Service other) {
+        this.systemName = other.systemName;
+        this.systemVersion = other.systemVersion;
+        this.host = other.host;
+        this.port = other.port;
+        this.secure = other.secure;
+        this.encodedMetadata = other.encodedMetadata;
+        this.metadata = other.metadata;
     }
 
     /**
-     * @param service the {@link ServiceInstance} as stored and managed by zookeeper
+     * @param service the {@link ServiceInstance} as stored and managed by zookeeper, with either a compact or a JSON
+     *     payload
      */
     public Service(@Nonnull final ServiceInstance<String> service) {
-        this(new JsonParser().parse(String.valueOf(Objects.requireNonNull(service).getPayload())).getAsJsonObject());
+        this(fromServiceInstance(Objects.requireNonNull(service)));
     }
 
     /**
@@ -76,6 +164,59 @@ public class Service implements Model, Comparable<Service> {
         this.host = json.get("host").getAsString();
         this.port = json.get("port").getAsInt();
         this.secure = json.get("secure").getAsBoolean();
+        this.encodedMetadata = null;
+
+        final ImmutableSortedMap.Builder<String, String> metadata = ImmutableSortedMap.naturalOrder();
+        if (json.has("metadata")) {
+            Preconditions.checkArgument(json.get("metadata").isJsonObject(), "Metadata field must be an object");
+            for (final Map.Entry<String, JsonElement> entry : json.getAsJsonObject("metadata").entrySet()) {
+                Preconditions.checkArgument(
+                        entry.getValue().isJsonPrimitive(), "Metadata values must be primitives");
+                metadata.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        this.metadata = metadata.build();
+    }
+
+    @Nonnull
+    private static Service fromServiceInstance(@Nonnull final ServiceInstance<String> instance) {
+        final String payload = String.valueOf(instance.getPayload());
+        if (payload.startsWith("{")) {
+            return new Service(new JsonParser().parse(payload).getAsJsonObject());
+        }
+
+        final int separator = payload.indexOf(';');
+        Preconditions.checkArgument(separator > 0, "Unrecognized service payload");
+        final int format = Integer.parseInt(payload.substring(0, separator));
+        Preconditions.checkArgument(format == PAYLOAD_FORMAT, "Unsupported service payload format: %s", format);
+        Preconditions.checkArgument(payload.length() > separator + 1, "Secure flag required");
+        Preconditions.checkArgument(instance.getName() != null, "System name required");
+        Preconditions.checkArgument(instance.getAddress() != null, "Host required");
+        Preconditions.checkArgument(instance.getPort() != null, "Port required");
+
+        final PayloadReader reader = new PayloadReader(payload, separator + 2);
+        final String systemVersion = reader.next();
+        final String encodedMetadata = payload.substring(reader.getPosition());
+        validateMetadata(encodedMetadata);
+        return new Service(instance.getName(), systemVersion, instance.getAddress(), instance.getPort(),
+                payload.charAt(separator + 1) == '1', encodedMetadata);
+    }
+
+    /**
+     * Check the structure of the encoded metadata, so the metadata decoded later on first access is known to be valid.
+     *
+     * @param encodedMetadata the metadata fields of a compact payload
+     * @throws IllegalArgumentException if the metadata holds an invalid field, a key without a value, or duplicate keys
+     */
+    private static void validateMetadata(@Nonnull final String encodedMetadata) {
+        final Set<String> keys = new HashSet<>();
+        final PayloadReader reader = new PayloadReader(encodedMetadata, 0);
+        while (reader.hasNext()) {
+            final String key = reader.next();
+            Preconditions.checkArgument(reader.hasNext(), "Metadata value required: %s", key);
+            reader.next();
+            Preconditions.checkArgument(keys.add(key), "Duplicate metadata key: %s", key);
+        }
     }
 
     /**
@@ -124,6 +265,101 @@ public class Service implements Model, Comparable<Service> {
         return this.secure;
     }
 
+    /**
+     * @return the additional information published by the service, decoded from the compact payload (validated when
+     * this service was created) on first access
+     */
+    @Nonnull
+    public SortedMap<String, String> getMetadata() {
+        SortedMap<String, String> decoded = this.metadata;
+        if (decoded == null) {
+            final ImmutableSortedMap.Builder<String, String> metadata = ImmutableSortedMap.naturalOrder();
+            final PayloadReader reader = new PayloadReader(String.valueOf(this.encodedMetadata), 0);
+            while (reader.hasNext()) {
+                metadata.put(reader.next(), reader.next());
+            }
+            decoded = metadata.build();
+            this.metadata = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * @param key the metadata key
+     * @return the metadata value as a number, if present and valid
+     */
+    @Nonnull
+    protected Optional<Long> getMetadataNumber(@Nonnull final String key) {
+        final String value = getMetadata().get(Objects.requireNonNull(key));
+        try {
+            return value == null ? Optional.empty() : Optional.of(Long.parseLong(value));
+        } catch (final NumberFormatException invalid) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the relative capacity of the service, compared with the {@link #DEFAULT_WEIGHT default weight}
+     */
+    public int getWeight() {
+        return getMetadataNumber(WEIGHT).map(weight -> (int) Math.max(1, Math.min(weight, Integer.MAX_VALUE)))
+                .orElse(DEFAULT_WEIGHT);
+    }
+
+    /**
+     * @return the zone in which the service is running, if published
+     */
+    @Nonnull
+    public Optional<String> getZone() {
+        return Optional.ofNullable(getMetadata().get(ZONE));
+    }
+
+    /**
+     * @return the time at which the service started, in milliseconds since the epoch, if published
+     */
+    @Nonnull
+    public Optional<Long> getStartTime() {
+        return getMetadataNumber(START_TIME);
+    }
+
+    /**
+     * @return the number of requests the service was processing when it last published its metadata
+     */
+    public long getLoad() {
+        return getMetadataNumber(LOAD).orElse(0L);
+    }
+
+    /**
+     * @return whether the service is draining and should not receive new requests
+     */
+    public boolean isDraining() {
+        return Boolean.parseBoolean(getMetadata().get(DRAINING));
+    }
+
+    /**
+     * @param metadata the additional information to be published by the service
+     * @return a copy of this service with the provided metadata
+     */
+    @Nonnull
+    public Service withMetadata(@Nonnull final Map<String, String> metadata) {
+        return new Service(getSystemName(), getSystemVersion(), getHost(), getPort(), isSecure(), metadata);
+    }
+
+    /**
+     * @param other the service with which to compare the metadata
+     * @return whether the other service holds the same metadata, ignoring the {@link #LOAD} which changes with almost
+     * every request, and compared without decoding it when possible
+     */
+    public boolean hasSameMetadata(@Nonnull final Service other) {
+        Objects.requireNonNull(other);
+        if (this.metadata == null && other.metadata == null
+                && Objects.equals(this.encodedMetadata, other.encodedMetadata)) {
+            return true;
+        }
+        return Maps.filterKeys(getMetadata(), key -> !LOAD.equals(key))
+                .equals(Maps.filterKeys(other.getMetadata(), key -> !LOAD.equals(key)));
+    }
+
     /**
      * @return a URL representation capable of being used to communicate with the service
      */
@@ -138,10 +374,45 @@ public class Service implements Model, Comparable<Service> {
      */
     @Nonnull
     public ServiceInstance<String> asServiceInstance() {
-        return new ServiceInstance<>(getSystemName(), getId(), getHost(), getPort(), null, toJson().toString(),
+        return asServiceInstance(false);
+    }
+
+    /**
+     * @param compact whether to store the compact payload rather than the JSON payload, which services running an
+     *     older version only able to read JSON payloads cannot discover
+     * @return the {@link ServiceInstance} object used to represent this service when stored in zookeeper for service
+     * discovery
+     */
+    @Nonnull
+    public ServiceInstance<String> asServiceInstance(final boolean compact) {
+        final String payload = compact ? toPayload() : toJson().toString();
+        return new ServiceInstance<>(getSystemName(), getId(), getHost(), getPort(), null, payload,
                 new Date().getTime(), org.apache.curator.x.discovery.ServiceType.DYNAMIC, null);
     }
 
+    /**
+     * @return the compact payload representation of the fields of this service not held by the {@link ServiceInstance}
+     */
+    @Nonnull
+    protected String toPayload() {
+        final StringBuilder payload = new StringBuilder();
+        payload.append(PAYLOAD_FORMAT).append(';').append(isSecure() ? '1' : '0');
+        appendField(payload, getSystemVersion());
+        final SortedMap<String, String> decoded = this.metadata;
+        if (decoded == null) {
+            // Still encoded, so there is no need to decode it first.
+            payload.append(this.encodedMetadata);
+        } else {
+            decoded.forEach((key, value) -> appendField(appendField(payload, key), value));
+        }
+        return payload.toString();
+    }
+
+    @Nonnull
+    private static StringBuilder appendField(@Nonnull final StringBuilder payload, @Nonnull final String field) {
+        return payload.append(field.length()).append(':').append(field);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -209,6 +480,44 @@ public class Service implements Model, Comparable<Service> {
         json.addProperty("host", getHost());
         json.addProperty("port", getPort());
         json.addProperty("secure", isSecure());
+        if (!getMetadata().isEmpty()) {
+            final JsonObject metadata = new JsonObject();
+            getMetadata().forEach(metadata::addProperty);
+            json.add("metadata", metadata);
+        }
         return json;
     }
+
+    /**
+     * Reads the length-prefixed fields of a compact payload.
+     */
+    private static class PayloadReader {
+        @Nonnull
+        private final String payload;
+        private int position;
+
+        PayloadReader(@Nonnull final String payload, final int position) {
+            this.payload = payload;
+            this.position = position;
+        }
+
+        int getPosition() {
+            return this.position;
+        }
+
+        boolean hasNext() {
+            return this.position < this.payload.length();
+        }
+
+        @Nonnull
+        String next() {
+            final int separator = this.payload.indexOf(':', this.position);
+            Preconditions.checkArgument(separator > this.position, "Field length required");
+            final int start = separator + 1;
+            final int end = start + Integer.parseInt(this.payload.substring(this.position, separator));
+            Preconditions.checkArgument(end >= start && end <= this.payload.length(), "Invalid field length");
+            this.position = end;
+            return this.payload.substring(start, end);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Prefers the services running on the same host as this client, which avoids a network hop, then the services running
+ * in the same zone, and falls back to all the available services when none are nearby. The choice within the preferred
+ * services is made by another selector.
+ */
+public class AffinitySelector implements ServiceSelector {
+    @Nonnull
+    private final String host;
+    @Nonnull
+    private final Optional<String> zone;
+    @Nonnull
+    private final ServiceSelector delegate;
+
+    /**
+     * @param host the host on which this client is running
+     * @param delegate the {@link ServiceSelector} used to choose among the preferred services
+     */
+    public AffinitySelector(@Nonnull final String host, @Nonnull final ServiceSelector delegate) {
+        this(host, Optional.empty(), delegate);
+    }
+
+    /**
+     * @param host the host on which this client is running
+     * @param zone the zone in which this client is running, if known
+     * @param delegate the {@link ServiceSelector} used to choose among the preferred services
+     */
+    public AffinitySelector(
+            @Nonnull final String host, @Nonnull final Optional<String> zone, @Nonnull final ServiceSelector delegate) {
+        this.host = Objects.requireNonNull(host);
+        this.zone = Objects.requireNonNull(zone);
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    /**
+     * @return the host on which this client is running
+     */
+    @Nonnull
+    public String getHost() {
+        return this.host;
+    }
+
+    /**
+     * @return the zone in which this client is running, if known
+     */
+    @Nonnull
+    public Optional<String> getZone() {
+        return this.zone;
+    }
+
+    /**
+     * @return the {@link ServiceSelector} used to choose among the preferred services
+     */
+    @Nonnull
+    public ServiceSelector getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        final List<Service> local = Objects.requireNonNull(services).stream()
+                .filter(service -> getHost().equalsIgnoreCase(service.getHost())).collect(Collectors.toList());
+        if (!local.isEmpty()) {
+            return getDelegate().select(local);
+        }
+        if (getZone().isPresent()) {
+            final List<Service> zone = services.stream().filter(service -> getZone().equals(service.getZone()))
+                    .collect(Collectors.toList());
+            if (!zone.isEmpty()) {
+                return getDelegate().select(zone);
+            }
+        }
+        return getDelegate().select(services);
+    }
+}
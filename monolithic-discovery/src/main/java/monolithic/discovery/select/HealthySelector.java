@@ -0,0 +1,60 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Leaves out the services ejected by the {@link ServiceHealth} circuit breaker and those that are
+ * {@link Service#isDraining() draining}, and uses another selector to choose among the remaining services. When no
+ * service remains, the choice is made among all of them, and requests to ejected services fail fast until one of the
+ * services can be probed.
+ */
+public class HealthySelector implements ServiceSelector {
+    @Nonnull
+    private final ServiceHealth health;
+    @Nonnull
+    private final ServiceSelector delegate;
+
+    /**
+     * @param health the {@link ServiceHealth} tracking which services are ejected
+     * @param delegate the {@link ServiceSelector} used to choose among the available services
+     */
+    public HealthySelector(@Nonnull final ServiceHealth health, @Nonnull final ServiceSelector delegate) {
+        this.health = Objects.requireNonNull(health);
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    /**
+     * @return the {@link ServiceHealth} tracking which services are ejected
+     */
+    @Nonnull
+    public ServiceHealth getHealth() {
+        return this.health;
+    }
+
+    /**
+     * @return the {@link ServiceSelector} used to choose among the available services
+     */
+    @Nonnull
+    public ServiceSelector getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        final List<Service> available = Objects.requireNonNull(services).stream()
+                .filter(service -> !service.isDraining() && getHealth().isAvailable(service))
+                .collect(Collectors.toList());
+        return getDelegate().select(available.isEmpty() ? services : available);
+    }
+}
@@ -0,0 +1,205 @@
+package monolithic.discovery.select;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.model.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Sends idempotent read requests with hedging: when the first service has not answered within the configured
+ * percentile of the recently observed latencies, the same request is sent to another service, and whichever answers
+ * first is used. This cuts the tail latency caused by a single slow service at the cost of a small number of extra
+ * requests, since only the requests slower than the percentile are hedged. Hedging starts once enough latencies have
+ * been observed to estimate the percentile, and it is only used when enabled with {@code client.hedge.enabled}.
+ *
+ * The requests run on a dedicated pool of daemon threads, so waiting on them never takes threads from the executor of
+ * the client. The losing request is cancelled, which interrupts its thread, although a request blocked reading from
+ * the network only stops once its read timeout has passed. The {@link ServiceHealth} and {@link ServiceLoad}
+ * interceptors recognize the cancelled request, so it does not count as a failure of the service.
+ */
+public class HedgedRequests {
+    private final static int SAMPLES = 128;
+    private final static int MIN_SAMPLES = 20;
+
+    /**
+     * A request sent to a service.
+     *
+     * @param <T> the type of value returned by the request
+     */
+    @FunctionalInterface
+    public interface ServiceCall<T> {
+        /**
+         * @param service the {@link Service} receiving the request
+         * @return the value returned by the service
+         * @throws Exception if the request fails
+         */
+        T call(@Nonnull Service service) throws Exception;
+    }
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    @Nonnull
+    private final ExecutorService executor;
+
+    @Nonnull
+    private final long[] latencies = new long[SAMPLES];
+    private int count = 0;
+    private int next = 0;
+    @Nonnull
+    private final AtomicLong hedged = new AtomicLong();
+
+    /**
+     * @param config the static system configuration information
+     */
+    public HedgedRequests(@Nonnull final Config config) {
+        Objects.requireNonNull(config);
+        this.enabled = config.getBoolean(ConfigKeys.CLIENT_HEDGE_ENABLED.getKey());
+        this.percentile = Math.min(100, Math.max(1, config.getInt(ConfigKeys.CLIENT_HEDGE_PERCENTILE.getKey())));
+        this.minDelayNanos = config.getDuration(ConfigKeys.CLIENT_HEDGE_DELAY_MIN.getKey(), TimeUnit.NANOSECONDS);
+        this.executor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("hedged-request-%d").setDaemon(true).build());
+    }
+
+    /**
+     * @return whether requests are hedged
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * @return the {@link ExecutorService} running the requests when they are hedged
+     */
+    @Nonnull
+    protected ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * @return the number of requests that were sent to a second service
+     */
+    public long getHedgedCount() {
+        return this.hedged.get();
+    }
+
+    /**
+     * @param latency the latency of a successful request
+     * @param unit the {@link TimeUnit} of the latency value
+     */
+    public synchronized void record(final long latency, @Nonnull final TimeUnit unit) {
+        this.latencies[this.next] = Objects.requireNonNull(unit).toNanos(latency);
+        this.next = (this.next + 1) % SAMPLES;
+        this.count = Math.min(SAMPLES, this.count + 1);
+    }
+
+    /**
+     * @param unit the {@link TimeUnit} of the returned value
+     * @return the time to wait for the first service before sending the request to a second service, which is the
+     * configured percentile of the recent latencies, or empty until enough latencies have been recorded
+     */
+    @Nonnull
+    public Optional<Long> getDelay(@Nonnull final TimeUnit unit) {
+        Objects.requireNonNull(unit);
+        final long[] sorted;
+        synchronized (this) {
+            if (this.count < MIN_SAMPLES) {
+                return Optional.empty();
+            }
+            sorted = Arrays.copyOf(this.latencies, this.count);
+        }
+        Arrays.sort(sorted);
+        final int index = Math.max(0, (int) Math.ceil(this.percentile / 100 * sorted.length) - 1);
+        return Optional.of(unit.convert(Math.max(this.minDelayNanos, sorted[index]), TimeUnit.NANOSECONDS));
+    }
+
+    @Nonnull
+    private <T> T timed(@Nonnull final Service service, @Nonnull final ServiceCall<T> call) throws Exception {
+        final long start = System.nanoTime();
+        final T result = call.call(service);
+        if (isEnabled()) {
+            record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static <T> T get(@Nonnull final Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (final ExecutionException failed) {
+            if (failed.getCause() instanceof Exception) {
+                throw (Exception) failed.getCause();
+            }
+            throw failed;
+        }
+    }
+
+    /**
+     * @param primary the {@link Service} receiving the request first
+     * @param alternative chooses the {@link Service} receiving the hedged request, which must differ from the primary
+     *     service, or returns empty when no other service is available
+     * @param call the request to send, which must be safe to send more than once
+     * @param <T> the type of value returned by the request
+     * @return the value returned by the service answering first, or by the primary service when hedging is not enabled
+     * @throws Exception if the request to the primary service fails before the request is hedged, or if both requests
+     *     fail
+     */
+    @Nonnull
+    public <T> T call(
+            @Nonnull final Service primary, @Nonnull final Callable<Optional<Service>> alternative,
+            @Nonnull final ServiceCall<T> call) throws Exception {
+        Objects.requireNonNull(primary);
+        Objects.requireNonNull(alternative);
+        Objects.requireNonNull(call);
+        final Optional<Long> delay = isEnabled() ? getDelay(TimeUnit.NANOSECONDS) : Optional.empty();
+        if (!delay.isPresent()) {
+            return timed(primary, call);
+        }
+
+        final CompletionService<T> completion = new ExecutorCompletionService<>(getExecutor());
+        final List<Future<T>> requests = new ArrayList<>(2);
+        try {
+            requests.add(completion.submit(() -> timed(primary, call)));
+            Future<T> done = completion.poll(delay.get(), TimeUnit.NANOSECONDS);
+            if (done == null) {
+                final Optional<Service> other = alternative.call();
+                if (other.isPresent()) {
+                    requests.add(completion.submit(() -> timed(other.get(), call)));
+                    this.hedged.incrementAndGet();
+                }
+                done = completion.take();
+            }
+
+            try {
+                return get(done);
+            } catch (final Exception failed) {
+                if (requests.size() < 2) {
+                    throw failed;
+                }
+                // The other request may still succeed.
+                return get(completion.take());
+            }
+        } finally {
+            requests.forEach(request -> request.cancel(true));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Chooses the service with the fewest requests currently in flight from this client, picking randomly between services
+ * with the same number of requests in flight.
+ */
+public class LeastInFlightSelector implements ServiceSelector {
+    @Nonnull
+    private final ServiceLoad load;
+
+    /**
+     * @param load the {@link ServiceLoad} tracking the requests in flight to each service
+     */
+    public LeastInFlightSelector(@Nonnull final ServiceLoad load) {
+        this.load = Objects.requireNonNull(load);
+    }
+
+    /**
+     * @return the {@link ServiceLoad} tracking the requests in flight to each service
+     */
+    @Nonnull
+    public ServiceLoad getLoad() {
+        return this.load;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        Service chosen = null;
+        int least = Integer.MAX_VALUE;
+        int ties = 0;
+        for (final Service service : Objects.requireNonNull(services)) {
+            final int inFlight = getLoad().getInFlight(service);
+            if (inFlight < least) {
+                chosen = service;
+                least = inFlight;
+                ties = 1;
+            } else if (inFlight == least && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                // Each of the tied services is kept with equal probability.
+                chosen = service;
+            }
+        }
+        return Optional.ofNullable(chosen);
+    }
+}
@@ -0,0 +1,64 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Picks two of the available services at random and chooses the one with the lower expected cost, which is its
+ * average response latency scaled by the number of requests already in flight to it, and divided by its relative
+ * {@link Service#getWeight() weight}. Comparing only two services keeps the choice cheap, while steering requests away
+ * from slow or overloaded services and towards those with more capacity. Services without a measured latency have no
+ * cost, so new services are tried promptly.
+ */
+public class PowerOfTwoSelector implements ServiceSelector {
+    @Nonnull
+    private final ServiceLoad load;
+
+    /**
+     * @param load the {@link ServiceLoad} tracking the latency and requests in flight for each service
+     */
+    public PowerOfTwoSelector(@Nonnull final ServiceLoad load) {
+        this.load = Objects.requireNonNull(load);
+    }
+
+    /**
+     * @return the {@link ServiceLoad} tracking the latency and requests in flight for each service
+     */
+    @Nonnull
+    public ServiceLoad getLoad() {
+        return this.load;
+    }
+
+    /**
+     * @param service the service for which the cost will be calculated
+     * @return the expected cost of sending a request to the service
+     */
+    protected double getCost(@Nonnull final Service service) {
+        final double weight = (double) service.getWeight() / Service.DEFAULT_WEIGHT;
+        return getLoad().getLatency(service) * (getLoad().getInFlight(service) + 1) / weight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        final int size = Objects.requireNonNull(services).size();
+        if (size < 2) {
+            return services.stream().findFirst();
+        }
+        final int first = ThreadLocalRandom.current().nextInt(size);
+        // Offset the second choice so the two services are always different.
+        final int second = (first + 1 + ThreadLocalRandom.current().nextInt(size - 1)) % size;
+        final Service a = services.get(first);
+        final Service b = services.get(second);
+        return Optional.of(getCost(b) < getCost(a) ? b : a);
+    }
+}
@@ -0,0 +1,27 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Chooses one of the available services uniformly at random.
+ */
+public class RandomSelector implements ServiceSelector {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        if (Objects.requireNonNull(services).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(services.get(ThreadLocalRandom.current().nextInt(services.size())));
+    }
+}
@@ -0,0 +1,31 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Cycles through the available services in order, so each service receives an equal share of the requests.
+ */
+public class RoundRobinSelector implements ServiceSelector {
+    @Nonnull
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        if (Objects.requireNonNull(services).isEmpty()) {
+            return Optional.empty();
+        }
+        // Masking the sign bit keeps the index positive once the counter wraps around.
+        return Optional.of(services.get((this.next.getAndIncrement() & Integer.MAX_VALUE) % services.size()));
+    }
+}
@@ -0,0 +1,35 @@
+package monolithic.discovery.select;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Thrown when a request is refused without being sent, because the service receiving it has been temporarily ejected
+ * after repeated failures.
+ */
+public class ServiceEjectedException extends IOException {
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param message the error message associated with the exception
+     */
+    public ServiceEjectedException(@Nonnull final String message) {
+        super(message);
+    }
+
+    /**
+     * @param cause the cause of the exception
+     */
+    public ServiceEjectedException(@Nonnull final Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * @param message the error message associated with the exception
+     * @param cause the cause of the exception
+     */
+    public ServiceEjectedException(@Nonnull final String message, @Nonnull final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,205 @@
+package monolithic.discovery.select;
+
+import com.typesafe.config.Config;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.ServiceChangeListener;
+import monolithic.discovery.model.Service;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A circuit breaker tracking the health of each service end-point used by the clients. A service is ejected after a
+ * number of consecutive failures, where responses slower than the latency limit also count as failures. Requests to an
+ * ejected service are refused immediately with a {@link ServiceEjectedException}, rather than waiting for a timeout.
+ * Once the ejection time has passed, a single probe request is allowed through: success brings the service back, and
+ * failure ejects it again for twice as long, up to the maximum ejection time.
+ *
+ * Added to an HTTP client as an interceptor, it observes every request sent through that client, and all the clients
+ * created from a shared HTTP client share the same health information. Added as a {@link ServiceChangeListener}, it
+ * forgets the services that are no longer available.
+ */
+public class ServiceHealth implements Interceptor, ServiceChangeListener {
+    private final int failureLimit;
+    private final long latencyLimitNanos;
+    private final long ejectionNanos;
+    private final long maxEjectionNanos;
+
+    @Nonnull
+    private final ConcurrentMap<String, EndPoint> endPoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param config the static system configuration information
+     */
+    public ServiceHealth(@Nonnull final Config config) {
+        Objects.requireNonNull(config);
+        this.failureLimit = Math.max(1, config.getInt(ConfigKeys.CLIENT_EJECTION_FAILURES.getKey()));
+        this.latencyLimitNanos = config.getDuration(ConfigKeys.CLIENT_EJECTION_LATENCY.getKey(), TimeUnit.NANOSECONDS);
+        this.ejectionNanos = config.getDuration(ConfigKeys.CLIENT_EJECTION_TIME_BASE.getKey(), TimeUnit.NANOSECONDS);
+        this.maxEjectionNanos = Math.max(this.ejectionNanos,
+                config.getDuration(ConfigKeys.CLIENT_EJECTION_TIME_MAX.getKey(), TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * @param config the static system configuration information
+     * @param builder the builder of the HTTP client that will track the health of the services
+     * @return the {@link ServiceHealth} already used by the HTTP client, which is shared, or a new one added to it
+     */
+    @Nonnull
+    public static ServiceHealth install(@Nonnull final Config config, @Nonnull final OkHttpClient.Builder builder) {
+        for (final Interceptor interceptor : builder.interceptors()) {
+            if (interceptor instanceof ServiceHealth) {
+                return (ServiceHealth) interceptor;
+            }
+        }
+        final ServiceHealth health = new ServiceHealth(config);
+        builder.addInterceptor(health);
+        return health;
+    }
+
+    @Nonnull
+    private EndPoint get(@Nonnull final String endPoint) {
+        return this.endPoints.computeIfAbsent(Objects.requireNonNull(endPoint), key -> new EndPoint());
+    }
+
+    /**
+     * @param service the service to check
+     * @return whether the service may be selected to receive a request, which is when it is not ejected, or when its
+     * ejection time has passed and no probe request is in flight
+     */
+    public boolean isAvailable(@Nonnull final Service service) {
+        final EndPoint stats = this.endPoints.get(ServiceLoad.getEndPoint(service));
+        return stats == null || stats.isAvailable(System.nanoTime());
+    }
+
+    /**
+     * @param endPoint the end-point to which a request is about to be sent
+     * @return whether the request may be sent, which is when the end-point is not ejected, or when the request is the
+     * probe sent once the ejection time has passed
+     */
+    public boolean allow(@Nonnull final String endPoint) {
+        return get(endPoint).allow(System.nanoTime());
+    }
+
+    /**
+     * @param endPoint the end-point to which the request was sent
+     * @param success whether the request succeeded within the latency limit
+     */
+    public void completed(@Nonnull final String endPoint, final boolean success) {
+        get(endPoint).completed(System.nanoTime(), success);
+    }
+
+    /**
+     * @param endPoint the end-point to which the cancelled request was sent, which is neither a success nor a failure
+     */
+    public void cancelled(@Nonnull final String endPoint) {
+        get(endPoint).cancelled();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onAdded(@Nonnull final Service service) {
+        // Nothing to do, the health of a service is tracked once requests are sent to it.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRemoved(@Nonnull final Service service) {
+        this.endPoints.remove(ServiceLoad.getEndPoint(service));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUpdated(@Nonnull final Service previous, @Nonnull final Service current) {
+        // Nothing to do, the service is still running on the same end-point.
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Response intercept(@Nonnull final Chain chain) throws IOException {
+        final String endPoint = ServiceLoad.getEndPoint(chain.request().url());
+        if (!allow(endPoint)) {
+            throw new ServiceEjectedException(
+                    "Service " + endPoint + " is temporarily ejected after repeated failures");
+        }
+        final long start = System.nanoTime();
+        boolean success = false;
+        boolean cancelled = false;
+        try {
+            final Response response = chain.proceed(chain.request());
+            success = response.code() < 500 && System.nanoTime() - start <= this.latencyLimitNanos;
+            return response;
+        } catch (final IOException failure) {
+            // A cancelled request, like the losing request of a hedged pair, does not count toward an ejection.
+            cancelled = ServiceLoad.isCancelled(failure);
+            throw failure;
+        } finally {
+            if (cancelled) {
+                cancelled(endPoint);
+            } else {
+                completed(endPoint, success);
+            }
+        }
+    }
+
+    private class EndPoint {
+        private int failures = 0;
+        private int ejections = 0;
+        private boolean ejected = false;
+        private long ejectedUntil = 0;
+        private boolean probing = false;
+
+        private synchronized boolean isAvailable(final long now) {
+            return !this.ejected || (now - this.ejectedUntil >= 0 && !this.probing);
+        }
+
+        private synchronized boolean allow(final long now) {
+            if (!isAvailable(now)) {
+                return false;
+            }
+            // Once the ejection time has passed, only the one probe request is let through.
+            this.probing = this.ejected;
+            return true;
+        }
+
+        private synchronized void cancelled() {
+            // A cancelled probe says nothing about the service, so another probe may be sent.
+            this.probing = false;
+        }
+
+        private synchronized void completed(final long now, final boolean success) {
+            if (success) {
+                this.failures = 0;
+                this.ejections = 0;
+                this.ejected = false;
+                this.probing = false;
+            } else if (this.probing || ++this.failures >= ServiceHealth.this.failureLimit) {
+                // Each ejection in a row doubles the ejection time, up to the maximum.
+                final long ejection = ServiceHealth.this.ejectionNanos << Math.min(this.ejections, 20);
+                this.ejectedUntil = now + Math.min(ejection, ServiceHealth.this.maxEjectionNanos);
+                this.ejections++;
+                this.ejected = true;
+                this.probing = false;
+                this.failures = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps track of the requests in flight and an exponentially weighted moving average (EWMA) of the response latency for
+ * each service end-point used by a client. Added to the client's HTTP client as an interceptor, it observes every
+ * request without changes to the code sending them. Failed requests are recorded with a latency penalty, so services
+ * that are failing look slow and receive fewer requests. Requests cancelled by the caller, like the losing request of
+ * a hedged pair, say nothing about the service, so they are not recorded as failures.
+ */
+public class ServiceLoad implements Interceptor {
+    private final static double DECAY = 0.3;
+    private final static long FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Nonnull
+    private final ConcurrentMap<String, EndPoint> endPoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param service the service for which the end-point will be returned
+     * @return the end-point, made up of the host and port, used to identify the service
+     */
+    @Nonnull
+    public static String getEndPoint(@Nonnull final Service service) {
+        return Objects.requireNonNull(service).getHost() + ":" + service.getPort();
+    }
+
+    /**
+     * @param url the request URL for which the end-point will be returned
+     * @return the end-point, made up of the host and port, receiving the request
+     */
+    @Nonnull
+    public static String getEndPoint(@Nonnull final HttpUrl url) {
+        return Objects.requireNonNull(url).host() + ":" + url.port();
+    }
+
+    @Nonnull
+    private EndPoint get(@Nonnull final String endPoint) {
+        return this.endPoints.computeIfAbsent(Objects.requireNonNull(endPoint), key -> new EndPoint());
+    }
+
+    /**
+     * @param endPoint the end-point to which a request is being sent
+     */
+    public void started(@Nonnull final String endPoint) {
+        get(endPoint).inFlight.incrementAndGet();
+    }
+
+    /**
+     * @param endPoint the end-point to which the request was sent
+     * @param latencyNanos the amount of time taken by the request, in nanoseconds
+     * @param success whether the request succeeded
+     */
+    public void completed(@Nonnull final String endPoint, final long latencyNanos, final boolean success) {
+        final EndPoint stats = get(endPoint);
+        stats.inFlight.decrementAndGet();
+        stats.update(success ? latencyNanos : Math.max(latencyNanos, FAILURE_PENALTY_NANOS));
+    }
+
+    /**
+     * @param endPoint the end-point to which the cancelled request was sent
+     */
+    public void cancelled(@Nonnull final String endPoint) {
+        get(endPoint).inFlight.decrementAndGet();
+    }
+
+    /**
+     * @param failure the exception thrown by a request
+     * @return whether the request failed because it was cancelled by interrupting the thread sending it, rather than
+     * because of a problem with the service, which is not the case for socket timeouts
+     */
+    public static boolean isCancelled(@Nonnull final IOException failure) {
+        return Thread.currentThread().isInterrupted()
+                || failure instanceof InterruptedIOException && !(failure instanceof SocketTimeoutException);
+    }
+
+    /**
+     * @param service the service for which the number of requests in flight will be returned
+     * @return the number of requests currently in flight to the service
+     */
+    public int getInFlight(@Nonnull final Service service) {
+        final EndPoint stats = this.endPoints.get(getEndPoint(service));
+        return stats == null ? 0 : stats.inFlight.get();
+    }
+
+    /**
+     * @param service the service for which the average latency will be returned
+     * @return the moving average of the response latency of the service in nanoseconds, or zero when no requests have
+     * completed yet
+     */
+    public double getLatency(@Nonnull final Service service) {
+        final EndPoint stats = this.endPoints.get(getEndPoint(service));
+        return stats == null ? 0 : stats.getLatency();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Response intercept(@Nonnull final Chain chain) throws IOException {
+        final String endPoint = getEndPoint(chain.request().url());
+        final long start = System.nanoTime();
+        started(endPoint);
+        boolean success = false;
+        boolean cancelled = false;
+        try {
+            final Response response = chain.proceed(chain.request());
+            success = response.code() < 500;
+            return response;
+        } catch (final IOException failure) {
+            cancelled = isCancelled(failure);
+            throw failure;
+        } finally {
+            if (cancelled) {
+                cancelled(endPoint);
+            } else {
+                completed(endPoint, System.nanoTime() - start, success);
+            }
+        }
+    }
+
+    private static class EndPoint {
+        @Nonnull
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double latency = 0;
+
+        private synchronized double getLatency() {
+            return this.latency;
+        }
+
+        private synchronized void update(final long latencyNanos) {
+            this.latency = this.latency == 0 ? latencyNanos : DECAY * latencyNanos + (1 - DECAY) * this.latency;
+        }
+    }
+}
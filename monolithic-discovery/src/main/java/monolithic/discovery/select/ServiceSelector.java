@@ -0,0 +1,20 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Defines the strategy used by a client to choose which of the available services receives its next request.
+ */
+public interface ServiceSelector {
+    /**
+     * @param services the available {@link Service} objects, in their natural sort order
+     * @return the chosen {@link Service}, possibly empty if no services are available
+     */
+    @Nonnull
+    Optional<Service> select(@Nonnull List<Service> services);
+}
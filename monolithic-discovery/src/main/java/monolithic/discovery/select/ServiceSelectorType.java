@@ -0,0 +1,124 @@
+package monolithic.discovery.select;
+
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+
+import monolithic.common.config.ConfigKeys;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Defines the available {@link ServiceSelector} strategies, identified in the system configuration by name.
+ */
+public enum ServiceSelectorType {
+    /**
+     * Choose a service uniformly at random.
+     */
+    RANDOM {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            return new RandomSelector();
+        }
+    },
+
+    /**
+     * Cycle through the services in order.
+     */
+    ROUND_ROBIN {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            return new RoundRobinSelector();
+        }
+    },
+
+    /**
+     * Choose the service with the fewest requests in flight.
+     */
+    LEAST_IN_FLIGHT {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            return new LeastInFlightSelector(load);
+        }
+    },
+
+    /**
+     * Choose the cheaper of two random services, based on their latency and requests in flight.
+     */
+    POWER_OF_TWO {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            return new PowerOfTwoSelector(load);
+        }
+    },
+
+    /**
+     * Choose a service at random, in proportion to its published weight.
+     */
+    WEIGHTED {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            return new WeightedSelector();
+        }
+    },
+
+    /**
+     * Prefer the services on the local host and then in the local zone, choosing between them like
+     * {@link #POWER_OF_TWO}.
+     */
+    AFFINITY {
+        @Override
+        @Nonnull
+        public ServiceSelector create(@Nonnull final Config config, @Nonnull final ServiceLoad load) {
+            final String zone = config.getString(ConfigKeys.SERVER_ZONE.getKey());
+            return new AffinitySelector(config.getString(ConfigKeys.SERVER_HOSTNAME.getKey()),
+                    Optional.ofNullable(StringUtils.trimToNull(zone)), POWER_OF_TWO.create(config, load));
+        }
+    };
+
+    /**
+     * @return the name used to identify this selector type in the system configuration
+     */
+    @Nonnull
+    public String getName() {
+        return name().toLowerCase().replaceAll("_", "-");
+    }
+
+    /**
+     * @param config the static system configuration information
+     * @param load the {@link ServiceLoad} tracking the requests sent by the client using the selector
+     * @return a new {@link ServiceSelector} of this type
+     */
+    @Nonnull
+    public abstract ServiceSelector create(@Nonnull Config config, @Nonnull ServiceLoad load);
+
+    /**
+     * @param name the name of the selector type, as used in the system configuration
+     * @return the matching selector type
+     * @throws IllegalArgumentException if the name does not match any selector type
+     */
+    @Nonnull
+    public static ServiceSelectorType parse(@Nonnull final String name) {
+        Objects.requireNonNull(name);
+        return Arrays.stream(values()).filter(type -> type.getName().equalsIgnoreCase(name.trim())).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unrecognized service selector: " + name));
+    }
+
+    /**
+     * @return the name used to identify this selector type in the system configuration
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return getName();
+    }
+}
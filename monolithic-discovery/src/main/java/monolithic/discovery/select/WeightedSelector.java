@@ -0,0 +1,41 @@
+package monolithic.discovery.select;
+
+import monolithic.discovery.model.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Chooses one of the available services at random, in proportion to its published {@link Service#getWeight() weight},
+ * so services running on larger hardware receive a larger share of the requests.
+ */
+public class WeightedSelector implements ServiceSelector {
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<Service> select(@Nonnull final List<Service> services) {
+        long total = 0;
+        for (final Service service : Objects.requireNonNull(services)) {
+            total += service.getWeight();
+        }
+        if (total == 0) {
+            return Optional.empty();
+        }
+
+        long remaining = ThreadLocalRandom.current().nextLong(total);
+        for (final Service service : services) {
+            remaining -= service.getWeight();
+            if (remaining < 0) {
+                return Optional.of(service);
+            }
+        }
+        // Not reached, since the weights sum to the total.
+        return Optional.empty();
+    }
+}
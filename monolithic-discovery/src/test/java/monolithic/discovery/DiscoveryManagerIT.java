@@ -5,6 +5,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValue;
@@ -14,18 +15,27 @@ import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.retry.ExponentialBackoffRetry;
 import org.apache.curator.test.TestingServer;
+import org.apache.curator.x.discovery.ServiceCache;
 import org.apache.curator.x.discovery.ServiceDiscovery;
+import org.apache.curator.x.discovery.ServiceInstance;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import monolithic.common.config.ConfigKeys;
 import monolithic.discovery.model.Service;
+import monolithic.discovery.select.RoundRobinSelector;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Perform testing on the {@link DiscoveryManager} class.
@@ -74,15 +84,27 @@ public class DiscoveryManagerIT {
                     new Service(config.getString(ConfigKeys.SYSTEM_NAME.getKey()), "1.2.3", "host", 1234, false);
             discovery.register(service);
 
-            // Should now have one registered service.
+            // Should now have one registered service, once the cache has been notified.
+            waitForServices(discovery, 1);
             assertEquals(1, discovery.getAll().size());
             assertTrue(discovery.getRandom().isPresent());
+            assertEquals(Optional.of(service), discovery.select(new RoundRobinSelector()));
+
+            // Updated metadata reaches the snapshot once the cache has been notified.
+            discovery.update(service.withMetadata(ImmutableMap.of(Service.LOAD, "3")));
+            final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+            while (discovery.getAll().first().getLoad() != 3 && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            assertEquals(3, discovery.getAll().first().getLoad());
 
             discovery.unregister(service);
 
             // Nothing registered at again.
+            waitForServices(discovery, 0);
             assertEquals(0, discovery.getAll().size());
             assertFalse(discovery.getRandom().isPresent());
+            assertFalse(discovery.select(new RoundRobinSelector()).isPresent());
         } finally {
             discovery.close();
             assertTrue(discovery.isClosed());
@@ -114,6 +136,7 @@ public class DiscoveryManagerIT {
         Mockito.doThrow(new IOException("Fake")).when(serviceDiscovery).close();
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discovery.getDiscovery()).thenReturn(serviceDiscovery);
+        Mockito.when(discovery.getServiceCache()).thenReturn(Mockito.mock(ServiceCache.class));
         Mockito.doCallRealMethod().when(discovery).close();
         discovery.close();
     }
@@ -124,6 +147,7 @@ public class DiscoveryManagerIT {
         final ServiceDiscovery<String> serviceDiscovery = Mockito.mock(ServiceDiscovery.class);
         Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).registerService(Mockito.any());
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discovery.getConfig()).thenReturn(config);
         Mockito.when(discovery.getDiscovery()).thenReturn(serviceDiscovery);
         Mockito.doCallRealMethod().when(discovery).register(Mockito.any());
         discovery.register(new Service("system", "1.2.3", "host", 1234, false));
@@ -131,34 +155,177 @@ public class DiscoveryManagerIT {
 
     @SuppressWarnings("unchecked")
     @Test(expected = DiscoveryException.class)
-    public void testUnregisterWithException() throws Exception {
+    public void testUpdateWithException() throws Exception {
         final ServiceDiscovery<String> serviceDiscovery = Mockito.mock(ServiceDiscovery.class);
-        Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).unregisterService(Mockito.any());
+        Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).updateService(Mockito.any());
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discovery.getConfig()).thenReturn(config);
         Mockito.when(discovery.getDiscovery()).thenReturn(serviceDiscovery);
-        Mockito.doCallRealMethod().when(discovery).unregister(Mockito.any());
-        discovery.unregister(new Service("system", "1.2.3", "host", 1234, false));
+        Mockito.doCallRealMethod().when(discovery).update(Mockito.any());
+        discovery.update(new Service("system", "1.2.3", "host", 1234, false));
     }
 
     @SuppressWarnings("unchecked")
     @Test(expected = DiscoveryException.class)
-    public void testGetAllWithException() throws Exception {
+    public void testUnregisterWithException() throws Exception {
         final ServiceDiscovery<String> serviceDiscovery = Mockito.mock(ServiceDiscovery.class);
-        Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).queryForInstances(Mockito.anyString());
+        Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).unregisterService(Mockito.any());
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discovery.getDiscovery()).thenReturn(serviceDiscovery);
-        Mockito.doCallRealMethod().when(discovery).getAll();
-        discovery.getAll();
+        Mockito.doCallRealMethod().when(discovery).unregister(Mockito.any());
+        discovery.unregister(new Service("system", "1.2.3", "host", 1234, false));
     }
 
     @SuppressWarnings("unchecked")
-    @Test(expected = DiscoveryException.class)
-    public void testGetRandomWithException() throws Exception {
-        final ServiceDiscovery<String> serviceDiscovery = Mockito.mock(ServiceDiscovery.class);
-        Mockito.doThrow(new Exception("Fake")).when(serviceDiscovery).queryForInstances(Mockito.anyString());
-        final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
-        Mockito.when(discovery.getDiscovery()).thenReturn(serviceDiscovery);
-        Mockito.doCallRealMethod().when(discovery).getRandom();
+    @Test
+    public void testCacheChanged() throws Exception {
+        final Service first = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service second = new Service("system", "1.2.3", "host2", 1234, false);
+        final ServiceInstance<String> invalid =
+                ServiceInstance.<String>builder().name("system").address("host3").port(1234).payload("{}").build();
+
+        final ServiceCache<String> serviceCache = Mockito.mock(ServiceCache.class);
+        Mockito.when(serviceCache.getInstances())
+                .thenReturn(Arrays.asList(second.asServiceInstance(), invalid, first.asServiceInstance()));
+        final DiscoveryManager manager = new DiscoveryManager(config, curator);
+        final DiscoveryManager discovery = Mockito.spy(manager);
+        Mockito.when(discovery.getServiceCache()).thenReturn(serviceCache);
+
+        discovery.cacheChanged();
+
+        // The services are parsed once, sorted, and the invalid service is skipped.
+        assertEquals(Arrays.asList(first, second), new ArrayList<>(discovery.getAll()));
+        assertTrue(discovery.getAll().contains(discovery.getRandom().get()));
+
+        // Later lookups use the snapshot without going back to the cache.
+        discovery.getAll();
         discovery.getRandom();
+        Mockito.verify(serviceCache, Mockito.times(1)).getInstances();
+        manager.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testIndexes() throws Exception {
+        final Service a = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service b = new Service("system", "1.2.3", "host2", 1234, false);
+        final Service c = new Service("system", "1.2.4-RC", "host2", 1235, false);
+
+        final ServiceCache<String> serviceCache = Mockito.mock(ServiceCache.class);
+        Mockito.when(serviceCache.getInstances())
+                .thenReturn(Arrays.asList(c.asServiceInstance(), b.asServiceInstance(), a.asServiceInstance()))
+                .thenReturn(Collections.singletonList(a.asServiceInstance()));
+        final DiscoveryManager manager = new DiscoveryManager(config, curator);
+        final DiscoveryManager discovery = Mockito.spy(manager);
+        Mockito.when(discovery.getServiceCache()).thenReturn(serviceCache);
+        discovery.cacheChanged();
+
+        // The indexed services are sorted, and matched ignoring case.
+        assertEquals(Arrays.asList(a, b), discovery.getByVersion("1.2.3"));
+        assertEquals(Collections.singletonList(c), discovery.getByVersion("1.2.4-rc"));
+        assertTrue(discovery.getByVersion("1.2.5").isEmpty());
+        assertEquals(Collections.singletonList(a), discovery.getByHost("HOST1"));
+        assertEquals(Arrays.asList(b, c), discovery.getByHost("host2"));
+        assertTrue(discovery.getByHost("host3").isEmpty());
+
+        assertEquals(Optional.of(c), discovery.getRandom("1.2.4-RC"));
+        assertFalse(discovery.getRandom("1.2.5").isPresent());
+        final RoundRobinSelector selector = new RoundRobinSelector();
+        assertEquals(Optional.of(a), discovery.select(selector, "1.2.3"));
+        assertEquals(Optional.of(b), discovery.select(selector, "1.2.3"));
+        assertFalse(discovery.select(selector, "1.2.5").isPresent());
+
+        // The indexes follow the changes to the available services.
+        discovery.cacheChanged();
+        assertEquals(Collections.singletonList(a), discovery.getByVersion("1.2.3"));
+        assertTrue(discovery.getByHost("host2").isEmpty());
+
+        // Once closed, nothing is available.
+        manager.close();
+        discovery.close();
+        assertTrue(discovery.getByVersion("1.2.3").isEmpty());
+        assertTrue(discovery.getByHost("host1").isEmpty());
+        assertFalse(discovery.getRandom("1.2.3").isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testListener() throws Exception {
+        final Service first = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service second = new Service("system", "1.2.3", "host2", 1234, false);
+        final Service updated = new Service("system", "1.2.4", "host2", 1234, false);
+        final Service third = new Service("system", "1.2.3", "host3", 1234, false);
+
+        final ServiceCache<String> serviceCache = Mockito.mock(ServiceCache.class);
+        Mockito.when(serviceCache.getInstances())
+                .thenReturn(Arrays.asList(first.asServiceInstance(), second.asServiceInstance()))
+                .thenReturn(Arrays.asList(updated.asServiceInstance(), third.asServiceInstance()));
+        final DiscoveryManager manager = new DiscoveryManager(config, curator);
+        final DiscoveryManager discovery = Mockito.spy(manager);
+        Mockito.when(discovery.getServiceCache()).thenReturn(serviceCache);
+        discovery.cacheChanged();
+
+        // The listener starts with the services already available.
+        final ServiceChangeListener listener = Mockito.mock(ServiceChangeListener.class);
+        discovery.addListener(listener);
+        Mockito.verify(listener).onAdded(first);
+        Mockito.verify(listener).onAdded(second);
+
+        // A failing listener does not prevent the others from being notified.
+        final ServiceChangeListener failing = Mockito.mock(ServiceChangeListener.class);
+        Mockito.doThrow(new RuntimeException("Fake")).when(failing).onRemoved(Mockito.any());
+        discovery.addListener(failing);
+
+        discovery.cacheChanged();
+        Mockito.verify(listener).onRemoved(first);
+        Mockito.verify(listener).onUpdated(second, updated);
+        Mockito.verify(listener).onAdded(third);
+        Mockito.verifyNoMoreInteractions(listener);
+
+        // Once removed, the listener is no longer notified.
+        discovery.removeListener(listener);
+        discovery.removeListener(failing);
+        discovery.cacheChanged();
+        Mockito.verifyNoMoreInteractions(listener);
+        manager.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testMetadataListener() throws Exception {
+        final Service service =
+                new Service("system", "1.2.3", "host1", 1234, false, ImmutableMap.of(Service.WEIGHT, "1"));
+        final Service loaded = service.withMetadata(ImmutableMap.of(Service.WEIGHT, "2"));
+
+        final ServiceCache<String> serviceCache = Mockito.mock(ServiceCache.class);
+        Mockito.when(serviceCache.getInstances())
+                .thenReturn(Collections.singletonList(service.asServiceInstance(true)))
+                .thenReturn(Collections.singletonList(loaded.asServiceInstance(true)));
+        final DiscoveryManager manager = new DiscoveryManager(config, curator);
+        final DiscoveryManager discovery = Mockito.spy(manager);
+        Mockito.when(discovery.getServiceCache()).thenReturn(serviceCache);
+        discovery.cacheChanged();
+
+        final ServiceChangeListener listener = Mockito.mock(ServiceChangeListener.class);
+        discovery.addListener(listener);
+        Mockito.verify(listener).onAdded(service);
+
+        // A change to the metadata alone is reported as an update.
+        discovery.cacheChanged();
+        final ArgumentCaptor<Service> current = ArgumentCaptor.forClass(Service.class);
+        Mockito.verify(listener).onUpdated(Mockito.eq(service), current.capture());
+        assertEquals(2, current.getValue().getWeight());
+
+        // Unchanged metadata is not reported.
+        discovery.cacheChanged();
+        Mockito.verifyNoMoreInteractions(listener);
+        manager.close();
+    }
+
+    private static void waitForServices(final DiscoveryManager discovery, final int expected) throws Exception {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (discovery.getAll().size() != expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
     }
 }
@@ -1,15 +1,20 @@
 package monolithic.discovery.model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 
 import org.apache.curator.x.discovery.ServiceInstance;
 import org.junit.Test;
 
+import java.util.Optional;
+
 /**
  * Perform testing on the {@link Service} class.
  */
@@ -237,4 +242,132 @@ public class ServiceTest {
         final Service copy = new Service(si);
         assertEquals(service, copy);
     }
+
+    @Test
+    public void testCompactServiceInstance() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, true);
+        final ServiceInstance<String> si = service.asServiceInstance(true);
+
+        assertEquals("system", si.getName());
+        assertEquals("host:1234", si.getId());
+        assertEquals("host", si.getAddress());
+        assertEquals(new Integer(1234), si.getPort());
+        assertEquals("1;15:1.2.3", si.getPayload());
+
+        final Service copy = new Service(si);
+        assertEquals(service, copy);
+        assertTrue(copy.isSecure());
+        assertTrue(copy.getMetadata().isEmpty());
+    }
+
+    @Test
+    public void testCompactServiceInstanceWithMetadata() {
+        final Service service =
+                new Service("system", "1.2.3", "host", 1234, false, ImmutableMap.of("zone", "a:b", "weight", "10"));
+        final ServiceInstance<String> si = service.asServiceInstance(true);
+        assertEquals("1;05:1.2.36:weight2:104:zone3:a:b", si.getPayload());
+
+        final Service copy = new Service(si);
+        assertEquals(service, copy);
+        // Encoding again before the metadata is decoded reuses the encoded form.
+        assertEquals(si.getPayload(), copy.asServiceInstance(true).getPayload());
+        assertEquals(ImmutableMap.of("weight", "10", "zone", "a:b"), copy.getMetadata());
+        assertEquals(si.getPayload(), copy.asServiceInstance(true).getPayload());
+    }
+
+    @Test
+    public void testJsonServiceInstanceWithMetadata() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false, ImmutableMap.of("zone", "a"));
+        final ServiceInstance<String> si = service.asServiceInstance();
+        assertEquals("{\"systemName\":\"system\",\"systemVersion\":\"1.2.3\",\"host\":\"host\",\"port\":1234,"
+                + "\"secure\":false,\"metadata\":{\"zone\":\"a\"}}", si.getPayload());
+
+        final Service copy = new Service(si);
+        assertEquals(service, copy);
+        assertEquals(ImmutableMap.of("zone", "a"), copy.getMetadata());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompactServiceInstanceUnsupportedFormat() {
+        final ServiceInstance<String> si = new Service("system", "1.2.3", "host", 1234, false).asServiceInstance(true);
+        new Service(new ServiceInstance<>(si.getName(), si.getId(), si.getAddress(), si.getPort(), null,
+                "2;05:1.2.3", si.getRegistrationTimeUTC(), si.getServiceType(), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompactServiceInstanceInvalidLength() {
+        final ServiceInstance<String> si = new Service("system", "1.2.3", "host", 1234, false).asServiceInstance(true);
+        new Service(new ServiceInstance<>(si.getName(), si.getId(), si.getAddress(), si.getPort(), null,
+                "1;09:1.2.3", si.getRegistrationTimeUTC(), si.getServiceType(), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompactServiceInstanceInvalidMetadata() {
+        final ServiceInstance<String> si = new Service("system", "1.2.3", "host", 1234, false).asServiceInstance(true);
+        new Service(new ServiceInstance<>(si.getName(), si.getId(), si.getAddress(), si.getPort(), null,
+                "1;05:1.2.34:zone", si.getRegistrationTimeUTC(), si.getServiceType(), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCompactServiceInstanceDuplicateMetadata() {
+        final ServiceInstance<String> si = new Service("system", "1.2.3", "host", 1234, false).asServiceInstance(true);
+        new Service(new ServiceInstance<>(si.getName(), si.getId(), si.getAddress(), si.getPort(), null,
+                "1;05:1.2.34:zone1:a4:zone1:b", si.getRegistrationTimeUTC(), si.getServiceType(), null));
+    }
+
+    @Test
+    public void testMetadataDefaults() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        assertEquals(Service.DEFAULT_WEIGHT, service.getWeight());
+        assertEquals(Optional.empty(), service.getZone());
+        assertEquals(Optional.empty(), service.getStartTime());
+        assertEquals(0, service.getLoad());
+        assertFalse(service.isDraining());
+    }
+
+    @Test
+    public void testMetadata() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false).withMetadata(ImmutableMap.of(
+                Service.WEIGHT, "200", Service.ZONE, "east", Service.START_TIME, "1000", Service.LOAD, "7",
+                Service.DRAINING, "true"));
+        final Service copy = new Service(service.asServiceInstance(true));
+        assertEquals(200, copy.getWeight());
+        assertEquals(Optional.of("east"), copy.getZone());
+        assertEquals(Optional.of(1000L), copy.getStartTime());
+        assertEquals(7, copy.getLoad());
+        assertTrue(copy.isDraining());
+    }
+
+    @Test
+    public void testMetadataInvalid() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false)
+                .withMetadata(ImmutableMap.of(Service.WEIGHT, "-5", Service.START_TIME, "invalid"));
+        assertEquals(1, service.getWeight());
+        assertEquals(Optional.empty(), service.getStartTime());
+        assertEquals(Service.DEFAULT_WEIGHT,
+                service.withMetadata(ImmutableMap.of(Service.WEIGHT, "invalid")).getWeight());
+    }
+
+    @Test
+    public void testHasSameMetadata() {
+        final Service a = new Service("system", "1.2.3", "host", 1234, false, ImmutableMap.of(Service.WEIGHT, "1"));
+        final Service b = a.withMetadata(ImmutableMap.of(Service.WEIGHT, "2"));
+        assertEquals(a, b);
+        assertTrue(a.hasSameMetadata(a));
+        assertFalse(a.hasSameMetadata(b));
+
+        // Compared while still encoded, and once decoded.
+        final Service encodedA = new Service(a.asServiceInstance(true));
+        final Service encodedB = new Service(b.asServiceInstance(true));
+        assertTrue(encodedA.hasSameMetadata(new Service(a.asServiceInstance(true))));
+        assertFalse(encodedA.hasSameMetadata(encodedB));
+        assertTrue(encodedA.hasSameMetadata(a));
+        assertFalse(encodedB.hasSameMetadata(a));
+
+        // A change in load alone is not a change in metadata.
+        final Service loaded = a.withMetadata(ImmutableMap.of(Service.WEIGHT, "1", Service.LOAD, "7"));
+        assertTrue(a.hasSameMetadata(loaded));
+        assertTrue(encodedA.hasSameMetadata(new Service(loaded.asServiceInstance(true))));
+        assertFalse(b.hasSameMetadata(loaded));
+    }
 }
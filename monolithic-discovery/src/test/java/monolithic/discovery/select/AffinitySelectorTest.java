@@ -0,0 +1,58 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link AffinitySelector} class.
+ */
+public class AffinitySelectorTest {
+    @Test
+    public void test() {
+        final RandomSelector delegate = new RandomSelector();
+        final AffinitySelector selector = new AffinitySelector("local", delegate);
+        assertEquals("local", selector.getHost());
+        assertEquals(delegate, selector.getDelegate());
+
+        final Service local = new Service("system", "1.2.3", "LOCAL", 1234, false);
+        final Service remote1 = new Service("system", "1.2.3", "remote1", 1234, false);
+        final Service remote2 = new Service("system", "1.2.3", "remote2", 1234, false);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(local, selector.select(Arrays.asList(local, remote1, remote2)).get());
+        }
+
+        // Without a local service, any of the services may be chosen.
+        final List<Service> remote = Arrays.asList(remote1, remote2);
+        assertTrue(remote.contains(selector.select(remote).get()));
+        assertEquals(Optional.empty(), selector.getZone());
+    }
+
+    @Test
+    public void testZone() {
+        final AffinitySelector selector = new AffinitySelector("local", Optional.of("east"), new RandomSelector());
+        assertEquals(Optional.of("east"), selector.getZone());
+
+        final Service local = new Service("system", "1.2.3", "local", 1234, false);
+        final Service east =
+                new Service("system", "1.2.3", "remote1", 1234, false, ImmutableMap.of(Service.ZONE, "east"));
+        final Service west =
+                new Service("system", "1.2.3", "remote2", 1234, false, ImmutableMap.of(Service.ZONE, "west"));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(local, selector.select(Arrays.asList(local, east, west)).get());
+            assertEquals(east, selector.select(Arrays.asList(east, west)).get());
+        }
+
+        // Without a service in the same zone, any of the services may be chosen.
+        assertEquals(west, selector.select(Arrays.asList(west)).get());
+    }
+}
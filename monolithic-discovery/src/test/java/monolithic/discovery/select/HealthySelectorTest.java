@@ -0,0 +1,62 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Perform testing on the {@link HealthySelector} class.
+ */
+public class HealthySelectorTest {
+    @Test
+    public void test() {
+        final ServiceHealth health = new ServiceHealth(ConfigFactory.load());
+        final RoundRobinSelector delegate = new RoundRobinSelector();
+        final HealthySelector selector = new HealthySelector(health, delegate);
+        assertEquals(health, selector.getHealth());
+        assertEquals(delegate, selector.getDelegate());
+
+        final Service a = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service b = new Service("system", "1.2.3", "host2", 1234, false);
+        final List<Service> services = Arrays.asList(a, b);
+
+        for (int i = 0; i < 5; i++) {
+            health.completed(ServiceLoad.getEndPoint(a), false);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertEquals(b, selector.select(services).get());
+        }
+
+        // With every service ejected, the choice is made among all of them.
+        for (int i = 0; i < 5; i++) {
+            health.completed(ServiceLoad.getEndPoint(b), false);
+        }
+        assertTrue(services.contains(selector.select(services).get()));
+    }
+
+    @Test
+    public void testDraining() {
+        final HealthySelector selector =
+                new HealthySelector(new ServiceHealth(ConfigFactory.load()), new RoundRobinSelector());
+
+        final Service a =
+                new Service("system", "1.2.3", "host1", 1234, false, ImmutableMap.of(Service.DRAINING, "true"));
+        final Service b = new Service("system", "1.2.3", "host2", 1234, false);
+        final List<Service> services = Arrays.asList(a, b);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(b, selector.select(services).get());
+        }
+
+        // With every service draining, the choice is made among all of them.
+        assertEquals(a, selector.select(Arrays.asList(a)).get());
+    }
+}
@@ -0,0 +1,134 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Test;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.model.Service;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link HedgedRequests} class.
+ */
+public class HedgedRequestsTest {
+    private final Service first = new Service("system", "1.2.3", "host1", 1234, false);
+    private final Service second = new Service("system", "1.2.3", "host2", 1234, false);
+
+    private static Config getConfig(final boolean enabled) {
+        return ConfigFactory.parseMap(ImmutableMap.of(
+                ConfigKeys.CLIENT_HEDGE_ENABLED.getKey(), ConfigValueFactory.fromAnyRef(enabled),
+                ConfigKeys.CLIENT_HEDGE_DELAY_MIN.getKey(), ConfigValueFactory.fromAnyRef("5 milliseconds")))
+                .withFallback(ConfigFactory.load());
+    }
+
+    private static HedgedRequests getHedging(final boolean enabled) {
+        final HedgedRequests hedging = new HedgedRequests(getConfig(enabled));
+        for (int i = 0; i < 100; i++) {
+            hedging.record(i, TimeUnit.MILLISECONDS);
+        }
+        return hedging;
+    }
+
+    @Test
+    public void testDelay() {
+        final HedgedRequests hedging = new HedgedRequests(getConfig(true));
+        assertTrue(hedging.isEnabled());
+        assertFalse(hedging.getDelay(TimeUnit.MILLISECONDS).isPresent());
+
+        for (int i = 1; i <= 100; i++) {
+            hedging.record(i, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(Optional.of(95L), hedging.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDelayMinimum() {
+        final HedgedRequests hedging = new HedgedRequests(getConfig(true));
+        for (int i = 0; i < 100; i++) {
+            hedging.record(1, TimeUnit.MICROSECONDS);
+        }
+        assertEquals(Optional.of(5L), hedging.getDelay(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final HedgedRequests hedging = getHedging(false);
+        assertFalse(hedging.isEnabled());
+        assertEquals(first, hedging.call(first, () -> Optional.of(second), service -> {
+            Thread.sleep(200);
+            return service;
+        }));
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void testFast() throws Exception {
+        final HedgedRequests hedging = getHedging(true);
+        assertEquals(first, hedging.call(first, () -> Optional.of(second), service -> service));
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void testHedged() throws Exception {
+        final HedgedRequests hedging = getHedging(true);
+        final CountDownLatch latch = new CountDownLatch(1);
+        assertEquals(second, hedging.call(first, () -> Optional.of(second), service -> {
+            if (service.equals(first)) {
+                latch.await(5, TimeUnit.SECONDS);
+            }
+            return service;
+        }));
+        latch.countDown();
+        assertEquals(1, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void testNoAlternative() throws Exception {
+        final HedgedRequests hedging = getHedging(true);
+        assertEquals(first, hedging.call(first, Optional::empty, service -> {
+            Thread.sleep(200);
+            return service;
+        }));
+        assertEquals(0, hedging.getHedgedCount());
+    }
+
+    @Test
+    public void testHedgedFailure() throws Exception {
+        final HedgedRequests hedging = getHedging(true);
+        assertEquals(first, hedging.call(first, () -> Optional.of(second), service -> {
+            if (service.equals(second)) {
+                throw new IOException("Failed");
+            }
+            Thread.sleep(200);
+            return service;
+        }));
+        assertEquals(1, hedging.getHedgedCount());
+    }
+
+    @Test(expected = IOException.class)
+    public void testPrimaryFailure() throws Exception {
+        getHedging(true).call(first, () -> Optional.of(second), service -> {
+            throw new IOException("Failed");
+        });
+    }
+
+    @Test(expected = IOException.class)
+    public void testBothFail() throws Exception {
+        getHedging(true).call(first, () -> Optional.of(second), service -> {
+            Thread.sleep(200);
+            throw new IOException("Failed");
+        });
+    }
+}
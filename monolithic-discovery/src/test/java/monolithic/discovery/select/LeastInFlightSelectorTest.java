@@ -0,0 +1,41 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perform testing on the {@link LeastInFlightSelector} class.
+ */
+public class LeastInFlightSelectorTest {
+    @Test
+    public void test() {
+        final ServiceLoad load = new ServiceLoad();
+        final LeastInFlightSelector selector = new LeastInFlightSelector(load);
+        assertEquals(load, selector.getLoad());
+        assertFalse(selector.select(Collections.emptyList()).isPresent());
+
+        final Service a = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service b = new Service("system", "1.2.3", "host2", 1234, false);
+        final Service c = new Service("system", "1.2.3", "host3", 1234, false);
+        final List<Service> services = Arrays.asList(a, b, c);
+
+        load.started(ServiceLoad.getEndPoint(a));
+        load.started(ServiceLoad.getEndPoint(a));
+        load.started(ServiceLoad.getEndPoint(b));
+        load.started(ServiceLoad.getEndPoint(c));
+        load.started(ServiceLoad.getEndPoint(c));
+        assertEquals(b, selector.select(services).get());
+
+        load.completed(ServiceLoad.getEndPoint(a), 1000, true);
+        load.completed(ServiceLoad.getEndPoint(a), 1000, true);
+        assertEquals(a, selector.select(services).get());
+    }
+}
@@ -0,0 +1,71 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perform testing on the {@link PowerOfTwoSelector} class.
+ */
+public class PowerOfTwoSelectorTest {
+    @Test
+    public void test() {
+        final ServiceLoad load = new ServiceLoad();
+        final PowerOfTwoSelector selector = new PowerOfTwoSelector(load);
+        assertEquals(load, selector.getLoad());
+        assertFalse(selector.select(Collections.emptyList()).isPresent());
+
+        final Service fast = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service slow = new Service("system", "1.2.3", "host2", 1234, false);
+        assertEquals(fast, selector.select(Collections.singletonList(fast)).get());
+
+        load.started(ServiceLoad.getEndPoint(fast));
+        load.completed(ServiceLoad.getEndPoint(fast), 1000, true);
+        load.started(ServiceLoad.getEndPoint(slow));
+        load.completed(ServiceLoad.getEndPoint(slow), 50000, true);
+        assertEquals(1000, selector.getCost(fast), 0.001);
+
+        // With two services, both are always compared, so the cheaper one is always chosen.
+        final List<Service> services = Arrays.asList(fast, slow);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(fast, selector.select(services).get());
+        }
+
+        // Enough requests in flight make the fast service more expensive.
+        for (int i = 0; i < 100; i++) {
+            load.started(ServiceLoad.getEndPoint(fast));
+        }
+        assertEquals(slow, selector.select(services).get());
+    }
+
+    @Test
+    public void testWeight() {
+        final ServiceLoad load = new ServiceLoad();
+        final PowerOfTwoSelector selector = new PowerOfTwoSelector(load);
+
+        final Service small = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service large =
+                new Service("system", "1.2.3", "host2", 1234, false, ImmutableMap.of(Service.WEIGHT, "400"));
+        load.started(ServiceLoad.getEndPoint(small));
+        load.completed(ServiceLoad.getEndPoint(small), 1000, true);
+        load.started(ServiceLoad.getEndPoint(large));
+        load.completed(ServiceLoad.getEndPoint(large), 2000, true);
+        assertEquals(1000, selector.getCost(small), 0.001);
+        assertEquals(500, selector.getCost(large), 0.001);
+
+        // The larger service is chosen despite its higher latency.
+        final List<Service> services = Arrays.asList(small, large);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(large, selector.select(services).get());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Perform testing on the {@link RandomSelector} class.
+ */
+public class RandomSelectorTest {
+    @Test
+    public void test() {
+        final RandomSelector selector = new RandomSelector();
+        assertFalse(selector.select(Collections.emptyList()).isPresent());
+
+        final List<Service> services = Arrays.asList(new Service("system", "1.2.3", "host1", 1234, false),
+                new Service("system", "1.2.3", "host2", 1234, false));
+        final Set<Service> selected = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            selected.add(selector.select(services).get());
+        }
+        assertEquals(new HashSet<>(services), selected);
+        assertTrue(services.contains(selector.select(services).get()));
+    }
+}
@@ -0,0 +1,33 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Perform testing on the {@link RoundRobinSelector} class.
+ */
+public class RoundRobinSelectorTest {
+    @Test
+    public void test() {
+        final RoundRobinSelector selector = new RoundRobinSelector();
+        assertFalse(selector.select(Collections.emptyList()).isPresent());
+
+        final Service a = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service b = new Service("system", "1.2.3", "host2", 1234, false);
+        final Service c = new Service("system", "1.2.3", "host3", 1234, false);
+        final List<Service> services = Arrays.asList(a, b, c);
+
+        assertEquals(a, selector.select(services).get());
+        assertEquals(b, selector.select(services).get());
+        assertEquals(c, selector.select(services).get());
+        assertEquals(a, selector.select(services).get());
+    }
+}
@@ -0,0 +1,34 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Perform testing of the {@link ServiceEjectedException} class.
+ */
+public class ServiceEjectedExceptionTest {
+    @Test
+    public void testStringConstructor() {
+        final ServiceEjectedException exception = new ServiceEjectedException("error");
+        assertEquals("error", exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ServiceEjectedException exception = new ServiceEjectedException(cause);
+        assertEquals("java.lang.Exception", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    @Test
+    public void testStringThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ServiceEjectedException exception = new ServiceEjectedException("error", cause);
+        assertEquals("error", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
@@ -0,0 +1,159 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.model.Service;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ServiceHealth} class.
+ */
+public class ServiceHealthTest {
+    private static Config getConfig(final String ejectionTime) {
+        final Map<String, ConfigValue> map = new HashMap<>();
+        map.put(ConfigKeys.CLIENT_EJECTION_FAILURES.getKey(), ConfigValueFactory.fromAnyRef(2));
+        map.put(ConfigKeys.CLIENT_EJECTION_LATENCY.getKey(), ConfigValueFactory.fromAnyRef("1 second"));
+        map.put(ConfigKeys.CLIENT_EJECTION_TIME_BASE.getKey(), ConfigValueFactory.fromAnyRef(ejectionTime));
+        return ConfigFactory.parseMap(map).withFallback(ConfigFactory.load());
+    }
+
+    @Test
+    public void testEjection() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final String endPoint = ServiceLoad.getEndPoint(service);
+        final ServiceHealth health = new ServiceHealth(getConfig("1 hour"));
+        assertTrue(health.isAvailable(service));
+
+        // A success resets the consecutive failure count.
+        assertTrue(health.allow(endPoint));
+        health.completed(endPoint, false);
+        health.completed(endPoint, true);
+        health.completed(endPoint, false);
+        assertTrue(health.isAvailable(service));
+
+        health.completed(endPoint, false);
+        assertFalse(health.isAvailable(service));
+        assertFalse(health.allow(endPoint));
+    }
+
+    @Test
+    public void testProbe() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final String endPoint = ServiceLoad.getEndPoint(service);
+        final ServiceHealth health = new ServiceHealth(getConfig("200 milliseconds"));
+
+        health.completed(endPoint, false);
+        health.completed(endPoint, false);
+        assertFalse(health.allow(endPoint));
+
+        // Once the ejection time has passed, a single probe is let through.
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertTrue(health.isAvailable(service));
+        assertTrue(health.allow(endPoint));
+        assertFalse(health.isAvailable(service));
+        assertFalse(health.allow(endPoint));
+
+        // A failed probe ejects the service again, for twice as long.
+        health.completed(endPoint, false);
+        assertFalse(health.allow(endPoint));
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertFalse(health.allow(endPoint));
+        TimeUnit.MILLISECONDS.sleep(250);
+        assertTrue(health.allow(endPoint));
+
+        // A successful probe brings the service back.
+        health.completed(endPoint, true);
+        assertTrue(health.isAvailable(service));
+        assertTrue(health.allow(endPoint));
+        assertTrue(health.allow(endPoint));
+    }
+
+    @Test
+    public void testInstall() {
+        final Config config = getConfig("1 hour");
+        final OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        final ServiceHealth health = ServiceHealth.install(config, builder);
+        assertEquals(1, builder.interceptors().size());
+
+        // Clients created from the same HTTP client share the installed instance.
+        final OkHttpClient httpClient = builder.build();
+        final OkHttpClient.Builder other = httpClient.newBuilder();
+        assertEquals(health, ServiceHealth.install(config, other));
+        assertEquals(1, other.interceptors().size());
+    }
+
+    @Test
+    public void testIntercept() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final ServiceHealth health = new ServiceHealth(getConfig("1 hour"));
+        final Request request = new Request.Builder().url(service.asUrl()).build();
+        final Response failed = new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(503).build();
+
+        final Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        Mockito.when(chain.proceed(request)).thenReturn(failed).thenThrow(new IOException("Fake"));
+
+        assertEquals(failed, health.intercept(chain));
+        try {
+            health.intercept(chain);
+            fail("Expected the request failure");
+        } catch (final ServiceEjectedException unexpected) {
+            fail("The request should have been sent");
+        } catch (final IOException expected) {
+            assertEquals("Fake", expected.getMessage());
+        }
+
+        // The service is now ejected, so the request is not sent.
+        try {
+            health.intercept(chain);
+            fail("Expected the service to be ejected");
+        } catch (final ServiceEjectedException expected) {
+            assertEquals("Service host:1234 is temporarily ejected after repeated failures", expected.getMessage());
+        }
+        Mockito.verify(chain, Mockito.times(2)).proceed(request);
+    }
+
+    @Test
+    public void testInterceptCancelled() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final ServiceHealth health = new ServiceHealth(getConfig("1 hour"));
+        final Request request = new Request.Builder().url(service.asUrl()).build();
+
+        final Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        Mockito.when(chain.proceed(request)).thenThrow(new InterruptedIOException("interrupted"));
+
+        // Cancelled requests, like the losing request of a hedged pair, do not eject the service.
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                health.intercept(chain);
+                fail("Expected the request to be cancelled");
+            } catch (final InterruptedIOException expected) {
+                assertTrue(health.isAvailable(service));
+            }
+        }
+        Mockito.verify(chain, Mockito.times(3)).proceed(request);
+    }
+}
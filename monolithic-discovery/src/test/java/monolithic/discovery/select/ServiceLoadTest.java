@@ -0,0 +1,121 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.discovery.model.Service;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Perform testing on the {@link ServiceLoad} class.
+ */
+public class ServiceLoadTest {
+    @Test
+    public void test() {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        assertEquals("host:1234", ServiceLoad.getEndPoint(service));
+        assertEquals("host:1234", ServiceLoad.getEndPoint(HttpUrl.parse(service.asUrl() + "path")));
+
+        final ServiceLoad load = new ServiceLoad();
+        assertEquals(0, load.getInFlight(service));
+        assertEquals(0, load.getLatency(service), 0.001);
+
+        load.started("host:1234");
+        load.started("host:1234");
+        assertEquals(2, load.getInFlight(service));
+
+        // The first latency is used as-is, later ones are averaged in.
+        load.completed("host:1234", 1000, true);
+        assertEquals(1, load.getInFlight(service));
+        assertEquals(1000, load.getLatency(service), 0.001);
+        load.completed("host:1234", 2000, true);
+        assertEquals(0, load.getInFlight(service));
+        assertEquals(1300, load.getLatency(service), 0.001);
+
+        // Failures are penalized.
+        load.started("host:1234");
+        load.completed("host:1234", 1000, false);
+        assertTrue(load.getLatency(service) > TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    public void testIntercept() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final ServiceLoad load = new ServiceLoad();
+        final Request request = new Request.Builder().url(service.asUrl()).build();
+        final Response response =
+                new Response.Builder().request(request).protocol(Protocol.HTTP_1_1).code(200).build();
+
+        final Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        Mockito.when(chain.proceed(request)).thenAnswer(invocation -> {
+            assertEquals(1, load.getInFlight(service));
+            return response;
+        });
+
+        assertEquals(response, load.intercept(chain));
+        assertEquals(0, load.getInFlight(service));
+        assertTrue(load.getLatency(service) > 0);
+    }
+
+    @Test(expected = IOException.class)
+    public void testInterceptFailure() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final ServiceLoad load = new ServiceLoad();
+        final Request request = new Request.Builder().url(service.asUrl()).build();
+
+        final Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        Mockito.when(chain.proceed(request)).thenThrow(new IOException("Fake"));
+
+        try {
+            load.intercept(chain);
+        } finally {
+            assertEquals(0, load.getInFlight(service));
+            assertTrue(load.getLatency(service) >= TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    @Test
+    public void testInterceptCancelled() throws Exception {
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        final ServiceLoad load = new ServiceLoad();
+        final Request request = new Request.Builder().url(service.asUrl()).build();
+
+        final Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(request);
+        Mockito.when(chain.proceed(request)).thenThrow(new InterruptedIOException("interrupted"))
+                .thenThrow(new SocketTimeoutException("timeout"));
+
+        try {
+            load.intercept(chain);
+            fail("Expected the request to be cancelled");
+        } catch (final InterruptedIOException expected) {
+            // The cancelled request is not recorded as a failure.
+            assertEquals(0, load.getInFlight(service));
+            assertEquals(0, load.getLatency(service), 0.001);
+        }
+
+        try {
+            load.intercept(chain);
+            fail("Expected the request to time out");
+        } catch (final SocketTimeoutException expected) {
+            // A timeout is still a failure.
+            assertEquals(0, load.getInFlight(service));
+            assertTrue(load.getLatency(service) >= TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+}
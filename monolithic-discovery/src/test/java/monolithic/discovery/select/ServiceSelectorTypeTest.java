@@ -0,0 +1,46 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.Test;
+
+/**
+ * Perform testing on the {@link ServiceSelectorType} class.
+ */
+public class ServiceSelectorTypeTest {
+    @Test
+    public void testParse() {
+        for (final ServiceSelectorType type : ServiceSelectorType.values()) {
+            assertEquals(type, ServiceSelectorType.parse(type.getName()));
+            assertEquals(type.getName(), type.toString());
+        }
+        assertEquals(ServiceSelectorType.ROUND_ROBIN, ServiceSelectorType.parse(" Round-Robin "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseInvalid() {
+        ServiceSelectorType.parse("invalid");
+    }
+
+    @Test
+    public void testCreate() {
+        final Config config = ConfigFactory.load();
+        final ServiceLoad load = new ServiceLoad();
+        assertTrue(ServiceSelectorType.RANDOM.create(config, load) instanceof RandomSelector);
+        assertTrue(ServiceSelectorType.ROUND_ROBIN.create(config, load) instanceof RoundRobinSelector);
+        assertTrue(ServiceSelectorType.LEAST_IN_FLIGHT.create(config, load) instanceof LeastInFlightSelector);
+        assertTrue(ServiceSelectorType.POWER_OF_TWO.create(config, load) instanceof PowerOfTwoSelector);
+        assertTrue(ServiceSelectorType.WEIGHTED.create(config, load) instanceof WeightedSelector);
+
+        final ServiceSelector affinity = ServiceSelectorType.AFFINITY.create(config, load);
+        assertTrue(affinity instanceof AffinitySelector);
+        assertEquals("localhost", ((AffinitySelector) affinity).getHost());
+        assertTrue(((AffinitySelector) affinity).getDelegate() instanceof PowerOfTwoSelector);
+        assertFalse(((AffinitySelector) affinity).getZone().isPresent());
+    }
+}
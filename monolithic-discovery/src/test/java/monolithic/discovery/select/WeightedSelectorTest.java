@@ -0,0 +1,44 @@
+package monolithic.discovery.select;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import monolithic.discovery.model.Service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Perform testing on the {@link WeightedSelector} class.
+ */
+public class WeightedSelectorTest {
+    @Test
+    public void testEmpty() {
+        assertFalse(new WeightedSelector().select(Collections.emptyList()).isPresent());
+    }
+
+    @Test
+    public void test() {
+        final WeightedSelector selector = new WeightedSelector();
+        final Service small = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service large =
+                new Service("system", "1.2.3", "host2", 1234, false, ImmutableMap.of(Service.WEIGHT, "900"));
+        final List<Service> services = Arrays.asList(small, large);
+
+        final Map<Service, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            counts.merge(selector.select(services).get(), 1, Integer::sum);
+        }
+        // The large service has nine times the weight, so it should receive most of the requests.
+        assertEquals(2, counts.size());
+        assertTrue(counts.get(large) > counts.get(small) * 4);
+    }
+}
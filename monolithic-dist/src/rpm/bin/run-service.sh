@@ -7,6 +7,7 @@ CONFIG_DIR="/etc/sysconfig/${SERVICE}"
 LIB_DIR="/opt/${SERVICE}/current/lib"
 LOG_DIR="/var/log/${SERVICE}"
 VAR_DIR="/var/run/${SERVICE}"
+CDS_DIR="/opt/${SERVICE}/current/cds"
 
 DEFAULT_MEMORY_OPTIONS="-Xmx200m -Xms200m"
 
@@ -25,6 +26,35 @@ _set_classpath() {
     export CLASSPATH="${CONFIG_DIR}/*:${LIB_DIR}/*"
 }
 
+# Whether the JVM supports dynamic class data sharing archives. The answer is remembered in the archive directory for
+# each JVM, so the JVM is only probed again after it changes instead of on every launch.
+_supports_dynamic_cds() {
+    JAVA_BIN="$(readlink -f "$(command -v java)")"
+    PROBE_FILE="${CDS_DIR}/dynamic-archive.probe"
+    if [[ ! -f "${PROBE_FILE}" ]] || [[ "$(head -n 1 "${PROBE_FILE}")" != "${JAVA_BIN}" ]]; then
+        if java -XX:+PrintFlagsFinal -version 2>/dev/null | grep -q ArchiveClassesAtExit; then
+            printf '%s\n%s\n' "${JAVA_BIN}" "yes" > "${PROBE_FILE}"
+        else
+            printf '%s\n%s\n' "${JAVA_BIN}" "no" > "${PROBE_FILE}"
+        fi
+    fi
+    [[ "$(tail -n 1 "${PROBE_FILE}")" == "yes" ]]
+}
+
+# Set the class data sharing options. An existing archive of the loaded classes is used to speed up startup. Otherwise,
+# when the JVM supports dynamic archives, this run becomes the training run and the archive is written on exit.
+# Delete the archive to force a new training run (after a JVM upgrade, for example).
+_set_cds_options() {
+    CDS_ARCHIVE="${CDS_DIR}/service.jsa"
+    if [[ -f "${CDS_ARCHIVE}" ]]; then
+        CDS_OPTS="-XX:SharedArchiveFile=${CDS_ARCHIVE} -Xshare:auto"
+    elif [[ -w "${CDS_DIR}" ]] && _supports_dynamic_cds; then
+        CDS_OPTS="-XX:ArchiveClassesAtExit=${CDS_ARCHIVE}"
+    else
+        CDS_OPTS=""
+    fi
+}
+
 # Start the specified service.
 _start() {
     # Load configuration parameters if available. The files in the configuration directory
@@ -40,12 +70,13 @@ _start() {
 
     SERVICE_CLASS="${SERVICE}.server.Server"
     _set_classpath
+    _set_cds_options
 
     LOG_CONFIG="-Dlogback.configurationFile=${CONFIG_DIR}/logback.xml"
     APP_CONFIG="-Dconfig.file=${CONFIG_DIR}/application.conf"
     STDOUT="${LOG_DIR}/${SERVICE}-stdout.log"
 
-    java ${JAVA_OPTS} ${LOG_CONFIG} ${APP_CONFIG} ${SERVICE_CLASS} &>${STDOUT} &
+    java ${JAVA_OPTS} ${CDS_OPTS} ${LOG_CONFIG} ${APP_CONFIG} ${SERVICE_CLASS} &>${STDOUT} &
 
     PID=$!
     STARTED=$?
@@ -11,4 +11,6 @@ rm -f /opt/${project.groupId}/current
 # Delete the symlink for the /etc/init.d service script.
 rm -f /etc/init.d/${project.groupId}
 
+# Delete the class data sharing archives generated for this version.
+rm -rf /opt/${project.groupId}/${project.version}/cds
 
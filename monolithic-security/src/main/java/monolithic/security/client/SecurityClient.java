@@ -1,8 +1,17 @@
 package monolithic.security.client;
 
 import com.google.gson.JsonParser;
+import com.typesafe.config.Config;
 
+import monolithic.common.config.ConfigKeys;
+import monolithic.common.route.Deadline;
 import monolithic.discovery.model.Service;
+import monolithic.discovery.select.HealthySelector;
+import monolithic.discovery.select.HedgedRequests;
+import monolithic.discovery.select.ServiceHealth;
+import monolithic.discovery.select.ServiceLoad;
+import monolithic.discovery.select.ServiceSelector;
+import monolithic.discovery.select.ServiceSelectorType;
 import monolithic.security.model.User;
 import monolithic.security.service.UserService;
 import monolithic.security.service.UserServiceException;
@@ -19,32 +28,56 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * Provides remote access over REST to the security service.
+ * Provides remote access over REST to the security service. Requests are spread across the security services by the
+ * {@link ServiceSelector} named in the {@code security.client.selector} configuration, leaving out the services
+ * ejected by the {@link ServiceHealth} circuit breaker after repeated failures. When {@code client.hedge.enabled} is
+ * set, a read that is slow to answer is also sent to a second security service, and whichever answers first is used.
  */
 public class SecurityClient implements UserService {
+    /**
+     * The path below which the security service end-points are mounted.
+     */
+    public final static String PATH = "user";
+
     @Nonnull
     private final ExecutorService executor;
     @Nonnull
     private final DiscoveryManager discoveryManager;
     @Nonnull
+    private final ServiceLoad load = new ServiceLoad();
+    @Nonnull
+    private final ServiceHealth health;
+    @Nonnull
+    private final ServiceSelector selector;
+    @Nonnull
+    private final HedgedRequests hedging;
+    @Nonnull
     private final OkHttpClient httpClient;
 
     /**
+     * @param config the static system configuration information
      * @param executor used to execute asynchronous processing of the configuration client
      * @param discoveryManager the service discovery manager used to find configuration service end-points
      * @param httpClient the HTTP client used to perform REST communication
      */
     public SecurityClient(
-            @Nonnull final ExecutorService executor, @Nonnull final DiscoveryManager discoveryManager,
-            @Nonnull final OkHttpClient httpClient) {
+            @Nonnull final Config config, @Nonnull final ExecutorService executor,
+            @Nonnull final DiscoveryManager discoveryManager, @Nonnull final OkHttpClient httpClient) {
         this.executor = Objects.requireNonNull(executor);
         this.discoveryManager = Objects.requireNonNull(discoveryManager);
-        this.httpClient = Objects.requireNonNull(httpClient);
+        final OkHttpClient.Builder builder = Objects.requireNonNull(httpClient).newBuilder();
+        this.health = ServiceHealth.install(config, builder);
+        this.selector = new HealthySelector(this.health,
+                ServiceSelectorType.parse(config.getString(ConfigKeys.SECURITY_CLIENT_SELECTOR.getKey()))
+                        .create(config, this.load));
+        this.hedging = new HedgedRequests(config);
+        this.httpClient = builder.addInterceptor(this.load).build();
     }
 
     /**
@@ -64,7 +97,39 @@ public class SecurityClient implements UserService {
     }
 
     /**
-     * @return the service discovery manager used to find configuration service end-points
+     * @return the {@link ServiceLoad} tracking the latency and requests in flight for each security service
+     */
+    @Nonnull
+    protected ServiceLoad getLoad() {
+        return this.load;
+    }
+
+    /**
+     * @return the {@link ServiceHealth} circuit breaker tracking which security services are ejected
+     */
+    @Nonnull
+    protected ServiceHealth getHealth() {
+        return this.health;
+    }
+
+    /**
+     * @return the {@link ServiceSelector} used to choose the security service receiving each request
+     */
+    @Nonnull
+    protected ServiceSelector getSelector() {
+        return this.selector;
+    }
+
+    /**
+     * @return the {@link HedgedRequests} used to send reads to a second security service when the first is slow
+     */
+    @Nonnull
+    protected HedgedRequests getHedging() {
+        return this.hedging;
+    }
+
+    /**
+     * @return the HTTP client used to perform REST communication, which records the load on each security service
      */
     @Nonnull
     protected OkHttpClient getHttpClient() {
@@ -72,18 +137,31 @@ public class SecurityClient implements UserService {
     }
 
     /**
-     * @return a randomly chosen {@link Service} object from service discovery to use when connecting to the security
-     * service
-     * @throws DiscoveryException if there is a problem retrieving a random {@link Service}
-     * @throws UserServiceException if there no random security {@link Service} objects are available
+     * @return the {@link Service} object from service discovery chosen by the {@link ServiceSelector} to use when
+     * connecting to the security service
+     * @throws DiscoveryException if there is a problem retrieving the available {@link Service} objects
+     * @throws UserServiceException if there no security {@link Service} objects are available
      */
     @Nonnull
-    protected Service getRandom() throws DiscoveryException, UserServiceException {
-        final Optional<Service> random = getDiscoveryManager().getRandom();
-        if (!random.isPresent()) {
+    protected Service select() throws DiscoveryException, UserServiceException {
+        final Optional<Service> selected = getDiscoveryManager().select(getSelector());
+        if (!selected.isPresent()) {
             throw new UserServiceException("Unable to find a running security service");
         }
-        return random.get();
+        return selected.get();
+    }
+
+    /**
+     * @return a request builder including the {@link Deadline} of the request, based on the read timeout of the client
+     */
+    @Nonnull
+    protected Request.Builder newRequest() {
+        final Request.Builder builder = new Request.Builder();
+        final int timeout = getHttpClient().readTimeoutMillis();
+        if (timeout > 0) {
+            builder.header(Deadline.HEADER, Deadline.after(timeout, TimeUnit.MILLISECONDS).toHeader());
+        }
+        return builder;
     }
 
     /**
@@ -108,14 +186,19 @@ public class SecurityClient implements UserService {
 
     /**
      * @param url the base url path from which a {@link User} object will be retrieved
-     * @return an {@link Optional} {@link User}, possibly empty if not found, wrapped in a {@link Future}
+     * @return an {@link Optional} {@link User}, possibly empty if not found, wrapped in a {@link Future}, retrieved
+     * from the security service answering first when the read is hedged
      */
     @Nonnull
     protected Future<Optional<User>> get(@Nonnull final String url) {
         Objects.requireNonNull(url);
         return getExecutor().submit(() -> {
-            final Request request = new Request.Builder().url(getRandom().asUrl() + url).get().build();
-            return handleResponse(getHttpClient().newCall(request).execute());
+            final Service primary = select();
+            return getHedging().call(primary, () -> getDiscoveryManager().selectExcluding(getSelector(), primary),
+                    service -> {
+                        final Request request = newRequest().url(service.asUrl() + PATH + "/" + url).get().build();
+                        return handleResponse(getHttpClient().newCall(request).execute());
+                    });
         });
     }
 
@@ -147,7 +230,7 @@ public class SecurityClient implements UserService {
         return getExecutor().submit(() -> {
             final RequestBody body =
                     RequestBody.create(MediaType.parse("application/json; charset=utf-8"), user.toJson().toString());
-            final Request request = new Request.Builder().url(getRandom().asUrl()).post(body).build();
+            final Request request = newRequest().url(select().asUrl() + PATH).post(body).build();
             return handleResponse(getHttpClient().newCall(request).execute());
         });
     }
@@ -160,7 +243,7 @@ public class SecurityClient implements UserService {
     public Future<Optional<User>> remove(@Nonnull final String id) {
         Objects.requireNonNull(id);
         return getExecutor().submit(() -> {
-            final Request request = new Request.Builder().url(getRandom().asUrl() + id).delete().build();
+            final Request request = newRequest().url(select().asUrl() + PATH + "/" + id).delete().build();
             return handleResponse(getHttpClient().newCall(request).execute());
         });
     }
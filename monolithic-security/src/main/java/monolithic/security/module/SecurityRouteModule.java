@@ -0,0 +1,80 @@
+package monolithic.security.module;
+
+import com.typesafe.config.Config;
+
+import monolithic.security.route.GetById;
+import monolithic.security.route.GetByName;
+import monolithic.security.route.Remove;
+import monolithic.security.route.Save;
+import monolithic.security.service.MemoryUserService;
+import monolithic.security.service.UserService;
+import monolithic.server.Server;
+import monolithic.server.module.RouteModule;
+import monolithic.server.module.RouteRegistry;
+
+import java.util.Objects;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Mounts the user account end-points, backed by a single {@link UserService} shared by all of the routes, below the
+ * {@code /user} path used by the {@link monolithic.security.client.SecurityClient}. Keeping the user end-points below
+ * their own path allows this module to run alongside the configuration module, which is mounted at the root.
+ */
+public class SecurityRouteModule implements RouteModule {
+    /**
+     * The name of this module, as used in the {@code server.modules} configuration.
+     */
+    public final static String NAME = "security";
+
+    @Nonnull
+    private Optional<UserService> userService = Optional.empty();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * @return the {@link UserService} used by the routes in this module, if the module has been started
+     */
+    @Nonnull
+    public synchronized Optional<UserService> getUserService() {
+        return this.userService;
+    }
+
+    @Nonnull
+    protected UserService createUserService(@Nonnull final Server server) {
+        Objects.requireNonNull(server);
+        return new MemoryUserService();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void start(@Nonnull final Server server, @Nonnull final RouteRegistry routes) {
+        Objects.requireNonNull(routes);
+        final UserService service = createUserService(Objects.requireNonNull(server));
+        this.userService = Optional.of(service);
+
+        final Config config = server.getConfig();
+        routes.get("/user/id/:id", new GetById(config, service));
+        routes.get("/user/name/:name", new GetByName(config, service));
+        routes.post("/user", new Save(config, service));
+        routes.delete("/user/:id", new Remove(config, service));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() {
+        this.userService = Optional.empty();
+    }
+}
@@ -13,7 +13,6 @@ import spark.Response;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
@@ -45,7 +44,7 @@ public class GetByName extends BaseUserRoute {
             return "Invalid request, a user name must be provided";
         } else {
             final Future<Optional<User>> future = getUserService().getByName(name);
-            final Optional<User> value = future.get(10, TimeUnit.SECONDS);
+            final Optional<User> value = getDeadline(request).get(future);
 
             if (value.isPresent()) {
                 response.status(HttpServletResponse.SC_OK);
@@ -13,7 +13,6 @@ import spark.Response;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
@@ -44,7 +43,7 @@ public class Save extends BaseUserRoute {
 
             final User user = new User(new JsonParser().parse(body).getAsJsonObject());
             final Future<Optional<User>> future = getUserService().save(user);
-            final Optional<User> oldValue = future.get(10, TimeUnit.SECONDS);
+            final Optional<User> oldValue = getDeadline(request).get(future);
 
             if (oldValue.isPresent()) {
                 response.status(HttpServletResponse.SC_OK);
@@ -0,0 +1,46 @@
+package monolithic.security.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.security.route.GetById;
+import monolithic.security.route.GetByName;
+import monolithic.security.route.Remove;
+import monolithic.security.route.Save;
+import monolithic.security.service.MemoryUserService;
+import monolithic.server.Server;
+import monolithic.server.module.RouteRegistry;
+
+/**
+ * Perform testing on the {@link SecurityRouteModule} class.
+ */
+public class SecurityRouteModuleTest {
+    @Test
+    public void test() {
+        final Server server = Mockito.mock(Server.class);
+        Mockito.when(server.getConfig()).thenReturn(ConfigFactory.load());
+        final RouteRegistry routes = Mockito.mock(RouteRegistry.class);
+
+        final SecurityRouteModule module = new SecurityRouteModule();
+        assertEquals(SecurityRouteModule.NAME, module.getName());
+        assertFalse(module.getUserService().isPresent());
+
+        module.start(server, routes);
+        assertTrue(module.getUserService().isPresent());
+        assertTrue(module.getUserService().get() instanceof MemoryUserService);
+
+        Mockito.verify(routes).get(Mockito.eq("/user/id/:id"), Mockito.any(GetById.class));
+        Mockito.verify(routes).get(Mockito.eq("/user/name/:name"), Mockito.any(GetByName.class));
+        Mockito.verify(routes).post(Mockito.eq("/user"), Mockito.any(Save.class));
+        Mockito.verify(routes).delete(Mockito.eq("/user/:id"), Mockito.any(Remove.class));
+
+        module.close();
+        assertFalse(module.getUserService().isPresent());
+    }
+}
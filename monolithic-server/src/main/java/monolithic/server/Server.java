@@ -16,18 +16,27 @@ import monolithic.curator.CuratorCreator;
 import monolithic.discovery.DiscoveryException;
 import monolithic.discovery.DiscoveryManager;
 import monolithic.discovery.model.Service;
+import monolithic.server.discovery.ServiceMetadataPublisher;
 import monolithic.server.filter.RequestLoggingFilter;
 import monolithic.server.filter.RequestSigningFilter;
+import monolithic.server.filter.RequestTracker;
+import monolithic.server.module.RouteModuleManager;
+import monolithic.server.module.RouteRegistry;
 import monolithic.server.port.PortManager;
 import monolithic.server.port.PortReservationException;
 import monolithic.server.route.ServiceControlRoute;
 import monolithic.server.route.ServiceInfoRoute;
 import monolithic.server.route.ServiceMemoryRoute;
+import monolithic.server.startup.ServerStartupException;
+import monolithic.server.startup.StartupTimer;
 import spark.Spark;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -35,7 +44,10 @@ import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 
 /**
- * The main class used to run the server.
+ * The main class used to run the server. Startup is organized as a small dependency graph so that independent steps
+ * run concurrently: the zookeeper connection is established in the background while the SSL configuration is
+ * prepared, service discovery starts in the background while the port is reserved and the web server binds, and the
+ * service registers with discovery once both of those have completed.
  */
 public class Server {
     private final static Logger LOG = LoggerFactory.getLogger(Server.class);
@@ -48,14 +60,22 @@ public class Server {
     @Nonnull
     private final ExecutorService executor;
     @Nonnull
-    private final CuratorFramework curator;
+    private final CompletableFuture<CuratorFramework> curator;
     @Nonnull
-    private final DiscoveryManager discoveryManager;
+    private final CompletableFuture<DiscoveryManager> discoveryManager;
     @Nonnull
     private final CryptoFactory cryptoFactory;
+    @Nonnull
+    private final RequestTracker requestTracker = new RequestTracker();
+    @Nonnull
+    private final StartupTimer startupTimer = new StartupTimer();
+    @Nonnull
+    private final RouteModuleManager routeModuleManager;
 
     @Nonnull
-    private Optional<Service> service;
+    private volatile Optional<Service> service;
+    @Nonnull
+    private volatile Optional<ServiceMetadataPublisher> publisher = Optional.empty();
     private boolean shouldRestart = false;
 
     /**
@@ -71,13 +91,28 @@ public class Server {
         this.serverStopLatch = Optional.of(Objects.requireNonNull(serverStopLatch));
 
         this.cryptoFactory = createCryptoFactory(this.config);
+        this.routeModuleManager = new RouteModuleManager(this.config);
         this.executor = createExecutor(config);
-        this.curator = CuratorCreator.create(config, cryptoFactory);
-        this.discoveryManager = createDiscoveryManager(this.config, this.curator);
+        this.curator = startAsync("zookeeper", () -> CuratorCreator.create(config, this.cryptoFactory));
+        this.discoveryManager = this.curator
+                .thenCompose(curator -> startAsync("discovery", () -> createDiscoveryManager(config, curator)));
 
         this.service = Optional.empty();
 
-        start();
+        try {
+            start();
+        } catch (final Exception startFailed) {
+            // The executor threads are not daemon threads, so everything started so far is released to let the JVM
+            // exit.
+            try {
+                stop();
+            } catch (final RuntimeException stopFailed) {
+                startFailed.addSuppressed(stopFailed);
+            } finally {
+                this.executor.shutdownNow();
+            }
+            throw startFailed;
+        }
     }
 
     /**
@@ -99,9 +134,10 @@ public class Server {
         this.config = Objects.requireNonNull(config);
         this.serverStopLatch = Optional.empty();
         this.executor = Objects.requireNonNull(executor);
-        this.curator = Objects.requireNonNull(curator);
-        this.discoveryManager = Objects.requireNonNull(discoveryManager);
+        this.curator = CompletableFuture.completedFuture(Objects.requireNonNull(curator));
+        this.discoveryManager = CompletableFuture.completedFuture(Objects.requireNonNull(discoveryManager));
         this.cryptoFactory = Objects.requireNonNull(cryptoFactory);
+        this.routeModuleManager = new RouteModuleManager(this.config);
 
         this.service = Optional.empty();
 
@@ -125,19 +161,21 @@ public class Server {
     }
 
     /**
-     * @return the {@link CuratorFramework} used to perform communication with zookeeper
+     * @return the {@link CuratorFramework} used to perform communication with zookeeper, waiting for the connection
+     * to be established if it is still starting
      */
     @Nonnull
     public CuratorFramework getCurator() {
-        return this.curator;
+        return this.curator.join();
     }
 
     /**
-     * @return the {@link DiscoveryManager} used to manage available services
+     * @return the {@link DiscoveryManager} used to manage available services, waiting for service discovery to start
+     * if it is still starting
      */
     @Nonnull
     public DiscoveryManager getDiscoveryManager() {
-        return this.discoveryManager;
+        return this.discoveryManager.join();
     }
 
     /**
@@ -148,6 +186,30 @@ public class Server {
         return this.cryptoFactory;
     }
 
+    /**
+     * @return the {@link RequestTracker} keeping track of the requests currently being processed
+     */
+    @Nonnull
+    public RequestTracker getRequestTracker() {
+        return this.requestTracker;
+    }
+
+    /**
+     * @return the {@link StartupTimer} recording how long each of the service startup phases took
+     */
+    @Nonnull
+    public StartupTimer getStartupTimer() {
+        return this.startupTimer;
+    }
+
+    /**
+     * @return the {@link RouteModuleManager} managing the route modules running within this server
+     */
+    @Nonnull
+    public RouteModuleManager getRouteModuleManager() {
+        return this.routeModuleManager;
+    }
+
     /**
      * @return the {@link CountDownLatch} tracking the running server process
      */
@@ -164,6 +226,15 @@ public class Server {
         return this.service;
     }
 
+    /**
+     * @return the {@link ServiceMetadataPublisher} keeping the service registration up to date, possibly not present if
+     * the service has not registered with service discovery
+     */
+    @Nonnull
+    public Optional<ServiceMetadataPublisher> getPublisher() {
+        return this.publisher;
+    }
+
     /**
      * @return whether the service should be restarted
      */
@@ -189,6 +260,11 @@ public class Server {
         return new DiscoveryManager(Objects.requireNonNull(config), Objects.requireNonNull(curator));
     }
 
+    @Nonnull
+    protected ServiceMetadataPublisher createPublisher(@Nonnull final Service service) {
+        return new ServiceMetadataPublisher(getConfig(), getDiscoveryManager(), getRequestTracker(), service);
+    }
+
     @Nonnull
     protected ExecutorService createExecutor(@Nonnull final Config config) {
         return Executors.newFixedThreadPool(config.getInt(ConfigKeys.EXECUTOR_THREADS.getKey()));
@@ -199,6 +275,55 @@ public class Server {
         return new CryptoFactory(Objects.requireNonNull(config));
     }
 
+    @Nonnull
+    protected <T> CompletableFuture<T> startAsync(@Nonnull final String phase, @Nonnull final Callable<T> step) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        getExecutor().submit(() -> {
+            try {
+                future.complete(getStartupTimer().time(phase, step));
+            } catch (final Exception exception) {
+                future.completeExceptionally(exception);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * @param phase the name of the startup phase completing the future
+     * @param future the future on which to wait
+     * @param <T> the type of value provided by the future
+     * @return the value provided by the future
+     * @throws EncryptionException if the startup phase failed to decrypt its configuration
+     * @throws ServerStartupException if the startup phase failed for any other reason, or if interrupted
+     */
+    protected static <T> T await(@Nonnull final String phase, @Nonnull final CompletableFuture<T> future)
+            throws EncryptionException, ServerStartupException {
+        try {
+            return future.get();
+        } catch (final ExecutionException failed) {
+            if (failed.getCause() instanceof EncryptionException) {
+                throw (EncryptionException) failed.getCause();
+            }
+            throw new ServerStartupException("Failed to start " + phase, failed.getCause());
+        } catch (final InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw new ServerStartupException("Interrupted while waiting for " + phase, interrupted);
+        }
+    }
+
+    /**
+     * @param future the future providing a resource started in the background
+     * @param <T> the type of resource provided by the future
+     * @return the resource, or empty if it has not finished starting or failed to start
+     */
+    @Nonnull
+    protected static <T> Optional<T> getIfStarted(@Nonnull final CompletableFuture<T> future) {
+        if (future.isDone() && !future.isCompletedExceptionally() && !future.isCancelled()) {
+            return Optional.of(future.join());
+        }
+        return Optional.empty();
+    }
+
     protected void configurePort(@Nonnull final Reservation reservation) {
         Spark.port(reservation.getPort());
     }
@@ -232,10 +357,24 @@ public class Server {
         Spark.before(new RequestSigningFilter(config, cryptoFactory));
     }
 
+    @Nonnull
+    protected RouteRegistry createRouteRegistry() {
+        return new RouteRegistry(getRequestTracker());
+    }
+
     protected void configureRoutes() {
-        Spark.get("/service/info", new ServiceInfoRoute(getConfig()));
-        Spark.get("/service/memory", new ServiceMemoryRoute(getConfig()));
-        Spark.get("/service/control/:action", new ServiceControlRoute(this));
+        final RouteRegistry routes = createRouteRegistry();
+        routes.get("/service/info", new ServiceInfoRoute(getConfig(), getStartupTimer()));
+        routes.get("/service/memory", new ServiceMemoryRoute(getConfig()));
+        routes.get("/service/control/:action", new ServiceControlRoute(this));
+    }
+
+    protected void configureModules() throws ServerStartupException {
+        try {
+            getStartupTimer().time("modules", () -> getRouteModuleManager().start(this, createRouteRegistry()));
+        } catch (final Exception moduleFailed) {
+            throw new ServerStartupException("Failed to start the route modules", moduleFailed);
+        }
     }
 
     protected Reservation getPortReservation() throws PortReservationException {
@@ -245,35 +384,60 @@ public class Server {
     }
 
     /**
-     * Start the service.
+     * Start the service. The zookeeper connection and service discovery may still be starting in the background when
+     * this method is invoked, so the SSL configuration is prepared first, then the port is reserved and the web server
+     * is configured (which binds in the background) while service discovery finishes starting.
+     *
      * @throws PortReservationException if there is a problem reserving the port for the service
      * @throws EncryptionException if there is a problem decrypting the SSL key store or trust store passwords
+     * @throws ServerStartupException if there is a problem connecting to zookeeper, starting service discovery or
+     *     starting the route modules
      */
-    public void start() throws PortReservationException, EncryptionException {
-        // Configure the service.
+    public void start() throws PortReservationException, EncryptionException, ServerStartupException {
+        // Overlaps with the zookeeper connection.
+        configureThreading();
+        final long securityStart = System.nanoTime();
+        configureSecurity();
+        getStartupTimer().record("security", securityStart);
+
+        // Reserving the port requires the zookeeper connection, and overlaps with service discovery startup.
+        await("zookeeper", this.curator);
+        final long portStart = System.nanoTime();
         final Reservation reservation = getPortReservation();
+        getStartupTimer().record("port", portStart);
 
+        // Jetty binds asynchronously once the routes are added.
+        final long jettyStart = System.nanoTime();
         configurePort(reservation);
-        configureThreading();
-        configureSecurity();
         configureRequestLogger();
         configureRequestSigner(getConfig(), getCryptoFactory());
-        configureRoutes();
-
         final boolean ssl = getConfig().getBoolean(ConfigKeys.SSL_ENABLED.getKey());
         final String name = getConfig().getString(ConfigKeys.SYSTEM_NAME.getKey());
         final String version = getConfig().getString(ConfigKeys.SYSTEM_VERSION.getKey());
         this.service = Optional.of(new Service(name, version, reservation.getHost(), reservation.getPort(), ssl));
 
+        configureRoutes();
+        // The modules may need to know the service address, so they are started once it is known.
+        configureModules();
+
+        // Make sure service discovery started successfully before the service is considered running.
+        await("discovery", this.discoveryManager);
+
         // Register with service discovery once the server has started.
         this.executor.submit(() -> {
             Spark.awaitInitialization();
-            LOG.info("Service {} started on {}:{}", name, reservation.getHost(), reservation.getPort());
+            getStartupTimer().record("jetty", jettyStart);
 
             try {
                 if (getService().isPresent()) {
-                    getDiscoveryManager().register(getService().get());
+                    final ServiceMetadataPublisher publisher = createPublisher(getService().get());
+                    this.publisher = Optional.of(publisher);
+                    publisher.register();
                 }
+                getStartupTimer().finish();
+                LOG.info("Service {} started on {}:{} in {} ms, phase timings: {}", name, reservation.getHost(),
+                        reservation.getPort(), getStartupTimer().getTimings().get(StartupTimer.TOTAL),
+                        getStartupTimer().getTimings());
             } catch (final DiscoveryException registerFailed) {
                 LOG.error("Failed to register with service discovery", registerFailed);
                 stop();
@@ -282,21 +446,55 @@ public class Server {
     }
 
     /**
-     * Stop the service.
+     * Remove the service from service discovery.
      */
-    public void stop() {
+    protected void unregister() {
         try {
-            if (getService().isPresent()) {
-                getDiscoveryManager().unregister(getService().get());
-                this.service = Optional.empty();
+            if (getPublisher().isPresent()) {
+                getPublisher().get().unregister();
+                this.publisher = Optional.empty();
+            } else if (getService().isPresent()) {
+                final Optional<DiscoveryManager> discoveryManager = getIfStarted(this.discoveryManager);
+                if (discoveryManager.isPresent()) {
+                    discoveryManager.get().unregister(getService().get());
+                }
             }
+            this.service = Optional.empty();
         } catch (final DiscoveryException unregisterFailed) {
             // Not really an issue because the ephemeral registration will disappear automatically soon.
             LOG.warn("Failed to unregister with service discovery", unregisterFailed);
         }
+    }
+
+    /**
+     * Drain the service by publishing that it is draining and removing it from service discovery, so that clients stop
+     * sending new requests to it, letting the route modules end their long-poll requests, and then waiting (up to the
+     * configured drain timeout) for the requests already in progress to complete.
+     *
+     * @throws InterruptedException if interrupted while waiting for the in-flight requests to complete
+     */
+    public void drain() throws InterruptedException {
+        getPublisher().ifPresent(ServiceMetadataPublisher::drain);
+        unregister();
+        getRouteModuleManager().drain();
+
+        final long timeout = getConfig().getDuration(ConfigKeys.SERVER_DRAIN_TIMEOUT.getKey(), TimeUnit.MILLISECONDS);
+        LOG.info("Draining {} in-flight requests", getRequestTracker().getInFlight());
+        if (!getRequestTracker().awaitIdle(timeout, TimeUnit.MILLISECONDS)) {
+            LOG.warn("Drain timed out with {} requests still in flight", getRequestTracker().getInFlight());
+        }
+    }
+
+    /**
+     * Stop the service. Service discovery and the zookeeper connection are only closed when they start successfully,
+     * which may happen after this method returns when they are still starting in the background.
+     */
+    public void stop() {
+        unregister();
 
-        getDiscoveryManager().close();
-        getCurator().close();
+        getRouteModuleManager().close();
+        this.discoveryManager.thenAccept(DiscoveryManager::close);
+        this.curator.thenAccept(CuratorFramework::close);
         getExecutor().shutdown();
         Spark.stop();
 
@@ -5,14 +5,17 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.typesafe.config.Config;
 
+import monolithic.common.config.ConfigKeys;
 import monolithic.common.model.service.ServiceControlStatus;
 import monolithic.common.model.service.ServiceException;
 import monolithic.common.model.service.ServiceInfo;
 import monolithic.common.model.service.ServiceMemory;
+import monolithic.common.route.Deadline;
 import monolithic.crypto.CryptoFactory;
 import monolithic.crypto.model.ServiceRequest;
 import monolithic.crypto.model.ServiceResponse;
 import monolithic.discovery.model.Service;
+import monolithic.discovery.select.ServiceHealth;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Request.Builder;
@@ -20,11 +23,15 @@ import okhttp3.Response;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -34,7 +41,12 @@ import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * Provides remote access over REST to the base service routes.
+ * Provides remote access over REST to the base service routes. Requests to services ejected by the
+ * {@link ServiceHealth} circuit breaker after repeated failures fail immediately, rather than waiting for a timeout.
+ * Each operation is given a {@link Deadline}, shared by all the requests sent to multiple services, which is passed
+ * along to the services so they stop working on requests this client has given up on. Operations on multiple services
+ * send at most {@code client.fanout.max} requests at a time, and are also available with a
+ * {@link ServiceResultListener} receiving the outcome for each service as soon as it arrives.
  */
 public class ServerClient {
     @Nonnull
@@ -42,6 +54,8 @@ public class ServerClient {
     @Nonnull
     private final ExecutorService executor;
     @Nonnull
+    private final ServiceHealth health;
+    @Nonnull
     private final OkHttpClient httpClient;
     @Nonnull
     private final CryptoFactory cryptoFactory;
@@ -57,7 +71,9 @@ public class ServerClient {
             @Nonnull final OkHttpClient httpClient, @Nonnull final CryptoFactory cryptoFactory) {
         this.config = Objects.requireNonNull(config);
         this.executor = Objects.requireNonNull(executor);
-        this.httpClient = Objects.requireNonNull(httpClient);
+        final OkHttpClient.Builder builder = Objects.requireNonNull(httpClient).newBuilder();
+        this.health = ServiceHealth.install(this.config, builder);
+        this.httpClient = builder.build();
         this.cryptoFactory = Objects.requireNonNull(cryptoFactory);
     }
 
@@ -78,7 +94,15 @@ public class ServerClient {
     }
 
     /**
-     * @return the service discovery manager used to find configuration service end-points
+     * @return the {@link ServiceHealth} circuit breaker tracking which services are ejected
+     */
+    @Nonnull
+    protected ServiceHealth getHealth() {
+        return this.health;
+    }
+
+    /**
+     * @return the HTTP client used to perform REST communication, which tracks the health of each service
      */
     @Nonnull
     protected OkHttpClient getHttpClient() {
@@ -107,9 +131,37 @@ public class ServerClient {
     protected <T> T get(
             @Nonnull final Service service, @Nonnull final String url,
             @Nonnull final Converter<JsonObject, T> converter) throws IOException, ServiceException {
+        return get(service, url, converter, newDeadline());
+    }
+
+    /**
+     * @return a new {@link Deadline} for an operation performed by this client, using the default timeout
+     */
+    @Nonnull
+    protected Deadline newDeadline() {
+        return Deadline.after(Deadline.DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retrieve a {@link JsonObject} by calling the specified {@link Service} at the specified url path
+     *
+     * @param service   the {@link Service} to call with a REST request
+     * @param url       the URL path to invoke with a {@code GET} request on the service
+     * @param converter the {@link Converter} object used to transform the {@link JsonObject} into the return object
+     * @param deadline  the {@link Deadline} of the operation, which is passed along to the service
+     * @return the {@link JsonObject} returned from the service
+     * @throws IOException if there is a problem with I/O when fetching the data
+     * @throws ServiceException if there was a problem on the remote service
+     */
+    @Nonnull
+    protected <T> T get(
+            @Nonnull final Service service, @Nonnull final String url,
+            @Nonnull final Converter<JsonObject, T> converter, @Nonnull final Deadline deadline)
+            throws IOException, ServiceException {
         final ServiceRequest serviceRequest = new ServiceRequest();
         final Request request = new Builder().url(service.asUrl() + url)
-                .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString()).get().build();
+                .header(ServiceRequest.SERVICE_REQUEST_HEADER, serviceRequest.toJson().toString())
+                .header(Deadline.HEADER, deadline.toHeader()).get().build();
         final Response response = getHttpClient().newCall(request).execute();
         final String responseBody = response.body().string();
         switch (response.code()) {
@@ -127,33 +179,120 @@ public class ServerClient {
         }
     }
 
+    /**
+     * @return the maximum number of requests sent concurrently when calling multiple services
+     */
+    protected int getConcurrency() {
+        return Math.max(1, getConfig().getInt(ConfigKeys.CLIENT_FANOUT_MAX.getKey()));
+    }
+
+    /**
+     * Call each of the provided {@link Service} objects at the specified url path, with at most
+     * {@link #getConcurrency()} requests in flight, and pass each result or failure to the listener as soon as it
+     * arrives. All of the requests share the same {@link Deadline}, and the services that have not answered once it
+     * expires are reported as failed with a {@link TimeoutException}.
+     *
+     * @param services  the {@link Service} objects to call with a REST request
+     * @param url       the URL path to invoke with a {@code GET} request on the services
+     * @param converter the {@link Converter} object used to transform the {@link JsonObject} into the result object
+     * @param deadline  the {@link Deadline} of the operation, which is passed along to the services
+     * @param listener  the {@link ServiceResultListener} receiving the result or failure of each service
+     * @throws InterruptedException if interrupted while waiting for the services to answer
+     */
+    protected <T> void fanOut(
+            @Nonnull final Collection<Service> services, @Nonnull final String url,
+            @Nonnull final Converter<JsonObject, T> converter, @Nonnull final Deadline deadline,
+            @Nonnull final ServiceResultListener<? super T> listener) throws InterruptedException {
+        final Iterator<Service> pending = services.iterator();
+        final Map<Future<T>, Service> inFlight = new HashMap<>();
+        final CompletionService<T> completion = new ExecutorCompletionService<>(getExecutor());
+        final int concurrency = getConcurrency();
+        try {
+            while (pending.hasNext() || !inFlight.isEmpty()) {
+                while (pending.hasNext() && inFlight.size() < concurrency) {
+                    final Service service = pending.next();
+                    inFlight.put(completion.submit(() -> get(service, url, converter, deadline)), service);
+                }
+
+                final long remaining = deadline.getRemaining(TimeUnit.NANOSECONDS);
+                final Future<T> done = completion.poll(remaining, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    break;
+                }
+                final Service service = inFlight.remove(done);
+                try {
+                    listener.onResult(service, done.get());
+                } catch (final ExecutionException failed) {
+                    listener.onFailure(service, failed.getCause());
+                }
+            }
+        } finally {
+            inFlight.keySet().forEach(future -> future.cancel(true));
+        }
+
+        final String timeout = "No response before the deadline";
+        inFlight.values().stream().sorted()
+                .forEach(service -> listener.onFailure(service, new TimeoutException(timeout)));
+        pending.forEachRemaining(service -> listener.onFailure(service, new TimeoutException(timeout)));
+    }
+
+    /**
+     * Call each of the provided {@link Service} objects at the specified url path, passing each result or failure to
+     * the listener as soon as it arrives, so one slow service does not hold back the results from the others.
+     *
+     * @param services  the {@link Service} objects to call with a REST request
+     * @param url       the URL path to invoke with a {@code GET} request on the services
+     * @param converter the {@link Converter} object used to transform the {@link JsonObject} into the result object
+     * @param listener  the {@link ServiceResultListener} receiving the result or failure of each service
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    protected <T> Future<?> stream(
+            @Nonnull final Collection<Service> services, @Nonnull final String url,
+            @Nonnull final Converter<JsonObject, T> converter,
+            @Nonnull final ServiceResultListener<? super T> listener) {
+        Objects.requireNonNull(services);
+        Objects.requireNonNull(listener);
+        final Deadline deadline = newDeadline();
+        return getExecutor().submit(() -> {
+            fanOut(services, url, converter, deadline, listener);
+            return null;
+        });
+    }
+
     /**
      * Retrieve a {@link Map} containing the provided {@link Service} objects mapped to the {@link JsonObject}
-     * response by calling the specified {@link Service} at the specified url path.
+     * response by calling the specified {@link Service} at the specified url path. All of the requests share the
+     * same {@link Deadline}, so the whole operation completes within the default timeout.
      *
      * @param services  the {@link Service} objects to call with a REST request
      * @param url       the URL path to invoke with a {@code GET} request on the service
      * @param converter the {@link Converter} object used to transform the {@link JsonObject} into the return object
-     * @return the {@link JsonObject} returned from the service
+     * @return the {@link JsonObject} returned from the service, which fails if any of the services fail
      */
     @Nonnull
     protected <T> Future<Map<Service, T>> getMap(
             @Nonnull final Collection<Service> services, @Nonnull final String url,
             @Nonnull final Converter<JsonObject, T> converter) {
+        final Deadline deadline = newDeadline();
         return getExecutor().submit(() -> {
-            final Map<Service, Future<T>> futureMap = new TreeMap<>();
-            services.forEach(
-                    service -> futureMap.put(service, getExecutor().submit(() -> get(service, url, converter))));
-
             final Map<Service, T> map = new TreeMap<>();
-            for (final Entry<Service, Future<T>> entry : futureMap.entrySet()) {
-                try {
-                    map.put(entry.getKey(), entry.getValue().get(10, TimeUnit.SECONDS));
-                } catch (final InterruptedException | TimeoutException | ExecutionException failed) {
-                    final String service =
-                            String.format("%s:%d (%s)", entry.getKey().getHost(), entry.getKey().getPort());
-                    throw new ServiceException("Failed to retrieve response data for " + service, failed);
+            final Map<Service, Throwable> failures = new TreeMap<>();
+            fanOut(services, url, converter, deadline, new ServiceResultListener<T>() {
+                @Override
+                public void onResult(@Nonnull final Service service, @Nonnull final T result) {
+                    map.put(service, result);
+                }
+
+                @Override
+                public void onFailure(@Nonnull final Service service, @Nonnull final Throwable failure) {
+                    failures.put(service, failure);
                 }
+            });
+            if (!failures.isEmpty()) {
+                final Entry<Service, Throwable> failed = failures.entrySet().iterator().next();
+                final String service = String.format("%s:%d", failed.getKey().getHost(), failed.getKey().getPort());
+                throw new ServiceException("Failed to retrieve response data for " + service, failed.getValue());
             }
             return map;
         });
@@ -178,8 +317,20 @@ public class ServerClient {
     @Nonnull
     public Future<Map<Service, ServiceInfo>> getInfo(@Nonnull final Collection<Service> services) {
         Objects.requireNonNull(services);
-        return getExecutor().submit(() -> getMap(services, "service/info", new ServiceInfo.ServiceInfoConverter())
-                .get(10, TimeUnit.SECONDS));
+        return getMap(services, "service/info", new ServiceInfo.ServiceInfoConverter());
+    }
+
+    /**
+     * @param services the {@link Collection} of {@link Service} objects for which a {@link ServiceInfo} will be
+     *                 retrieved
+     * @param listener the {@link ServiceResultListener} receiving the {@link ServiceInfo} of each service as soon as
+     *                 it arrives
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    public Future<?> getInfo(
+            @Nonnull final Collection<Service> services, @Nonnull final ServiceResultListener<ServiceInfo> listener) {
+        return stream(services, "service/info", new ServiceInfo.ServiceInfoConverter(), listener);
     }
 
     /**
@@ -201,8 +352,21 @@ public class ServerClient {
     @Nonnull
     public Future<Map<Service, ServiceMemory>> getMemory(@Nonnull final Collection<Service> services) {
         Objects.requireNonNull(services);
-        return getExecutor().submit(() -> getMap(services, "service/memory", new ServiceMemory.ServiceMemoryConverter())
-                .get(10, TimeUnit.SECONDS));
+        return getMap(services, "service/memory", new ServiceMemory.ServiceMemoryConverter());
+    }
+
+    /**
+     * @param services the {@link Collection} of {@link Service} objects for which a {@link ServiceMemory} will be
+     *                 retrieved
+     * @param listener the {@link ServiceResultListener} receiving the {@link ServiceMemory} of each service as soon
+     *                 as it arrives
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    public Future<?> getMemory(
+            @Nonnull final Collection<Service> services,
+            @Nonnull final ServiceResultListener<ServiceMemory> listener) {
+        return stream(services, "service/memory", new ServiceMemory.ServiceMemoryConverter(), listener);
     }
 
     /**
@@ -226,9 +390,21 @@ public class ServerClient {
     protected Future<Map<Service, ServiceControlStatus>> control(
             @Nonnull final Collection<Service> services, @Nonnull final String url) {
         Objects.requireNonNull(services);
-        return getExecutor()
-                .submit(() -> getMap(services, url, new ServiceControlStatus.ServiceControlStatusConverter())
-                        .get(10, TimeUnit.SECONDS));
+        return getMap(services, url, new ServiceControlStatus.ServiceControlStatusConverter());
+    }
+
+    /**
+     * @param services the {@link Collection} of {@link Service} objects to be controlled
+     * @param url      the URL path of the control operation
+     * @param listener the {@link ServiceResultListener} receiving the {@link ServiceControlStatus} of each controlled
+     *                 service as soon as it arrives
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    protected Future<?> control(
+            @Nonnull final Collection<Service> services, @Nonnull final String url,
+            @Nonnull final ServiceResultListener<ServiceControlStatus> listener) {
+        return stream(services, url, new ServiceControlStatus.ServiceControlStatusConverter(), listener);
     }
 
     /**
@@ -250,6 +426,19 @@ public class ServerClient {
         return control(services, "service/control/stop");
     }
 
+    /**
+     * @param services the {@link Collection} of {@link Service} objects to be stopped
+     * @param listener the {@link ServiceResultListener} receiving the {@link ServiceControlStatus} of each stopped
+     *                 service as soon as it arrives
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    public Future<?> stop(
+            @Nonnull final Collection<Service> services,
+            @Nonnull final ServiceResultListener<ServiceControlStatus> listener) {
+        return control(services, "service/control/stop", listener);
+    }
+
     /**
      * @param service the {@link Service} to be restarted
      * @return the resulting {@link ServiceControlStatus} returned from the restarted service
@@ -268,4 +457,17 @@ public class ServerClient {
     public Future<Map<Service, ServiceControlStatus>> restart(@Nonnull final Collection<Service> services) {
         return control(services, "service/control/restart");
     }
+
+    /**
+     * @param services the {@link Collection} of {@link Service} objects to be restarted
+     * @param listener the {@link ServiceResultListener} receiving the {@link ServiceControlStatus} of each restarted
+     *                 service as soon as it arrives
+     * @return a {@link Future} that completes once every service has been passed to the listener
+     */
+    @Nonnull
+    public Future<?> restart(
+            @Nonnull final Collection<Service> services,
+            @Nonnull final ServiceResultListener<ServiceControlStatus> listener) {
+        return control(services, "service/control/restart", listener);
+    }
 }
@@ -0,0 +1,26 @@
+package monolithic.server.client;
+
+import monolithic.discovery.model.Service;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the outcome of a request sent to each of multiple services by the {@link ServerClient}, as soon as each
+ * service answers, so the results from the fast services are not held back by a slow one. Every service receives
+ * exactly one call, and the calls are made one at a time from a single thread.
+ *
+ * @param <T> the type of result returned by each service
+ */
+public interface ServiceResultListener<T> {
+    /**
+     * @param service the {@link Service} that answered the request
+     * @param result the result returned by the service
+     */
+    void onResult(@Nonnull Service service, @Nonnull T result);
+
+    /**
+     * @param service the {@link Service} that failed to answer the request, or did not answer it in time
+     * @param failure the reason the request failed
+     */
+    void onFailure(@Nonnull Service service, @Nonnull Throwable failure);
+}
@@ -0,0 +1,218 @@
+package monolithic.server.discovery;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.DiscoveryException;
+import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.model.Service;
+import monolithic.server.filter.RequestTracker;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Registers a running service with service discovery, along with metadata describing its capacity weight, zone, start
+ * time, current load and whether it is draining, so clients can balance their requests. The metadata is refreshed
+ * periodically, and zookeeper is only updated when the metadata has changed since it was last published. The load
+ * changes with almost every request, so a change in load alone is only published once the configured load interval
+ * has passed since the last update, which keeps the published load recent without writing to zookeeper constantly.
+ */
+public class ServiceMetadataPublisher implements AutoCloseable {
+    private final static Logger LOG = LoggerFactory.getLogger(ServiceMetadataPublisher.class);
+
+    @Nonnull
+    private final Config config;
+    @Nonnull
+    private final DiscoveryManager discoveryManager;
+    @Nonnull
+    private final RequestTracker requestTracker;
+    @Nonnull
+    private final Service service;
+    private final long startTime = System.currentTimeMillis();
+    @Nonnull
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean draining = false;
+    @Nonnull
+    private Optional<Service> published = Optional.empty();
+    private long publishedNanos = 0;
+
+    /**
+     * @param config the static system configuration information
+     * @param discoveryManager the {@link DiscoveryManager} with which the service is registered
+     * @param requestTracker the {@link RequestTracker} providing the current load of the service
+     * @param service the {@link Service} to register, without any metadata
+     */
+    public ServiceMetadataPublisher(
+            @Nonnull final Config config, @Nonnull final DiscoveryManager discoveryManager,
+            @Nonnull final RequestTracker requestTracker, @Nonnull final Service service) {
+        this.config = Objects.requireNonNull(config);
+        this.discoveryManager = Objects.requireNonNull(discoveryManager);
+        this.requestTracker = Objects.requireNonNull(requestTracker);
+        this.service = Objects.requireNonNull(service);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("service-metadata").setDaemon(true).build());
+    }
+
+    /**
+     * @return the static system configuration information
+     */
+    @Nonnull
+    protected Config getConfig() {
+        return this.config;
+    }
+
+    /**
+     * @return the {@link DiscoveryManager} with which the service is registered
+     */
+    @Nonnull
+    protected DiscoveryManager getDiscoveryManager() {
+        return this.discoveryManager;
+    }
+
+    /**
+     * @return the {@link RequestTracker} providing the current load of the service
+     */
+    @Nonnull
+    protected RequestTracker getRequestTracker() {
+        return this.requestTracker;
+    }
+
+    /**
+     * @return the {@link ScheduledExecutorService} used to refresh the metadata periodically
+     */
+    @Nonnull
+    protected ScheduledExecutorService getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * @return whether the service has been marked as draining
+     */
+    public boolean isDraining() {
+        return this.draining;
+    }
+
+    /**
+     * @return the current metadata describing the service
+     */
+    @Nonnull
+    public Map<String, String> getMetadata() {
+        final ImmutableMap.Builder<String, String> metadata = ImmutableMap.builder();
+        metadata.put(Service.WEIGHT, String.valueOf(getConfig().getInt(ConfigKeys.SERVER_WEIGHT.getKey())));
+        final String zone = StringUtils.trimToNull(getConfig().getString(ConfigKeys.SERVER_ZONE.getKey()));
+        if (zone != null) {
+            metadata.put(Service.ZONE, zone);
+        }
+        metadata.put(Service.START_TIME, String.valueOf(this.startTime));
+        metadata.put(Service.LOAD, String.valueOf(getRequestTracker().getInFlight()));
+        if (isDraining()) {
+            metadata.put(Service.DRAINING, String.valueOf(true));
+        }
+        return metadata.build();
+    }
+
+    /**
+     * @return the {@link Service} along with its current metadata
+     */
+    @Nonnull
+    public Service getService() {
+        return this.service.withMetadata(getMetadata());
+    }
+
+    /**
+     * @return the {@link Service} as last published to service discovery, if registered
+     */
+    @Nonnull
+    public synchronized Optional<Service> getPublished() {
+        return this.published;
+    }
+
+    /**
+     * Register the service with service discovery, and start refreshing its metadata periodically.
+     *
+     * @throws DiscoveryException if there is a problem registering the service
+     */
+    public synchronized void register() throws DiscoveryException {
+        final Service current = getService();
+        getDiscoveryManager().register(current);
+        this.published = Optional.of(current);
+        this.publishedNanos = System.nanoTime();
+
+        final long interval =
+                getConfig().getDuration(ConfigKeys.SERVER_METADATA_INTERVAL.getKey(), TimeUnit.MILLISECONDS);
+        getScheduler().scheduleWithFixedDelay(this::publish, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the minimum number of nanoseconds between updates caused only by a change in load
+     */
+    protected long getLoadIntervalNanos() {
+        return getConfig().getDuration(ConfigKeys.SERVER_METADATA_LOAD_INTERVAL.getKey(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Update the registration in service discovery if the metadata has changed since it was last published, or if
+     * only the load has changed and the load interval has passed since the last update.
+     */
+    public synchronized void publish() {
+        if (!this.published.isPresent()) {
+            return;
+        }
+        final Service current = getService();
+        final boolean loadChanged = current.getLoad() != this.published.get().getLoad()
+                && System.nanoTime() - this.publishedNanos >= getLoadIntervalNanos();
+        if (loadChanged || !current.hasSameMetadata(this.published.get())) {
+            try {
+                getDiscoveryManager().update(current);
+                this.published = Optional.of(current);
+                this.publishedNanos = System.nanoTime();
+            } catch (final DiscoveryException updateFailed) {
+                // Tried again on the next refresh.
+                LOG.warn("Failed to update the service metadata", updateFailed);
+            }
+        }
+    }
+
+    /**
+     * Mark the service as draining, and publish the change immediately so clients stop choosing it.
+     */
+    public void drain() {
+        this.draining = true;
+        publish();
+    }
+
+    /**
+     * Stop refreshing the metadata, and remove the service from service discovery.
+     *
+     * @throws DiscoveryException if there is a problem unregistering the service
+     */
+    public synchronized void unregister() throws DiscoveryException {
+        getScheduler().shutdownNow();
+        if (this.published.isPresent()) {
+            getDiscoveryManager().unregister(this.published.get());
+            this.published = Optional.empty();
+        }
+    }
+
+    /**
+     * Stop refreshing the metadata.
+     */
+    @Override
+    public void close() {
+        getScheduler().shutdownNow();
+    }
+}
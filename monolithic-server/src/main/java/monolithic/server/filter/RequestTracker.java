@@ -0,0 +1,84 @@
+package monolithic.server.filter;
+
+import spark.Route;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps track of the number of requests currently being processed by the service, so that a stopping service is able
+ * to wait for the in-flight requests to complete before the listener is closed. Each route is wrapped with
+ * {@link #track(Route)}, which records the completion of the request in a {@code finally} block. Spark after filters
+ * are not used for this, since they are skipped when a route throws an exception or halts, which would leave the
+ * request counted as in flight forever.
+ */
+public class RequestTracker {
+    private int inFlight = 0;
+
+    /**
+     * @param route the {@link Route} processing the requests
+     * @return a {@link Route} wrapping the provided route, which counts each request as in flight while it is
+     * processed, however the processing completes
+     */
+    @Nonnull
+    public Route track(@Nonnull final Route route) {
+        Objects.requireNonNull(route);
+        return (request, response) -> {
+            started();
+            try {
+                return route.handle(request, response);
+            } finally {
+                finished();
+            }
+        };
+    }
+
+    /**
+     * Record the start of a request.
+     */
+    public synchronized void started() {
+        this.inFlight++;
+    }
+
+    /**
+     * Record the completion of a request.
+     */
+    public synchronized void finished() {
+        if (this.inFlight > 0) {
+            this.inFlight--;
+        }
+        if (this.inFlight == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * @return the number of requests currently being processed
+     */
+    public synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    /**
+     * Wait for all of the in-flight requests to complete.
+     *
+     * @param timeout the maximum amount of time to wait
+     * @param unit the {@link TimeUnit} of the timeout value
+     * @return whether all of the in-flight requests completed before the timeout expired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitIdle(final long timeout, @Nonnull final TimeUnit unit)
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + Objects.requireNonNull(unit).toNanos(timeout);
+        while (this.inFlight > 0) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+}
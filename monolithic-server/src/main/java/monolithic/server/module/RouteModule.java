@@ -0,0 +1,45 @@
+package monolithic.server.module;
+
+import monolithic.common.index.IndexSubTypes;
+import monolithic.server.Server;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Defines a pluggable set of REST end-points, along with the services backing them, that can be mounted within a
+ * {@link Server}. Implementations are found at runtime using the sub-type index generated at compile time, must
+ * provide a public no-argument constructor, and are only started when their name is listed in the
+ * {@code server.modules} configuration.
+ */
+@IndexSubTypes
+public interface RouteModule extends AutoCloseable {
+    /**
+     * @return the unique name of this module, as used in the {@code server.modules} configuration
+     */
+    @Nonnull
+    String getName();
+
+    /**
+     * Create the services used by this module and mount the routes that use them. This is invoked once, so the
+     * services and route objects are shared by all of the requests processed by the server.
+     *
+     * @param server the {@link Server} within which this module is running
+     * @param routes the {@link RouteRegistry} used to mount the module routes
+     * @throws Exception if there is a problem starting the module
+     */
+    void start(@Nonnull Server server, @Nonnull RouteRegistry routes) throws Exception;
+
+    /**
+     * Invoked when the server starts draining, so the module can end the requests that would otherwise wait, like
+     * long-poll requests, rather than delay the server.
+     */
+    default void drain() {
+        // Nothing to do by default.
+    }
+
+    /**
+     * Release any resources held by the services in this module.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,161 @@
+package monolithic.server.module;
+
+import com.typesafe.config.Config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.common.index.SubTypeIndex;
+import monolithic.server.Server;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Responsible for loading the {@link RouteModule} implementations listed in the {@code server.modules} configuration,
+ * starting them in the configured order, and closing them in the reverse order when the server stops. Running several
+ * modules within the same server allows them to share services in-process rather than over the network.
+ */
+public class RouteModuleManager implements AutoCloseable {
+    private final static Logger LOG = LoggerFactory.getLogger(RouteModuleManager.class);
+
+    @Nonnull
+    private final Config config;
+    @Nonnull
+    private final List<RouteModule> started = new LinkedList<>();
+
+    /**
+     * @param config the static system configuration information
+     */
+    public RouteModuleManager(@Nonnull final Config config) {
+        this.config = Objects.requireNonNull(config);
+    }
+
+    /**
+     * @return the static system configuration information
+     */
+    @Nonnull
+    protected Config getConfig() {
+        return this.config;
+    }
+
+    /**
+     * @return all of the available modules, keyed by module name
+     * @throws IOException if there is a problem reading the module index
+     */
+    @Nonnull
+    protected Map<String, RouteModule> getAvailable() throws IOException {
+        final Map<String, RouteModule> available = new TreeMap<>();
+        for (final String className : SubTypeIndex.getSubTypeNames(RouteModule.class, getClass().getClassLoader())) {
+            createModule(className).ifPresent(module -> available.put(module.getName(), module));
+        }
+        return available;
+    }
+
+    @Nonnull
+    protected Optional<RouteModule> createModule(@Nonnull final String className) {
+        try {
+            final Class<? extends RouteModule> moduleClass =
+                    Class.forName(className, false, getClass().getClassLoader()).asSubclass(RouteModule.class);
+            if (!Modifier.isAbstract(moduleClass.getModifiers())) {
+                return Optional.of(moduleClass.getConstructor().newInstance());
+            }
+        } catch (final ReflectiveOperationException | ClassCastException | LinkageError failed) {
+            LOG.error("Route module class cannot be created: " + className);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the modules that have been started, in the order they were started
+     */
+    @Nonnull
+    public synchronized List<RouteModule> getModules() {
+        return Collections.unmodifiableList(new ArrayList<>(this.started));
+    }
+
+    /**
+     * @param moduleClass the type of module to find
+     * @param <T> the type of module to find
+     * @return the started module of the specified type, if available
+     */
+    @Nonnull
+    public synchronized <T extends RouteModule> Optional<T> getModule(@Nonnull final Class<T> moduleClass) {
+        Objects.requireNonNull(moduleClass);
+        return this.started.stream().filter(moduleClass::isInstance).map(moduleClass::cast).findFirst();
+    }
+
+    /**
+     * Start the configured modules, mounting their routes within the server.
+     *
+     * @param server the {@link Server} within which the modules are running
+     * @param routes the {@link RouteRegistry} used to mount the module routes
+     * @throws Exception if a configured module cannot be found, or there is a problem starting one of the modules
+     */
+    public synchronized void start(@Nonnull final Server server, @Nonnull final RouteRegistry routes)
+            throws Exception {
+        Objects.requireNonNull(server);
+        Objects.requireNonNull(routes);
+
+        final List<String> names = getConfig().getStringList(ConfigKeys.SERVER_MODULES.getKey());
+        if (names.isEmpty()) {
+            return;
+        }
+
+        final Map<String, RouteModule> available = getAvailable();
+        final Map<String, RouteModule> selected = new LinkedHashMap<>();
+        for (final String name : names) {
+            final RouteModule module = available.get(name);
+            if (module == null) {
+                throw new IllegalArgumentException("Unrecognized route module: " + name);
+            }
+            selected.put(name, module);
+        }
+
+        for (final RouteModule module : selected.values()) {
+            module.start(server, routes);
+            this.started.add(module);
+            LOG.info("Started route module {}", module.getName());
+        }
+    }
+
+    /**
+     * Notify the started modules that the server is draining.
+     */
+    public synchronized void drain() {
+        for (final RouteModule module : this.started) {
+            try {
+                module.drain();
+            } catch (final RuntimeException drainFailed) {
+                LOG.warn("Failed to drain route module " + module.getName(), drainFailed);
+            }
+        }
+    }
+
+    /**
+     * Close the started modules in the reverse order from which they were started.
+     */
+    @Override
+    public synchronized void close() {
+        while (!this.started.isEmpty()) {
+            final RouteModule module = this.started.remove(this.started.size() - 1);
+            try {
+                module.close();
+            } catch (final RuntimeException closeFailed) {
+                LOG.warn("Failed to close route module " + module.getName(), closeFailed);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package monolithic.server.module;
+
+import monolithic.server.filter.RequestTracker;
+import spark.Route;
+import spark.Spark;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Used by the server and each {@link RouteModule} to mount routes within the web server. Every route is tracked by the
+ * {@link RequestTracker}, so a draining server waits for the requests it is processing.
+ */
+public class RouteRegistry {
+    @Nonnull
+    private final RequestTracker requestTracker;
+
+    /**
+     * @param requestTracker the {@link RequestTracker} counting the requests processed by the mounted routes
+     */
+    public RouteRegistry(@Nonnull final RequestTracker requestTracker) {
+        this.requestTracker = Objects.requireNonNull(requestTracker);
+    }
+
+    /**
+     * @return the {@link RequestTracker} counting the requests processed by the mounted routes
+     */
+    @Nonnull
+    protected RequestTracker getRequestTracker() {
+        return this.requestTracker;
+    }
+    /**
+     * @param path the path to match in GET requests
+     * @param route the {@link Route} used to process the matching requests
+     */
+    public void get(@Nonnull final String path, @Nonnull final Route route) {
+        Spark.get(Objects.requireNonNull(path), getRequestTracker().track(Objects.requireNonNull(route)));
+    }
+
+    /**
+     * @param path the path to match in POST requests
+     * @param route the {@link Route} used to process the matching requests
+     */
+    public void post(@Nonnull final String path, @Nonnull final Route route) {
+        Spark.post(Objects.requireNonNull(path), getRequestTracker().track(Objects.requireNonNull(route)));
+    }
+
+    /**
+     * @param path the path to match in PUT requests
+     * @param route the {@link Route} used to process the matching requests
+     */
+    public void put(@Nonnull final String path, @Nonnull final Route route) {
+        Spark.put(Objects.requireNonNull(path), getRequestTracker().track(Objects.requireNonNull(route)));
+    }
+
+    /**
+     * @param path the path to match in DELETE requests
+     * @param route the {@link Route} used to process the matching requests
+     */
+    public void delete(@Nonnull final String path, @Nonnull final Route route) {
+        Spark.delete(Objects.requireNonNull(path), getRequestTracker().track(Objects.requireNonNull(route)));
+    }
+}
@@ -52,20 +52,24 @@ public class ServiceControlRoute extends BaseRoute {
     }
 
     /**
-     * Perform a stop, possibly followed by a start (if the {@code restart} parameter is true).
+     * Perform a stop, possibly followed by a start (if the {@code restart} parameter is true). The server is drained
+     * before it is stopped so that requests already in progress are allowed to complete. If the wait is interrupted,
+     * the server is stopped straight away.
      *
      * @param restart whether the server should be restarted
      */
     protected void stop(final boolean restart) {
         getServer().getExecutor().submit(() -> {
+            getServer().setShouldRestart(restart);
             try {
                 // Wait a little to allow for the response to make it back to the caller.
                 LOG.info("Scheduling server {}", restart ? "restart" : "shutdown");
                 delayBeforeAction();
-                getServer().setShouldRestart(restart);
-                getServer().stop();
+                getServer().drain();
             } catch (final InterruptedException interrupted) {
-                // Ignored.
+                Thread.currentThread().interrupt();
+            } finally {
+                getServer().stop();
             }
         });
     }
@@ -6,21 +6,47 @@ import com.typesafe.config.Config;
 import monolithic.common.config.ConfigKeys;
 import monolithic.common.model.service.ServiceInfo;
 import monolithic.common.route.BaseRoute;
+import monolithic.server.startup.StartupTimer;
 import spark.Request;
 import spark.Response;
 
+import java.util.Objects;
+import java.util.Optional;
+
 import javax.annotation.Nonnull;
 import javax.servlet.http.HttpServletResponse;
 
 /**
- * A base route that provides some information about the service like the name and version.
+ * A base route that provides some information about the service like the name and version, along with the startup
+ * phase timings when available.
  */
 public class ServiceInfoRoute extends BaseRoute {
+    @Nonnull
+    private final Optional<StartupTimer> startupTimer;
+
     /**
      * @param config the static system configuration information
      */
     public ServiceInfoRoute(@Nonnull final Config config) {
         super(config);
+        this.startupTimer = Optional.empty();
+    }
+
+    /**
+     * @param config the static system configuration information
+     * @param startupTimer the {@link StartupTimer} that recorded the service startup phase timings
+     */
+    public ServiceInfoRoute(@Nonnull final Config config, @Nonnull final StartupTimer startupTimer) {
+        super(config);
+        this.startupTimer = Optional.of(Objects.requireNonNull(startupTimer));
+    }
+
+    /**
+     * @return the {@link StartupTimer} that recorded the service startup phase timings, if available
+     */
+    @Nonnull
+    protected Optional<StartupTimer> getStartupTimer() {
+        return this.startupTimer;
     }
 
     /**
@@ -35,6 +61,9 @@ public class ServiceInfoRoute extends BaseRoute {
         final String systemName = getConfig().getString(ConfigKeys.SYSTEM_NAME.getKey());
         final String systemVersion = getConfig().getString(ConfigKeys.SYSTEM_VERSION.getKey());
 
+        if (getStartupTimer().isPresent()) {
+            return new ServiceInfo(systemName, systemVersion, getStartupTimer().get().getTimings()).toJson();
+        }
         return new ServiceInfo(systemName, systemVersion).toJson();
     }
 }
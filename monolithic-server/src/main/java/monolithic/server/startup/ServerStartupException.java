@@ -0,0 +1,33 @@
+package monolithic.server.startup;
+
+import javax.annotation.Nonnull;
+
+/**
+ * An exception thrown by the server when one of its startup phases, like connecting to zookeeper or starting service
+ * discovery, fails.
+ */
+public class ServerStartupException extends Exception {
+    private final static long serialVersionUID = 1L;
+
+    /**
+     * @param message the error message associated with the exception
+     */
+    public ServerStartupException(@Nonnull final String message) {
+        super(message);
+    }
+
+    /**
+     * @param cause the cause of the exception
+     */
+    public ServerStartupException(@Nonnull final Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * @param message the error message associated with the exception
+     * @param cause the cause of the exception
+     */
+    public ServerStartupException(@Nonnull final String message, @Nonnull final Throwable cause) {
+        super(message, cause);
+    }
+}
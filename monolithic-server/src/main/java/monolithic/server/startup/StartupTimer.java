@@ -0,0 +1,104 @@
+package monolithic.server.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Keeps track of how long each of the service startup phases takes. Phases may run concurrently, so the sum of the
+ * phase timings can be larger than the total startup time.
+ */
+public class StartupTimer {
+    private final static Logger LOG = LoggerFactory.getLogger(StartupTimer.class);
+
+    /**
+     * The name of the phase used to record the overall startup time.
+     */
+    public final static String TOTAL = "total";
+
+    private final long startNanos;
+    private final SortedMap<String, Long> timings = new TreeMap<>();
+
+    /**
+     * Create a new timer, with the total startup time measured from now.
+     */
+    public StartupTimer() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * A startup phase that does not produce a value.
+     */
+    @FunctionalInterface
+    public interface Phase {
+        /**
+         * @throws Exception if there is a problem performing the startup phase
+         */
+        void run() throws Exception;
+    }
+
+    /**
+     * @param phase the name of the startup phase
+     * @param step the startup phase to perform and time
+     * @param <T> the type of value produced by the startup phase
+     * @return the value produced by the startup phase
+     * @throws Exception if there is a problem performing the startup phase
+     */
+    public <T> T time(@Nonnull final String phase, @Nonnull final Callable<T> step) throws Exception {
+        final long start = System.nanoTime();
+        try {
+            return Objects.requireNonNull(step).call();
+        } finally {
+            record(phase, start);
+        }
+    }
+
+    /**
+     * @param phase the name of the startup phase
+     * @param step the startup phase to perform and time
+     * @throws Exception if there is a problem performing the startup phase
+     */
+    public void time(@Nonnull final String phase, @Nonnull final Phase step) throws Exception {
+        time(phase, () -> {
+            Objects.requireNonNull(step).run();
+            return null;
+        });
+    }
+
+    /**
+     * @param phase the name of the startup phase
+     * @param start the {@link System#nanoTime()} value captured when the startup phase began
+     */
+    public void record(@Nonnull final String phase, final long start) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        synchronized (this.timings) {
+            this.timings.put(Objects.requireNonNull(phase), millis);
+        }
+        LOG.info("Startup phase {} completed in {} ms", phase, millis);
+    }
+
+    /**
+     * Record the total startup time, measured from the creation of this timer.
+     */
+    public void finish() {
+        record(TOTAL, this.startNanos);
+    }
+
+    /**
+     * @return the number of milliseconds spent in each of the startup phases completed so far
+     */
+    @Nonnull
+    public SortedMap<String, Long> getTimings() {
+        synchronized (this.timings) {
+            return Collections.unmodifiableSortedMap(new TreeMap<>(this.timings));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package monolithic.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.Test;
+
+import monolithic.crypto.EncryptionException;
+import monolithic.server.startup.ServerStartupException;
+
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Perform testing on the startup helpers and startup failure handling of the {@link Server} class.
+ */
+public class ServerTest {
+    @Test
+    public void testAwait() throws Exception {
+        assertEquals("value", Server.await("phase", CompletableFuture.completedFuture("value")));
+    }
+
+    @Test
+    public void testAwaitFailure() throws Exception {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        final TimeoutException cause = new TimeoutException("Fake");
+        future.completeExceptionally(cause);
+        try {
+            Server.await("zookeeper", future);
+            fail("Expected a startup failure");
+        } catch (final ServerStartupException expected) {
+            assertEquals("Failed to start zookeeper", expected.getMessage());
+            assertEquals(cause, expected.getCause());
+        }
+    }
+
+    @Test(expected = EncryptionException.class)
+    public void testAwaitEncryptionFailure() throws Exception {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(new EncryptionException("Fake"));
+        Server.await("zookeeper", future);
+    }
+
+    @Test
+    public void testGetIfStarted() {
+        assertEquals(Optional.of("value"), Server.getIfStarted(CompletableFuture.completedFuture("value")));
+        assertFalse(Server.getIfStarted(new CompletableFuture<>()).isPresent());
+
+        final CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new TimeoutException("Fake"));
+        assertFalse(Server.getIfStarted(failed).isPresent());
+    }
+
+    @Test
+    public void testStartFailureReleasesResources() throws Exception {
+        final AtomicReference<ExecutorService> executor = new AtomicReference<>();
+        final CountDownLatch serverStopLatch = new CountDownLatch(1);
+        try {
+            new Server(ConfigFactory.load(), serverStopLatch) {
+                @Override
+                @Nonnull
+                protected ExecutorService createExecutor(@Nonnull final Config config) {
+                    executor.set(super.createExecutor(config));
+                    return executor.get();
+                }
+
+                @Override
+                @Nonnull
+                protected <T> CompletableFuture<T> startAsync(
+                        @Nonnull final String phase, @Nonnull final Callable<T> step) {
+                    final CompletableFuture<T> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(new TimeoutException("Fake"));
+                    return failed;
+                }
+            };
+            fail("Expected a startup failure");
+        } catch (final ServerStartupException expected) {
+            assertEquals("Failed to start zookeeper", expected.getMessage());
+        }
+
+        assertTrue(executor.get().isShutdown());
+        assertEquals(0, serverStopLatch.getCount());
+    }
+}
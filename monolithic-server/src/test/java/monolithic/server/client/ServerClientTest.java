@@ -0,0 +1,136 @@
+package monolithic.server.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Converter;
+import com.google.gson.JsonObject;
+import com.typesafe.config.ConfigFactory;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.common.model.service.ServiceException;
+import monolithic.common.model.service.ServiceInfo;
+import monolithic.common.route.Deadline;
+import monolithic.crypto.CryptoFactory;
+import monolithic.discovery.model.Service;
+import okhttp3.OkHttpClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Perform testing on the {@link ServerClient} class.
+ */
+public class ServerClientTest {
+    private final Service fast = new Service("system", "1.2.3", "host1", 1234, false);
+    private final Service failing = new Service("system", "1.2.3", "host2", 1234, false);
+    private final Service slow = new Service("system", "1.2.3", "host3", 1234, false);
+    private final Service other = new Service("system", "1.2.3", "host4", 1234, false);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private ServerClient getClient() {
+        return new ServerClient(ConfigFactory.load(), this.executor, new OkHttpClient(),
+                Mockito.mock(CryptoFactory.class)) {
+            @Override
+            protected int getConcurrency() {
+                return 2;
+            }
+
+            @Override
+            @Nonnull
+            protected Deadline newDeadline() {
+                return Deadline.after(500, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            @Nonnull
+            @SuppressWarnings("unchecked")
+            protected <T> T get(
+                    @Nonnull final Service service, @Nonnull final String url,
+                    @Nonnull final Converter<JsonObject, T> converter, @Nonnull final Deadline deadline)
+                    throws IOException, ServiceException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    if (service.equals(failing)) {
+                        throw new ServiceException("Failed");
+                    } else if (service.equals(slow)) {
+                        Thread.sleep(5000);
+                    }
+                    return (T) service.getHost();
+                } catch (final InterruptedException interrupted) {
+                    throw new IOException("Interrupted", interrupted);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+    }
+
+    @Test
+    public void testStream() throws Exception {
+        final Map<Service, Object> outcomes = new LinkedHashMap<>();
+        final List<Service> services = Arrays.asList(this.slow, this.failing, this.fast, this.other);
+        getClient().stream(services, "service/info", new ServiceInfo.ServiceInfoConverter(),
+                new ServiceResultListener<Object>() {
+                    @Override
+                    public void onResult(@Nonnull final Service service, @Nonnull final Object result) {
+                        outcomes.put(service, result);
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull final Service service, @Nonnull final Throwable failure) {
+                        outcomes.put(service, failure);
+                    }
+                }).get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, outcomes.size());
+        assertTrue(outcomes.get(this.failing) instanceof ServiceException);
+        assertEquals("host1", outcomes.get(this.fast));
+        assertEquals("host4", outcomes.get(this.other));
+        assertTrue(outcomes.get(this.slow) instanceof TimeoutException);
+        // The slow service only times out once the other services have answered.
+        assertEquals(this.slow, new ArrayList<>(outcomes.keySet()).get(3));
+        assertTrue(this.maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void testGetMap() throws Exception {
+        final Map<Service, ServiceInfo> map = getClient()
+                .getMap(Arrays.asList(this.fast, this.other), "service/info", new ServiceInfo.ServiceInfoConverter())
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(2, map.size());
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testGetMapFailure() throws Throwable {
+        try {
+            getClient().getMap(Arrays.asList(this.fast, this.failing), "service/info",
+                    new ServiceInfo.ServiceInfoConverter()).get(5, TimeUnit.SECONDS);
+        } catch (final ExecutionException failed) {
+            throw failed.getCause();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package monolithic.server.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.discovery.DiscoveryException;
+import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.model.Service;
+import monolithic.server.filter.RequestTracker;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link ServiceMetadataPublisher} class.
+ */
+public class ServiceMetadataPublisherTest {
+    private static Config getConfig(final String zone) {
+        final Map<String, ConfigValue> map = new HashMap<>();
+        map.put(ConfigKeys.SERVER_WEIGHT.getKey(), ConfigValueFactory.fromAnyRef(250));
+        map.put(ConfigKeys.SERVER_ZONE.getKey(), ConfigValueFactory.fromAnyRef(zone));
+        return ConfigFactory.parseMap(map).withFallback(ConfigFactory.load());
+    }
+
+    private static Config getConfigWithLoadInterval(final String interval) {
+        return ConfigFactory.parseMap(Collections.singletonMap(ConfigKeys.SERVER_METADATA_LOAD_INTERVAL.getKey(),
+                ConfigValueFactory.fromAnyRef(interval))).withFallback(getConfig(""));
+    }
+
+    @Test
+    public void testMetadata() {
+        final RequestTracker requestTracker = new RequestTracker();
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        try (final ServiceMetadataPublisher publisher = new ServiceMetadataPublisher(
+                getConfig("east"), Mockito.mock(DiscoveryManager.class), requestTracker, service)) {
+            requestTracker.started();
+            final Service current = publisher.getService();
+            assertEquals(service, current);
+            assertEquals(250, current.getWeight());
+            assertEquals(Optional.of("east"), current.getZone());
+            assertTrue(current.getStartTime().isPresent());
+            assertEquals(1, current.getLoad());
+            assertFalse(current.isDraining());
+        }
+
+        try (final ServiceMetadataPublisher publisher = new ServiceMetadataPublisher(
+                getConfig(" "), Mockito.mock(DiscoveryManager.class), requestTracker, service)) {
+            assertFalse(publisher.getService().getZone().isPresent());
+        }
+    }
+
+    @Test
+    public void testPublish() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        final RequestTracker requestTracker = new RequestTracker();
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        try (final ServiceMetadataPublisher publisher =
+                new ServiceMetadataPublisher(getConfig(""), discoveryManager, requestTracker, service)) {
+            // Nothing is published before the service registers.
+            publisher.publish();
+            Mockito.verifyZeroInteractions(discoveryManager);
+
+            publisher.register();
+            Mockito.verify(discoveryManager).register(Mockito.any());
+            assertTrue(publisher.getPublished().isPresent());
+
+            // Unchanged metadata is not published again.
+            publisher.publish();
+            Mockito.verify(discoveryManager, Mockito.never()).update(Mockito.any());
+
+            // A change in load alone is not published until the load interval has passed.
+            requestTracker.started();
+            publisher.publish();
+            Mockito.verify(discoveryManager, Mockito.never()).update(Mockito.any());
+
+            // The current load is published along with other changes.
+            publisher.drain();
+            assertTrue(publisher.isDraining());
+            final ArgumentCaptor<Service> updated = ArgumentCaptor.forClass(Service.class);
+            Mockito.verify(discoveryManager).update(updated.capture());
+            assertTrue(updated.getValue().isDraining());
+            assertEquals(1, updated.getValue().getLoad());
+
+            publisher.unregister();
+            Mockito.verify(discoveryManager).unregister(Mockito.any());
+            assertFalse(publisher.getPublished().isPresent());
+            assertTrue(publisher.getScheduler().isShutdown());
+        }
+    }
+
+    @Test
+    public void testPublishLoad() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        final RequestTracker requestTracker = new RequestTracker();
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        try (final ServiceMetadataPublisher publisher = new ServiceMetadataPublisher(
+                getConfigWithLoadInterval("0 seconds"), discoveryManager, requestTracker, service)) {
+            publisher.register();
+
+            // An unchanged load is not published again.
+            publisher.publish();
+            Mockito.verify(discoveryManager, Mockito.never()).update(Mockito.any());
+
+            // A change in load is published once the load interval has passed.
+            requestTracker.started();
+            publisher.publish();
+            final ArgumentCaptor<Service> updated = ArgumentCaptor.forClass(Service.class);
+            Mockito.verify(discoveryManager).update(updated.capture());
+            assertEquals(1, updated.getValue().getLoad());
+            assertEquals(1, publisher.getPublished().get().getLoad());
+        }
+    }
+
+    @Test
+    public void testPublishWithException() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.doThrow(new DiscoveryException("Fake")).when(discoveryManager).update(Mockito.any());
+        final RequestTracker requestTracker = new RequestTracker();
+        final Service service = new Service("system", "1.2.3", "host", 1234, false);
+        try (final ServiceMetadataPublisher publisher =
+                new ServiceMetadataPublisher(getConfig(""), discoveryManager, requestTracker, service)) {
+            publisher.register();
+            final Service registered = publisher.getPublished().get();
+
+            // The failed update is retried on the next refresh.
+            publisher.drain();
+            publisher.publish();
+            Mockito.verify(discoveryManager, Mockito.times(2)).update(Mockito.any());
+            assertFalse(publisher.getPublished().get().isDraining());
+            assertTrue(registered.hasSameMetadata(publisher.getPublished().get()));
+        }
+    }
+}
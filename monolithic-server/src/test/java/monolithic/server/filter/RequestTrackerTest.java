@@ -0,0 +1,96 @@
+package monolithic.server.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import spark.Request;
+import spark.Response;
+import spark.Route;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Perform testing of the {@link RequestTracker} class.
+ */
+public class RequestTrackerTest {
+    @Test
+    public void testTrack() throws Exception {
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        final RequestTracker tracker = new RequestTracker();
+        final AtomicInteger inFlight = new AtomicInteger(-1);
+        final Route route = tracker.track((req, res) -> {
+            inFlight.set(tracker.getInFlight());
+            return "result";
+        });
+
+        assertEquals(0, tracker.getInFlight());
+        assertEquals("result", route.handle(request, response));
+        assertEquals(1, inFlight.get());
+        assertEquals(0, tracker.getInFlight());
+    }
+
+    @Test
+    public void testTrackWhenRouteThrows() throws Exception {
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        final RequestTracker tracker = new RequestTracker();
+        final Route route = tracker.track((req, res) -> {
+            throw new TimeoutException("Fake");
+        });
+
+        try {
+            route.handle(request, response);
+            fail("Expected the route to throw");
+        } catch (final TimeoutException expected) {
+            // The request must no longer be counted as in flight.
+            assertEquals(0, tracker.getInFlight());
+            assertTrue(tracker.awaitIdle(10, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testFinishedNotNegative() {
+        final RequestTracker tracker = new RequestTracker();
+        tracker.finished();
+        assertEquals(0, tracker.getInFlight());
+    }
+
+    @Test
+    public void testAwaitIdleWhenIdle() throws Exception {
+        assertTrue(new RequestTracker().awaitIdle(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testAwaitIdleTimeout() throws Exception {
+        final RequestTracker tracker = new RequestTracker();
+        tracker.started();
+        assertFalse(tracker.awaitIdle(10, TimeUnit.MILLISECONDS));
+        assertEquals(1, tracker.getInFlight());
+    }
+
+    @Test
+    public void testAwaitIdleCompletes() throws Exception {
+        final RequestTracker tracker = new RequestTracker();
+        tracker.started();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Boolean> idle = executor.submit(() -> tracker.awaitIdle(5, TimeUnit.SECONDS));
+            tracker.finished();
+            assertTrue(idle.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package monolithic.server.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import monolithic.common.config.ConfigKeys;
+import monolithic.server.Server;
+import spark.Route;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Perform testing on the {@link RouteModuleManager} class.
+ */
+public class RouteModuleManagerTest {
+    private Config getConfig(final String... modules) {
+        return ConfigFactory.load()
+                .withValue(ConfigKeys.SERVER_MODULES.getKey(), ConfigValueFactory.fromIterable(Arrays.asList(modules)));
+    }
+
+    @Test
+    public void testGetAvailable() throws Exception {
+        final Map<String, RouteModule> available = new RouteModuleManager(getConfig()).getAvailable();
+        assertTrue(available.containsKey(TestRouteModule.NAME));
+        assertTrue(available.get(TestRouteModule.NAME) instanceof TestRouteModule);
+    }
+
+    @Test
+    public void testCreateModuleInvalid() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(RouteModuleManager.class)).setLevel(Level.OFF);
+
+        final RouteModuleManager manager = new RouteModuleManager(getConfig());
+        assertFalse(manager.createModule("monolithic.server.module.DoesNotExist").isPresent());
+        assertFalse(manager.createModule(String.class.getName()).isPresent());
+        assertFalse(manager.createModule(RouteModule.class.getName()).isPresent());
+    }
+
+    @Test
+    public void testStartNoModules() throws Exception {
+        final RouteRegistry routes = Mockito.mock(RouteRegistry.class);
+        final RouteModuleManager manager = new RouteModuleManager(ConfigFactory.load());
+        manager.start(Mockito.mock(Server.class), routes);
+
+        assertEquals(Collections.emptyList(), manager.getModules());
+        Mockito.verifyZeroInteractions(routes);
+    }
+
+    @Test
+    public void testStartAndClose() throws Exception {
+        final RouteRegistry routes = Mockito.mock(RouteRegistry.class);
+        final RouteModuleManager manager = new RouteModuleManager(getConfig(TestRouteModule.NAME));
+        manager.start(Mockito.mock(Server.class), routes);
+
+        assertEquals(1, manager.getModules().size());
+        final Optional<TestRouteModule> module = manager.getModule(TestRouteModule.class);
+        assertTrue(module.isPresent());
+        assertFalse(module.get().isClosed());
+        Mockito.verify(routes).get(Mockito.eq("/test"), Mockito.any(Route.class));
+
+        manager.drain();
+        assertTrue(module.get().isDrained());
+
+        manager.close();
+        assertTrue(module.get().isClosed());
+        assertEquals(Collections.emptyList(), manager.getModules());
+        assertFalse(manager.getModule(TestRouteModule.class).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStartUnrecognized() throws Exception {
+        final RouteModuleManager manager = new RouteModuleManager(getConfig("missing"));
+        manager.start(Mockito.mock(Server.class), Mockito.mock(RouteRegistry.class));
+    }
+}
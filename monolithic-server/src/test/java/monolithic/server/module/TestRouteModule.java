@@ -0,0 +1,70 @@
+package monolithic.server.module;
+
+import monolithic.server.Server;
+import spark.Route;
+
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link RouteModule} used during testing of the {@link RouteModuleManager}.
+ */
+public class TestRouteModule implements RouteModule {
+    /**
+     * The name of this test module.
+     */
+    public final static String NAME = "test";
+
+    private boolean drained = false;
+    private boolean closed = false;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * @return whether this module has been drained
+     */
+    public boolean isDrained() {
+        return this.drained;
+    }
+
+    /**
+     * @return whether this module has been closed
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void start(@Nonnull final Server server, @Nonnull final RouteRegistry routes) {
+        Objects.requireNonNull(server);
+        final Route route = (request, response) -> NAME;
+        Objects.requireNonNull(routes).get("/test", route);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void drain() {
+        this.drained = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+    }
+}
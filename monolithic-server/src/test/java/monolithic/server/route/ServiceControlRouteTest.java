@@ -10,6 +10,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +60,11 @@ public class ServiceControlRouteTest {
         assertNotNull(obj);
         assertTrue(obj instanceof JsonObject);
         assertEquals(new ServiceControlStatus(true, "stop"), new ServiceControlStatus((JsonObject) obj));
+
+        // The server should be drained before being stopped.
+        final InOrder inOrder = Mockito.inOrder(service);
+        inOrder.verify(service).drain();
+        inOrder.verify(service).stop();
     }
 
     @Test
@@ -91,6 +97,10 @@ public class ServiceControlRouteTest {
         assertNotNull(obj);
         assertTrue(obj instanceof JsonObject);
         assertEquals(new ServiceControlStatus(true, "stop"), new ServiceControlStatus((JsonObject) obj));
+
+        // The server is still stopped, without waiting for it to drain.
+        Mockito.verify(service, Mockito.never()).drain();
+        Mockito.verify(service).stop();
     }
 
     @Test
@@ -15,6 +15,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import monolithic.common.config.ConfigKeys;
+import monolithic.server.startup.StartupTimer;
 import spark.Request;
 import spark.Response;
 
@@ -45,4 +46,26 @@ public class ServiceInfoRouteTest {
         assertTrue(obj instanceof JsonObject);
         assertEquals("{\"systemName\":\"system-name\",\"systemVersion\":\"1.2.3\"}", obj.toString());
     }
+
+    @Test
+    public void testWithStartupTimer() {
+        final Map<String, ConfigValue> map = new HashMap<>();
+        map.put(ConfigKeys.SYSTEM_NAME.getKey(), ConfigValueFactory.fromAnyRef("system-name"));
+        map.put(ConfigKeys.SYSTEM_VERSION.getKey(), ConfigValueFactory.fromAnyRef("1.2.3"));
+        final Config config = ConfigFactory.parseMap(map).withFallback(ConfigFactory.load());
+        final StartupTimer startupTimer = new StartupTimer();
+        startupTimer.record("zookeeper", System.nanoTime());
+        final ServiceInfoRoute route = new ServiceInfoRoute(config, startupTimer);
+
+        final Request request = Mockito.mock(Request.class);
+        final Response response = Mockito.mock(Response.class);
+        final Object obj = route.handle(request, response);
+
+        Mockito.verify(response).status(HttpServletResponse.SC_OK);
+        Mockito.verify(response).type(MediaType.JSON_UTF_8.type());
+        assertNotNull(obj);
+        assertTrue(obj instanceof JsonObject);
+        assertEquals("{\"systemName\":\"system-name\",\"systemVersion\":\"1.2.3\",\"startupTimings\":"
+                + "{\"zookeeper\":0}}", obj.toString());
+    }
 }
@@ -0,0 +1,34 @@
+package monolithic.server.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Perform testing of the {@link ServerStartupException} class.
+ */
+public class ServerStartupExceptionTest {
+    @Test
+    public void testStringConstructor() {
+        final ServerStartupException exception = new ServerStartupException("error");
+        assertEquals("error", exception.getMessage());
+        assertNull(exception.getCause());
+    }
+
+    @Test
+    public void testThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ServerStartupException exception = new ServerStartupException(cause);
+        assertEquals("java.lang.Exception", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+
+    @Test
+    public void testStringThrowableConstructor() {
+        final Exception cause = new Exception();
+        final ServerStartupException exception = new ServerStartupException("error", cause);
+        assertEquals("error", exception.getMessage());
+        assertEquals(cause, exception.getCause());
+    }
+}
@@ -0,0 +1,50 @@
+package monolithic.server.startup;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.SortedMap;
+
+/**
+ * Perform testing on the {@link StartupTimer} class.
+ */
+public class StartupTimerTest {
+    @Test
+    public void testTime() throws Exception {
+        final StartupTimer timer = new StartupTimer();
+        assertTrue(timer.getTimings().isEmpty());
+
+        assertEquals("value", timer.time("first", () -> "value"));
+        timer.time("second", () -> Thread.sleep(5));
+        timer.finish();
+
+        final SortedMap<String, Long> timings = timer.getTimings();
+        assertEquals(3, timings.size());
+        assertTrue(timings.containsKey("first"));
+        assertTrue(timings.get("second") >= 5);
+        assertTrue(timings.get(StartupTimer.TOTAL) >= timings.get("second"));
+    }
+
+    @Test
+    public void testTimeFailure() throws Exception {
+        final StartupTimer timer = new StartupTimer();
+        try {
+            timer.time("failed", () -> {
+                throw new IOException("Fake");
+            });
+            fail("Expected an exception");
+        } catch (final IOException expected) {
+            assertEquals("Fake", expected.getMessage());
+        }
+        assertTrue(timer.getTimings().containsKey("failed"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testTimingsUnmodifiable() {
+        new StartupTimer().getTimings().put("phase", 1L);
+    }
+}
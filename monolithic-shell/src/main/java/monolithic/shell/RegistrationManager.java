@@ -1,18 +1,19 @@
 package monolithic.shell;
 
-import org.apache.commons.lang3.StringUtils;
-import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import monolithic.common.index.SubTypeIndex;
 import monolithic.shell.model.Command;
 import monolithic.shell.model.CommandPath;
 import monolithic.shell.model.Registration;
 import monolithic.shell.model.ShellEnvironment;
 
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.SortedSet;
@@ -22,24 +23,54 @@ import java.util.TreeSet;
 import javax.annotation.Nonnull;
 
 /**
- * Responsible for managing all of the command registrations.
+ * Responsible for managing all of the command registrations. The available command classes are read from the index
+ * generated at compile time, and the commands are only created (and their registrations retrieved) the first time the
+ * registrations are needed.
  */
 public class RegistrationManager {
     private final static Logger LOG = LoggerFactory.getLogger(RegistrationManager.class);
 
     @Nonnull
     private final TreeMap<Registration, Command> registrations = new TreeMap<>();
+    @Nonnull
+    private SortedSet<String> commandClassNames = Collections.emptySortedSet();
+    @Nonnull
+    private Optional<ShellEnvironment> shellEnvironment = Optional.empty();
+    private boolean loaded = true;
 
     /**
      * @param shellEnvironment the {@link ShellEnvironment} providing the necessary objects used within the commands
      */
-    public void loadCommands(@Nonnull final ShellEnvironment shellEnvironment) {
-        final String packagePrefix = StringUtils.substringBeforeLast(getClass().getPackage().getName(), ".");
-        final Reflections reflections = new Reflections(packagePrefix);
+    public synchronized void loadCommands(@Nonnull final ShellEnvironment shellEnvironment) {
+        try {
+            this.commandClassNames = SubTypeIndex.getSubTypeNames(Command.class, getClass().getClassLoader());
+        } catch (final IOException indexFailed) {
+            LOG.error("Failed to read the shell command index", indexFailed);
+        }
+        this.shellEnvironment = Optional.of(Objects.requireNonNull(shellEnvironment));
+        this.loaded = false;
+    }
 
-        reflections.getSubTypesOf(Command.class).stream().map(clazz -> createCommand(clazz, shellEnvironment))
-                .filter(Optional::isPresent).map(Optional::get).forEach(command -> command.getRegistrations()
-                .forEach(registration -> this.registrations.put(registration, command)));
+    @Nonnull
+    protected synchronized TreeMap<Registration, Command> getRegistrationMap() {
+        if (!this.loaded && this.shellEnvironment.isPresent()) {
+            this.commandClassNames.stream().map(this::getCommandClass).filter(Optional::isPresent).map(Optional::get)
+                    .map(clazz -> createCommand(clazz, this.shellEnvironment.get())).filter(Optional::isPresent)
+                    .map(Optional::get).forEach(command -> command.getRegistrations()
+                    .forEach(registration -> this.registrations.put(registration, command)));
+            this.loaded = true;
+        }
+        return this.registrations;
+    }
+
+    @Nonnull
+    protected Optional<Class<? extends Command>> getCommandClass(@Nonnull final String className) {
+        try {
+            return Optional.of(Class.forName(className, false, getClass().getClassLoader()).asSubclass(Command.class));
+        } catch (final ClassNotFoundException | ClassCastException | LinkageError notFound) {
+            LOG.error("Shell command class cannot be found: " + className);
+        }
+        return Optional.empty();
     }
 
     @Nonnull
@@ -65,7 +96,7 @@ public class RegistrationManager {
      */
     @Nonnull
     public SortedSet<Registration> getRegistrations() {
-        return new TreeSet<>(this.registrations.keySet());
+        return new TreeSet<>(getRegistrationMap().keySet());
     }
 
     /**
@@ -86,6 +117,6 @@ public class RegistrationManager {
      */
     @Nonnull
     public Optional<Command> getCommand(@Nonnull final Registration registration) {
-        return Optional.ofNullable(this.registrations.get(Objects.requireNonNull(registration)));
+        return Optional.ofNullable(getRegistrationMap().get(Objects.requireNonNull(registration)));
     }
 }
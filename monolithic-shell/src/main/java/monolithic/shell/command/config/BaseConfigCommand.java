@@ -1,5 +1,6 @@
 package monolithic.shell.command.config;
 
+import jline.console.completer.FileNameCompleter;
 import monolithic.shell.completer.ConfigTypeCompleter;
 import monolithic.shell.model.Command;
 import monolithic.shell.model.Option;
@@ -39,4 +40,14 @@ public abstract class BaseConfigCommand extends Command {
         return new Option(
                 description, "f", Optional.of("filter"), Optional.of("filter"), 1, false, false, Optional.empty());
     }
+
+    /**
+     * @param description the description to include in the option
+     * @return the {@link Option} used to input the configuration archive file
+     */
+    @Nonnull
+    protected Option getFileOption(@Nonnull final String description) {
+        return new Option(description, "f", Optional.of("file"), Optional.of("file"), 1, true, false,
+                Optional.of(new FileNameCompleter()));
+    }
 }
@@ -0,0 +1,85 @@
+package monolithic.shell.command.config;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.crypto.EncryptionException;
+import monolithic.crypto.SymmetricKeyEncryption;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Option;
+import monolithic.shell.model.Options;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This command implements the {@code config export} command in the shell, which writes all of the dynamic system
+ * configuration to a compressed (and optionally encrypted) configuration archive file.
+ */
+public class ExportCommand extends BaseConfigCommand {
+    /**
+     * @param shellEnvironment the shell command execution environment
+     */
+    public ExportCommand(@Nonnull final ShellEnvironment shellEnvironment) {
+        super(shellEnvironment);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<Registration> getRegistrations() {
+        final Option file = getFileOption("the file to which the configuration archive is written");
+        final Option encrypt = new Option("encrypt the configuration archive using the system symmetric key", "e",
+                Optional.of("encrypt"), Optional.empty(), 0, false, false, Optional.empty());
+        final Optional<Options> options = Optional.of(new Options(file, encrypt));
+
+        final Optional<String> description = Optional.of("export the dynamic system configuration to a file");
+        final CommandPath commandPath = new CommandPath("config", "export");
+        return Collections.singletonList(new Registration(commandPath, options, description));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public CommandStatus process(@Nonnull final UserCommand userCommand, @Nonnull final PrintWriter writer) {
+        final CommandLine commandLine = userCommand.getCommandLine().get();
+        final Path file = Paths.get(commandLine.getOptionValue("f"));
+
+        try {
+            final ConfigKeyValueCollection all = getShellEnvironment().getConfigClient().exportAll().get();
+            final Optional<SymmetricKeyEncryption> encryption = commandLine.hasOption("e")
+                    ? Optional.of(getShellEnvironment().getCryptoFactory().getSymmetricKeyEncryption())
+                    : Optional.empty();
+            try (final OutputStream output = Files.newOutputStream(file)) {
+                ConfigArchive.write(all.asSet(), output, encryption);
+            }
+            writer.println(String.format("Exported %d configuration values to %s%s", all.size(), file,
+                    encryption.isPresent() ? " (encrypted)" : ""));
+        } catch (final InterruptedException | ExecutionException | IOException | EncryptionException failed) {
+            writer.println("Failed to export the dynamic system configuration: "
+                    + ExceptionUtils.getRootCauseMessage(failed));
+        }
+
+        return CommandStatus.SUCCESS;
+    }
+}
@@ -0,0 +1,94 @@
+package monolithic.shell.command.config;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.crypto.EncryptionException;
+import monolithic.crypto.SymmetricKeyEncryption;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Option;
+import monolithic.shell.model.Options;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This command implements the {@code config import} command in the shell, which restores the dynamic system
+ * configuration values from a configuration archive file created by the {@code config export} command. Encrypted
+ * archives are decrypted using the system symmetric key.
+ */
+public class ImportCommand extends BaseConfigCommand {
+    /**
+     * @param shellEnvironment the shell command execution environment
+     */
+    public ImportCommand(@Nonnull final ShellEnvironment shellEnvironment) {
+        super(shellEnvironment);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<Registration> getRegistrations() {
+        final Option file = getFileOption("the configuration archive file to import");
+        final Optional<Options> options = Optional.of(new Options(file));
+
+        final Optional<String> description = Optional.of("import the dynamic system configuration from a file");
+        final CommandPath commandPath = new CommandPath("config", "import");
+        return Collections.singletonList(new Registration(commandPath, options, description));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public CommandStatus process(@Nonnull final UserCommand userCommand, @Nonnull final PrintWriter writer) {
+        final CommandLine commandLine = userCommand.getCommandLine().get();
+        final Path file = Paths.get(commandLine.getOptionValue("f"));
+
+        try {
+            final ConfigKeyValueCollection kvs;
+            try (final InputStream input = Files.newInputStream(file)) {
+                kvs = ConfigArchive.read(input, getEncryption());
+            }
+            final int imported = getShellEnvironment().getConfigClient().importAll(kvs).get();
+            writer.println(String.format("Imported %d configuration values from %s", imported, file));
+        } catch (final InterruptedException | ExecutionException | IOException | EncryptionException failed) {
+            writer.println("Failed to import the dynamic system configuration: "
+                    + ExceptionUtils.getRootCauseMessage(failed));
+        }
+
+        return CommandStatus.SUCCESS;
+    }
+
+    /**
+     * @return the symmetric key encryption used to decrypt encrypted archives, or empty if it is not available, in
+     * which case only unencrypted archives can be imported
+     */
+    @Nonnull
+    protected Optional<SymmetricKeyEncryption> getEncryption() {
+        try {
+            return Optional.of(getShellEnvironment().getCryptoFactory().getSymmetricKeyEncryption());
+        } catch (final EncryptionException unavailable) {
+            return Optional.empty();
+        }
+    }
+}
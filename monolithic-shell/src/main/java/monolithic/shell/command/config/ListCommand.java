@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -97,8 +98,11 @@ public class ListCommand extends BaseConfigCommand {
         if (!filter.fetchDynamic()) {
             return Collections.emptyList();
         }
-        return Objects.requireNonNull(configClient).getAll().get().asSet().stream().filter(filter::matches)
-                .collect(Collectors.toList());
+        // Let the configuration service do the filtering so only the matching values are transferred.
+        final Future<ConfigKeyValueCollection> future = filter.getFilter().isPresent()
+                ? Objects.requireNonNull(configClient).getMatching(filter.getFilter().get())
+                : Objects.requireNonNull(configClient).getAll();
+        return future.get().asSet().stream().filter(filter::matches).collect(Collectors.toList());
     }
 
     /**
@@ -1,5 +1,9 @@
 package monolithic.shell.command.service;
 
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import monolithic.discovery.model.Service;
+import monolithic.server.client.ServiceResultListener;
 import monolithic.shell.completer.ServiceHostCompleter;
 import monolithic.shell.completer.ServicePortCompleter;
 import monolithic.shell.completer.ServiceVersionCompleter;
@@ -7,7 +11,10 @@ import monolithic.shell.model.Command;
 import monolithic.shell.model.Option;
 import monolithic.shell.model.ShellEnvironment;
 
+import java.io.PrintWriter;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 import javax.annotation.Nonnull;
 
@@ -51,4 +58,46 @@ public abstract class BaseServiceCommand extends Command {
         return new Option(description, "v", Optional.of("version"), Optional.of("version"), 1, false, false,
                 Optional.of(new ServiceVersionCompleter(getShellEnvironment())));
     }
+
+    /**
+     * @param host the host of the service, padded to align the rows
+     * @param port the port of the service, padded to align the rows
+     * @param failure the reason the service failed to answer
+     * @return the row printed for a service that failed to answer, in the same format for all the service commands
+     */
+    @Nonnull
+    protected static String toFailureRow(
+            @Nonnull final String host, @Nonnull final String port, @Nonnull final Throwable failure) {
+        return String.format("    %s  %s  Failed: %s", host, port, ExceptionUtils.getMessage(failure));
+    }
+
+    /**
+     * @param writer the {@link PrintWriter} to which the rows are printed
+     * @param result formats the row printed for a service that answered
+     * @param failure formats the row printed for a service that failed to answer
+     * @param <T> the type of result returned by each service
+     * @return a {@link ServiceResultListener} printing a row for each service as soon as it answers, so the rows from
+     * the fast services are shown without waiting for the slow ones
+     */
+    @Nonnull
+    protected <T> ServiceResultListener<T> printRows(
+            @Nonnull final PrintWriter writer, @Nonnull final BiFunction<Service, T, String> result,
+            @Nonnull final BiFunction<Service, Throwable, String> failure) {
+        Objects.requireNonNull(writer);
+        Objects.requireNonNull(result);
+        Objects.requireNonNull(failure);
+        return new ServiceResultListener<T>() {
+            @Override
+            public void onResult(@Nonnull final Service service, @Nonnull final T value) {
+                writer.println(result.apply(service, value));
+                writer.flush();
+            }
+
+            @Override
+            public void onFailure(@Nonnull final Service service, @Nonnull final Throwable cause) {
+                writer.println(failure.apply(service, cause));
+                writer.flush();
+            }
+        };
+    }
 }
@@ -16,16 +16,14 @@ import monolithic.shell.model.UserCommand;
 
 import java.io.PrintWriter;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalInt;
-import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -84,7 +82,7 @@ public class ControlCommand extends BaseServiceCommand {
                     return handleRestart(filtered, writer);
                 }
             }
-        } catch (final ExecutionException | InterruptedException | TimeoutException | DiscoveryException exception) {
+        } catch (final ExecutionException | InterruptedException | DiscoveryException exception) {
             writer.println("Failed to retrieve available services: " + ExceptionUtils.getMessage(exception));
         }
 
@@ -93,23 +91,25 @@ public class ControlCommand extends BaseServiceCommand {
 
     @Nonnull
     protected CommandStatus handleStop(@Nonnull final List<Service> services, @Nonnull final PrintWriter writer)
-            throws ExecutionException, InterruptedException, TimeoutException {
-        return control(getShellEnvironment().getServerClient().stop(services), writer);
+            throws ExecutionException, InterruptedException {
+        final Stringer stringer = new Stringer(services);
+        return control(getShellEnvironment().getServerClient()
+                .stop(services, printRows(writer, stringer::toString, stringer::toString)));
     }
 
     @Nonnull
     protected CommandStatus handleRestart(@Nonnull final List<Service> services, @Nonnull final PrintWriter writer)
-            throws ExecutionException, InterruptedException, TimeoutException {
-        return control(getShellEnvironment().getServerClient().restart(services), writer);
+            throws ExecutionException, InterruptedException {
+        final Stringer stringer = new Stringer(services);
+        return control(getShellEnvironment().getServerClient()
+                .restart(services, printRows(writer, stringer::toString, stringer::toString)));
     }
 
     @Nonnull
-    protected CommandStatus control(
-            @Nonnull final Future<Map<Service, ServiceControlStatus>> future, @Nonnull final PrintWriter writer)
-            throws ExecutionException, InterruptedException, TimeoutException {
-        final Map<Service, ServiceControlStatus> map = future.get(10, TimeUnit.SECONDS);
-        final Stringer stringer = new Stringer(map.keySet());
-        map.entrySet().stream().map(stringer::toString).forEach(writer::println);
+    protected CommandStatus control(@Nonnull final Future<?> future)
+            throws ExecutionException, InterruptedException {
+        // The rows are printed as each service answers, so only wait for all of them to be done.
+        future.get();
         return CommandStatus.SUCCESS;
     }
 
@@ -117,16 +117,25 @@ public class ControlCommand extends BaseServiceCommand {
         private final OptionalInt longestHost;
         private final OptionalInt longestPort;
 
-        public Stringer(@Nonnull final Set<Service> services) {
+        public Stringer(@Nonnull final Collection<Service> services) {
             this.longestHost = services.stream().mapToInt(s -> s.getHost().length()).max();
             this.longestPort = services.stream().mapToInt(s -> String.valueOf(s.getPort()).length()).max();
         }
 
         @Nonnull
         public String toString(@Nonnull final Map.Entry<Service, ServiceControlStatus> entry) {
-            final Service service = entry.getKey();
-            final ServiceControlStatus status = entry.getValue();
+            return toString(entry.getKey(), entry.getValue());
+        }
 
+        @Nonnull
+        public String toString(@Nonnull final Service service, @Nonnull final Throwable failure) {
+            final String host = StringUtils.rightPad(service.getHost(), this.longestHost.getAsInt());
+            final String port = StringUtils.rightPad(String.valueOf(service.getPort()), this.longestPort.getAsInt());
+            return toFailureRow(host, port, failure);
+        }
+
+        @Nonnull
+        public String toString(@Nonnull final Service service, @Nonnull final ServiceControlStatus status) {
             final String host = StringUtils.rightPad(service.getHost(), this.longestHost.getAsInt());
             final String port = StringUtils.rightPad(String.valueOf(service.getPort()), this.longestPort.getAsInt());
 
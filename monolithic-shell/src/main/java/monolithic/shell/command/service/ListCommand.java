@@ -63,11 +63,12 @@ public class ListCommand extends BaseServiceCommand {
             final List<Service> filtered =
                     services.stream().filter(filter::matches).sorted().collect(Collectors.toList());
 
+            // The rows come from the local discovery cache, so they are printed as they are formatted rather than being
+            // collected first.
+            writer.println(new ServiceSummary(services.size(), filtered.size()));
             final Stringer stringer = new Stringer(filtered);
-            final List<String> output = filtered.stream().map(stringer::toString).collect(Collectors.toList());
-
-            writer.println(new ServiceSummary(services.size(), output.size()));
-            output.forEach(writer::println);
+            filtered.stream().map(stringer::toString).forEach(writer::println);
+            writer.flush();
         } catch (final DiscoveryException exception) {
             writer.println("Failed to retrieve available services: " + ExceptionUtils.getMessage(exception));
         }
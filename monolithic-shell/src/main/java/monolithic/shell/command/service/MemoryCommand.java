@@ -23,8 +23,6 @@ import java.util.OptionalInt;
 import java.util.SortedSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -72,14 +70,12 @@ public class MemoryCommand extends BaseServiceCommand {
             writer.println(new ServiceSummary(services.size(), filtered.size()));
 
             if (!filtered.isEmpty()) {
-                final Future<Map<Service, ServiceMemory>> future =
-                        getShellEnvironment().getServerClient().getMemory(filtered);
-                final Map<Service, ServiceMemory> memoryMap = future.get(10, TimeUnit.SECONDS);
-
                 final Stringer stringer = new Stringer(filtered);
-                memoryMap.entrySet().stream().map(stringer::toString).forEach(writer::println);
+                final Future<?> future = getShellEnvironment().getServerClient()
+                        .getMemory(filtered, printRows(writer, stringer::toString, stringer::toString));
+                future.get();
             }
-        } catch (final ExecutionException | InterruptedException | TimeoutException | DiscoveryException exception) {
+        } catch (final ExecutionException | InterruptedException | DiscoveryException exception) {
             writer.println("Failed to retrieve available services: " + ExceptionUtils.getMessage(exception));
         }
 
@@ -97,9 +93,18 @@ public class MemoryCommand extends BaseServiceCommand {
 
         @Nonnull
         public String toString(@Nonnull final Map.Entry<Service, ServiceMemory> entry) {
-            final Service service = entry.getKey();
-            final ServiceMemory memory = entry.getValue();
+            return toString(entry.getKey(), entry.getValue());
+        }
+
+        @Nonnull
+        public String toString(@Nonnull final Service service, @Nonnull final Throwable failure) {
+            final String host = StringUtils.rightPad(service.getHost(), this.longestHost.getAsInt());
+            final String port = StringUtils.rightPad(String.valueOf(service.getPort()), this.longestPort.getAsInt());
+            return toFailureRow(host, port, failure);
+        }
 
+        @Nonnull
+        public String toString(@Nonnull final Service service, @Nonnull final ServiceMemory memory) {
             final String host = StringUtils.rightPad(service.getHost(), this.longestHost.getAsInt());
             final String port = StringUtils.rightPad(String.valueOf(service.getPort()), this.longestPort.getAsInt());
 
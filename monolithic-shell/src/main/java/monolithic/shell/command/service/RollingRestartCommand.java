@@ -0,0 +1,275 @@
+package monolithic.shell.command.service;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import monolithic.common.model.service.ServiceControlStatus;
+import monolithic.common.route.Deadline;
+import monolithic.discovery.DiscoveryException;
+import monolithic.discovery.model.Service;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Option;
+import monolithic.shell.model.Options;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * This command implements the {@code service control rolling-restart} command in the shell, which restarts the
+ * matching services a batch at a time, waiting for each restarted service to become healthy again before moving on to
+ * the next batch.
+ */
+public class RollingRestartCommand extends BaseServiceCommand {
+    private final static int DEFAULT_BATCH_SIZE = 1;
+    private final static long DEFAULT_TIMEOUT_SECONDS = 60;
+    private final static long POLL_INTERVAL_MILLIS = 500;
+
+    /**
+     * @param shellEnvironment the shell command execution environment
+     */
+    public RollingRestartCommand(@Nonnull final ShellEnvironment shellEnvironment) {
+        super(shellEnvironment);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<Registration> getRegistrations() {
+        final Option host = getHostOption("the host of the services to restart");
+        final Option port = getPortOption("the port of the service to restart");
+        final Option version = getVersionOption("the version of the services to restart");
+        final Option batch = new Option("the number (or percentage, like 25%) of services to restart at a time", "b",
+                Optional.of("batch"), Optional.of("size"), 1, false, false, Optional.empty());
+        final Option timeout = new Option("the number of seconds to wait for each batch to become healthy", "t",
+                Optional.of("timeout"), Optional.of("seconds"), 1, false, false, Optional.empty());
+        final Optional<Options> options = Optional.of(new Options(host, port, version, batch, timeout));
+
+        final Optional<String> description = Optional.of("restart one or more services a batch at a time");
+        final CommandPath commandPath = new CommandPath("service", "control", "rolling-restart");
+        return Collections.singletonList(new Registration(commandPath, options, description));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public CommandStatus process(@Nonnull final UserCommand userCommand, @Nonnull final PrintWriter writer) {
+        final Optional<CommandLine> commandLine = userCommand.getCommandLine();
+        try {
+            final SortedSet<Service> services = getShellEnvironment().getDiscoveryManager().getAll();
+            final ServiceFilter filter = new ServiceFilter(commandLine);
+
+            final List<Service> filtered =
+                    services.stream().filter(filter::matches).sorted().collect(Collectors.toList());
+
+            writer.println(new ServiceSummary(services.size(), filtered.size()));
+            if (!filtered.isEmpty()) {
+                final int batchSize = getBatchSize(commandLine, filtered.size());
+                final long timeout = getTimeout(commandLine);
+                rollingRestart(filtered, services, batchSize, timeout, writer);
+            }
+        } catch (final NumberFormatException invalidNumber) {
+            writer.println("Invalid numeric option: " + invalidNumber.getMessage());
+        } catch (final InterruptedException | DiscoveryException exception) {
+            writer.println("Failed to retrieve available services: " + ExceptionUtils.getMessage(exception));
+        }
+
+        return CommandStatus.SUCCESS;
+    }
+
+    /**
+     * @param commandLine the user-provided command-line parameters
+     * @param total the total number of services to be restarted
+     * @return the number of services to restart in each batch
+     */
+    protected int getBatchSize(@Nonnull final Optional<CommandLine> commandLine, final int total) {
+        int batchSize = DEFAULT_BATCH_SIZE;
+        if (commandLine.isPresent() && commandLine.get().hasOption('b')) {
+            final String value = commandLine.get().getOptionValue('b').trim();
+            if (value.endsWith("%")) {
+                final int percent = Integer.parseInt(StringUtils.removeEnd(value, "%"), 10);
+                batchSize = (int) Math.ceil(total * percent / 100d);
+            } else {
+                batchSize = Integer.parseInt(value, 10);
+            }
+        }
+        return Math.max(1, Math.min(total, batchSize));
+    }
+
+    /**
+     * @param commandLine the user-provided command-line parameters
+     * @return the number of seconds to wait for each batch of restarted services to become healthy
+     */
+    protected long getTimeout(@Nonnull final Optional<CommandLine> commandLine) {
+        if (commandLine.isPresent() && commandLine.get().hasOption('t')) {
+            return Long.parseLong(commandLine.get().getOptionValue('t').trim(), 10);
+        }
+        return DEFAULT_TIMEOUT_SECONDS;
+    }
+
+    /**
+     * Wait a little before checking service discovery again.
+     *
+     * @throws InterruptedException if the sleep operation is interrupted
+     */
+    protected void delayBeforePoll() throws InterruptedException {
+        Thread.sleep(POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Restart the provided services one batch at a time. The restart requests of a batch are sent together and share
+     * the default request {@link Deadline}. When a service in the batch fails to restart or does not become healthy in
+     * time, the other services in the batch are still awaited, and then the rolling restart is paused and the services
+     * that have not yet been restarted are listed.
+     *
+     * @param toRestart the services to be restarted
+     * @param known all of the services known to be running before the restart began
+     * @param batchSize the number of services to restart at a time
+     * @param timeout the number of seconds to wait for each batch to become healthy
+     * @param writer the writer to which the command output should be written
+     * @throws DiscoveryException if there is a problem retrieving the available services
+     * @throws InterruptedException if interrupted while waiting for the restarted services
+     */
+    protected void rollingRestart(
+            @Nonnull final List<Service> toRestart, @Nonnull final SortedSet<Service> known, final int batchSize,
+            final long timeout, @Nonnull final PrintWriter writer) throws DiscoveryException, InterruptedException {
+        // Keep track of every service we have seen so restarted instances (which come back on a new port) can be
+        // recognized.
+        final SortedSet<Service> seen = new TreeSet<>(known);
+        final int batches = (toRestart.size() + batchSize - 1) / batchSize;
+
+        for (int batch = 0; batch < batches; batch++) {
+            final int from = batch * batchSize;
+            final List<Service> current = toRestart.subList(from, Math.min(toRestart.size(), from + batchSize));
+            writer.println(String.format("Restarting batch %d of %d:", batch + 1, batches));
+
+            // Send all of the restart requests in the batch before waiting on any of them, so they share the same
+            // deadline, and wait for every restarted service even when another one in the batch failed.
+            final Deadline restartDeadline = Deadline.after(Deadline.DEFAULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            final Map<Service, Future<ServiceControlStatus>> restarts = new LinkedHashMap<>();
+            current.forEach(service -> restarts.put(service, getShellEnvironment().getServerClient().restart(service)));
+
+            final List<Service> restarted = new ArrayList<>(current.size());
+            for (final Map.Entry<Service, Future<ServiceControlStatus>> entry : restarts.entrySet()) {
+                if (awaitRestart(entry.getKey(), entry.getValue(), restartDeadline, writer)) {
+                    restarted.add(entry.getKey());
+                }
+            }
+
+            boolean healthy = restarted.size() == current.size();
+            final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout);
+            for (final Service service : restarted) {
+                healthy &= awaitReplacement(service, seen, deadline, writer);
+            }
+
+            if (!healthy) {
+                final List<Service> remaining = toRestart.subList(from + current.size(), toRestart.size());
+                writer.println(String.format("Pausing rolling restart, %d services were not restarted%s",
+                        remaining.size(), remaining.isEmpty() ? "" : ":"));
+                remaining.forEach(s -> writer.println(String.format("    %s  %d", s.getHost(), s.getPort())));
+                return;
+            }
+        }
+        writer.println("Rolling restart complete");
+    }
+
+    /**
+     * @param service the service being restarted
+     * @param restart the {@link Future} of the restart request sent to the service
+     * @param deadline the {@link Deadline} shared by the restart requests of the batch
+     * @param writer the writer to which the command output should be written
+     * @return whether the service accepted the restart request
+     * @throws InterruptedException if interrupted while waiting for the restart response
+     */
+    protected boolean awaitRestart(
+            @Nonnull final Service service, @Nonnull final Future<ServiceControlStatus> restart,
+            @Nonnull final Deadline deadline, @Nonnull final PrintWriter writer) throws InterruptedException {
+        try {
+            final ServiceControlStatus status = deadline.get(restart);
+            if (!status.isSuccess()) {
+                writer.println(String.format("    %s  %d  - restart rejected", service.getHost(), service.getPort()));
+            }
+            return status.isSuccess();
+        } catch (final ExecutionException | TimeoutException failed) {
+            restart.cancel(true);
+            writer.println(String.format("    %s  %d  - restart failed: %s", service.getHost(), service.getPort(),
+                    ExceptionUtils.getMessage(failed)));
+            return false;
+        }
+    }
+
+    /**
+     * Wait for a restarted service to leave service discovery and for its replacement (a new service on the same host)
+     * to register and respond to service info requests.
+     *
+     * @param service the service that was restarted
+     * @param seen all of the services seen so far, updated with the replacement service when found
+     * @param deadline the {@link System#nanoTime()} value after which the replacement is considered failed
+     * @param writer the writer to which the command output should be written
+     * @return whether the replacement service became healthy before the deadline
+     * @throws DiscoveryException if there is a problem retrieving the available services
+     * @throws InterruptedException if interrupted while waiting for the replacement service
+     */
+    protected boolean awaitReplacement(
+            @Nonnull final Service service, @Nonnull final SortedSet<Service> seen, final long deadline,
+            @Nonnull final PrintWriter writer) throws DiscoveryException, InterruptedException {
+        Objects.requireNonNull(service);
+        while (System.nanoTime() < deadline) {
+            final SortedSet<Service> available = getShellEnvironment().getDiscoveryManager().getAll();
+            if (!available.contains(service)) {
+                final Optional<Service> replacement = available.stream().filter(s -> !seen.contains(s))
+                        .filter(s -> StringUtils.equalsIgnoreCase(s.getHost(), service.getHost())).findFirst();
+                if (replacement.isPresent() && isHealthy(replacement.get(), deadline)) {
+                    seen.add(replacement.get());
+                    writer.println(String.format("    %s  %d  - restarted on port %d", service.getHost(),
+                            service.getPort(), replacement.get().getPort()));
+                    return true;
+                }
+            }
+            delayBeforePoll();
+        }
+
+        writer.println(String.format("    %s  %d  - did not become healthy in time", service.getHost(),
+                service.getPort()));
+        return false;
+    }
+
+    /**
+     * @param service the service to check
+     * @param deadline the {@link System#nanoTime()} value after which the service is considered unhealthy
+     * @return whether the service responded to a service info request before the deadline
+     * @throws InterruptedException if interrupted while waiting for the service info response
+     */
+    protected boolean isHealthy(@Nonnull final Service service, final long deadline) throws InterruptedException {
+        final long remaining = Math.max(0, deadline - System.nanoTime());
+        try {
+            getShellEnvironment().getServerClient().getInfo(service).get(remaining, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (final ExecutionException | TimeoutException notHealthy) {
+            return false;
+        }
+    }
+}
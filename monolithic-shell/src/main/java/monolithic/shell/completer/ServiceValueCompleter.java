@@ -0,0 +1,92 @@
+package monolithic.shell.completer;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+
+import jline.console.completer.Completer;
+import jline.console.completer.StringsCompleter;
+import monolithic.discovery.ServiceChangeListener;
+import monolithic.discovery.model.Service;
+import monolithic.shell.model.ShellEnvironment;
+
+import java.util.List;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The base class for completers of a value taken from each of the available services. The values are kept up to date
+ * by listening to the service changes from service discovery, so completing does not look through all the services.
+ * The listener is added on the first completion, so completers that are never used do not receive changes.
+ */
+public abstract class ServiceValueCompleter implements Completer, ServiceChangeListener {
+    @Nonnull
+    private final ShellEnvironment shellEnvironment;
+    @Nonnull
+    private final Multiset<String> values = ConcurrentHashMultiset.create();
+
+    private boolean listening = false;
+
+    /**
+     * @param shellEnvironment the {@link ShellEnvironment} containing all of the necessary information for
+     * performing the tab completion
+     */
+    public ServiceValueCompleter(@Nonnull final ShellEnvironment shellEnvironment) {
+        this.shellEnvironment = Objects.requireNonNull(shellEnvironment);
+    }
+
+    /**
+     * @param service the {@link Service} from which the value will be taken
+     * @return the value of the service used as a completion candidate
+     */
+    @Nonnull
+    protected abstract String getValue(@Nonnull Service service);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onAdded(@Nonnull final Service service) {
+        this.values.add(getValue(service));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRemoved(@Nonnull final Service service) {
+        this.values.remove(getValue(service));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onUpdated(@Nonnull final Service previous, @Nonnull final Service current) {
+        onAdded(current);
+        onRemoved(previous);
+    }
+
+    /**
+     * Start listening to the service changes, if not already listening.
+     */
+    protected synchronized void listen() {
+        if (!this.listening) {
+            this.shellEnvironment.getDiscoveryManager().addListener(this);
+            this.listening = true;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int complete(@Nonnull final String buffer, final int cursor, @Nonnull final List<CharSequence> candidates) {
+        try {
+            listen();
+            return new StringsCompleter(this.values.elementSet()).complete(buffer, cursor, candidates);
+        } catch (final Exception exception) {
+            return -1;
+        }
+    }
+}
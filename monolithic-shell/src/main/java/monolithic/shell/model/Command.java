@@ -1,5 +1,7 @@
 package monolithic.shell.model;
 
+import monolithic.common.index.IndexSubTypes;
+
 import java.io.PrintWriter;
 import java.util.List;
 import java.util.Objects;
@@ -7,8 +9,10 @@ import java.util.Objects;
 import javax.annotation.Nonnull;
 
 /**
- * The base class for shell commands.
+ * The base class for shell commands. Concrete sub-classes are recorded in an index at compile time, which is used to
+ * load the available commands when the shell starts.
  */
+@IndexSubTypes
 public abstract class Command {
     @Nonnull
     private final ShellEnvironment shellEnvironment;
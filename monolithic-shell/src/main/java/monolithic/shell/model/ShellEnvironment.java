@@ -15,6 +15,7 @@ import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Provides shell environmental configuration and utilities for use within commands.
@@ -35,6 +36,9 @@ public class ShellEnvironment {
     @Nonnull
     private final CryptoFactory cryptoFactory;
 
+    @Nullable
+    private ConfigClient configClient;
+
     /**
      * @param config the static system configuration information
      * @param executor the {@link ExecutorService} used to perform asynchronous task processing
@@ -123,17 +127,27 @@ public class ShellEnvironment {
     }
 
     /**
-     * @return a {@link ConfigClient} used to make remote calls to the dynamic configuration services
+     * @return the {@link ConfigClient} used to make remote calls to the dynamic configuration services, created on first
+     * use and shared by all the commands, caching retrieved values when {@code config.client.cache.enabled} is set
      */
     @Nonnull
-    public ConfigClient getConfigClient() {
-        return new ConfigClient(getConfig(), getExecutor(), getDiscoveryManager(), getHttpClient(), getCryptoFactory());
+    public synchronized ConfigClient getConfigClient() {
+        if (this.configClient == null) {
+            this.configClient = new ConfigClient(getConfig(), getExecutor(), getDiscoveryManager(), getHttpClient(),
+                    getCryptoFactory(), ConfigClient.createCache(getConfig(), getCuratorFramework()));
+        }
+        return this.configClient;
     }
 
     /**
      * Close down the resources associated with this environment.
      */
     public void close() {
+        synchronized (this) {
+            if (this.configClient != null) {
+                this.configClient.close();
+            }
+        }
         getExecutor().shutdown();
         getCuratorFramework().close();
         getDiscoveryManager().close();
@@ -11,9 +11,11 @@ import org.apache.curator.framework.CuratorFramework;
 import monolithic.common.config.ConfigKeys;
 import monolithic.crypto.CryptoFactory;
 import monolithic.crypto.EncryptionException;
+import monolithic.crypto.HttpClientFactory;
 import monolithic.curator.CuratorCreator;
 import monolithic.discovery.DiscoveryException;
 import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.select.ServiceHealth;
 import monolithic.shell.ConsoleManager;
 import monolithic.shell.RegistrationManager;
 import monolithic.shell.model.Option;
@@ -84,10 +86,9 @@ public class Runner {
     }
 
     @Nonnull
-    protected OkHttpClient getHttpClient(@Nonnull final CryptoFactory cryptoFactory) throws EncryptionException {
-        final OkHttpClient.Builder builder = new OkHttpClient.Builder();
-        builder.sslSocketFactory(cryptoFactory.getSSLContext().getSocketFactory());
-        return builder.build();
+    protected OkHttpClient.Builder getHttpClientBuilder(
+            @Nonnull final Config config, @Nonnull final CryptoFactory cryptoFactory) throws EncryptionException {
+        return new HttpClientFactory(config, cryptoFactory).newBuilder();
     }
 
     @Nonnull
@@ -100,7 +101,10 @@ public class Runner {
         final CuratorFramework curator = CuratorCreator.create(config, cryptoFactory);
         final DiscoveryManager discoveryManager = new DiscoveryManager(config, curator);
         final RegistrationManager registrationManager = new RegistrationManager();
-        final OkHttpClient httpClient = getHttpClient(cryptoFactory);
+        final OkHttpClient.Builder builder = getHttpClientBuilder(config, cryptoFactory);
+        // Installed on the shared HTTP client, so the clients created by each command share the service health.
+        discoveryManager.addListener(ServiceHealth.install(config, builder));
+        final OkHttpClient httpClient = builder.build();
         final ShellEnvironment shellEnvironment =
                 new ShellEnvironment(config, executor, discoveryManager, curator, registrationManager, httpClient,
                         cryptoFactory);
@@ -77,7 +77,7 @@ public class ConsoleManagerTest {
         assertTrue(consoleReader.isShutdown());
 
         final List<String> lines = consoleReader.getOutputLines();
-        assertEquals(28, lines.size());
+        assertEquals(32, lines.size());
 
         int line = 0;
         // Startup
@@ -93,27 +93,39 @@ public class ConsoleManagerTest {
         // blank and #comment
 
         // help
-        assertEquals("  config list              display system configuration information", lines.get(line++));
-        assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-        assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-        assertEquals("  exit                     exit the shell", lines.get(line++));
-        assertEquals("  help                     display usage information for available shell commands",
+        assertEquals("  config export                    export the dynamic system configuration to a file",
                 lines.get(line++));
-        assertEquals("  quit                     exit the shell", lines.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-        assertEquals("  service list             provides information about the available services", lines.get(line++));
-        assertEquals("  service memory           display memory usage information for one or more services",
+        assertEquals("  config import                    import the dynamic system configuration from a file",
+                lines.get(line++));
+        assertEquals("  config list                      display system configuration information", lines.get(line++));
+        assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+        assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+        assertEquals("  exit                             exit the shell", lines.get(line++));
+        assertEquals("  help                             display usage information for available shell commands",
+                lines.get(line++));
+        assertEquals("  quit                             exit the shell", lines.get(line++));
+        assertEquals("  service control restart          request the restart of one or more services",
+                lines.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                lines.get(line++));
+        assertEquals("  service control stop             request the stop of one or more services", lines.get(line++));
+        assertEquals("  service list                     provides information about the available services",
+                lines.get(line++));
+        assertEquals("  service memory                   display memory usage information for one or more services",
                 lines.get(line++));
 
         // s
         assertEquals("Showing help for commands that begin with: s", lines.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-        assertEquals("  service list             provides information about the available services", lines.get(line++));
-        assertEquals("  service memory           display memory usage information for one or more services",
+        assertEquals("  service control restart          request the restart of one or more services",
+                lines.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                lines.get(line++));
+        assertEquals("  service control stop             request the stop of one or more services", lines.get(line++));
+        assertEquals("  service list                     provides information about the available services",
+                lines.get(line++));
+        assertEquals("  service memory                   display memory usage information for one or more services",
                 lines.get(line++));
 
         // service li -h
@@ -195,7 +207,7 @@ public class ConsoleManagerTest {
         assertTrue(consoleReader.isShutdown());
 
         final List<String> lines = consoleReader.getOutputLines();
-        assertEquals(17, lines.size());
+        assertEquals(20, lines.size());
 
         int line = 0;
         // Startup
@@ -205,19 +217,27 @@ public class ConsoleManagerTest {
         assertEquals("Type 'help' to list the available commands", lines.get(line++));
 
         // help
-        assertEquals("  config list              display system configuration information", lines.get(line++));
-        assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-        assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-        assertEquals("  exit                     exit the shell", lines.get(line++));
-        assertEquals("  help                     display usage information for available shell commands",
+        assertEquals("  config export                    export the dynamic system configuration to a file",
+                lines.get(line++));
+        assertEquals("  config import                    import the dynamic system configuration from a file",
+                lines.get(line++));
+        assertEquals("  config list                      display system configuration information", lines.get(line++));
+        assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+        assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+        assertEquals("  exit                             exit the shell", lines.get(line++));
+        assertEquals("  help                             display usage information for available shell commands",
+                lines.get(line++));
+        assertEquals("  quit                             exit the shell", lines.get(line++));
+        assertEquals("  service control restart          request the restart of one or more services",
+                lines.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
                 lines.get(line++));
-        assertEquals("  quit                     exit the shell", lines.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-        assertEquals("  service list             provides information about the available services", lines.get(line++));
-        assertEquals("  service memory           display memory usage information for one or more services",
+        assertEquals("  service control stop             request the stop of one or more services", lines.get(line++));
+        assertEquals("  service list                     provides information about the available services",
+                lines.get(line++));
+        assertEquals("  service memory                   display memory usage information for one or more services",
                 lines.get(line++));
 
         // no more input
@@ -296,25 +316,34 @@ public class ConsoleManagerTest {
             assertTrue(consoleReader.isShutdown());
 
             final List<String> lines = consoleReader.getOutputLines();
-            assertEquals(16, lines.size());
+            assertEquals(19, lines.size());
 
             int line = 0;
             // help
             assertEquals("# help", lines.get(line++));
-            assertEquals("  config list              display system configuration information", lines.get(line++));
-            assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-            assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-            assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-            assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-            assertEquals("  exit                     exit the shell", lines.get(line++));
-            assertEquals("  help                     display usage information for available shell commands",
+            assertEquals("  config export                    export the dynamic system configuration to a file",
+                    lines.get(line++));
+            assertEquals("  config import                    import the dynamic system configuration from a file",
+                    lines.get(line++));
+            assertEquals("  config list                      display system configuration information",
+                    lines.get(line++));
+            assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+            assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+            assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+            assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+            assertEquals("  exit                             exit the shell", lines.get(line++));
+            assertEquals("  help                             display usage information for available shell commands",
+                    lines.get(line++));
+            assertEquals("  quit                             exit the shell", lines.get(line++));
+            assertEquals("  service control restart          request the restart of one or more services",
+                    lines.get(line++));
+            assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                    lines.get(line++));
+            assertEquals("  service control stop             request the stop of one or more services",
                     lines.get(line++));
-            assertEquals("  quit                     exit the shell", lines.get(line++));
-            assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-            assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-            assertEquals("  service list             provides information about the available services",
+            assertEquals("  service list                     provides information about the available services",
                     lines.get(line++));
-            assertEquals("  service memory           display memory usage information for one or more services",
+            assertEquals("  service memory                   display memory usage information for one or more services",
                     lines.get(line++));
             assertEquals("# service list -h host1", lines.get(line++));
             assertEquals("No services are running", lines.get(line++));
@@ -352,24 +381,32 @@ public class ConsoleManagerTest {
         assertTrue(consoleReader.isShutdown());
 
         final List<String> lines = consoleReader.getOutputLines();
-        assertEquals(14, lines.size());
+        assertEquals(17, lines.size());
 
         int line = 0;
         // help
         assertEquals("# help", lines.get(line++));
-        assertEquals("  config list              display system configuration information", lines.get(line++));
-        assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-        assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-        assertEquals("  exit                     exit the shell", lines.get(line++));
-        assertEquals("  help                     display usage information for available shell commands",
+        assertEquals("  config export                    export the dynamic system configuration to a file",
+                lines.get(line++));
+        assertEquals("  config import                    import the dynamic system configuration from a file",
+                lines.get(line++));
+        assertEquals("  config list                      display system configuration information", lines.get(line++));
+        assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+        assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+        assertEquals("  exit                             exit the shell", lines.get(line++));
+        assertEquals("  help                             display usage information for available shell commands",
+                lines.get(line++));
+        assertEquals("  quit                             exit the shell", lines.get(line++));
+        assertEquals("  service control restart          request the restart of one or more services",
+                lines.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                lines.get(line++));
+        assertEquals("  service control stop             request the stop of one or more services", lines.get(line++));
+        assertEquals("  service list                     provides information about the available services",
                 lines.get(line++));
-        assertEquals("  quit                     exit the shell", lines.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-        assertEquals("  service list             provides information about the available services", lines.get(line++));
-        assertEquals("  service memory           display memory usage information for one or more services",
+        assertEquals("  service memory                   display memory usage information for one or more services",
                 lines.get(line++));
 
         // no more input
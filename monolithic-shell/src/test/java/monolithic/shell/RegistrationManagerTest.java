@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import ch.qos.logback.classic.Level;
 import monolithic.crypto.CryptoFactory;
 import monolithic.discovery.DiscoveryManager;
+import monolithic.shell.command.HelpCommand;
 import monolithic.shell.model.Command;
 import monolithic.shell.model.CommandPath;
 import monolithic.shell.model.Registration;
@@ -66,6 +67,30 @@ public class RegistrationManagerTest {
         assertFalse(missingCommand.isPresent());
     }
 
+    @Test
+    public void testLazyCommandCreation() {
+        final Config config = Mockito.mock(Config.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
+        final CuratorFramework curator = Mockito.mock(CuratorFramework.class);
+        final RegistrationManager rm = Mockito.spy(new RegistrationManager());
+        final OkHttpClient httpClient = new OkHttpClient.Builder().build();
+        final CryptoFactory cryptoFactory = new CryptoFactory(config);
+        final ShellEnvironment env =
+                new ShellEnvironment(config, executor, discovery, curator, rm, httpClient, cryptoFactory);
+
+        rm.loadCommands(env);
+        Mockito.verify(rm, Mockito.never()).createCommand(Mockito.any(), Mockito.any());
+
+        assertFalse(rm.getRegistrations(new CommandPath("help")).isEmpty());
+        Mockito.verify(rm, Mockito.atLeastOnce()).createCommand(Mockito.eq(HelpCommand.class), Mockito.eq(env));
+    }
+
+    @Test
+    public void testNoCommandsLoaded() {
+        assertTrue(new RegistrationManager().getRegistrations().isEmpty());
+    }
+
     public static abstract class TestCommand extends Command {
         public TestCommand(@Nonnull final ShellEnvironment shellEnvironment) {
             super(shellEnvironment);
@@ -83,13 +83,17 @@ public class HelpCommandTest {
         assertEquals(CommandStatus.SUCCESS, status);
 
         final List<String> output = Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
-        assertEquals(5, output.size());
+        assertEquals(6, output.size());
 
         int line = 0;
         assertEquals("Showing help for commands that begin with: service", output.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", output.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", output.get(line++));
-        assertEquals("  service list             provides information about the available services", output.get(line));
+        assertEquals("  service control restart          request the restart of one or more services",
+                output.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                output.get(line++));
+        assertEquals("  service control stop             request the stop of one or more services", output.get(line++));
+        assertEquals("  service list                     provides information about the available services",
+                output.get(line));
     }
 
     @Test
@@ -162,21 +166,29 @@ public class HelpCommandTest {
         assertEquals(CommandStatus.SUCCESS, status);
 
         final List<String> lines = Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
-        assertEquals(12, lines.size());
+        assertEquals(15, lines.size());
 
         int line = 0;
-        assertEquals("  config list              display system configuration information", lines.get(line++));
-        assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-        assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-        assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-        assertEquals("  exit                     exit the shell", lines.get(line++));
-        assertEquals("  help                     display usage information for available shell commands",
+        assertEquals("  config export                    export the dynamic system configuration to a file",
+                lines.get(line++));
+        assertEquals("  config import                    import the dynamic system configuration from a file",
+                lines.get(line++));
+        assertEquals("  config list                      display system configuration information", lines.get(line++));
+        assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+        assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+        assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+        assertEquals("  exit                             exit the shell", lines.get(line++));
+        assertEquals("  help                             display usage information for available shell commands",
+                lines.get(line++));
+        assertEquals("  quit                             exit the shell", lines.get(line++));
+        assertEquals("  service control restart          request the restart of one or more services",
+                lines.get(line++));
+        assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
                 lines.get(line++));
-        assertEquals("  quit                     exit the shell", lines.get(line++));
-        assertEquals("  service control restart  request the restart of one or more services", lines.get(line++));
-        assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
-        assertEquals("  service list             provides information about the available services", lines.get(line));
+        assertEquals("  service control stop             request the stop of one or more services", lines.get(line++));
+        assertEquals("  service list                     provides information about the available services",
+                lines.get(line));
     }
 
     @Test
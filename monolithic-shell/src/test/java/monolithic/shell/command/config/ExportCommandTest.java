@@ -0,0 +1,143 @@
+package monolithic.shell.command.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import monolithic.common.config.ConfigKeys;
+import monolithic.config.client.ConfigClient;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.config.service.ConfigServiceException;
+import monolithic.crypto.CryptoFactory;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Perform testing of the {@link ExportCommand} class.
+ */
+public class ExportCommandTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ConfigKeyValueCollection values =
+            new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "one"), new ConfigKeyValue("c", "two"));
+
+    /**
+     * @return a {@link CryptoFactory} making use of the test key store
+     */
+    protected static CryptoFactory getCryptoFactory() {
+        final URL keystore = ExportCommandTest.class.getClassLoader().getResource("keystore.jks");
+        final Map<String, ConfigValue> map = new HashMap<>();
+        map.put("SHARED_SECRET", ConfigValueFactory.fromAnyRef("secret"));
+        map.put(ConfigKeys.SHARED_SECRET_VARIABLE.getKey(), ConfigValueFactory.fromAnyRef("SHARED_SECRET"));
+        map.put(ConfigKeys.SSL_ENABLED.getKey(), ConfigValueFactory.fromAnyRef("true"));
+        map.put(ConfigKeys.SSL_KEYSTORE_FILE.getKey(), ConfigValueFactory.fromAnyRef(keystore.getFile()));
+        map.put(ConfigKeys.SSL_KEYSTORE_TYPE.getKey(), ConfigValueFactory.fromAnyRef("JKS"));
+        map.put(ConfigKeys.SSL_KEYSTORE_PASSWORD.getKey(), ConfigValueFactory.fromAnyRef("changeit"));
+        return new CryptoFactory(ConfigFactory.parseMap(map).withFallback(ConfigFactory.systemProperties())
+                .withFallback(ConfigFactory.systemEnvironment()));
+    }
+
+    protected ShellEnvironment getShellEnvironment(final ConfigClient configClient) {
+        final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
+        Mockito.when(shellEnvironment.getConfigClient()).thenReturn(configClient);
+        Mockito.when(shellEnvironment.getCryptoFactory()).thenReturn(getCryptoFactory());
+        return shellEnvironment;
+    }
+
+    protected List<String> run(final ShellEnvironment shellEnvironment, final String... args) {
+        final ExportCommand command = new ExportCommand(shellEnvironment);
+        final CommandPath commandPath = new CommandPath("config", "export");
+        final Registration reg = command.getRegistrations().get(0);
+        final List<String> input = new ArrayList<>(commandPath.getPath());
+        input.addAll(Arrays.asList(args));
+        final UserCommand userCommand = new UserCommand(commandPath, reg, input);
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter writer = new PrintWriter(stringWriter, true);
+
+        final CommandStatus status = command.process(userCommand, writer);
+        assertEquals(CommandStatus.SUCCESS, status);
+
+        return Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
+    }
+
+    @Test
+    public void testGetRegistrations() {
+        final ExportCommand command = new ExportCommand(Mockito.mock(ShellEnvironment.class));
+
+        final List<Registration> registrations = command.getRegistrations();
+        assertEquals(1, registrations.size());
+
+        final Registration registration = registrations.get(0);
+        assertEquals(new CommandPath("config", "export"), registration.getPath());
+        assertTrue(registration.getDescription().isPresent());
+        assertEquals("export the dynamic system configuration to a file", registration.getDescription().get());
+        assertTrue(registration.getOptions().isPresent());
+        assertEquals(2, registration.getOptions().get().getOptions().size());
+    }
+
+    @Test
+    public void testExport() throws Exception {
+        final ConfigClient configClient = Mockito.mock(ConfigClient.class);
+        Mockito.when(configClient.exportAll()).thenReturn(CompletableFuture.completedFuture(this.values));
+        final File file = new File(this.temporaryFolder.getRoot(), "config.archive");
+
+        final List<String> output = run(getShellEnvironment(configClient), "-f", file.getAbsolutePath());
+        assertEquals(1, output.size());
+        assertEquals("Exported 2 configuration values to " + file.getAbsolutePath(), output.get(0));
+        assertEquals(this.values, ConfigArchive.fromBytes(Files.readAllBytes(file.toPath()), Optional.empty()));
+    }
+
+    @Test
+    public void testExportEncrypted() throws Exception {
+        final ConfigClient configClient = Mockito.mock(ConfigClient.class);
+        Mockito.when(configClient.exportAll()).thenReturn(CompletableFuture.completedFuture(this.values));
+        final File file = new File(this.temporaryFolder.getRoot(), "config.archive");
+
+        final List<String> output = run(getShellEnvironment(configClient), "-f", file.getAbsolutePath(), "-e");
+        assertEquals(1, output.size());
+        assertEquals("Exported 2 configuration values to " + file.getAbsolutePath() + " (encrypted)", output.get(0));
+        assertEquals(this.values, ConfigArchive.fromBytes(Files.readAllBytes(file.toPath()),
+                Optional.of(getCryptoFactory().getSymmetricKeyEncryption())));
+    }
+
+    @Test
+    public void testExportFailure() throws Exception {
+        final ConfigClient configClient = Mockito.mock(ConfigClient.class);
+        final CompletableFuture<ConfigKeyValueCollection> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new ConfigServiceException("Fake"));
+        Mockito.when(configClient.exportAll()).thenReturn(failed);
+        final File file = new File(this.temporaryFolder.getRoot(), "config.archive");
+
+        final List<String> output = run(getShellEnvironment(configClient), "-f", file.getAbsolutePath());
+        assertEquals(1, output.size());
+        assertEquals("Failed to export the dynamic system configuration: ConfigServiceException: Fake",
+                output.get(0));
+    }
+}
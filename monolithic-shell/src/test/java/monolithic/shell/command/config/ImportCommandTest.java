@@ -0,0 +1,106 @@
+package monolithic.shell.command.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+import monolithic.config.client.ConfigClient;
+import monolithic.config.model.ConfigKeyValue;
+import monolithic.config.model.ConfigKeyValueCollection;
+import monolithic.config.service.ConfigArchive;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Perform testing of the {@link ImportCommand} class.
+ */
+public class ImportCommandTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ConfigKeyValueCollection values =
+            new ConfigKeyValueCollection(new ConfigKeyValue("a.b", "one"), new ConfigKeyValue("c", "two"));
+
+    protected ShellEnvironment getShellEnvironment(final ConfigClient configClient) {
+        final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
+        Mockito.when(shellEnvironment.getConfigClient()).thenReturn(configClient);
+        Mockito.when(shellEnvironment.getCryptoFactory()).thenReturn(ExportCommandTest.getCryptoFactory());
+        return shellEnvironment;
+    }
+
+    protected List<String> run(final ShellEnvironment shellEnvironment, final String... args) {
+        final ImportCommand command = new ImportCommand(shellEnvironment);
+        final CommandPath commandPath = new CommandPath("config", "import");
+        final Registration reg = command.getRegistrations().get(0);
+        final List<String> input = new ArrayList<>(commandPath.getPath());
+        input.addAll(Arrays.asList(args));
+        final UserCommand userCommand = new UserCommand(commandPath, reg, input);
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter writer = new PrintWriter(stringWriter, true);
+
+        final CommandStatus status = command.process(userCommand, writer);
+        assertEquals(CommandStatus.SUCCESS, status);
+
+        return Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
+    }
+
+    @Test
+    public void testGetRegistrations() {
+        final ImportCommand command = new ImportCommand(Mockito.mock(ShellEnvironment.class));
+
+        final List<Registration> registrations = command.getRegistrations();
+        assertEquals(1, registrations.size());
+
+        final Registration registration = registrations.get(0);
+        assertEquals(new CommandPath("config", "import"), registration.getPath());
+        assertTrue(registration.getDescription().isPresent());
+        assertEquals("import the dynamic system configuration from a file", registration.getDescription().get());
+        assertTrue(registration.getOptions().isPresent());
+        assertEquals(1, registration.getOptions().get().getOptions().size());
+    }
+
+    @Test
+    public void testImportEncrypted() throws Exception {
+        final ConfigClient configClient = Mockito.mock(ConfigClient.class);
+        Mockito.when(configClient.importAll(this.values)).thenReturn(CompletableFuture.completedFuture(2));
+        final File file = this.temporaryFolder.newFile("config.archive");
+        Files.write(file.toPath(), ConfigArchive.toBytes(this.values.asSet(),
+                Optional.of(ExportCommandTest.getCryptoFactory().getSymmetricKeyEncryption())));
+
+        final List<String> output = run(getShellEnvironment(configClient), "-f", file.getAbsolutePath());
+        assertEquals(1, output.size());
+        assertEquals("Imported 2 configuration values from " + file.getAbsolutePath(), output.get(0));
+        Mockito.verify(configClient).importAll(this.values);
+    }
+
+    @Test
+    public void testImportInvalidFile() throws Exception {
+        final ConfigClient configClient = Mockito.mock(ConfigClient.class);
+        final File file = this.temporaryFolder.newFile("config.archive");
+        Files.write(file.toPath(), "not an archive".getBytes(StandardCharsets.UTF_8));
+
+        final List<String> output = run(getShellEnvironment(configClient), "-f", file.getAbsolutePath());
+        assertEquals(1, output.size());
+        assertEquals("Failed to import the dynamic system configuration: IOException: Not a configuration archive",
+                output.get(0));
+        Mockito.verifyZeroInteractions(configClient);
+    }
+}
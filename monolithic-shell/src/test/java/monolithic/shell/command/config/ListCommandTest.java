@@ -51,6 +51,8 @@ public class ListCommandTest {
 
         final ConfigClient configClient = Mockito.mock(ConfigClient.class);
         Mockito.when(configClient.getAll()).thenReturn(CompletableFuture.completedFuture(collection));
+        Mockito.when(configClient.getMatching(Mockito.anyString()))
+                .thenReturn(CompletableFuture.completedFuture(collection));
 
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getConfig()).thenReturn(config);
@@ -0,0 +1,30 @@
+package monolithic.shell.command.service;
+
+import org.mockito.stubbing.Answer;
+
+import monolithic.discovery.model.Service;
+import monolithic.server.client.ServiceResultListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Provides support for testing the commands based on {@link BaseServiceCommand}.
+ */
+public abstract class BaseServiceCommandTest {
+    /**
+     * @param results the result returned by each service
+     * @param <T> the type of result returned by each service
+     * @return an {@link Answer} passing each of the results to the {@link ServiceResultListener} provided as the second
+     * argument of the stubbed {@code ServerClient} call
+     */
+    @SuppressWarnings("unchecked")
+    protected static <T> Answer<Future<?>> stream(final Map<Service, T> results) {
+        return invocation -> {
+            final ServiceResultListener<T> listener = (ServiceResultListener<T>) invocation.getArguments()[1];
+            results.forEach(listener::onResult);
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+}
@@ -11,6 +11,7 @@ import monolithic.discovery.DiscoveryException;
 import monolithic.discovery.DiscoveryManager;
 import monolithic.discovery.model.Service;
 import monolithic.server.client.ServerClient;
+import monolithic.server.client.ServiceResultListener;
 import monolithic.shell.model.CommandPath;
 import monolithic.shell.model.CommandStatus;
 import monolithic.shell.model.Option;
@@ -29,12 +30,12 @@ import java.util.Optional;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Perform testing of the {@link ControlCommand} class.
  */
-public class ControlCommandTest {
+public class ControlCommandTest extends BaseServiceCommandTest {
     @SuppressWarnings("unchecked")
     protected ShellEnvironment getShellEnvironment() throws Exception {
         final Service s1 = new Service("system", "1.2.3", "host1", 1234, false);
@@ -57,10 +58,10 @@ public class ControlCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(stopMap));
-        Mockito.when(serverClient.restart((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(restartMap));
+        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(stopMap));
+        Mockito.when(serverClient.restart((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(restartMap));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
@@ -261,8 +262,8 @@ public class ControlCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(stopMap));
+        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(stopMap));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
@@ -301,8 +302,8 @@ public class ControlCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(stopMap));
+        Mockito.when(serverClient.stop((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(stopMap));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
@@ -347,4 +348,15 @@ public class ControlCommandTest {
         assertEquals(1, output.size());
         assertEquals("Failed to retrieve available services: DiscoveryException: Fake", output.get(0));
     }
+
+    @Test
+    public void testStringerFailure() {
+        final Service s1 = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service s2 = new Service("system", "1.2.3", "longer-host", 1235, false);
+        final ControlCommand.Stringer stringer = new ControlCommand.Stringer(Arrays.asList(s1, s2));
+
+        // The failure rows match those printed by the other service commands.
+        assertEquals("    host1        1234  Failed: TimeoutException: Fake",
+                stringer.toString(s1, new TimeoutException("Fake")));
+    }
 }
@@ -11,6 +11,7 @@ import monolithic.discovery.DiscoveryException;
 import monolithic.discovery.DiscoveryManager;
 import monolithic.discovery.model.Service;
 import monolithic.server.client.ServerClient;
+import monolithic.server.client.ServiceResultListener;
 import monolithic.shell.model.CommandPath;
 import monolithic.shell.model.CommandStatus;
 import monolithic.shell.model.Option;
@@ -31,13 +32,14 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import javax.annotation.Nonnull;
 
 /**
  * Perform testing of the {@link MemoryCommand} class.
  */
-public class MemoryCommandTest {
+public class MemoryCommandTest extends BaseServiceCommandTest {
     @SuppressWarnings("unchecked")
     @Nonnull
     protected ShellEnvironment getShellEnvironment() throws Exception {
@@ -58,8 +60,8 @@ public class MemoryCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(memory));
+        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(memory));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
@@ -249,6 +251,50 @@ public class MemoryCommandTest {
         assertEquals("No services are running", output.get(0));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testProcessWithFailure() throws Exception {
+        final Service s1 = new Service("system", "1.2.3", "host1", 1234, false);
+        final Service s2 = new Service("system", "1.2.3", "host1", 1235, false);
+        final SortedSet<Service> services = new TreeSet<>(Arrays.asList(s1, s2));
+        final ServiceMemory memory = new ServiceMemory(new MemoryUsage(0, 1234567, 2222222, 2222222),
+                new MemoryUsage(0, 1002222, 3000000, 3000000));
+
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(services);
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(invocation -> {
+                    final ServiceResultListener<ServiceMemory> listener =
+                            (ServiceResultListener<ServiceMemory>) invocation.getArguments()[1];
+                    listener.onFailure(s2, new TimeoutException("No response before the deadline"));
+                    listener.onResult(s1, memory);
+                    return CompletableFuture.completedFuture(null);
+                });
+        final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
+        Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
+        Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
+        final MemoryCommand memCommand = new MemoryCommand(shellEnvironment);
+
+        final List<String> input = Arrays.asList("service", "memory");
+        final CommandPath commandPath = new CommandPath("service", "memory");
+        final Registration reg = memCommand.getRegistrations().get(0);
+        final UserCommand userCommand = new UserCommand(commandPath, reg, input);
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter writer = new PrintWriter(stringWriter, true);
+
+        final CommandStatus status = memCommand.process(userCommand, writer);
+        assertEquals(CommandStatus.SUCCESS, status);
+
+        // The rows are printed in the order the services answer, and the failed service does not hide the others.
+        final List<String> output = Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
+        assertEquals(3, output.size());
+        assertEquals("Displaying both available services:", output.get(0));
+        assertEquals("    host1  1235  Failed: TimeoutException: No response before the deadline", output.get(1));
+        assertEquals("    host1  1234  Heap: 1.18M of 2.12M (55.56%), Non-Heap: 978.73k of 2.86M (33.41%)",
+                output.get(2));
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testProcessOneService() throws Exception {
@@ -264,8 +310,8 @@ public class MemoryCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(memory));
+        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(memory));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
@@ -306,8 +352,8 @@ public class MemoryCommandTest {
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
         final ServerClient serverClient = Mockito.mock(ServerClient.class);
-        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection()))
-                .thenReturn(CompletableFuture.completedFuture(memory));
+        Mockito.when(serverClient.getMemory((Collection<Service>) Mockito.anyCollection(),
+                Mockito.any(ServiceResultListener.class))).thenAnswer(stream(memory));
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
         Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
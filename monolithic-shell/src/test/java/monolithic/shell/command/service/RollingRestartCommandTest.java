@@ -0,0 +1,252 @@
+package monolithic.shell.command.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import monolithic.common.model.service.ServiceControlStatus;
+import monolithic.common.model.service.ServiceInfo;
+import monolithic.discovery.DiscoveryException;
+import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.model.Service;
+import monolithic.server.client.ServerClient;
+import monolithic.shell.model.CommandPath;
+import monolithic.shell.model.CommandStatus;
+import monolithic.shell.model.Option;
+import monolithic.shell.model.Registration;
+import monolithic.shell.model.ShellEnvironment;
+import monolithic.shell.model.UserCommand;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Perform testing of the {@link RollingRestartCommand} class.
+ */
+public class RollingRestartCommandTest {
+    private final Service s1 = new Service("system", "1.2.3", "host1", 1234, false);
+    private final Service s2 = new Service("system", "1.2.3", "host2", 1235, false);
+    private final Service r1 = new Service("system", "1.2.3", "host1", 1236, false);
+    private final Service r2 = new Service("system", "1.2.3", "host2", 1237, false);
+
+    protected SortedSet<Service> set(final Service... services) {
+        return new TreeSet<>(Arrays.asList(services));
+    }
+
+    protected RollingRestartCommand getCommand(final ShellEnvironment shellEnvironment) {
+        return new RollingRestartCommand(shellEnvironment) {
+            @Override
+            protected void delayBeforePoll() {
+                // No need to wait during testing.
+            }
+        };
+    }
+
+    protected ShellEnvironment getShellEnvironment(
+            final DiscoveryManager discoveryManager, final ServerClient serverClient) {
+        final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
+        Mockito.when(shellEnvironment.getServerClient()).thenReturn(serverClient);
+        Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
+        return shellEnvironment;
+    }
+
+    protected List<String> run(final ShellEnvironment shellEnvironment, final String... args) {
+        final RollingRestartCommand command = getCommand(shellEnvironment);
+        final CommandPath commandPath = new CommandPath("service", "control", "rolling-restart");
+        final Registration reg = command.getRegistrations().get(0);
+        final List<String> input = new ArrayList<>(commandPath.getPath());
+        input.addAll(Arrays.asList(args));
+        final UserCommand userCommand = new UserCommand(commandPath, reg, input);
+        final StringWriter stringWriter = new StringWriter();
+        final PrintWriter writer = new PrintWriter(stringWriter, true);
+
+        final CommandStatus status = command.process(userCommand, writer);
+        assertEquals(CommandStatus.SUCCESS, status);
+
+        return Arrays.asList(stringWriter.getBuffer().toString().split(System.lineSeparator()));
+    }
+
+    @Test
+    public void testGetRegistrations() {
+        final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
+        final RollingRestartCommand command = new RollingRestartCommand(shellEnvironment);
+
+        final List<Registration> registrations = command.getRegistrations();
+        assertEquals(1, registrations.size());
+
+        final Registration registration = registrations.get(0);
+        assertEquals(new CommandPath("service", "control", "rolling-restart"), registration.getPath());
+        assertTrue(registration.getDescription().isPresent());
+        assertEquals("restart one or more services a batch at a time", registration.getDescription().get());
+        assertTrue(registration.getOptions().isPresent());
+        final SortedSet<Option> options = registration.getOptions().get().getOptions();
+        assertEquals(5, options.size());
+    }
+
+    @Test
+    public void testGetBatchSize() {
+        final RollingRestartCommand command = new RollingRestartCommand(Mockito.mock(ShellEnvironment.class));
+        assertEquals(1, command.getBatchSize(Optional.empty(), 10));
+    }
+
+    @Test
+    public void testProcessNoServices() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set());
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient));
+        assertEquals(1, output.size());
+        assertEquals("No services are running", output.get(0));
+        Mockito.verifyZeroInteractions(serverClient);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProcessOneAtATime() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll())
+                .thenReturn(set(s1, s2), set(s1, s2), set(s2), set(r1, s2), set(r1, r2));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.restart(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceControlStatus(true, "restart")));
+        Mockito.when(serverClient.getInfo(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceInfo("system", "1.2.3")));
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient));
+        assertEquals(6, output.size());
+
+        int line = 0;
+        assertEquals("Displaying both available services:", output.get(line++));
+        assertEquals("Restarting batch 1 of 2:", output.get(line++));
+        assertEquals("    host1  1234  - restarted on port 1236", output.get(line++));
+        assertEquals("Restarting batch 2 of 2:", output.get(line++));
+        assertEquals("    host2  1235  - restarted on port 1237", output.get(line++));
+        assertEquals("Rolling restart complete", output.get(line));
+
+        Mockito.verify(serverClient).restart(s1);
+        Mockito.verify(serverClient).restart(s2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProcessBatchPercentage() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set(s1, s2), set(r1, r2));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.restart(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceControlStatus(true, "restart")));
+        Mockito.when(serverClient.getInfo(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceInfo("system", "1.2.3")));
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient), "-b", "100%");
+        assertEquals(5, output.size());
+
+        int line = 0;
+        assertEquals("Displaying both available services:", output.get(line++));
+        assertEquals("Restarting batch 1 of 1:", output.get(line++));
+        assertEquals("    host1  1234  - restarted on port 1236", output.get(line++));
+        assertEquals("    host2  1235  - restarted on port 1237", output.get(line++));
+        assertEquals("Rolling restart complete", output.get(line));
+    }
+
+    @Test
+    public void testProcessPausesOnRejectedRestart() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set(s1, s2));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.restart(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceControlStatus(false, "restart")));
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient));
+        assertEquals(5, output.size());
+
+        int line = 0;
+        assertEquals("Displaying both available services:", output.get(line++));
+        assertEquals("Restarting batch 1 of 2:", output.get(line++));
+        assertEquals("    host1  1234  - restart rejected", output.get(line++));
+        assertEquals("Pausing rolling restart, 1 services were not restarted:", output.get(line++));
+        assertEquals("    host2  1235", output.get(line));
+
+        Mockito.verify(serverClient, Mockito.never()).restart(s2);
+    }
+
+    @Test
+    public void testProcessAwaitsWholeBatchOnFailedRestart() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set(s1, s2)).thenReturn(set(s1, r2));
+        final CompletableFuture<ServiceControlStatus> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IOException("Fake"));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.restart(s1)).thenReturn(failed);
+        Mockito.when(serverClient.restart(s2))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceControlStatus(true, "restart")));
+        Mockito.when(serverClient.getInfo(r2))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceInfo("system", "1.2.3")));
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient), "-b", "2");
+        assertEquals(5, output.size());
+
+        int line = 0;
+        assertEquals("Displaying both available services:", output.get(line++));
+        assertEquals("Restarting batch 1 of 1:", output.get(line++));
+        assertEquals("    host1  1234  - restart failed: ExecutionException: java.io.IOException: Fake",
+                output.get(line++));
+        assertEquals("    host2  1235  - restarted on port 1237", output.get(line++));
+        assertEquals("Pausing rolling restart, 0 services were not restarted", output.get(line));
+
+        Mockito.verify(serverClient).getInfo(r2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProcessPausesOnUnhealthyReplacement() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set(s1, s2), set(s2));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+        Mockito.when(serverClient.restart(Mockito.any(Service.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ServiceControlStatus(true, "restart")));
+
+        final List<String> output =
+                run(getShellEnvironment(discoveryManager, serverClient), "-t", "0", "-h", "host1");
+        assertEquals(4, output.size());
+
+        int line = 0;
+        assertEquals("Displaying the matching service (of 2 total):", output.get(line++));
+        assertEquals("Restarting batch 1 of 1:", output.get(line++));
+        assertEquals("    host1  1234  - did not become healthy in time", output.get(line++));
+        assertEquals("Pausing rolling restart, 0 services were not restarted", output.get(line));
+    }
+
+    @Test
+    public void testProcessInvalidBatch() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenReturn(set(s1, s2));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient), "-b", "abc");
+        assertEquals(2, output.size());
+        assertEquals("Invalid numeric option: For input string: \"abc\"", output.get(1));
+    }
+
+    @Test
+    public void testProcessDiscoveryException() throws Exception {
+        final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
+        Mockito.when(discoveryManager.getAll()).thenThrow(new DiscoveryException("Fake"));
+        final ServerClient serverClient = Mockito.mock(ServerClient.class);
+
+        final List<String> output = run(getShellEnvironment(discoveryManager, serverClient));
+        assertEquals(1, output.size());
+        assertEquals("Failed to retrieve available services: DiscoveryException: Fake", output.get(0));
+    }
+}
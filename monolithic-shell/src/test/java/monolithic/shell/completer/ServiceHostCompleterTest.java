@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.ServiceChangeListener;
 import monolithic.discovery.model.Service;
 import monolithic.shell.model.ShellEnvironment;
 
@@ -29,6 +30,10 @@ public class ServiceHostCompleterTest {
         services.add(new Service("system", "1.2.4", "host2", 1237, true));
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
+        Mockito.doAnswer(invocation -> {
+            services.forEach(((ServiceChangeListener) invocation.getArguments()[0])::onAdded);
+            return null;
+        }).when(discoveryManager).addListener(Mockito.any());
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
         return shellEnvironment;
@@ -90,6 +95,33 @@ public class ServiceHostCompleterTest {
         assertEquals("[host1]", candidates.toString());
     }
 
+    @Test
+    public void testChanges() throws Exception {
+        final ShellEnvironment shellEnvironment = getShellEnvironment();
+        final ServiceHostCompleter completer = new ServiceHostCompleter(shellEnvironment);
+        completer.complete("", 0, new LinkedList<>());
+        Mockito.verify(shellEnvironment.getDiscoveryManager()).addListener(completer);
+
+        // A host remains available until all of its services are removed.
+        completer.onRemoved(new Service("system", "1.2.3", "host1", 1234, false));
+        completer.onAdded(new Service("system", "1.2.3", "host3", 1234, false));
+        completer.onUpdated(new Service("system", "1.2.4", "host2", 1236, true),
+                new Service("system", "1.2.4", "host4", 1236, true));
+
+        final List<CharSequence> candidates = new LinkedList<>();
+        assertEquals(0, completer.complete("", 0, candidates));
+        assertEquals("[host1, host2, host3, host4]", candidates.toString());
+
+        completer.onRemoved(new Service("system", "1.2.3", "host1", 1235, false));
+        completer.onRemoved(new Service("system", "1.2.4", "host2", 1237, true));
+        candidates.clear();
+        assertEquals(0, completer.complete("", 0, candidates));
+        assertEquals("[host3, host4]", candidates.toString());
+
+        // The listener is only added once.
+        Mockito.verify(shellEnvironment.getDiscoveryManager()).addListener(completer);
+    }
+
     @Test
     public void testException() throws Exception {
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
@@ -6,6 +6,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.ServiceChangeListener;
 import monolithic.discovery.model.Service;
 import monolithic.shell.model.ShellEnvironment;
 
@@ -29,6 +30,10 @@ public class ServiceVersionCompleterTest {
         services.add(new Service("system", "1.2.4", "host2", 1237, true));
         final DiscoveryManager discoveryManager = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discoveryManager.getAll()).thenReturn(services);
+        Mockito.doAnswer(invocation -> {
+            services.forEach(((ServiceChangeListener) invocation.getArguments()[0])::onAdded);
+            return null;
+        }).when(discoveryManager).addListener(Mockito.any());
         final ShellEnvironment shellEnvironment = Mockito.mock(ShellEnvironment.class);
         Mockito.when(shellEnvironment.getDiscoveryManager()).thenReturn(discoveryManager);
         return shellEnvironment;
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import ch.qos.logback.classic.Level;
 import monolithic.crypto.CryptoFactory;
 import monolithic.discovery.DiscoveryManager;
+import monolithic.discovery.ServiceChangeListener;
 import monolithic.discovery.model.Service;
 import monolithic.shell.RegistrationManager;
 import monolithic.shell.model.ShellEnvironment;
@@ -44,6 +45,10 @@ public class ShellCompleterTest {
         services.add(new Service("system", "1.2.4", "host2", 1237, true));
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
         Mockito.when(discovery.getAll()).thenReturn(services);
+        Mockito.doAnswer(invocation -> {
+            services.forEach(((ServiceChangeListener) invocation.getArguments()[0])::onAdded);
+            return null;
+        }).when(discovery).addListener(Mockito.any());
 
         final Config config = ConfigFactory.load();
         final ExecutorService executor = Executors.newFixedThreadPool(3);
@@ -2,6 +2,7 @@ package monolithic.shell.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import com.typesafe.config.Config;
 
@@ -9,6 +10,7 @@ import org.apache.curator.framework.CuratorFramework;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import monolithic.common.config.ConfigKeys;
 import monolithic.crypto.CryptoFactory;
 import monolithic.discovery.DiscoveryManager;
 import monolithic.shell.RegistrationManager;
@@ -24,6 +26,7 @@ public class ShellEnvironmentTest {
     @Test
     public void test() {
         final Config config = Mockito.mock(Config.class);
+        Mockito.when(config.getString(ConfigKeys.CONFIG_CLIENT_SELECTOR.getKey())).thenReturn("round-robin");
         final ExecutorService executor = Executors.newFixedThreadPool(3);
         final DiscoveryManager discovery = Mockito.mock(DiscoveryManager.class);
         final CuratorFramework curator = Mockito.mock(CuratorFramework.class);
@@ -43,5 +46,6 @@ public class ShellEnvironmentTest {
 
         assertNotNull(env.getServerClient());
         assertNotNull(env.getConfigClient());
+        assertSame(env.getConfigClient(), env.getConfigClient());
     }
 }
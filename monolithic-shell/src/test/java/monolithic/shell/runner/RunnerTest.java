@@ -155,26 +155,37 @@ public class RunnerTest {
                 Runner.processCommandLine(runner, new String[] {"shell", "-f", file.getAbsolutePath()});
 
                 final List<String> lines = consoleReader.getOutputLines();
-                assertEquals(18, lines.size());
+                assertEquals(21, lines.size());
 
                 int line = 0;
                 assertEquals("# help", lines.get(line++));
-                assertEquals("  config list              display system configuration information", lines.get(line++));
-                assertEquals("  crypto decrypt           decrypt the provided input data", lines.get(line++));
-                assertEquals("  crypto encrypt           encrypt the provided input data", lines.get(line++));
-                assertEquals("  crypto sign              sign the provided input data", lines.get(line++));
-                assertEquals("  crypto verify            verify the provided input data", lines.get(line++));
-                assertEquals("  exit                     exit the shell", lines.get(line++));
-                assertEquals("  help                     display usage information for available shell commands",
+                assertEquals("  config export                    export the dynamic system configuration to a file",
                         lines.get(line++));
-                assertEquals("  quit                     exit the shell", lines.get(line++));
+                assertEquals("  config import                    import the dynamic system configuration from a file",
+                        lines.get(line++));
+                assertEquals("  config list                      display system configuration information",
+                        lines.get(line++));
+                assertEquals("  crypto decrypt                   decrypt the provided input data", lines.get(line++));
+                assertEquals("  crypto encrypt                   encrypt the provided input data", lines.get(line++));
+                assertEquals("  crypto sign                      sign the provided input data", lines.get(line++));
+                assertEquals("  crypto verify                    verify the provided input data", lines.get(line++));
+                assertEquals("  exit                             exit the shell", lines.get(line++));
+                assertEquals(
+                        "  help                             display usage information for available shell commands",
+                        lines.get(line++));
+                assertEquals("  quit                             exit the shell", lines.get(line++));
                 assertEquals(
-                        "  service control restart  request the restart of one or more services", lines.get(line++));
-                assertEquals("  service control stop     request the stop of one or more services", lines.get(line++));
+                        "  service control restart          request the restart of one or more services",
+                        lines.get(line++));
+                assertEquals("  service control rolling-restart  restart one or more services a batch at a time",
+                        lines.get(line++));
+                assertEquals("  service control stop             request the stop of one or more services",
+                        lines.get(line++));
                 assertEquals(
-                        "  service list             provides information about the available services",
+                        "  service list                     provides information about the available services",
                         lines.get(line++));
-                assertEquals("  service memory           display memory usage information for one or more services",
+                assertEquals(
+                        "  service memory                   display memory usage information for one or more services",
                         lines.get(line++));
                 assertEquals("# service list", lines.get(line++));
                 assertEquals("No services are running", lines.get(line++));